@@ -11,5 +11,29 @@
 
 export interface ArcScriptEvalRequest { 
     script: string;
+    /**
+     * If present, the result of the last query is streamed: only its first page is returned, along with a cursor to fetch the rest with. 
+     */
+    pageSize?: number;
+    /**
+     * The cursor of a previous response -> its next page is returned, and the script is ignored. 
+     */
+    cursor?: string;
+    /**
+     * The time the script may take, including the time its cursor is read. Can only tighten the limit configured on the server. 
+     */
+    timeoutMillis?: number;
+    /**
+     * The number of entries the script may load. Can only tighten the limit configured on the server. 
+     */
+    maxEntries?: number;
+    /**
+     * The (estimated) size of the entries the script may load, in bytes. Can only tighten the limit configured on the server. 
+     */
+    maxBytes?: number;
+    /**
+     * If present, the script is kept as a materialised view under this name: its result is maintained incrementally as the storage changes, and reading it evaluates nothing. The script is evaluated in full only the first time, or once it differs from the one the view was registered with. Streaming and limits do not apply to views. 
+     */
+    view?: string;
 }
 
@@ -9,12 +9,39 @@
  */
 import { ArcScriptColumnDescriptor } from './arcScriptColumnDescriptor';
 import { ArcScriptEvalError } from './arcScriptEvalError';
+import { ArcScriptQueryProfile } from './arcScriptQueryProfile';
+import { ArcScriptUpdateResult } from './arcScriptUpdateResult';
+import { ArcScriptViewStaleness } from './arcScriptViewStaleness';
 
 
 export interface ArcScriptEvalResponse { 
     columns: Array<ArcScriptColumnDescriptor>;
     entryUriKey: string;
     resultSet: Array<object>;
+    /**
+     * Present if the result set is a page of a streamed result, and further pages remain. 
+     */
+    cursor?: string;
+    /**
+     * True if the rows are the groups of an aggregating query -> they belong to no entry, and carry no value under the entryUriKey. 
+     */
+    aggregated?: boolean;
+    /**
+     * OK if the script was evaluated in full. Otherwise the result set is partial, and this tells why the evaluation got stopped: CANCELLED, TIMED_OUT, MAX_ENTRIES_EXCEEDED or MAX_BYTES_EXCEEDED. A streamed result reports its final status with its last page. 
+     */
+    status?: string;
+    /**
+     * Present if the query was explained, or profiled. 
+     */
+    profile?: ArcScriptQueryProfile;
+    /**
+     * Present if the result was read from a materialised view -> how current it is. 
+     */
+    view?: ArcScriptViewStaleness;
+    /**
+     * The result of every update performed by the script, in order. 
+     */
+    updates?: Array<ArcScriptUpdateResult>;
     err?: ArcScriptEvalError;
 }
 
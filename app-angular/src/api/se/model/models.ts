@@ -2,6 +2,10 @@ export * from './arcScriptColumnDescriptor';
 export * from './arcScriptEvalError';
 export * from './arcScriptEvalRequest';
 export * from './arcScriptEvalResponse';
+export * from './arcScriptProfilePhase';
+export * from './arcScriptQueryProfile';
+export * from './arcScriptUpdateResult';
+export * from './arcScriptViewStaleness';
 export * from './entryAcquisitionRequest';
 export * from './entryAcquisitionResult';
 export * from './entryLoadRequest';
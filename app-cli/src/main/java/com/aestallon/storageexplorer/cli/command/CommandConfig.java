@@ -25,10 +25,21 @@ import org.springframework.shell.AvailabilityProvider;
 import org.springframework.shell.CompletionProposal;
 import org.springframework.shell.completion.CompletionProvider;
 import com.aestallon.storageexplorer.cli.service.StorageInstanceContext;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @Configuration
 public class CommandConfig {
 
+  // there is no actuator in the shell: meters recorded by the core go to the global registry, we
+  // keep an in-memory copy of them for the metrics command:
+  @Bean
+  SimpleMeterRegistry meterRegistry() {
+    final var registry = new SimpleMeterRegistry();
+    Metrics.addRegistry(registry);
+    return registry;
+  }
+
   @Bean(CommandConstants.REQUIRES_STORAGE)
   AvailabilityProvider avProvRequiresStorage(StorageInstanceContext storageInstanceContext) {
     return () -> storageInstanceContext.current().isPresent()
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.cli.command.global;
+
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.springframework.shell.command.CommandContext;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.Option;
+import org.springframework.stereotype.Component;
+import com.aestallon.storageexplorer.cli.command.CommandConstants;
+import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseConnectionData;
+import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseVendor;
+import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.SqlStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageLocation;
+import com.aestallon.storageexplorer.generator.GenerationResult;
+import com.aestallon.storageexplorer.generator.StorageGenerator;
+import com.google.common.base.Strings;
+
+@Component
+@Command(
+    command = "generate",
+    description = "Generate a synthetic storage",
+    group = CommandConstants.COMMAND_GROUP_UNCONDITIONAL)
+public class GenerateCommand {
+
+  private static final String DEFAULT_SCHEMAS = "alpha,beta,gamma";
+
+  @Command(command = "fs", description = "Generate a synthetic file system storage.")
+  public void fsGenerate(CommandContext ctx,
+                         @Option(longNames = "path", shortNames = 'p', required = true) String path,
+                         @Option(longNames = "entries", shortNames = 'e', defaultValue = "1000")
+                         int entries,
+                         @Option(longNames = "schemas", shortNames = 's', defaultValue = DEFAULT_SCHEMAS)
+                         String schemas,
+                         @Option(longNames = "types", shortNames = 't', defaultValue = "3")
+                         int types,
+                         @Option(longNames = "fan-out", defaultValue = "2") double fanOut,
+                         @Option(longNames = "fan-in-skew", defaultValue = "0") double fanInSkew,
+                         @Option(longNames = "versions", shortNames = 'v', defaultValue = "1")
+                         int versions,
+                         @Option(longNames = "scoped-ratio", defaultValue = "0") double scopedRatio,
+                         @Option(longNames = "collections", defaultValue = "0") int collections,
+                         @Option(longNames = "sequences", defaultValue = "0") int sequences,
+                         @Option(longNames = "seed", defaultValue = "42") long seed) {
+    if (Strings.isNullOrEmpty(path) || path.isBlank()) {
+      throw new IllegalArgumentException("Path must not be empty or blank.");
+    }
+
+    final StorageLocation location = new FsStorageLocation().path(Path.of(path).toAbsolutePath());
+    generate(ctx, location, generator(
+        entries, schemas, types, fanOut, fanInSkew, versions, scopedRatio, collections, sequences,
+        seed));
+  }
+
+  @Command(command = "db", description = "Generate a synthetic relational database storage (H2).")
+  public void dbGenerate(CommandContext ctx,
+                         @Option(longNames = "url", shortNames = 'u', required = true) String url,
+                         @Option(longNames = "username", defaultValue = "sa") String username,
+                         @Option(longNames = "password", defaultValue = "") String password,
+                         @Option(longNames = "entries", shortNames = 'e', defaultValue = "1000")
+                         int entries,
+                         @Option(longNames = "schemas", shortNames = 's', defaultValue = DEFAULT_SCHEMAS)
+                         String schemas,
+                         @Option(longNames = "types", shortNames = 't', defaultValue = "3")
+                         int types,
+                         @Option(longNames = "fan-out", defaultValue = "2") double fanOut,
+                         @Option(longNames = "fan-in-skew", defaultValue = "0") double fanInSkew,
+                         @Option(longNames = "versions", shortNames = 'v', defaultValue = "1")
+                         int versions,
+                         @Option(longNames = "scoped-ratio", defaultValue = "0") double scopedRatio,
+                         @Option(longNames = "collections", defaultValue = "0") int collections,
+                         @Option(longNames = "sequences", defaultValue = "0") int sequences,
+                         @Option(longNames = "seed", defaultValue = "42") long seed) {
+    if (Strings.isNullOrEmpty(url) || !url.startsWith("jdbc:h2:")) {
+      throw new IllegalArgumentException("Only H2 JDBC URLs (jdbc:h2:...) are supported.");
+    }
+
+    final StorageLocation location = new SqlStorageLocation()
+        .vendor(DatabaseVendor.H2)
+        .dbConnectionData(new DatabaseConnectionData()
+            .url(url)
+            .username(username)
+            .password(password));
+    generate(ctx, location, generator(
+        entries, schemas, types, fanOut, fanInSkew, versions, scopedRatio, collections, sequences,
+        seed));
+  }
+
+  private static StorageGenerator.Builder generator(int entries, String schemas, int types,
+                                                    double fanOut, double fanInSkew,
+                                                    int versions, double scopedRatio,
+                                                    int collections, int sequences, long seed) {
+    return StorageGenerator.builder()
+        .entries(entries)
+        .schemas(Arrays.stream(schemas.split(",")).map(String::trim).filter(it -> !it.isEmpty())
+            .toList())
+        .types(types)
+        .fanOut(fanOut)
+        .fanInSkew(fanInSkew)
+        .versionDepth(versions)
+        .scopedEntryRatio(scopedRatio)
+        .collections(collections)
+        .sequences(sequences)
+        .seed(seed);
+  }
+
+  private static void generate(final CommandContext ctx,
+                               final StorageLocation location,
+                               final StorageGenerator.Builder generator) {
+    final PrintWriter writer = ctx.getTerminal().writer();
+    final GenerationResult result = generator
+        .progress(n -> {
+          writer.println("  ... " + n + " objects");
+          writer.flush();
+        })
+        .build()
+        .generate(location);
+    writer.println("Generated %d entries in %d ms:".formatted(
+        result.entries(),
+        result.elapsed().toMillis()));
+    writer.println("  objects:        " + result.objects());
+    writer.println("  versions:       " + result.versions());
+    writer.println("  scoped entries: " + result.scopedEntries());
+    writer.println("  collections:    " + result.collections());
+    writer.println("  sequences:      " + result.sequences());
+    writer.println("  references:     " + result.references());
+    writer.println("Use the 'import' command to open it.");
+    writer.flush();
+  }
+
+}
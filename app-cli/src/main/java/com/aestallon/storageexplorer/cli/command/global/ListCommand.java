@@ -67,7 +67,7 @@ public class ListCommand {
 
     @Override
     public int getColumnCount() {
-      return 3;
+      return 4;
     }
 
     @Override
@@ -78,6 +78,7 @@ public class ListCommand {
           case 0 -> "Name";
           case 1 -> "Type";
           case 2 -> "Location";
+          case 3 -> "Status";
           default -> "UNKNOWN";
         };
 
@@ -110,6 +111,13 @@ public class ListCommand {
               case FsStorageLocation fs -> String.valueOf(fs.getPath());
             };
 
+            case 3 -> switch (storageInstance.readiness()) {
+              case PENDING -> "Not initialised";
+              case INITIALISING -> "Initialising...";
+              case READY -> "Ready";
+              case FAILED -> "Unavailable";
+            };
+
             default -> "UNKNOWN";
           };
         }
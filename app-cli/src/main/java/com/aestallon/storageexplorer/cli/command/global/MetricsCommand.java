@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.cli.command.global;
+
+import java.text.DecimalFormat;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.StreamSupport;
+import static java.util.stream.Collectors.joining;
+import org.springframework.shell.command.CommandRegistration;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.Option;
+import org.springframework.shell.table.BorderStyle;
+import org.springframework.shell.table.CellMatchers;
+import org.springframework.shell.table.NoWrapSizeConstraints;
+import org.springframework.shell.table.Table;
+import org.springframework.shell.table.TableBuilder;
+import org.springframework.shell.table.TableModel;
+import org.springframework.stereotype.Component;
+import com.aestallon.storageexplorer.cli.command.CommandConstants;
+import com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Component
+@Command
+public class MetricsCommand {
+
+  private static final DecimalFormat VALUE_FORMAT = new DecimalFormat("0.###");
+
+  private final SimpleMeterRegistry meterRegistry;
+
+  public MetricsCommand(SimpleMeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Command(
+      command = "metrics",
+      description = "Display I/O and latency metrics collected since startup",
+      group = CommandConstants.COMMAND_GROUP_UNCONDITIONAL)
+  public Table metrics(@Option(longNames = "filter",
+                           shortNames = 'f',
+                           required = false,
+                           arity = CommandRegistration.OptionArity.ZERO_OR_ONE,
+                           arityMin = 0,
+                           arityMax = 1,
+                           description = "Only display meters whose name contains this string.",
+                           label = "Filter") String filter) {
+    final List<Meter> meters = meterRegistry.getMeters().stream()
+        .filter(it -> it.getId().getName().startsWith(StorageExplorerMetrics.PREFIX))
+        .filter(it -> filter == null || filter.isBlank() || it.getId().getName().contains(filter))
+        .sorted(Comparator
+            .comparing((Meter it) -> it.getId().getName())
+            .thenComparing(it -> tagsOf(it)))
+        .toList();
+    return new TableBuilder(new MeterTableModel(meters))
+        .addHeaderAndVerticalsBorders(BorderStyle.oldschool)
+        .on(CellMatchers.table()).addSizer(new NoWrapSizeConstraints())
+        .build();
+  }
+
+  private static String tagsOf(final Meter meter) {
+    return meter.getId().getTags().stream()
+        .map(it -> it.getKey() + "=" + it.getValue())
+        .collect(joining(", "));
+  }
+
+  private static String measurementsOf(final Meter meter) {
+    return StreamSupport.stream(meter.measure().spliterator(), false)
+        .map(it -> it.getStatistic().getTagValueRepresentation()
+                   + "=" + VALUE_FORMAT.format(it.getValue()))
+        .collect(joining(", "));
+  }
+
+
+  private static final class MeterTableModel extends TableModel {
+
+    private final List<Meter> meters;
+
+    private MeterTableModel(List<Meter> meters) {
+      this.meters = meters;
+    }
+
+    @Override
+    public int getRowCount() {
+      return meters.size() + 1;
+    }
+
+    @Override
+    public int getColumnCount() {
+      return 3;
+    }
+
+    @Override
+    public Object getValue(int row, int column) {
+      if (row == 0) {
+        return switch (column) {
+          case 0 -> "Meter";
+          case 1 -> "Tags";
+          case 2 -> "Value";
+          default -> "UNKNOWN";
+        };
+      }
+
+      final var meter = meters.get(row - 1);
+      return switch (column) {
+        case 0 -> meter.getId().getName();
+        case 1 -> tagsOf(meter);
+        case 2 -> measurementsOf(meter);
+        default -> "UNKNOWN";
+      };
+    }
+
+  }
+
+}
@@ -18,6 +18,7 @@ package com.aestallon.storageexplorer.cli.command.storage;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import org.springframework.shell.command.CommandContext;
 import org.springframework.shell.command.CommandRegistration;
 import org.springframework.shell.command.annotation.Command;
@@ -30,6 +31,7 @@ import com.aestallon.storageexplorer.cli.command.storage.internal.arcscript.Scri
 import com.aestallon.storageexplorer.cli.service.StorageInstanceContext;
 import com.aestallon.storageexplorer.client.asexport.ResultSetExporterFactory;
 import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
 import com.google.common.base.Strings;
 
 @Component
@@ -81,7 +83,31 @@ public class ArcScriptCommand {
                             arityMin = 0,
                             arityMax = 1,
                             description = "The format in which in the output file should be written (CSV or JSON).",
-                            label = "Output File Format") String format) {
+                            label = "Output File Format") String format,
+                        @Option(longNames = "timeout",
+                            required = false,
+                            arity = CommandRegistration.OptionArity.ZERO_OR_ONE,
+                            arityMin = 0,
+                            arityMax = 1,
+                            description = "Stop the script after this many seconds (0 for no timeout).",
+                            label = "Timeout",
+                            defaultValue = "0") long timeout,
+                        @Option(longNames = "max-entries",
+                            required = false,
+                            arity = CommandRegistration.OptionArity.ZERO_OR_ONE,
+                            arityMin = 0,
+                            arityMax = 1,
+                            description = "Stop the script once it loaded this many entries (0 for no limit).",
+                            label = "Maximum loaded entries",
+                            defaultValue = "0") long maxEntries,
+                        @Option(longNames = "max-bytes",
+                            required = false,
+                            arity = CommandRegistration.OptionArity.ZERO_OR_ONE,
+                            arityMin = 0,
+                            arityMax = 1,
+                            description = "Stop the script once it loaded this many bytes (0 for no limit).",
+                            label = "Maximum loaded bytes",
+                            defaultValue = "0") long maxBytes) {
     if (path == null || !Files.exists(path)) {
       throw new IllegalArgumentException("File does not exist: [%s]".formatted(path));
     }
@@ -92,7 +118,7 @@ public class ArcScriptCommand {
 
     try {
       final String script = Files.readString(path);
-      runScriptInline(ctx, script, verbose, output, format);
+      runScriptInline(ctx, script, verbose, output, format, timeout, maxEntries, maxBytes);
     } catch (IOException e) {
       throw new IllegalArgumentException("Could not read script file: [%s]".formatted(path), e);
     }
@@ -135,7 +161,31 @@ public class ArcScriptCommand {
                                   arityMin = 0,
                                   arityMax = 1,
                                   description = "The format in which in the output file should be written (CSV or JSON).",
-                                  label = "Output File Format") String format) {
+                                  label = "Output File Format") String format,
+                              @Option(longNames = "timeout",
+                                  required = false,
+                                  arity = CommandRegistration.OptionArity.ZERO_OR_ONE,
+                                  arityMin = 0,
+                                  arityMax = 1,
+                                  description = "Stop the script after this many seconds (0 for no timeout).",
+                                  label = "Timeout",
+                                  defaultValue = "0") long timeout,
+                              @Option(longNames = "max-entries",
+                                  required = false,
+                                  arity = CommandRegistration.OptionArity.ZERO_OR_ONE,
+                                  arityMin = 0,
+                                  arityMax = 1,
+                                  description = "Stop the script once it loaded this many entries (0 for no limit).",
+                                  label = "Maximum loaded entries",
+                                  defaultValue = "0") long maxEntries,
+                              @Option(longNames = "max-bytes",
+                                  required = false,
+                                  arity = CommandRegistration.OptionArity.ZERO_OR_ONE,
+                                  arityMin = 0,
+                                  arityMax = 1,
+                                  description = "Stop the script once it loaded this many bytes (0 for no limit).",
+                                  label = "Maximum loaded bytes",
+                                  defaultValue = "0") long maxBytes) {
     if (Strings.isNullOrEmpty(script)) {
       throw new IllegalArgumentException("Script must not be empty or blank.");
     }
@@ -157,8 +207,20 @@ public class ArcScriptCommand {
     }
 
     final Path path = Strings.isNullOrEmpty(output) ? null : Path.of(output).normalize();
+    final ExecutionBudget budget = ExecutionBudget.builder()
+        .timeout(Duration.ofSeconds(Math.max(0L, timeout)))
+        .maxEntries(maxEntries)
+        .maxBytes(maxBytes)
+        .build();
     ScriptProcessingStrategy
-        .of(new ArcScriptContext(ctx, script, storageInstance, verbose, path, explicitFormat))
+        .of(new ArcScriptContext(
+            ctx,
+            script,
+            storageInstance,
+            verbose,
+            path,
+            explicitFormat,
+            budget))
         .process();
   }
 
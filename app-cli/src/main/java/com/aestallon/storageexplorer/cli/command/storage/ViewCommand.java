@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.cli.command.storage;
+
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+import org.springframework.shell.command.CommandContext;
+import org.springframework.shell.command.CommandRegistration;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.CommandAvailability;
+import org.springframework.shell.command.annotation.Option;
+import org.springframework.shell.table.ArrayTableModel;
+import org.springframework.shell.table.BorderStyle;
+import org.springframework.shell.table.TableBuilder;
+import org.springframework.stereotype.Component;
+import com.aestallon.storageexplorer.arcscript.engine.MaterializedView;
+import com.aestallon.storageexplorer.cli.command.CommandConstants;
+import com.aestallon.storageexplorer.cli.command.storage.internal.arcscript.MaterializedViewWriter;
+import com.aestallon.storageexplorer.cli.service.StorageInstanceContext;
+import com.aestallon.storageexplorer.client.arcscript.MaterializedViewService;
+import com.aestallon.storageexplorer.client.userconfig.service.ArcScriptFileService;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+
+@Component
+@Command(
+    command = "view",
+    description = "Materialise saved ArcScript queries, and read their maintained results",
+    group = CommandConstants.COMMAND_GROUP_STORAGE)
+public class ViewCommand {
+
+  private final StorageInstanceContext storageInstanceContext;
+  private final MaterializedViewService materializedViewService;
+
+  public ViewCommand(StorageInstanceContext storageInstanceContext,
+                     MaterializedViewService materializedViewService) {
+    this.storageInstanceContext = storageInstanceContext;
+    this.materializedViewService = materializedViewService;
+  }
+
+  @Command(
+      command = "register",
+      description = "Materialise a saved script, and print its result once evaluated.")
+  @CommandAvailability(provider = CommandConstants.REQUIRES_STORAGE)
+  public void register(CommandContext ctx,
+                       @Option(longNames = "title",
+                           shortNames = 't',
+                           required = true,
+                           arity = CommandRegistration.OptionArity.EXACTLY_ONE,
+                           arityMin = 1,
+                           arityMax = 1,
+                           description = "The title of the saved script.",
+                           label = "Title") String title) {
+    final StorageInstance storageInstance = currentStorageInstance();
+    final var loaded = storageInstanceContext
+        .userConfigService()
+        .arcScriptFileService()
+        .load(storageInstance.id(), title);
+    switch (loaded) {
+      case ArcScriptFileService.ArcScriptIoResult.Err(String msg) ->
+          throw new IllegalArgumentException(
+              "Could not load script [%s]: %s".formatted(title, msg));
+      case ArcScriptFileService.ArcScriptIoResult.Ok(var sas) -> {
+        switch (materializedViewService.register(sas)) {
+          case MaterializedViewService.RegistrationResult.Err(String msg) ->
+              throw new IllegalArgumentException(
+                  "Could not materialise script [%s]: %s".formatted(title, msg));
+          case MaterializedViewService.RegistrationResult.Ok(var view, var refreshed) -> {
+            try {
+              refreshed.join();
+            } catch (final CompletionException e) {
+              // the failure is reported by the staleness of the view:
+            }
+            MaterializedViewWriter.write(ctx, view.snapshot());
+          }
+        }
+      }
+    }
+  }
+
+  @Command(command = "show", description = "Print the current result of a materialised view.")
+  @CommandAvailability(provider = CommandConstants.REQUIRES_STORAGE)
+  public void show(CommandContext ctx,
+                   @Option(longNames = "title",
+                       shortNames = 't',
+                       required = true,
+                       arity = CommandRegistration.OptionArity.EXACTLY_ONE,
+                       arityMin = 1,
+                       arityMax = 1,
+                       description = "The title of the saved script.",
+                       label = "Title") String title) {
+    final MaterializedView view = materializedViewService
+        .find(currentStorageInstance().id(), title)
+        .orElseThrow(() -> new IllegalArgumentException(
+            "No materialised view: [%s]. Use 'view register' to create one!".formatted(title)));
+    MaterializedViewWriter.write(ctx, view.snapshot());
+  }
+
+  @Command(command = "list", description = "List the materialised views of the storage.")
+  @CommandAvailability(provider = CommandConstants.REQUIRES_STORAGE)
+  public void list(CommandContext ctx) {
+    final var views = materializedViewService.views(currentStorageInstance().id());
+    final Object[][] data = new Object[views.size() + 1][];
+    data[0] = new Object[] { "Title", "Rows", "Staleness" };
+    final Instant now = Instant.now();
+    for (int i = 0; i < views.size(); i++) {
+      final var snapshot = views.get(i).snapshot();
+      data[i + 1] = new Object[] {
+          snapshot.name(),
+          snapshot.resultSet().size(),
+          snapshot.staleness().describe(now) };
+    }
+
+    final var table = new TableBuilder(new ArrayTableModel(data))
+        .addHeaderAndVerticalsBorders(BorderStyle.oldschool)
+        .build();
+    final var writer = ctx.getTerminal().writer();
+    writer.println(table.render(ctx.getTerminal().getWidth()));
+    writer.flush();
+  }
+
+  @Command(command = "drop", description = "Drop a materialised view.")
+  @CommandAvailability(provider = CommandConstants.REQUIRES_STORAGE)
+  public void drop(@Option(longNames = "title",
+                       shortNames = 't',
+                       required = true,
+                       arity = CommandRegistration.OptionArity.EXACTLY_ONE,
+                       arityMin = 1,
+                       arityMax = 1,
+                       description = "The title of the saved script.",
+                       label = "Title") String title) {
+    if (!materializedViewService.drop(currentStorageInstance().id(), title)) {
+      throw new IllegalArgumentException("No materialised view: [%s]".formatted(title));
+    }
+  }
+
+  private StorageInstance currentStorageInstance() {
+    return storageInstanceContext
+        .current()
+        .orElseThrow(() -> new IllegalStateException(
+            "No storage instance selected! Use the 'use' command to select one!"));
+  }
+
+}
@@ -19,6 +19,7 @@ import java.nio.file.Path;
 import org.springframework.shell.command.CommandContext;
 import com.aestallon.storageexplorer.client.asexport.ResultSetExporterFactory;
 import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
 
 public record ArcScriptContext(
     CommandContext commandContext,
@@ -26,4 +27,5 @@ public record ArcScriptContext(
     StorageInstance storageInstance,
     boolean verbose,
     Path output,
-    ResultSetExporterFactory.Target format) {}
+    ResultSetExporterFactory.Target format,
+    ExecutionBudget budget) {}
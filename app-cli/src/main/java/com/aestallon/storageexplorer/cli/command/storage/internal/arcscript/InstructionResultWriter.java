@@ -20,12 +20,14 @@ import java.text.DecimalFormat;
 import java.time.Duration;
 import static java.util.stream.Collectors.joining;
 import org.springframework.shell.command.CommandContext;
+import org.springframework.shell.table.ArrayTableModel;
 import org.springframework.shell.table.BorderStyle;
 import org.springframework.shell.table.CellMatchers;
 import org.springframework.shell.table.NoWrapSizeConstraints;
 import org.springframework.shell.table.TableBuilder;
 import org.springframework.shell.table.TableModel;
 import com.aestallon.storageexplorer.arcscript.engine.ArcScriptResult;
+import com.aestallon.storageexplorer.arcscript.engine.ResultCursor;
 import com.aestallon.storageexplorer.client.asexport.ResultSetExporterFactory;
 
 sealed interface InstructionResultWriter {
@@ -48,9 +50,25 @@ sealed interface InstructionResultWriter {
       switch (result) {
         case ArcScriptResult.IndexingPerformed i -> printIndexingResult(i);
         case ArcScriptResult.QueryPerformed q -> printQueryResult(q);
+        case ArcScriptResult.QueryStreaming q -> printStreamingResult(q);
+        case ArcScriptResult.AggregationPerformed a -> printAggregationResult(a);
+        case ArcScriptResult.QueryProfiled p -> {
+          printProfile(p);
+          if (p.result() != null) {
+            write(p.result());
+          }
+        }
+        case ArcScriptResult.UpdatePerformed u -> printUpdateResult(u);
       }
     }
 
+    protected static String timeStr(final long nanos) {
+      final var duration = Duration.ofNanos(nanos);
+      return "%ds %sms".formatted(
+          duration.getSeconds(),
+          MS_FORMAT.format(duration.getNano() / 1_000_000d));
+    }
+
     private void printIndexingResult(ArcScriptResult.IndexingPerformed indexingPerformed) {
       final var duration = Duration.ofNanos(indexingPerformed.timeTaken());
       final var timeStr = "%ds %sms".formatted(
@@ -67,7 +85,127 @@ sealed interface InstructionResultWriter {
     }
 
     protected void printQueryResult(ArcScriptResult.QueryPerformed queryPerformed) {
-      final var table = new TableBuilder(QueryResultTableModel.of(queryPerformed.resultSet()))
+      printTable(queryPerformed.resultSet());
+    }
+
+    protected void printStreamingResult(ArcScriptResult.QueryStreaming queryStreaming) {
+      // every page is printed as soon as it is full, while the rest is still being evaluated:
+      final var writer = ctx.getTerminal().writer();
+      try (var cursor = queryStreaming.cursor()) {
+        final var meta = new ArcScriptResult.ResultSetMeta(cursor.columns(), -1L);
+        ResultCursor.Page page;
+        do {
+          page = cursor.next();
+          if (!page.rows().isEmpty() || (page.last() && cursor.consumed() == 0L)) {
+            printTable(new ArcScriptResult.ResultSet(meta, page.rows()));
+            writer.flush();
+          }
+        } while (!page.last());
+
+        cursor.error().ifPresent(e -> writer.println("Query failed: " + e.getMessage()));
+        if (cursor.status().partial()) {
+          writer.println("Partial result, query " + cursor.status().description() + ".");
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        writer.println("Interrupted, results are incomplete.");
+      }
+    }
+
+    private void printProfile(ArcScriptResult.QueryProfiled queryProfiled) {
+      final var profile = queryProfiled.profile();
+      final var writer = ctx.getTerminal().writer();
+      writer.println((profile.executed() ? "Profiled query: [ " : "Explained query: [ ")
+                     + queryProfiled.prettyPrint()
+                     + " ]");
+      writer.println("  Plan:       " + profile.plan());
+      writer.println("  Condition:  " + profile.program());
+      writer.println("  Candidates: "
+                     + profile.candidates()
+                     + " (" + profile.indexedAssertions() + " assertions answered by indices)");
+      if (profile.pushdownFailure() != null) {
+        writer.println("  Pushdown failed, evaluated in memory: " + profile.pushdownFailure());
+      }
+      if (profile.implicitIndexing()) {
+        writer.println(profile.executed()
+            ? "  Target indexed implicitly before the query."
+            : "  Target not indexed yet, it would be indexed implicitly before the query.");
+      }
+      if (!profile.executed()) {
+        return;
+      }
+
+      final Object[][] data = new Object[profile.phases().size() + 1][];
+      data[0] = new Object[] { "Phase", "Entries", "Loads", "Cache hits", "Bytes", "Time" };
+      for (int i = 0; i < profile.phases().size(); i++) {
+        final var phase = profile.phases().get(i);
+        data[i + 1] = new Object[] {
+            phase.phase().title(),
+            phase.entries(),
+            phase.loads(),
+            phase.cacheHits(),
+            phase.bytes(),
+            timeStr(phase.timeTaken()) };
+      }
+      final var table = new TableBuilder(new ArrayTableModel(data))
+          .addHeaderAndVerticalsBorders(BorderStyle.oldschool)
+          .build();
+      writer.println(table.render(ctx.getTerminal().getWidth()));
+      writer.println("  "
+                     + profile.results()
+                     + " results in "
+                     + timeStr(profile.timeTaken())
+                     + " (phase times are summed over every worker)");
+    }
+
+    private void printUpdateResult(ArcScriptResult.UpdatePerformed update) {
+      final var writer = ctx.getTerminal().writer();
+      if (update.dryRun()) {
+        final var estimate = update.estimate();
+        writer.println("Dry run: [ "
+                       + update.prettyPrint()
+                       + " ] -> "
+                       + update.matched()
+                       + " objects would be written in "
+                       + update.batches()
+                       + " batches, reading ~"
+                       + estimate.bytesRead()
+                       + " and writing ~"
+                       + estimate.bytesWritten()
+                       + " bytes (estimated from "
+                       + estimate.sampled()
+                       + " objects)");
+        return;
+      }
+
+      writer.println("Performed update: [ "
+                     + update.prettyPrint()
+                     + " ] -> "
+                     + "Matched "
+                     + update.matched()
+                     + ", modified "
+                     + update.modified()
+                     + ", unchanged "
+                     + update.unchanged()
+                     + ", failed "
+                     + update.failed()
+                     + " in "
+                     + update.batches()
+                     + " batches in "
+                     + timeStr(update.timeTaken()));
+      update.failures().forEach(it -> writer.println("  " + it.uri() + ": " + it.msg()));
+      if (update.failed() > update.failures().size()) {
+        writer.println("  ... and " + (update.failed() - update.failures().size()) + " more");
+      }
+    }
+
+    protected void printAggregationResult(ArcScriptResult.AggregationPerformed aggregation) {
+      // the groups always have columns -> they are printed cell by cell, there is no entry to show:
+      printTable(aggregation.aggregateSet().asResultSet());
+    }
+
+    private void printTable(ArcScriptResult.ResultSet resultSet) {
+      final var table = new TableBuilder(QueryResultTableModel.of(resultSet))
           .addHeaderAndVerticalsBorders(BorderStyle.oldschool)
           .on(CellMatchers.table()).addSizer(new NoWrapSizeConstraints())
           .build();
@@ -185,6 +323,35 @@ sealed interface InstructionResultWriter {
       }
       super.printQueryResult(queryPerformed);
     }
+
+    @Override
+    protected void printStreamingResult(ArcScriptResult.QueryStreaming queryStreaming) {
+      final var writer = ctx.getTerminal().writer();
+      writer.println("Streaming query: [ " + queryStreaming.prettyPrint() + " ]");
+      super.printStreamingResult(queryStreaming);
+
+      final var cursor = queryStreaming.cursor();
+      writer.println("Streamed "
+                     + cursor.consumed()
+                     + " matching entries in "
+                     + timeStr(Math.max(cursor.timeTaken(), 0L)));
+    }
+
+    @Override
+    protected void printAggregationResult(ArcScriptResult.AggregationPerformed aggregation) {
+      ctx.getTerminal().writer().println("Performed aggregation: [ "
+                                         + aggregation.prettyPrint()
+                                         + " ] -> "
+                                         + "Aggregated "
+                                         + aggregation.entriesAggregated()
+                                         + " matching entries into "
+                                         + aggregation.aggregateSet().size()
+                                         + " groups"
+                                         + (aggregation.indexOnly() ? " from the index" : "")
+                                         + " in "
+                                         + timeStr(aggregation.timeTaken()));
+      super.printAggregationResult(aggregation);
+    }
   }
 
 
@@ -202,12 +369,31 @@ sealed interface InstructionResultWriter {
     public void write(ArcScriptResult.InstructionResult result) {
       switch (result) {
         case ArcScriptResult.IndexingPerformed i -> {}
-        case ArcScriptResult.QueryPerformed q -> new ResultSetExporterFactory()
-            .get(format)
-            .export(q.resultSet(), path);
+        case ArcScriptResult.UpdatePerformed u -> {}
+        case ArcScriptResult.QueryPerformed q -> export(q.resultSet());
+        case ArcScriptResult.AggregationPerformed a -> export(a.aggregateSet().asResultSet());
+        case ArcScriptResult.QueryProfiled p -> {
+          // the profile itself is for the console, only the results it profiled are exported:
+          if (p.result() != null) {
+            write(p.result());
+          }
+        }
+        case ArcScriptResult.QueryStreaming q -> {
+          // the exporters need every row at hand:
+          try (var cursor = q.cursor()) {
+            export(cursor.drain());
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while collecting results!", e);
+          }
+        }
       }
     }
 
+    private void export(ArcScriptResult.ResultSet resultSet) {
+      new ResultSetExporterFactory().get(format).export(resultSet, path);
+    }
+
   }
 
 }
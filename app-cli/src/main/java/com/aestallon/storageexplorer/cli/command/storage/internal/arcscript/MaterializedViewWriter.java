@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.cli.command.storage.internal.arcscript;
+
+import java.time.Instant;
+import org.springframework.shell.command.CommandContext;
+import com.aestallon.storageexplorer.arcscript.engine.ArcScriptResult;
+import com.aestallon.storageexplorer.arcscript.engine.MaterializedView;
+
+public final class MaterializedViewWriter {
+
+  private MaterializedViewWriter() {}
+
+  /**
+   * Prints the given snapshot of a materialised view as a table, preceded by its staleness.
+   *
+   * @param ctx the context of the command printing the snapshot
+   * @param snapshot the snapshot to print
+   */
+  public static void write(final CommandContext ctx, final MaterializedView.Snapshot snapshot) {
+    final var writer = ctx.getTerminal().writer();
+    writer.println("View [ "
+                   + snapshot.name()
+                   + " ]: "
+                   + snapshot.resultSet().size()
+                   + " rows, "
+                   + snapshot.staleness().describe(Instant.now()));
+    new InstructionResultWriter.ConsoleWriter(ctx).write(new ArcScriptResult.QueryPerformed(
+        snapshot.name(),
+        snapshot.resultSet(),
+        0L));
+    writer.flush();
+  }
+
+}
@@ -17,10 +17,15 @@ package com.aestallon.storageexplorer.cli.command.storage.internal.arcscript;
 
 import java.util.List;
 import com.aestallon.storageexplorer.arcscript.api.Arc;
+import org.jline.terminal.Terminal;
 import com.aestallon.storageexplorer.arcscript.engine.ArcScriptResult;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
 
 public final class ScriptProcessingStrategy {
 
+  // results printed to the console are streamed, a page at a time:
+  private static final int CONSOLE_PAGE_SIZE = 100;
+
   public static ScriptProcessingStrategy of(final ArcScriptContext ctx) {
     final var intermediaryResultProcessor = IntermediaryResultProcessor.of(ctx);
     final var finalResultProcessor = FinalResultProcessor.of(ctx);
@@ -42,8 +47,28 @@ public final class ScriptProcessingStrategy {
   }
 
   public void process() {
-    switch (Arc.evaluate(ctx.script(), ctx.storageInstance())) {
-      case ArcScriptResult.Ok(var results) -> processResults(results);
+    final int pageSize = ctx.output() == null ? CONSOLE_PAGE_SIZE : 0;
+    final var budget = ctx.budget() == null ? ExecutionBudget.unlimited() : ctx.budget();
+    final Terminal terminal = ctx.commandContext().getTerminal();
+    // Ctrl+C stops the script, but still prints whatever it has found so far:
+    final var prevHandler = terminal.handle(Terminal.Signal.INT, signal -> budget.cancel());
+    try {
+      process(pageSize, budget);
+    } finally {
+      terminal.handle(Terminal.Signal.INT, prevHandler);
+    }
+  }
+
+  private void process(final int pageSize, final ExecutionBudget budget) {
+    switch (Arc.evaluate(ctx.script(), ctx.storageInstance(), pageSize, budget)) {
+      case ArcScriptResult.Ok(var results, var status) -> {
+        processResults(results);
+        if (status.partial()) {
+          ctx.commandContext().getTerminal().writer().println(
+              "Partial result, script " + status.description() + ".");
+          ctx.commandContext().getTerminal().writer().flush();
+        }
+      }
       case ArcScriptResult.CompilationError compErr -> printCompilationError(compErr);
       case ArcScriptResult.ImpermissibleInstruction(String msg, String cause) ->
           throw new IllegalArgumentException(msg + cause);
@@ -54,6 +79,11 @@ public final class ScriptProcessingStrategy {
 
 
   private void processResults(List<ArcScriptResult.InstructionResult> elements) {
+    if (elements.isEmpty()) {
+      // stopped before performing anything:
+      return;
+    }
+
     final var intermediaries = elements.subList(0, elements.size() -1);
     final var last = elements.getLast();
     
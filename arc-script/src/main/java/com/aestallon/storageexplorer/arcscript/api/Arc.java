@@ -4,22 +4,30 @@ import java.lang.invoke.VarHandle;
 import java.net.URI;
 import java.util.List;
 import java.util.concurrent.Executor;
-import org.codehaus.groovy.control.CompilerConfiguration;
 import com.aestallon.storageexplorer.arcscript.engine.ArcScriptResult;
-import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
 import com.aestallon.storageexplorer.arcscript.engine.ArcScriptEngine;
+import com.aestallon.storageexplorer.arcscript.engine.MaterializedView;
 import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
-import groovy.lang.GroovyShell;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
 import groovy.lang.Script;
 import groovy.transform.Final;
 
 public final class Arc {
 
+  private static final ScriptCache SCRIPT_CACHE = new ScriptCache(ScriptCache.DEFAULT_CAPACITY);
+
   static <SCRIPT extends Script & ArcScript> SCRIPT parse(final String script) {
-    final CompilerConfiguration config = new CompilerConfiguration();
-    config.setScriptBaseClass(ArcScriptImpl.class.getName());
-    final var shell = new GroovyShell(Arc.class.getClassLoader(), config);
-    return (SCRIPT) shell.parse(script);
+    // the text is only compiled the first time around, every later parse instantiates its class:
+    return (SCRIPT) SCRIPT_CACHE.instantiate(script);
+  }
+
+  /**
+   * Returns the cache of compiled scripts, e.g. to observe its hit rate.
+   *
+   * @return the script cache
+   */
+  public static ScriptCache scriptCache() {
+    return SCRIPT_CACHE;
   }
 
   static <SCRIPT extends Script & ArcScript> ArcScript evaluate(final SCRIPT script) {
@@ -27,9 +35,13 @@ public final class Arc {
     return script;
   }
 
-  static ArcScriptResult execute(final ArcScript arcScript, final StorageInstance storageInstance) {
+  static ArcScriptResult execute(final ArcScript arcScript,
+                                 final StorageInstance storageInstance,
+                                 final int pageSize,
+                                 final ExecutionBudget budget,
+                                 final boolean readOnly) {
     final var engine = new ArcScriptEngine(null);
-    return engine.execute(arcScript, storageInstance);
+    return engine.execute(arcScript, storageInstance, pageSize, budget, readOnly);
   }
   
   public static ArcScript compile(final String script) {
@@ -37,12 +49,94 @@ public final class Arc {
     return evaluate(s);
   }
 
+  /**
+   * Creates a materialised view of the given script, see {@link MaterializedView}. The view is not
+   * evaluated yet: it has to be {@link MaterializedView#refresh() refreshed} first.
+   *
+   * @param name the name of the view
+   * @param script the script of the view -> a single query, optionally preceded by index
+   *     instructions
+   * @param storageInstance the storage instance to keep the view of
+   *
+   * @return the view
+   *
+   * @throws IllegalArgumentException if the script does not compile, or cannot be materialised
+   */
+  public static MaterializedView materialize(final String name,
+                                             final String script,
+                                             final StorageInstance storageInstance) {
+    final ArcScript arcScript;
+    try {
+      arcScript = compile(script);
+    } catch (Exception e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+    return MaterializedView.of(name, script, arcScript, storageInstance);
+  }
+
   public static ArcScriptResult evaluate(final String script,
                                          final StorageInstance storageInstance) {
+    return evaluate(script, storageInstance, 0);
+  }
+
+  /**
+   * Evaluates the given script, streaming the result of its last query (if it ends with one)
+   * through a {@link com.aestallon.storageexplorer.arcscript.engine.ResultCursor} of the given
+   * page size.
+   *
+   * @param script the script to evaluate
+   * @param storageInstance the storage instance to evaluate the script against
+   * @param pageSize the page size, or {@code 0} to materialise every result
+   *
+   * @return the result of the evaluation
+   */
+  public static ArcScriptResult evaluate(final String script,
+                                         final StorageInstance storageInstance,
+                                         final int pageSize) {
+    return evaluate(script, storageInstance, pageSize, ExecutionBudget.unlimited());
+  }
+
+  /**
+   * Evaluates the given script within the given budget: once it stops (it gets cancelled, times
+   * out, or loads too much), the evaluation stops as well, and the result is partial.
+   *
+   * @param script the script to evaluate
+   * @param storageInstance the storage instance to evaluate the script against
+   * @param pageSize the page size, or {@code 0} to materialise every result
+   * @param budget the budget of the evaluation
+   *
+   * @return the result of the evaluation
+   */
+  public static ArcScriptResult evaluate(final String script,
+                                         final StorageInstance storageInstance,
+                                         final int pageSize,
+                                         final ExecutionBudget budget) {
+    return evaluate(script, storageInstance, pageSize, budget, false);
+  }
+
+  /**
+   * Evaluates the given script within the given budget, optionally refusing to modify the
+   * storage: a script updating entries is then rejected as an
+   * {@link ArcScriptResult.ImpermissibleInstruction impermissible instruction}, before any of its
+   * instructions is performed.
+   *
+   * @param script the script to evaluate
+   * @param storageInstance the storage instance to evaluate the script against
+   * @param pageSize the page size, or {@code 0} to materialise every result
+   * @param budget the budget of the evaluation
+   * @param readOnly whether the script is forbidden to update entries
+   *
+   * @return the result of the evaluation
+   */
+  public static ArcScriptResult evaluate(final String script,
+                                         final StorageInstance storageInstance,
+                                         final int pageSize,
+                                         final ExecutionBudget budget,
+                                         final boolean readOnly) {
     try {
       final var s = parse(script);
       final var as = evaluate(s);
-      return execute(as, storageInstance);
+      return execute(as, storageInstance, pageSize, budget, readOnly);
     } catch (Exception e) {
       return ArcScriptResult.err(e);
     }
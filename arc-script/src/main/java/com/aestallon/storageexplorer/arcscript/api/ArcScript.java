@@ -9,5 +9,25 @@ public interface ArcScript {
   IndexInstruction index(Closure closure);
   
   UpdateInstruction update(Closure closure);
-  
+
+  /**
+   * Reports the plan of the given query instead of performing it, as in
+   * {@code explain query { ... }}. Nothing is loaded, and no implicit indexing is performed.
+   *
+   * @param query the query to explain
+   *
+   * @return the query
+   */
+  QueryInstruction explain(QueryInstruction query);
+
+  /**
+   * Performs the given query, and reports its plan along with what each phase of its evaluation
+   * took, as in {@code profile query { ... }}. A profiled query is never streamed.
+   *
+   * @param query the query to profile
+   *
+   * @return the query
+   */
+  QueryInstruction profile(QueryInstruction query);
+
 }
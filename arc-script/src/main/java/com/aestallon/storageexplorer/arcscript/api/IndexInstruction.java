@@ -10,5 +10,11 @@ public interface IndexInstruction {
   void types(String... types);
   
   void method(IndexingStrategyType method);
+
+  /**
+   * Declares property value indices on the given property paths of the indexed objects. Requires
+   * at least one schema to be given.
+   */
+  void properties(String... properties);
   
 }
@@ -23,6 +23,71 @@ public interface QueryInstruction {
   QueryCondition where(QueryCondition condition);
   
   void limit(final long limit);
+
+  /**
+   * Orders the results by the given properties, in ascending order. Repeated calls add further,
+   * less significant keys. Entries without a value for a key come last.
+   *
+   * @param property the most significant property to order by
+   * @param properties further properties to order by
+   */
+  void order_by(String property, String... properties);
+
+  /**
+   * Same as {@link #order_by(String, String...)}, in descending order.
+   *
+   * @param property the most significant property to order by
+   * @param properties further properties to order by
+   */
+  void order_by_desc(String property, String... properties);
+  
+  /**
+   * Groups the results by the given properties, and turns the query into an aggregation: instead of
+   * entries, it yields a row per group, with the values of the group keys and of the aggregates
+   * (a {@link #count()} if none is requested).
+   *
+   * <p>
+   * Besides content properties, the pseudo-properties {@code '$schema'} and {@code '$type'} group by
+   * the schema and type of the entries, and {@code 'uri'} by their URI.
+   *
+   * @param property the first property to group by
+   * @param properties further properties to group by
+   */
+  void group_by(String property, String... properties);
+
+  /**
+   * Yields the distinct combinations of the values of the given properties, a row each, and nothing
+   * else: same as {@link #group_by(String, String...)} without any aggregate.
+   *
+   * @param property the first property
+   * @param properties further properties
+   */
+  void distinct(String property, String... properties);
+
+  /**
+   * Counts the entries (of every group, if grouped).
+   *
+   * @return the aggregate column
+   */
+  Column count();
+
+  /**
+   * Counts the distinct values of the given property (of every group, if grouped). Entries without
+   * a value are not counted.
+   *
+   * @param property the property
+   *
+   * @return the aggregate column
+   */
+  Column count_distinct(String property);
+
+  Column min(String property);
+
+  Column max(String property);
+
+  Column sum(String property);
+
+  Column avg(String property);
   
   QueryCondition expr(Closure closure);
   
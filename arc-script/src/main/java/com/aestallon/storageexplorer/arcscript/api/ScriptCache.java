@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.api;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import groovy.lang.Script;
+
+/**
+ * Compiled script classes, keyed by their {@link #normalise(String) normalised} script text.
+ *
+ * <p>
+ * Compiling a script takes tens, sometimes hundreds of milliseconds, and every compiled class is
+ * defined by a class loader of its own -> recompiling the same text over and over (e.g. on every
+ * request) is both slow, and fills up metaspace. Here every distinct text is compiled once, and
+ * each evaluation gets a fresh instance of its class: instructions are collected on the instance,
+ * thus instances are never shared.
+ *
+ * <p>
+ * The cache holds at most a fixed number of classes, evicting the least recently used one. The
+ * class loader of an evicted class is closed, and its meta class dropped, so nothing keeps it
+ * reachable once its last running instance is done.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class ScriptCache {
+
+  static final int DEFAULT_CAPACITY = 128;
+
+  private static final Pattern LINE_BREAK = Pattern.compile("\\r\\n?");
+  private static final Pattern TRAILING_WHITESPACE = Pattern.compile("[ \\t]+$", Pattern.MULTILINE);
+  private static final CompilerConfiguration CONFIG = createConfig();
+
+  private static CompilerConfiguration createConfig() {
+    final var config = new CompilerConfiguration();
+    config.setScriptBaseClass(ArcScriptImpl.class.getName());
+    return config;
+  }
+
+  /**
+   * Normalises the given script text, so texts only differing in line breaks or trailing
+   * whitespace share their compiled class. Lines are kept as they are, thus line numbers (e.g. in
+   * compilation errors) are not affected.
+   *
+   * <p>
+   * The normalised text is only ever used as the key of the cache: what gets compiled is the text
+   * as given, thus whitespace within string literals survives.
+   *
+   * @param script the script text
+   *
+   * @return the normalised text
+   */
+  static String normalise(final String script) {
+    final String lf = LINE_BREAK.matcher(script).replaceAll("\n");
+    return TRAILING_WHITESPACE.matcher(lf).replaceAll("").stripTrailing();
+  }
+
+
+  /**
+   * A snapshot of the effectiveness of the cache.
+   *
+   * @param hits the number of compilations avoided
+   * @param misses the number of compilations performed
+   * @param evictions the number of classes evicted
+   * @param size the number of classes currently cached
+   * @param compileNanos the time spent compiling, in nanoseconds
+   * @param savedNanos the compile time avoided, in nanoseconds (as measured by the compilation of
+   *     each class hit)
+   */
+  public record Stats(long hits,
+                      long misses,
+                      long evictions,
+                      int size,
+                      long compileNanos,
+                      long savedNanos) {
+
+    public double hitRate() {
+      final long total = hits + misses;
+      return total == 0L ? 0d : (double) hits / total;
+    }
+
+  }
+
+
+  private record Compiled(Class<? extends Script> type,
+                          GroovyClassLoader loader,
+                          long compileNanos) {
+
+    private void release() {
+      GroovySystem.getMetaClassRegistry().removeMetaClass(type);
+      loader.clearCache();
+      try {
+        loader.close();
+      } catch (final IOException e) {
+        // nothing was opened by the loader in the first place, nothing to do here
+      }
+    }
+
+  }
+
+
+  private final int capacity;
+  private final Map<String, Compiled> classes;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong compileNanos = new AtomicLong();
+  private final AtomicLong savedNanos = new AtomicLong();
+  private final AtomicLong sequence = new AtomicLong();
+
+  ScriptCache(final int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive!");
+    }
+
+    this.capacity = capacity;
+    this.classes = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Returns a fresh instance of the class compiled from the given text, compiling it only if it is
+   * not cached yet.
+   *
+   * @param script the script text
+   *
+   * @return a new script instance
+   */
+  Script instantiate(final String script) {
+    return InvokerHelper.createScript(compile(script), new Binding());
+  }
+
+  Class<? extends Script> compile(final String script) {
+    final String key = normalise(script);
+    Compiled compiled;
+    synchronized (classes) {
+      compiled = classes.get(key);
+    }
+
+    if (compiled != null) {
+      hits.incrementAndGet();
+      savedNanos.addAndGet(compiled.compileNanos());
+      return compiled.type();
+    }
+
+    // compiled outside the lock: the same text compiled concurrently is compiled twice, but an
+    // unrelated script never waits for another one to compile:
+    misses.incrementAndGet();
+    final Compiled fresh = doCompile(script);
+    synchronized (classes) {
+      final Compiled existing = classes.putIfAbsent(key, fresh);
+      if (existing != null) {
+        fresh.release();
+        return existing.type();
+      }
+
+      evictExcess();
+    }
+    return fresh.type();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Compiled doCompile(final String text) {
+    final var loader = new GroovyClassLoader(ScriptCache.class.getClassLoader(), CONFIG);
+    final long start = System.nanoTime();
+    try {
+      final Class<?> type = loader.parseClass(
+          text,
+          "ArcScript" + sequence.incrementAndGet() + ".groovy");
+      final long elapsed = System.nanoTime() - start;
+      compileNanos.addAndGet(elapsed);
+      return new Compiled((Class<? extends Script>) type, loader, elapsed);
+    } catch (final RuntimeException e) {
+      // a script failing to compile is not cached, and neither is its loader kept:
+      compileNanos.addAndGet(System.nanoTime() - start);
+      try {
+        loader.close();
+      } catch (final IOException ignored) {
+        // see above
+      }
+      throw e;
+    }
+  }
+
+  // must be called holding the lock on classes:
+  private void evictExcess() {
+    final Iterator<Compiled> it = classes.values().iterator();
+    while (classes.size() > capacity && it.hasNext()) {
+      final Compiled eldest = it.next();
+      it.remove();
+      eldest.release();
+      evictions.incrementAndGet();
+    }
+  }
+
+  public Stats stats() {
+    final int size;
+    synchronized (classes) {
+      size = classes.size();
+    }
+
+    return new Stats(
+        hits.get(),
+        misses.get(),
+        evictions.get(),
+        size,
+        compileNanos.get(),
+        savedNanos.get());
+  }
+
+  /**
+   * Drops every cached class. Scripts running right now are not affected.
+   */
+  public void clear() {
+    synchronized (classes) {
+      classes.values().forEach(Compiled::release);
+      classes.clear();
+    }
+  }
+
+}
@@ -1,4 +1,73 @@
 package com.aestallon.storageexplorer.arcscript.api;
 
+import groovy.lang.Closure;
+
+/**
+ * Modifies every object matched by a query, as in:
+ * <pre>{@code
+ * update {
+ *   every 'Person'
+ *   from 'crm'
+ *   where { str 'status' is 'legacy' }
+ *   set 'status', 'active'
+ *   unset 'legacyId'
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Multi version objects get a new version, single version objects are overwritten. Objects are
+ * written in batches (see {@link #batch_size(int)}): on a relational database storage, a batch is
+ * written in a single transaction.
+ */
 public interface UpdateInstruction {
+
+  void a(final String typeName);
+
+  default void an(final String typeName) {
+    a(typeName);
+  }
+
+  void every(final String... typeNames);
+
+  void from(final String... schema);
+
+  QueryCondition where(Closure closure);
+
+  QueryCondition where(QueryCondition condition);
+
+  QueryCondition expr(Closure closure);
+
+  QueryCondition expr(QueryCondition condition);
+
+  void limit(final long limit);
+
+  /**
+   * Sets the given property of every matching object to the given value. Objects missing along
+   * the path of the property are created.
+   *
+   * @param property the property path (e.g. {@code 'address.state'})
+   * @param value the value to set
+   */
+  void set(String property, Object value);
+
+  /**
+   * Removes the given property of every matching object.
+   *
+   * @param property the property path
+   */
+  void unset(String property);
+
+  /**
+   * Sets the number of objects written together (500 by default).
+   *
+   * @param size the size of a batch
+   */
+  void batch_size(int size);
+
+  /**
+   * Writes nothing: only reports how many objects the update would modify, and estimates the I/O
+   * it would take.
+   */
+  void dry_run();
+
 }
@@ -0,0 +1,406 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+
+/**
+ * The groups and aggregates of an aggregating query, accumulated as qualifying entries stream
+ * through -> entries are never collected, every group holds a constant amount of state (except for
+ * {@code count_distinct}, which has to remember the values it has seen).
+ *
+ * <p>
+ * Thread safe: entries are accepted concurrently, from the workers evaluating the condition.
+ */
+final class Aggregation {
+
+  static final String SCHEMA = "$schema";
+  static final String TYPE = "$type";
+
+
+  /**
+   * Reads a group key or an aggregated value of an entry. The schema, the type and the URI are
+   * known to the index, everything else is read from the content of the entry.
+   */
+  private record Accessor(String property, StorageInstanceExaminer.PropertyPath path) {
+
+    static Accessor of(final String property) {
+      return switch (property) {
+        case SCHEMA, TYPE -> new Accessor(property, null);
+        default -> new Accessor(property, StorageInstanceExaminer.PropertyPath.of(property));
+      };
+    }
+
+    boolean metadata() {
+      return path == null || path.isOwnUri();
+    }
+
+    Object read(final StorageEntry entry,
+                final StorageInstanceExaminer examiner,
+                final StorageInstanceExaminer.ObjectEntryLookupTable cache) {
+      if (path == null) {
+        return SCHEMA.equals(property)
+            ? entry.uri().getScheme()
+            : StorageEntry.typeNameOf(entry);
+      }
+
+      final var result = examiner.discoverProperty(entry, path, cache);
+      return result instanceof StorageInstanceExaminer.Some some ? some.val() : null;
+    }
+
+  }
+
+
+  sealed interface Accumulator {
+
+    static Accumulator of(final QueryInstructionImpl.AggregateFunction function) {
+      return switch (function) {
+        case COUNT -> new Count();
+        case COUNT_DISTINCT -> new CountDistinct();
+        case MIN -> new Extremum(1);
+        case MAX -> new Extremum(-1);
+        case SUM -> new Sum();
+        case AVG -> new Avg();
+      };
+    }
+
+    void accept(Object value);
+
+    Object result();
+
+  }
+
+
+  private static final class Count implements Accumulator {
+
+    private long n;
+
+    @Override
+    public void accept(final Object value) {
+      n++;
+    }
+
+    @Override
+    public Object result() {
+      return n;
+    }
+
+  }
+
+
+  private static final class CountDistinct implements Accumulator {
+
+    private final Set<Object> seen = new HashSet<>();
+
+    @Override
+    public void accept(final Object value) {
+      if (value != null) {
+        seen.add(value);
+      }
+    }
+
+    @Override
+    public Object result() {
+      return (long) seen.size();
+    }
+
+  }
+
+
+  private static final class Extremum implements Accumulator {
+
+    // 1 keeps the smallest, -1 the largest:
+    private final int sign;
+    private Object best;
+
+    private Extremum(final int sign) {
+      this.sign = sign;
+    }
+
+    @Override
+    public void accept(final Object value) {
+      if (value != null && (best == null || sign * QueryOrdering.compareValues(value, best) < 0)) {
+        best = value;
+      }
+    }
+
+    @Override
+    public Object result() {
+      return best;
+    }
+
+  }
+
+
+  private static final class Sum implements Accumulator {
+
+    private long integral;
+    private double fractional;
+    private boolean exact = true;
+    private boolean any;
+
+    @Override
+    public void accept(final Object value) {
+      if (!(value instanceof Number n)) {
+        return;
+      }
+
+      any = true;
+      if (exact && n instanceof Long l) {
+        try {
+          integral = Math.addExact(integral, l);
+          return;
+        } catch (final ArithmeticException e) {
+          // overflown -> carried on in floating point below
+        }
+      }
+
+      if (exact) {
+        exact = false;
+        fractional = (double) integral;
+      }
+      fractional += n.doubleValue();
+    }
+
+    @Override
+    public Object result() {
+      if (!any) {
+        return null;
+      }
+
+      return exact ? (Object) integral : (Object) fractional;
+    }
+
+  }
+
+
+  private static final class Avg implements Accumulator {
+
+    private double sum;
+    private long n;
+
+    @Override
+    public void accept(final Object value) {
+      if (value instanceof Number num) {
+        sum += num.doubleValue();
+        n++;
+      }
+    }
+
+    @Override
+    public Object result() {
+      return n == 0 ? null : sum / n;
+    }
+
+  }
+
+
+  static Aggregation of(final QueryInstructionImpl query,
+                        final StorageInstanceExaminer examiner,
+                        final StorageInstanceExaminer.ObjectEntryLookupTable cache) {
+    // a distinct query is a grouping without aggregates -> only the group keys are yielded:
+    final boolean counting = query._aggregates.isEmpty() && !query._distinct;
+    final List<QueryInstructionImpl.AggregateColumn> aggregates = counting
+        ? List.of(new QueryInstructionImpl.AggregateColumn(
+            QueryInstructionImpl.AggregateFunction.COUNT,
+            null))
+        : query._aggregates;
+    return new Aggregation(query._groupBy, aggregates, examiner, cache);
+  }
+
+  private final Accessor[] groupBy;
+  private final QueryInstructionImpl.AggregateFunction[] functions;
+  private final Accessor[] measured;
+  private final List<ArcScriptResult.ColumnDescriptor> columns;
+  private final StorageInstanceExaminer examiner;
+  private final StorageInstanceExaminer.ObjectEntryLookupTable cache;
+  private final Map<List<Object>, Accumulator[]> groups = new ConcurrentHashMap<>();
+  private final AtomicLong accepted = new AtomicLong();
+
+  private Aggregation(final List<String> groupBy,
+                      final List<QueryInstructionImpl.AggregateColumn> aggregates,
+                      final StorageInstanceExaminer examiner,
+                      final StorageInstanceExaminer.ObjectEntryLookupTable cache) {
+    this.groupBy = groupBy.stream().map(Accessor::of).toArray(Accessor[]::new);
+    this.functions = aggregates.stream()
+        .map(QueryInstructionImpl.AggregateColumn::functionInternal)
+        .toArray(QueryInstructionImpl.AggregateFunction[]::new);
+    this.measured = aggregates.stream()
+        .map(it -> it.propertyInternal() == null ? null : Accessor.of(it.propertyInternal()))
+        .toArray(Accessor[]::new);
+    this.examiner = examiner;
+    this.cache = cache;
+
+    final List<ArcScriptResult.ColumnDescriptor> cols = new ArrayList<>();
+    groupBy.forEach(it -> cols.add(new ArcScriptResult.ColumnDescriptor(it, it)));
+    aggregates.forEach(it -> cols.add(new ArcScriptResult.ColumnDescriptor(
+        it.toString(),
+        it.displayNameInternal())));
+    this.columns = List.copyOf(cols);
+  }
+
+  /**
+   * Returns whether every group key and aggregated value is known to the index -> accepting an
+   * entry never loads its content.
+   *
+   * @return {@code true} if no content is read
+   */
+  boolean metadataOnly() {
+    return Arrays.stream(groupBy).allMatch(Accessor::metadata)
+           && Arrays.stream(measured).allMatch(it -> it == null || it.metadata());
+  }
+
+  long accepted() {
+    return accepted.get();
+  }
+
+  void accept(final StorageEntry entry) {
+    final Object[] key = new Object[groupBy.length];
+    for (int i = 0; i < groupBy.length; i++) {
+      key[i] = groupBy[i].read(entry, examiner, cache);
+    }
+
+    // values are read outside the lock of the group, they may take a load:
+    final Object[] values = new Object[measured.length];
+    for (int i = 0; i < measured.length; i++) {
+      values[i] = measured[i] == null ? null : measured[i].read(entry, examiner, cache);
+    }
+
+    accept(key, values);
+  }
+
+  /**
+   * Accumulates an entry already read: the values of its group keys, and of its aggregated
+   * properties (in the order of the aggregates, {@code null} for a plain count).
+   *
+   * @param key the values of the group keys
+   * @param values the aggregated values
+   */
+  void accept(final Object[] key, final Object[] values) {
+    for (int i = 0; i < key.length; i++) {
+      key[i] = normalise(key[i]);
+    }
+    for (int i = 0; i < values.length; i++) {
+      values[i] = normalise(values[i]);
+    }
+
+    final Accumulator[] accumulators = groups.computeIfAbsent(Arrays.asList(key), k -> {
+      final var accs = new Accumulator[functions.length];
+      for (int i = 0; i < functions.length; i++) {
+        accs[i] = Accumulator.of(functions[i]);
+      }
+      return accs;
+    });
+    synchronized (accumulators) {
+      for (int i = 0; i < accumulators.length; i++) {
+        accumulators[i].accept(values[i]);
+      }
+    }
+    accepted.incrementAndGet();
+  }
+
+  /**
+   * Returns the groups accumulated so far, ordered by their keys (missing values last).
+   *
+   * @param limit the maximum number of groups to return, or a non-positive value for all of them
+   * @param timeTaken the time the aggregation took, in nanoseconds
+   *
+   * @return the groups
+   */
+  ArcScriptResult.AggregateSet result(final long limit, final long timeTaken) {
+    final Comparator<List<Object>> byKey = (a, b) -> {
+      for (int i = 0; i < a.size(); i++) {
+        final Object x = a.get(i);
+        final Object y = b.get(i);
+        if (x == null || y == null) {
+          if (x != y) {
+            return x == null ? 1 : -1;
+          }
+          continue;
+        }
+
+        final int c = QueryOrdering.compareValues(x, y);
+        if (c != 0) {
+          return c;
+        }
+      }
+      return 0;
+    };
+
+    final List<Map<String, ArcScriptResult.DataCell>> rows = new ArrayList<>();
+    groups.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey(byKey))
+        .limit(limit > 0 ? limit : Long.MAX_VALUE)
+        .forEach(e -> {
+          final Map<String, ArcScriptResult.DataCell> cells = new HashMap<>();
+          final List<Object> key = e.getKey();
+          for (int i = 0; i < key.size(); i++) {
+            cells.put(columns.get(i).prop(), cell(key.get(i)));
+          }
+
+          final Accumulator[] accumulators = e.getValue();
+          synchronized (accumulators) {
+            for (int i = 0; i < accumulators.length; i++) {
+              cells.put(columns.get(key.size() + i).prop(), cell(accumulators[i].result()));
+            }
+          }
+          rows.add(cells);
+        });
+    return new ArcScriptResult.AggregateSet(
+        new ArcScriptResult.ResultSetMeta(columns, timeTaken),
+        rows);
+  }
+
+  private static ArcScriptResult.DataCell cell(final Object value) {
+    return value == null ? ArcScriptResult.DataCell.noValue() : ArcScriptResult.DataCell.of(value);
+  }
+
+  // 3, 3L and 3.0d must fall into the same group, and sum up the same way -> integral values are
+  // kept as longs, everything else as doubles:
+  static Object normalise(final Object value) {
+    return switch (value) {
+      case Long l -> l;
+      case Integer i -> i.longValue();
+      case Short s -> s.longValue();
+      case Byte b -> b.longValue();
+      case BigInteger b -> b.bitLength() < Long.SIZE ? (Object) b.longValue() : b.doubleValue();
+      case BigDecimal b -> normalise(b.doubleValue());
+      case Double d -> integral(d);
+      case Float f -> integral(f.doubleValue());
+      case null, default -> value;
+    };
+  }
+
+  private static Object integral(final double d) {
+    // the bounds are exact powers of two, every double between them is a whole long if integral:
+    return d == Math.rint(d) && d >= -0x1p63 && d < 0x1p63 ? (Object) (long) d : (Object) d;
+  }
+
+}
@@ -1,21 +1,36 @@
 package com.aestallon.storageexplorer.arcscript.engine;
 
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import static java.util.stream.Collectors.toSet;
 import com.aestallon.storageexplorer.arcscript.api.ArcScript;
 import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
 import com.aestallon.storageexplorer.arcscript.internal.Instruction;
 import com.aestallon.storageexplorer.arcscript.internal.index.IndexInstructionImpl;
 import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
 import com.aestallon.storageexplorer.arcscript.internal.update.UpdateInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
-import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
 import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
 import com.aestallon.storageexplorer.core.service.IndexingStrategy;
+import com.aestallon.storageexplorer.core.service.LoadScheduler;
+import com.aestallon.storageexplorer.core.service.RelationalDatabaseStorageIndex;
+import com.aestallon.storageexplorer.core.service.StorageIndex;
 import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+import com.aestallon.storageexplorer.core.service.cache.PropertyIndexDefinition;
+import com.aestallon.storageexplorer.core.util.AbstractEntryEvaluationExecutor;
 
 public class ArcScriptEngine {
 
@@ -26,6 +41,71 @@ public class ArcScriptEngine {
   }
 
   public ArcScriptResult execute(ArcScript arcScript, StorageInstance storageInstance) {
+    return execute(arcScript, storageInstance, 0);
+  }
+
+  /**
+   * Executes the given script. If its last instruction is a query, and the page size is positive,
+   * that query is not materialised: its result is a {@link ArcScriptResult.QueryStreaming}, whose
+   * cursor receives rows while the evaluation is still in progress. Every other instruction is
+   * performed in full before this method returns.
+   *
+   * @param arcScript the script to execute
+   * @param storageInstance the storage instance to execute the script against
+   * @param pageSize the page size of the cursor of the last query, or {@code 0} to materialise it
+   *
+   * @return the result of the execution
+   */
+  public ArcScriptResult execute(ArcScript arcScript,
+                                 StorageInstance storageInstance,
+                                 int pageSize) {
+    return execute(arcScript, storageInstance, pageSize, ExecutionBudget.unlimited());
+  }
+
+  /**
+   * Executes the given script within the given budget (see
+   * {@link #execute(ArcScript, StorageInstance, int)}).
+   *
+   * <p>
+   * Every entry loaded by the script is charged against the budget, and its timeout starts right
+   * away. Once the budget stops (because it got cancelled, or any of its limits was hit) the
+   * instruction in progress stops admitting further entries, and no further instructions are
+   * performed -> the result is partial, and its {@link ArcScriptResult.Ok#status() status} tells
+   * why. A streamed query reports the same through its {@link ResultCursor#status() cursor}.
+   *
+   * @param arcScript the script to execute
+   * @param storageInstance the storage instance to execute the script against
+   * @param pageSize the page size of the cursor of the last query, or {@code 0} to materialise it
+   * @param budget the budget of the execution
+   *
+   * @return the result of the execution
+   */
+  public ArcScriptResult execute(ArcScript arcScript,
+                                 StorageInstance storageInstance,
+                                 int pageSize,
+                                 ExecutionBudget budget) {
+    return execute(arcScript, storageInstance, pageSize, budget, false);
+  }
+
+  /**
+   * Executes the given script within the given budget (see
+   * {@link #execute(ArcScript, StorageInstance, int, ExecutionBudget)}), optionally refusing to
+   * modify the storage.
+   *
+   * @param arcScript the script to execute
+   * @param storageInstance the storage instance to execute the script against
+   * @param pageSize the page size of the cursor of the last query, or {@code 0} to materialise it
+   * @param budget the budget of the execution
+   * @param readOnly whether the script is forbidden to update entries -> then a script containing
+   *     an update is rejected as impermissible, before anything is performed
+   *
+   * @return the result of the execution
+   */
+  public ArcScriptResult execute(ArcScript arcScript,
+                                 StorageInstance storageInstance,
+                                 int pageSize,
+                                 ExecutionBudget budget,
+                                 boolean readOnly) {
     if (!(arcScript instanceof ArcScriptImpl as)) {
       return new ArcScriptResult.UnknownError("ArcScript is not an ArcScriptImpl");
     }
@@ -38,6 +118,8 @@ public class ArcScriptEngine {
     // we must find missing or incomplete indexing instructions and amend them...
     record IndexInsert(int idx, ImplicitIndexInstruction instruction) {}
     final List<IndexInsert> inserts = new ArrayList<>();
+    // explained queries are not performed -> their target is only reported as not indexed yet:
+    final Set<QueryInstructionImpl> unindexed = new HashSet<>();
     OUTER:
     for (int i = 0; i < instructions.size(); i++) {
       final Instruction instruction = instructions.get(i);
@@ -45,28 +127,64 @@ public class ArcScriptEngine {
         return ArcScriptResult.impermissible("Specify at least one schema for indexing: ", index);
       }
 
-      if (instruction instanceof QueryInstructionImpl query) {
+      if (readOnly && instruction instanceof UpdateInstructionImpl update) {
+        return ArcScriptResult.impermissible("Updating entries is not permitted here: ", update);
+      }
+
+      if (instruction instanceof UpdateInstructionImpl update && update._changes.isEmpty()) {
+        return ArcScriptResult.impermissible(
+            "Specify at least one property to set or unset: ",
+            update);
+      }
+
+      // an update selects its targets the same way a query does:
+      final QueryInstructionImpl query = switch (instruction) {
+        case QueryInstructionImpl q -> q;
+        case UpdateInstructionImpl u -> u.query;
+        default -> null;
+      };
+      if (query != null) {
         Set<String> schemas = query._schemas;
         Set<String> types = query._types;
         if (schemas.isEmpty()) {
           return ArcScriptResult.impermissible("Specify at least one schema for query: ", query);
         }
 
+        if (query.isAggregation() && !(query._columns.isEmpty() && query._order.isEmpty())) {
+          return ArcScriptResult.impermissible(
+              "Aggregating queries are ordered by their groups, and show their aggregates only: ",
+              query);
+        }
+
+        final var target = new IndexingTarget(schemas, types);
         for (int j = 0; j < i; j++) {
           final Instruction instruction2 = instructions.get(j);
-          if (instruction2 instanceof IndexInstructionImpl index) {
-            if (index._schemas.equals(schemas) && index._types.equals(types)) {
-              // everything perfectly matches for this query, nothing to be done!
-              continue OUTER;
-            }
+          if (instruction2 instanceof IndexInstructionImpl index
+              && new IndexingTarget(index._schemas, index._types).covers(target)) {
+            // an earlier instruction indexes (at least) everything this query needs:
+            continue OUTER;
           }
         }
 
-        // here would come a complex implicit indexing check, where we widen the indexing 
-        // instructions not covering the full landscape of later queries, and as a last resort, we 
-        // add an extra, implicit index. I don't have the energy to properly implement that, maybe 
-        // later...
-        final var implicit = new ImplicitIndexInstruction();
+        if (inserts.stream().anyMatch(it -> it.instruction.target().covers(target))) {
+          // an earlier query of this script is going to have it indexed:
+          continue;
+        }
+
+        final var coverage = storageInstance.index().coverage().covering(
+            target,
+            IndexingStrategyType.INITIAL);
+        if (coverage.isPresent()) {
+          // indexed recently enough -> by an earlier script, or the storage itself:
+          continue;
+        }
+
+        if (query._mode == QueryInstructionImpl.Mode.EXPLAIN) {
+          unindexed.add(query);
+          continue;
+        }
+
+        final var implicit = new ImplicitIndexInstruction(query);
         implicit._schemas.addAll(schemas);
         implicit._types.addAll(types);
         inserts.addFirst(new IndexInsert(i, implicit));
@@ -74,79 +192,546 @@ public class ArcScriptEngine {
     }
     inserts.forEach(it -> instructions.add(it.idx, it.instruction));
 
+    // whatever the engine loads itself (e.g. while sorting or rendering) is charged as well:
+    budget.start();
     final List<ArcScriptResult.InstructionResult> instructionResults = new ArrayList<>();
-    for (final Instruction instruction : instructions) {
-      switch (instruction) {
-        case QueryInstructionImpl query -> {
-          final long start = System.nanoTime();
-
-          final IndexingTarget target = new IndexingTarget(query._schemas, query._types);
-          final Set<StorageEntry> entries = storageInstance.index().get(target);
-          final var examiner = storageInstance.examiner();
-          final var condition = query.condition;
-          final var limit = query._limit;
-          final var runningOnFs = StorageInstanceType.FS == storageInstance.type();
-          final var cache = StorageInstanceExaminer.ObjectEntryLookupTable.newInstance();
-          final var res = ConditionEvaluationExecutor.builder(examiner, entries, condition, limit)
-              //.useSemaphore(!runningOnFs)
-              .useCache(cache)
-              .build()
-              .execute();
-          final long end = System.nanoTime();
+    LoadScheduler.global()
+        .openSession(LoadScheduler.Lane.QUERY, budget)
+        .run(() -> perform(
+            instructions,
+            storageInstance,
+            pageSize,
+            budget,
+            unindexed,
+            instructionResults));
+    // a streamed query is still running -> its budget is completed once its cursor is:
+    if (instructionResults.stream().noneMatch(ArcScriptResult.QueryStreaming.class::isInstance)) {
+      budget.complete();
+    }
+    return new ArcScriptResult.Ok(instructionResults, budget.status());
+  }
 
-          final var showColumns = query._columns;
-          final ArcScriptResult.ResultSet resultSet;
-          if (showColumns.isEmpty()) {
-            resultSet = new ArcScriptResult.ResultSet(
-                new ArcScriptResult.ResultSetMeta(Collections.emptyList(), -1L),
-                res.stream().map(ArcScriptResult.QueryResultRow::new).toList());
-          } else {
-            final long renderStart = System.nanoTime();
-            final var columns = showColumns.stream()
-                .map(it -> new ArcScriptResult.ColumnDescriptor(
-                    it.propertyInternal(),
-                    it.displayNameInternal()))
-                .toList();
-            final var rows = QueryResultRowEvaluationExecutor.builder(examiner, res, columns)
-                //.useSemaphore(!runningOnFs)
-                .useCache(cache)
-                .build()
-                .execute();
-            final long renderEnd = System.nanoTime();
-            final var meta = new ArcScriptResult.ResultSetMeta(columns, renderEnd - renderStart);
-            resultSet = new ArcScriptResult.ResultSet(meta, new ArrayList<>(rows));
-          }
+  private static void perform(final List<Instruction> instructions,
+                              final StorageInstance storageInstance,
+                              final int pageSize,
+                              final ExecutionBudget budget,
+                              final Set<QueryInstructionImpl> unindexed,
+                              final List<ArcScriptResult.InstructionResult> instructionResults) {
+    final boolean streaming = pageSize > 0;
+    // implicit indexing is reported as the first phase of the profile of the query it was for:
+    final Map<QueryInstructionImpl, ArcScriptResult.IndexingPerformed> implicitlyIndexed =
+        new HashMap<>();
+    for (final Instruction instruction : instructions) {
+      if (budget.stopped()) {
+        // whatever has been performed so far is the (partial) result:
+        return;
+      }
 
-          instructionResults.add(new ArcScriptResult.QueryPerformed(
-              query.toString(),
-              resultSet,
-              end - start));
-        }
+      switch (instruction) {
+        case QueryInstructionImpl query when query._mode == QueryInstructionImpl.Mode.EXPLAIN ->
+            instructionResults.add(explain(query, storageInstance, unindexed.contains(query)));
+        case QueryInstructionImpl query when query._mode == QueryInstructionImpl.Mode.PROFILE ->
+            instructionResults.add(profile(
+                query,
+                storageInstance,
+                budget,
+                implicitlyIndexed.get(query)));
+        case QueryInstructionImpl query when query.isAggregation() ->
+            instructionResults.add(aggregate(query, storageInstance, budget, null));
+        case QueryInstructionImpl query when streaming && query == instructions.getLast() ->
+            instructionResults.add(stream(query, storageInstance, pageSize, budget));
+        case QueryInstructionImpl query ->
+            instructionResults.add(query(query, storageInstance, budget, null));
         case IndexInstructionImpl index -> {
+          final var event = new ArcScriptInstructionEvent();
+          event.begin();
           final long start = System.nanoTime();
           final IndexingTarget target = new IndexingTarget(index._schemas, index._types);
           final int size = storageInstance
               .index()
               .refresh(IndexingStrategy.of(index._strategy), target);
+          declarePropertyIndices(storageInstance.index(), index);
           final long end = System.nanoTime();
-          instructionResults.add(new ArcScriptResult.IndexingPerformed(
+          event.end();
+          if (event.shouldCommit()) {
+            event.storageId = storageInstance.id().toString();
+            event.kind = ArcScriptInstructionEvent.KIND_INDEX;
+            event.implicit = index instanceof ImplicitIndexInstruction;
+            event.instruction = index.toString();
+            event.schemas = String.join(",", index._schemas);
+            event.types = String.join(",", index._types);
+            event.candidates = size;
+            event.results = size;
+            event.evaluationTime = end - start;
+            event.commit();
+          }
+
+          final var indexingPerformed = new ArcScriptResult.IndexingPerformed(
               index instanceof ImplicitIndexInstruction,
               index._schemas,
               index._types,
               index.toString(),
               size,
-              end - start));
+              end - start);
+          if (index instanceof ImplicitIndexInstruction implicit) {
+            implicitlyIndexed.put(implicit.query, indexingPerformed);
+          }
+          instructionResults.add(indexingPerformed);
         }
         case UpdateInstructionImpl update ->
-            throw new IllegalArgumentException("Updates are not yet supported!");
+            instructionResults.add(update(update, storageInstance, budget));
         default -> throw new IllegalStateException("Unexpected value: " + instruction);
       }
     }
+  }
+
+
+  private record PreparedQuery(QueryPlan plan,
+                               Set<StorageEntry> entries,
+                               String pushdownFailure,
+                               IndexedAssertions indexed,
+                               StorageInstanceExaminer.ObjectEntryLookupTable cache,
+                               QueryOrdering ordering,
+                               ConditionEvaluationExecutor executor,
+                               long selectionTime) {}
+
+
+  // a profiled query is prepared up front, so its candidate selection is profiled as well:
+  private record Profiling(PreparedQuery prepared, QueryProfiler profiler, long start) {}
+
+
+  private static PreparedQuery prepare(final QueryInstructionImpl query,
+                                       final StorageInstance storageInstance,
+                                       final long limit,
+                                       final ExecutionBudget budget) {
+    final long start = System.nanoTime();
+    final StorageIndex<?> index = storageInstance.index();
+    QueryPlan plan = QueryPlanner.plan(query, index);
+    Set<StorageEntry> entries = index.get(plan.target());
+    String pushdownFailure = null;
+    if (plan.pushesDown() && index instanceof RelationalDatabaseStorageIndex rdb) {
+      try {
+        final Set<URI> selected = rdb.select(plan.target(), plan.pushdown());
+        entries = entries.stream()
+            .filter(it -> selected.contains(it.uri()))
+            .collect(toSet());
+      } catch (final RuntimeException e) {
+        // the backend could not take it -> we still have every candidate at hand:
+        pushdownFailure = e.getMessage();
+        plan = QueryPlan.inMemory(plan.target(), query.condition);
+      }
+    }
+    final long selectionTime = System.nanoTime() - start;
 
-    return new ArcScriptResult.Ok(instructionResults);
+    final var examiner = storageInstance.examiner();
+    final var condition = plan.residual();
+    final var cache = StorageInstanceExaminer.ObjectEntryLookupTable.newInstance();
+    final var indexed = IndexedAssertions.of(condition, entries, index.propertyIndexes());
+    final var ordering = QueryOrdering.of(query._order);
+    final var executor = ConditionEvaluationExecutor
+        .builder(examiner, entries, condition, limit)
+        //.useSemaphore(StorageInstanceType.FS != storageInstance.type())
+        .useCache(cache)
+        .useIndex(indexed)
+        .order(ordering)
+        // a batch is prefetched as a whole anyway -> it is evaluated as a whole, too:
+        .columnar(true)
+        .budget(budget)
+        .build();
+    return new PreparedQuery(
+        plan,
+        entries,
+        pushdownFailure,
+        indexed,
+        cache,
+        ordering,
+        executor,
+        selectionTime);
   }
 
+  private static List<ArcScriptResult.ColumnDescriptor> columnsOf(
+      final QueryInstructionImpl query) {
+    return query._columns.stream()
+        .map(it -> new ArcScriptResult.ColumnDescriptor(
+            it.propertyInternal(),
+            it.displayNameInternal()))
+        .toList();
+  }
+
+  private static ArcScriptResult.QueryPerformed query(final QueryInstructionImpl query,
+                                                      final StorageInstance storageInstance,
+                                                      final ExecutionBudget budget,
+                                                      final Profiling profiling) {
+    final var event = new ArcScriptInstructionEvent();
+    event.begin();
+    final long start = profiling == null ? System.nanoTime() : profiling.start();
+
+    final PreparedQuery prepared = profiling == null
+        ? prepare(query, storageInstance, query._limit, budget)
+        : profiling.prepared();
+    final QueryProfiler profiler = profiling == null ? null : profiling.profiler();
+    final var examiner = storageInstance.examiner();
+    final Set<StorageEntry> qualifying = prepared.executor().execute();
+    final long sortStart = System.nanoTime();
+    // evaluated concurrently, in no particular order -> sorted here, so every run agrees:
+    final List<StorageEntry> res = prepared.ordering()
+        .sort(qualifying, examiner, prepared.cache());
+    final long end = System.nanoTime();
+    if (profiler != null) {
+      profiler.evaluated(prepared.executor().stats(), end - sortStart);
+    }
+
+    final var columns = columnsOf(query);
+    long renderTime = 0L;
+    final ArcScriptResult.ResultSet resultSet;
+    if (columns.isEmpty()) {
+      resultSet = new ArcScriptResult.ResultSet(
+          new ArcScriptResult.ResultSetMeta(Collections.emptyList(), -1L),
+          res.stream().map(ArcScriptResult.QueryResultRow::new).toList());
+    } else {
+      final long renderStart = System.nanoTime();
+      final var rowExecutor = QueryResultRowEvaluationExecutor
+          .builder(examiner, new HashSet<>(res), columns)
+          //.useSemaphore(StorageInstanceType.FS != storageInstance.type())
+          .useCache(prepared.cache())
+          .budget(budget)
+          .build();
+      final var rows = new ArrayList<>(rowExecutor.execute());
+      final long fillStart = System.nanoTime();
+      if (rows.size() < res.size()) {
+        // the budget stopped the rendering -> the rest is rendered from whatever got loaded:
+        final Set<URI> rendered = rows.stream().map(it -> it.entry().uri()).collect(toSet());
+        final var renderer = new RowRenderer(examiner, prepared.cache(), columns);
+        res.stream()
+            .filter(it -> !rendered.contains(it.uri()))
+            .map(renderer::render)
+            .forEach(rows::add);
+      }
+      final long renderEnd = System.nanoTime();
+      renderTime = renderEnd - renderStart;
+      if (profiler != null) {
+        profiler.rendered(rowExecutor.stats(), rows.size(), renderEnd - fillStart);
+      }
+      final var meta = new ArcScriptResult.ResultSetMeta(columns, renderTime);
+      resultSet = new ArcScriptResult.ResultSet(meta, inOrderOf(res, rows));
+    }
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.budgetStatus = budget.status().name();
+      commit(event, storageInstance, query, prepared, res.size(), end - start, renderTime);
+    }
 
-  private static final class ImplicitIndexInstruction extends IndexInstructionImpl {}
+    return new ArcScriptResult.QueryPerformed(query.toString(), resultSet, end - start);
+  }
+
+  private static ArcScriptResult.UpdatePerformed update(final UpdateInstructionImpl update,
+                                                       final StorageInstance storageInstance,
+                                                       final ExecutionBudget budget) {
+    final var event = new ArcScriptInstructionEvent();
+    event.begin();
+    final long start = System.nanoTime();
+
+    final PreparedQuery prepared = prepare(
+        update.query,
+        storageInstance,
+        update.query._limit,
+        budget);
+    // written in the order of their URIs -> a batch stopped halfway is easy to tell apart:
+    final List<ObjectEntry> targets = prepared.executor().execute().stream()
+        .filter(ObjectEntry.class::isInstance)
+        .map(ObjectEntry.class::cast)
+        .sorted(Comparator.comparing(StorageEntry::uri))
+        .toList();
+
+    final var bulk = new BulkUpdate(update, storageInstance.index(), budget);
+    final ArcScriptResult.UpdatePerformed result;
+    if (update._dryRun) {
+      result = bulk.dryRun(targets, start);
+    } else if (budget.stopped()) {
+      // the selection got cut short -> nothing is written based on an incomplete selection:
+      result = new ArcScriptResult.UpdatePerformed(
+          update.toString(),
+          targets.size(),
+          0L,
+          0L,
+          0L,
+          List.of(),
+          0,
+          null,
+          System.nanoTime() - start);
+    } else {
+      result = bulk.perform(targets, start);
+    }
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.budgetStatus = budget.status().name();
+      event.storageId = storageInstance.id().toString();
+      event.kind = ArcScriptInstructionEvent.KIND_UPDATE;
+      event.instruction = update.toString();
+      event.schemas = String.join(",", update.query._schemas);
+      event.types = String.join(",", update.query._types);
+      event.candidates = prepared.entries().size();
+      event.plan = prepared.plan().toString();
+      event.program = prepared.executor().program();
+      event.pushdownFailure = prepared.pushdownFailure();
+      event.indexedAssertions = prepared.indexed().size();
+      event.results = (int) result.modified();
+      event.evaluationTime = result.timeTaken();
+      event.commit();
+    }
+
+    return result;
+  }
+
+  private static ArcScriptResult.AggregationPerformed aggregate(
+      final QueryInstructionImpl query,
+      final StorageInstance storageInstance,
+      final ExecutionBudget budget,
+      final Profiling profiling) {
+    final var event = new ArcScriptInstructionEvent();
+    event.begin();
+    final long start = profiling == null ? System.nanoTime() : profiling.start();
+
+    // the limit applies to the groups, every qualifying entry is aggregated:
+    final PreparedQuery prepared = profiling == null
+        ? prepare(query, storageInstance, -1L, budget)
+        : profiling.prepared();
+    final QueryProfiler profiler = profiling == null ? null : profiling.profiler();
+    final var aggregation = Aggregation.of(query, storageInstance.examiner(), prepared.cache());
+    final boolean indexOnly = prepared.plan().residual() == null && aggregation.metadataOnly();
+    final long evaluationStart = System.nanoTime();
+    if (indexOnly) {
+      // neither the condition nor the aggregates read any content -> no worker is needed:
+      prepared.entries().forEach(aggregation::accept);
+    } else {
+      prepared.executor().execute(aggregation::accept);
+    }
+    final long end = System.nanoTime();
+    if (profiler != null) {
+      profiler.evaluated(
+          indexOnly
+              ? new AbstractEntryEvaluationExecutor.Stats(
+                  0L, 0L, 0L, 0L, prepared.entries().size(), 0L, 0L, end - evaluationStart)
+              : prepared.executor().stats(),
+          0L);
+    }
+    final var aggregateSet = aggregation.result(query._limit, end - start);
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.aggregated = true;
+      event.budgetStatus = budget.status().name();
+      commit(event, storageInstance, query, prepared, aggregateSet.size(), end - start, 0L);
+    }
+
+    return new ArcScriptResult.AggregationPerformed(
+        query.toString(),
+        aggregateSet,
+        aggregation.accepted(),
+        indexOnly,
+        end - start);
+  }
+
+  /**
+   * Plans the given query, without performing it: no entry is loaded, and the backend is not asked
+   * to select anything -> the candidates are every entry of the target known to the index.
+   */
+  private static ArcScriptResult.QueryProfiled explain(final QueryInstructionImpl query,
+                                                       final StorageInstance storageInstance,
+                                                       final boolean unindexed) {
+    final long start = System.nanoTime();
+    final StorageIndex<?> index = storageInstance.index();
+    final QueryPlan plan = QueryPlanner.plan(query, index);
+    final Set<StorageEntry> entries = index.get(plan.target());
+    final var indexed = IndexedAssertions.of(plan.residual(), entries, index.propertyIndexes());
+    final var program = ConditionProgram.compile(plan.residual(), indexed);
+    final var ordering = QueryOrdering.of(query._order);
+    final long end = System.nanoTime();
+    return new ArcScriptResult.QueryProfiled(
+        query.toString(),
+        new QueryProfile(
+            false,
+            plan + " order by " + ordering,
+            program.toString(),
+            null,
+            indexed.size(),
+            unindexed,
+            List.of(),
+            entries.size(),
+            -1L,
+            end - start),
+        null);
+  }
+
+  private static ArcScriptResult.QueryProfiled profile(
+      final QueryInstructionImpl query,
+      final StorageInstance storageInstance,
+      final ExecutionBudget budget,
+      final ArcScriptResult.IndexingPerformed implicitIndexing) {
+    final long start = System.nanoTime();
+    final PreparedQuery prepared = prepare(
+        query,
+        storageInstance,
+        query.isAggregation() ? -1L : query._limit,
+        budget);
+    final var profiler = new QueryProfiler(LoadScheduler.currentSession(), prepared.cache());
+    profiler.indexed(implicitIndexing);
+    profiler.selected(prepared.entries().size(), prepared.selectionTime());
+
+    final var profiling = new Profiling(prepared, profiler, start);
+    final ArcScriptResult.InstructionResult result;
+    final long results;
+    if (query.isAggregation()) {
+      final var aggregation = aggregate(query, storageInstance, budget, profiling);
+      result = aggregation;
+      results = aggregation.aggregateSet().size();
+    } else {
+      final var queryPerformed = query(query, storageInstance, budget, profiling);
+      result = queryPerformed;
+      results = queryPerformed.resultSet().size();
+    }
+    final long end = System.nanoTime();
+
+    return new ArcScriptResult.QueryProfiled(
+        query.toString(),
+        new QueryProfile(
+            true,
+            prepared.plan() + " order by " + prepared.ordering(),
+            prepared.executor().program(),
+            prepared.pushdownFailure(),
+            prepared.indexed().size(),
+            implicitIndexing != null,
+            profiler.phases(),
+            prepared.entries().size(),
+            results,
+            end - start),
+        result);
+  }
+
+  private static ArcScriptResult.QueryStreaming stream(final QueryInstructionImpl query,
+                                                       final StorageInstance storageInstance,
+                                                       final int pageSize,
+                                                       final ExecutionBudget budget) {
+    final long start = System.nanoTime();
+    final PreparedQuery prepared = prepare(query, storageInstance, query._limit, budget);
+    final var columns = columnsOf(query);
+    final var renderer = new RowRenderer(storageInstance.examiner(), prepared.cache(), columns);
+    final var cursor = new ResultCursor(columns, pageSize);
+    final var executor = prepared.executor();
+    cursor.onClose(executor::cancel);
+
+    final AtomicLong accepted = new AtomicLong();
+    final var session = LoadScheduler.global().openSession(LoadScheduler.Lane.QUERY, budget);
+    Thread.ofVirtual().name("arc-script-stream").start(() -> session.run(() -> {
+      final var event = new ArcScriptInstructionEvent();
+      event.begin();
+      Throwable failure = null;
+      try {
+        if (query._limit > 0 || !query._order.isEmpty()) {
+          // the first row is only known once every candidate has been seen:
+          final List<StorageEntry> res = prepared.ordering()
+              .sort(executor.execute(), storageInstance.examiner(), prepared.cache());
+          // a stopped budget still gets the rows found so far, only a closed cursor does not:
+          for (int i = 0; i < res.size() && !cursor.closed(); i += pageSize) {
+            final List<StorageEntry> page = res.subList(i, Math.min(i + pageSize, res.size()));
+            storageInstance.examiner().prefetch(page, renderer.columns(), prepared.cache());
+            page.forEach(it -> cursor.offer(renderer.render(it)));
+            accepted.addAndGet(page.size());
+          }
+        } else {
+          // rows are rendered right where their entries qualify, and are handed over one by one:
+          executor.execute(entry -> {
+            cursor.offer(renderer.render(entry));
+            accepted.incrementAndGet();
+          });
+        }
+      } catch (final RuntimeException e) {
+        // surfaced through the cursor, to whoever is consuming it:
+        failure = e;
+      } finally {
+        final long end = System.nanoTime();
+        cursor.complete(failure, end - start, budget.status());
+        budget.complete();
+        event.end();
+        if (event.shouldCommit()) {
+          event.streamed = true;
+          event.budgetStatus = budget.status().name();
+          commit(event, storageInstance, query, prepared, (int) accepted.get(), end - start, 0L);
+        }
+      }
+    }));
+
+    return new ArcScriptResult.QueryStreaming(query.toString(), cursor);
+  }
+
+  private static List<ArcScriptResult.QueryResultRow> inOrderOf(
+      final List<StorageEntry> entries,
+      final Collection<ArcScriptResult.QueryResultRow> rows) {
+    final Map<URI, Integer> positions = new HashMap<>(entries.size());
+    for (int i = 0; i < entries.size(); i++) {
+      positions.put(entries.get(i).uri(), i);
+    }
+
+    final Comparator<ArcScriptResult.QueryResultRow> byPosition = Comparator.comparingInt(
+        it -> positions.get(it.entry().uri()));
+    final var ret = new ArrayList<>(rows);
+    ret.sort(byPosition);
+    return ret;
+  }
+
+  private static void commit(final ArcScriptInstructionEvent event,
+                             final StorageInstance storageInstance,
+                             final QueryInstructionImpl query,
+                             final PreparedQuery prepared,
+                             final int results,
+                             final long evaluationTime,
+                             final long renderingTime) {
+    event.storageId = storageInstance.id().toString();
+    event.kind = ArcScriptInstructionEvent.KIND_QUERY;
+    event.instruction = query.toString();
+    event.schemas = String.join(",", query._schemas);
+    event.types = String.join(",", query._types);
+    event.candidates = prepared.entries().size();
+    event.plan = prepared.plan() + " order by " + prepared.ordering();
+    event.program = prepared.executor().program();
+    event.pushdownFailure = prepared.pushdownFailure();
+    event.indexedAssertions = prepared.indexed().size();
+    event.results = results;
+    event.evaluationTime = evaluationTime;
+    event.renderingTime = renderingTime;
+    event.commit();
+  }
+
+  static void declarePropertyIndices(final StorageIndex<?> storageIndex,
+                                     final IndexInstructionImpl index) {
+    // built in the background -> queries are answered from them as soon as values become current:
+    final Set<String> types = index._types.isEmpty()
+        ? Collections.singleton(null)
+        : index._types;
+    for (final String schema : index._schemas) {
+      for (final String type : types) {
+        index._properties.forEach(path -> storageIndex.propertyIndexes()
+            .declare(new PropertyIndexDefinition(schema, type, path)));
+      }
+    }
+  }
+
+
+  private static final class ImplicitIndexInstruction extends IndexInstructionImpl {
+
+    // the (first) query this indexing is performed for:
+    private final QueryInstructionImpl query;
+
+    private ImplicitIndexInstruction(final QueryInstructionImpl query) {
+      this.query = query;
+    }
+
+    private IndexingTarget target() {
+      return new IndexingTarget(_schemas, _types);
+    }
+
+  }
 
 }
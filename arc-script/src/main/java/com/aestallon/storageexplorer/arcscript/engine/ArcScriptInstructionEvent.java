@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name(ArcScriptInstructionEvent.NAME)
+@Label("ArcScript Instruction")
+@Category({ "Storage Explorer", "ArcScript" })
+@Description("Execution of a single ArcScript instruction (indexing, query or update)")
+@StackTrace(false)
+final class ArcScriptInstructionEvent extends Event {
+
+  static final String NAME = "com.aestallon.storageexplorer.ArcScriptInstruction";
+
+  static final String KIND_INDEX = "INDEX";
+  static final String KIND_QUERY = "QUERY";
+  static final String KIND_UPDATE = "UPDATE";
+
+  @Label("Storage ID")
+  String storageId;
+
+  @Label("Kind")
+  String kind;
+
+  @Label("Implicit")
+  @Description("Whether the instruction was inserted by the engine")
+  boolean implicit;
+
+  @Label("Streamed")
+  @Description("Whether the query result was streamed through a cursor, instead of materialised")
+  boolean streamed;
+
+  @Label("Aggregated")
+  @Description("Whether the query yielded groups and aggregates, instead of entries")
+  boolean aggregated;
+
+  @Label("Instruction")
+  String instruction;
+
+  @Label("Schemas")
+  String schemas;
+
+  @Label("Types")
+  String types;
+
+  @Label("Candidates")
+  @Description("Entries indexed, or entries the query condition was evaluated on")
+  int candidates;
+
+  @Label("Results")
+  int results;
+
+  @Label("Plan")
+  @Description("The logical plan of the query: what got pushed down, what got evaluated in memory")
+  String plan;
+
+  @Label("Program")
+  @Description("The compiled condition, with operands in the order they ended up being evaluated")
+  String program;
+
+  @Label("Pushdown Failure")
+  @Description("Why the storage backend could not evaluate the pushed down predicate, if so")
+  String pushdownFailure;
+
+  @Label("Indexed Assertions")
+  @Description("Assertions answered from property indices, for the candidates covered by them")
+  int indexedAssertions;
+
+  @Label("Evaluation Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long evaluationTime;
+
+  @Label("Budget Status")
+  @Description("Whether the instruction completed, or got stopped (cancelled, or out of budget)")
+  String budgetStatus;
+
+  @Label("Rendering Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long renderingTime;
+
+}
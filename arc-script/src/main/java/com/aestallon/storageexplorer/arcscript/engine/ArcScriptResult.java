@@ -1,5 +1,6 @@
 package com.aestallon.storageexplorer.arcscript.engine;
 
+import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,7 @@ import javax.swing.text.DefaultEditorKit;
 import org.codehaus.groovy.classgen.ReturnAdder;
 import com.aestallon.storageexplorer.arcscript.internal.Instruction;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
 
 public sealed interface ArcScriptResult {
 
@@ -74,6 +76,85 @@ public sealed interface ArcScriptResult {
       implements InstructionResult {}
 
 
+  record QueryStreaming(String prettyPrint, ResultCursor cursor) implements InstructionResult {}
+
+
+  /**
+   * The result of an aggregating query.
+   *
+   * @param prettyPrint the query
+   * @param aggregateSet a row for every group
+   * @param entriesAggregated the number of qualifying entries aggregated into the groups
+   * @param indexOnly whether the index alone answered the query, without loading any entry
+   * @param timeTaken the time taken, in nanoseconds
+   */
+  record AggregationPerformed(String prettyPrint,
+      AggregateSet aggregateSet,
+      long entriesAggregated,
+      boolean indexOnly,
+      long timeTaken)
+      implements InstructionResult {}
+
+
+  /**
+   * The result of an explained, or profiled query.
+   *
+   * @param prettyPrint the query
+   * @param profile the plan of the query, and the phases of its evaluation if it was profiled
+   * @param result the result of the profiled query (a {@link QueryPerformed}, or an
+   *     {@link AggregationPerformed}), or {@code null} if it was only explained
+   */
+  record QueryProfiled(String prettyPrint, QueryProfile profile, InstructionResult result)
+      implements InstructionResult {}
+
+
+  /**
+   * The result of an update.
+   *
+   * @param prettyPrint the update
+   * @param matched the number of objects matched by the query of the update
+   * @param modified the number of objects written
+   * @param unchanged the number of objects already as the update would have them
+   * @param failed the number of objects that could not be written
+   * @param failures the objects that could not be written, and why (not all of them, if many)
+   * @param batches the number of batches written (or to be written, if it was a dry run)
+   * @param estimate the estimated I/O of the update if it was a dry run -> then nothing was
+   *     written, otherwise {@code null}
+   * @param timeTaken the time taken, in nanoseconds
+   */
+  record UpdatePerformed(String prettyPrint,
+      long matched,
+      long modified,
+      long unchanged,
+      long failed,
+      List<UpdateFailure> failures,
+      int batches,
+      UpdateEstimate estimate,
+      long timeTaken)
+      implements InstructionResult {
+
+    public boolean dryRun() {
+      return estimate != null;
+    }
+
+  }
+
+
+  record UpdateFailure(URI uri, String msg) {}
+
+
+  /**
+   * The I/O an update would take. Only a sample of the objects is loaded, the rest is
+   * extrapolated from it.
+   *
+   * @param sampled the number of objects loaded for the estimate
+   * @param bytesRead the estimated bytes read -> every object is read once more right before it
+   *     is written
+   * @param bytesWritten the estimated bytes written
+   */
+  record UpdateEstimate(int sampled, long bytesRead, long bytesWritten) {}
+
+
   record ColumnDescriptor(String prop, String title) {}
 
 
@@ -131,6 +212,44 @@ public sealed interface ArcScriptResult {
   }
 
 
-  record Ok(List<InstructionResult> elements) implements ArcScriptResult {}
+  record AggregateSet(ResultSetMeta meta, List<Map<String, DataCell>> rows) {
+
+    public int size() {
+      return rows.size();
+    }
+
+    /**
+     * Returns the groups as a result set, e.g. for exporting. Its rows belong to no entry, thus it
+     * is only fit for consumers reading the cells of the columns alone.
+     *
+     * @return the groups as a result set
+     */
+    public ResultSet asResultSet() {
+      return new ResultSet(meta, rows.stream().map(it -> new QueryResultRow(null, it)).toList());
+    }
+
+  }
+
+
+  /**
+   * The result of a script performed in full, or in part.
+   *
+   * @param elements the result of every instruction performed
+   * @param status whether every instruction got performed in full, or the execution got stopped
+   *     (see {@link ExecutionBudget}) -> then the last element is partial, and the instructions
+   *     after it were not performed at all
+   */
+  record Ok(List<InstructionResult> elements, ExecutionBudget.Status status)
+      implements ArcScriptResult {
+
+    public Ok(List<InstructionResult> elements) {
+      this(elements, ExecutionBudget.Status.OK);
+    }
+
+    public boolean partial() {
+      return status.partial();
+    }
+
+  }
 
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import com.aestallon.storageexplorer.arcscript.internal.update.UpdateInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadRequest;
+import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.PropertyChange;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.StorageEntryModificationResult;
+import com.aestallon.storageexplorer.core.service.StorageIndex;
+import com.aestallon.storageexplorer.core.util.ObjectMaps;
+
+/**
+ * Writes the objects matched by an update, one batch after the other.
+ *
+ * <p>
+ * The budget of the script is only consulted between batches: a stopped update never leaves a batch
+ * half-written behind.
+ */
+final class BulkUpdate {
+
+  /**
+   * The storage the objects of an update are loaded from, and written to.
+   */
+  interface Target {
+
+    static Target of(final StorageIndex<?> index) {
+      return new Target() {
+        @Override
+        public Collection<ObjectEntryLoadResult> load(final List<ObjectEntry> entries) {
+          return ObjectEntry.tryLoadAll(entries).values().stream()
+              .map(ObjectEntryLoadRequest::get)
+              .toList();
+        }
+
+        @Override
+        public List<StorageEntryModificationResult> modifyAll(final List<ObjectEntry> entries,
+                                                              final List<PropertyChange> changes) {
+          return index.modifier().modifyAll(entries, changes);
+        }
+      };
+    }
+
+    Collection<ObjectEntryLoadResult> load(List<ObjectEntry> entries);
+
+    List<StorageEntryModificationResult> modifyAll(List<ObjectEntry> entries,
+                                                   List<PropertyChange> changes);
+
+  }
+
+
+  // a dry run loads this many of the matches, and extrapolates the size of the rest:
+  static final int DRY_RUN_SAMPLE = 64;
+  // failures beyond this many are only counted:
+  static final int MAX_FAILURES_REPORTED = 100;
+
+  private final UpdateInstructionImpl update;
+  private final Target target;
+  private final ExecutionBudget budget;
+
+  BulkUpdate(final UpdateInstructionImpl update,
+             final StorageIndex<?> index,
+             final ExecutionBudget budget) {
+    this(update, Target.of(index), budget);
+  }
+
+  BulkUpdate(final UpdateInstructionImpl update,
+             final Target target,
+             final ExecutionBudget budget) {
+    this.update = update;
+    this.target = target;
+    this.budget = budget;
+  }
+
+  private int batchesOf(final int size) {
+    return (size + update._batchSize - 1) / update._batchSize;
+  }
+
+  ArcScriptResult.UpdatePerformed dryRun(final List<ObjectEntry> targets, final long start) {
+    final List<ObjectEntry> sample = targets.subList(0, Math.min(DRY_RUN_SAMPLE, targets.size()));
+    long sampleSize = 0L;
+    int sampled = 0;
+    for (final ObjectEntryLoadResult result : target.load(sample)) {
+      final long size = switch (result) {
+        case ObjectEntryLoadResult.SingleVersion sv -> ObjectMaps.estimateSize(sv.objectAsMap());
+        case ObjectEntryLoadResult.MultiVersion mv ->
+            ObjectMaps.estimateSize(mv.head().objectAsMap());
+        case ObjectEntryLoadResult.Err err -> -1L;
+      };
+      if (size >= 0L) {
+        sampleSize += size;
+        sampled++;
+      }
+    }
+
+    // every object is read once more right before it is written, and is written in full:
+    final long bytes = sampled == 0 ? 0L : sampleSize * targets.size() / sampled;
+    return new ArcScriptResult.UpdatePerformed(
+        update.toString(),
+        targets.size(),
+        0L,
+        0L,
+        0L,
+        List.of(),
+        batchesOf(targets.size()),
+        new ArcScriptResult.UpdateEstimate(sampled, bytes, bytes),
+        System.nanoTime() - start);
+  }
+
+  ArcScriptResult.UpdatePerformed perform(final List<ObjectEntry> targets, final long start) {
+    long modified = 0L;
+    long unchanged = 0L;
+    long failed = 0L;
+    int batches = 0;
+    final List<ArcScriptResult.UpdateFailure> failures = new ArrayList<>();
+    for (int from = 0; from < targets.size(); from += update._batchSize) {
+      if (budget.stopped()) {
+        break;
+      }
+
+      final List<ObjectEntry> batch = targets.subList(
+          from,
+          Math.min(from + update._batchSize, targets.size()));
+      final List<StorageEntryModificationResult> results = target.modifyAll(
+          batch,
+          update._changes);
+      batches++;
+      for (final StorageEntryModificationResult result : results) {
+        switch (result) {
+          case StorageEntryModificationResult.Ok ok -> modified++;
+          case StorageEntryModificationResult.Unchanged u -> unchanged++;
+          case StorageEntryModificationResult.Err err -> {
+            failed++;
+            if (failures.size() < MAX_FAILURES_REPORTED) {
+              failures.add(new ArcScriptResult.UpdateFailure(err.storageEntry().uri(), err.msg()));
+            }
+          }
+        }
+      }
+    }
+
+    return new ArcScriptResult.UpdatePerformed(
+        update.toString(),
+        targets.size(),
+        modified,
+        unchanged,
+        failed,
+        failures,
+        batches,
+        null,
+        System.nanoTime() - start);
+  }
+
+}
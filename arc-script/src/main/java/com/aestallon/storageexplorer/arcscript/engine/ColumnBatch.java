@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.ObjectEntryLookupTable;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.PropertyDiscoveryResult;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.PropertyPath;
+
+/**
+ * A batch of entries, with the properties a condition reads on them laid out column by column.
+ *
+ * <p>
+ * A column is extracted lazily: only for the rows reaching an assertion on it, and every row at
+ * most once -> a row already decided by the operands evaluated before is never examined further,
+ * just as with the entry-at-a-time evaluation. Values are kept in typed vectors (strings, longs,
+ * doubles, booleans), with bitmaps telling which rows hold which kind of value, so the common
+ * assertions run as tight loops over a single vector (see {@link ColumnKernel}).
+ *
+ * <p>
+ * A batch is evaluated by a single thread, it is not safe for concurrent use.
+ */
+final class ColumnBatch {
+
+  static final class Column {
+
+    // every value as discovered, for whatever has no vector of its own:
+    final PropertyDiscoveryResult[] values;
+    final String[] strings;
+    final long[] longs;
+    final double[] doubles;
+    // the rows extracted so far, and the kind of value each of them holds:
+    final BitSet extracted = new BitSet();
+    final BitSet strs = new BitSet();
+    final BitSet integrals = new BitSet();
+    final BitSet floats = new BitSet();
+    final BitSet bools = new BitSet();
+    final BitSet truths = new BitSet();
+    final BitSet nulls = new BitSet();
+
+    Column(final int size) {
+      values = new PropertyDiscoveryResult[size];
+      strings = new String[size];
+      longs = new long[size];
+      doubles = new double[size];
+    }
+
+    void extract(final BitSet rows, final IntFunction<PropertyDiscoveryResult> discovery) {
+      for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+        if (!extracted.get(i)) {
+          set(i, discovery.apply(i));
+        }
+      }
+    }
+
+    void set(final int i, final PropertyDiscoveryResult value) {
+      values[i] = value;
+      extracted.set(i);
+      switch (value) {
+        case StorageInstanceExaminer.StringFound s -> {
+          strs.set(i);
+          strings[i] = s.string();
+        }
+        case StorageInstanceExaminer.NumberFound n -> {
+          switch (n.number()) {
+            case Integer v -> integral(i, v);
+            case Long v -> integral(i, v);
+            case Short v -> integral(i, v);
+            case Byte v -> integral(i, v);
+            case Double v -> floating(i, v);
+            case Float v -> floating(i, v);
+            // big numbers stay as discovered:
+            default -> {}
+          }
+        }
+        case StorageInstanceExaminer.BooleanFound b -> {
+          bools.set(i);
+          truths.set(i, b.bool());
+        }
+        case StorageInstanceExaminer.NoValue n -> nulls.set(i);
+        case null, default -> {}
+      }
+    }
+
+    private void integral(final int i, final Number n) {
+      integrals.set(i);
+      longs[i] = n.longValue();
+    }
+
+    private void floating(final int i, final Number n) {
+      floats.set(i);
+      doubles[i] = n.doubleValue();
+    }
+
+  }
+
+
+  private final StorageInstanceExaminer examiner;
+  private final List<StorageEntry> rows;
+  private final ObjectEntryLookupTable cache;
+  private final Map<PropertyPath, Column> columns = new HashMap<>();
+
+  ColumnBatch(final StorageInstanceExaminer examiner,
+              final List<StorageEntry> rows,
+              final ObjectEntryLookupTable cache) {
+    this.examiner = examiner;
+    this.rows = rows;
+    this.cache = cache;
+  }
+
+  int size() {
+    return rows.size();
+  }
+
+  StorageEntry row(final int i) {
+    return rows.get(i);
+  }
+
+  StorageInstanceExaminer examiner() {
+    return examiner;
+  }
+
+  ObjectEntryLookupTable cache() {
+    return cache;
+  }
+
+  BitSet all() {
+    final BitSet all = new BitSet(rows.size());
+    all.set(0, rows.size());
+    return all;
+  }
+
+  /**
+   * Returns the column of the given property, extracted (at least) for the given rows.
+   */
+  Column column(final PropertyPath path, final BitSet selected) {
+    final Column column = columns.computeIfAbsent(path, it -> new Column(rows.size()));
+    column.extract(selected, i -> examiner.discoverProperty(rows.get(i), path, cache));
+    return column;
+  }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import com.aestallon.storageexplorer.arcscript.internal.query.Assertion;
+
+/**
+ * An assertion evaluated over a whole {@link ColumnBatch.Column column} at once.
+ *
+ * <p>
+ * Kernels are derived from the operation and operands of the assertion, the same way they are
+ * translated for a database (see {@link QueryPlanner}). Only what the typed vectors can answer
+ * exactly as the predicate of the assertion would is answered from them -> any other row (and any
+ * other operation) is checked with the predicate itself, thus a kernel never changes the outcome
+ * of a condition, only the work done to reach it.
+ */
+@FunctionalInterface
+interface ColumnKernel {
+
+  /**
+   * Narrows the given rows to those of the column satisfying the assertion.
+   *
+   * @param column the column, extracted for every given row
+   * @param rows the rows to narrow, in place
+   */
+  void filter(ColumnBatch.Column column, BitSet rows);
+
+  static ColumnKernel of(final Assertion assertion) {
+    final ColumnKernel fallback = (column, rows) -> retain(
+        rows,
+        i -> assertion.check(column.values[i]));
+    final String op = assertion.op();
+    final List<Object> operands = assertion.operands();
+    if (operands.size() != 1) {
+      // is_empty, is_present, in, and list assertions:
+      final ColumnKernel kernel = "in".equals(op) && assertion.kind() == Assertion.Kind.STR
+          ? strIn(operands)
+          : null;
+      return kernel == null ? fallback : kernel;
+    }
+
+    final Object operand = operands.getFirst();
+    if (operand == null) {
+      return switch (op) {
+        case "is", "in" -> (column, rows) -> rows.and(column.nulls);
+        case "not" -> (column, rows) -> rows.andNot(column.nulls);
+        default -> fallback;
+      };
+    }
+
+    final ColumnKernel kernel = switch (assertion.kind()) {
+      case STR -> operand instanceof String s ? str(op, s) : null;
+      case NUM -> operand instanceof Number n ? num(op, n, assertion) : null;
+      case BOOL -> operand instanceof Boolean b ? bool(op, b) : null;
+      case JSON, LIST -> null;
+    };
+    return kernel == null ? fallback : kernel;
+  }
+
+  private static ColumnKernel str(final String op, final String value) {
+    return switch (op) {
+      case "is", "in" -> (column, rows) -> {
+        rows.and(column.strs);
+        retain(rows, i -> column.strings[i].equals(value));
+      };
+      case "not" -> (column, rows) -> retain(
+          rows,
+          i -> !(column.strs.get(i) && column.strings[i].equals(value)));
+      case "starts_with" -> (column, rows) -> {
+        rows.and(column.strs);
+        retain(rows, i -> column.strings[i].startsWith(value));
+      };
+      case "ends_with" -> (column, rows) -> {
+        rows.and(column.strs);
+        retain(rows, i -> column.strings[i].endsWith(value));
+      };
+      case "contains" -> (column, rows) -> {
+        rows.and(column.strs);
+        retain(rows, i -> column.strings[i].contains(value));
+      };
+      default -> null;
+    };
+  }
+
+  private static ColumnKernel strIn(final List<Object> operands) {
+    if (operands.isEmpty()) {
+      return (column, rows) -> rows.clear();
+    }
+
+    final Set<Object> expected = new HashSet<>(operands);
+    final boolean orNull = expected.remove(null);
+    if (!expected.stream().allMatch(String.class::isInstance)) {
+      return null;
+    }
+
+    return (column, rows) -> retain(rows, i -> column.strs.get(i)
+        ? expected.contains(column.strings[i])
+        : orNull && column.nulls.get(i));
+  }
+
+  private static ColumnKernel num(final String op, final Number value, final Assertion assertion) {
+    return switch (op) {
+      case "is", "not" -> {
+        final boolean is = "is".equals(op);
+        final boolean integral = isIntegral(value);
+        final long expectedLong = value.longValue();
+        final double expectedDouble = value.doubleValue();
+        yield (column, rows) -> retain(rows, i -> {
+          if (column.integrals.get(i)) {
+            return is == (integral && column.longs[i] == expectedLong);
+          } else if (column.floats.get(i)) {
+            return is == (Double.compare(column.doubles[i], expectedDouble) == 0);
+          }
+          return assertion.check(column.values[i]);
+        });
+      }
+      case "greater_than" -> compare(value, assertion, c -> c > 0);
+      case "at_least" -> compare(value, assertion, c -> c >= 0);
+      case "less_than" -> compare(value, assertion, c -> c < 0);
+      case "at_most" -> compare(value, assertion, c -> c <= 0);
+      default -> null;
+    };
+  }
+
+  private static ColumnKernel compare(final Number value,
+                                      final Assertion assertion,
+                                      final IntPredicate outcome) {
+    final long expected;
+    try {
+      expected = new BigDecimal(value.toString()).longValueExact();
+    } catch (final ArithmeticException | NumberFormatException e) {
+      // fractional operands are compared through BigDecimal anyway:
+      return null;
+    }
+
+    // only integral values compare as longs, floating point ones are left to the predicate:
+    return (column, rows) -> retain(rows, i -> column.integrals.get(i)
+        ? outcome.test(Long.compare(column.longs[i], expected))
+        : assertion.check(column.values[i]));
+  }
+
+  // 2.0d is integral, 2.5d is not -> only the former can equal an integral value:
+  private static boolean isIntegral(final Number n) {
+    if (!(n instanceof Float || n instanceof Double)) {
+      return true;
+    }
+
+    final double d = n.doubleValue();
+    return d == Math.rint(d) && d >= Long.MIN_VALUE && d <= Long.MAX_VALUE;
+  }
+
+  private static ColumnKernel bool(final String op, final boolean value) {
+    return switch (op) {
+      case "is" -> (column, rows) -> {
+        rows.and(column.bools);
+        if (value) {
+          rows.and(column.truths);
+        } else {
+          rows.andNot(column.truths);
+        }
+      };
+      case "not" -> (column, rows) -> {
+        final BitSet equal = (BitSet) column.bools.clone();
+        if (value) {
+          equal.and(column.truths);
+        } else {
+          equal.andNot(column.truths);
+        }
+        rows.andNot(equal);
+      };
+      default -> null;
+    };
+  }
+
+  /**
+   * Clears every row not satisfying the given predicate.
+   */
+  private static void retain(final BitSet rows, final IntPredicate p) {
+    for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+      if (!p.test(i)) {
+        rows.clear(i);
+      }
+    }
+  }
+
+}
@@ -15,6 +15,9 @@
 
 package com.aestallon.storageexplorer.arcscript.engine;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
@@ -29,6 +32,9 @@ public final class ConditionEvaluationExecutor
 
     private final QueryConditionImpl c;
     private final long limit;
+    private IndexedAssertions indexed = IndexedAssertions.NONE;
+    private QueryOrdering ordering = QueryOrdering.BY_URI;
+    private boolean columnar;
 
     private Builder(final StorageInstanceExaminer examiner,
                     final Set<StorageEntry> entries,
@@ -39,6 +45,25 @@ public final class ConditionEvaluationExecutor
       this.limit = limit;
     }
 
+    Builder useIndex(final IndexedAssertions indexed) {
+      this.indexed = indexed;
+      return this;
+    }
+
+    Builder order(final QueryOrdering ordering) {
+      this.ordering = ordering;
+      return this;
+    }
+
+    /**
+     * Evaluates the condition over whole batches of entries at once, column by column (see
+     * {@link ConditionProgram#select}), instead of entry by entry.
+     */
+    Builder columnar(final boolean columnar) {
+      this.columnar = columnar;
+      return this;
+    }
+
     @Override
     public Builder self() {
       return this;
@@ -58,13 +83,24 @@ public final class ConditionEvaluationExecutor
   }
 
 
-  private final QueryConditionImpl c;
+  private final ConditionProgram program;
   private final long limit;
+  private final QueryOrdering ordering;
+  private final boolean columnar;
+  // with a limit, only the best qualifying entries are kept, and emitted once everything is done:
+  private final QueryOrdering.TopK topK;
 
   private ConditionEvaluationExecutor(Builder builder) {
     super(builder);
-    c = builder.c;
+    program = ConditionProgram.compile(builder.c, builder.indexed);
     limit = builder.limit;
+    ordering = builder.ordering;
+    columnar = builder.columnar;
+    topK = limit > 0 ? ordering.new TopK((int) Math.min(limit, Integer.MAX_VALUE)) : null;
+  }
+
+  String program() {
+    return program.toString();
   }
 
   @Override
@@ -74,15 +110,85 @@ public final class ConditionEvaluationExecutor
 
   @Override
   protected boolean doNotExecute() {
-    return limit > 0 && results.size() >= limit;
+    return false;
+  }
+
+  @Override
+  protected Collection<StorageEntry> schedule() {
+    if (!cutsByUri()) {
+      return entries;
+    }
+
+    // batches are admitted by ascending URI -> once the first K qualifying entries are found among
+    // those admitted, none of the rest can precede them:
+    return entries.stream().sorted(Comparator.comparing(StorageEntry::uri)).toList();
+  }
+
+  @Override
+  protected int batchWindow() {
+    return cutsByUri() ? 2 : 0;
+  }
+
+  @Override
+  protected boolean saturated() {
+    return cutsByUri() && topK.full();
+  }
+
+  @Override
+  protected int prefetch(final List<StorageEntry> batch) {
+    // entries the cheap checks already decide are not loaded, just as the program would not:
+    final List<StorageEntry> undecided = batch.stream()
+        .filter(it -> !excluded(it))
+        .filter(it -> program.needsContent(examiner, it, cache))
+        .toList();
+    examiner.prefetch(undecided, program.paths(), cache);
+    return undecided.size();
   }
 
   @Override
   protected void work(StorageEntry entry) {
-    final var evaluator = new ConditionEvaluator(examiner, entry, cache, c);
-    if (evaluator.evaluate()) {
-      results.add(entry);
+    if (excluded(entry)) {
+      return;
+    }
+
+    if (program.test(examiner, entry, cache)) {
+      qualified(entry);
+    }
+  }
+
+  @Override
+  protected boolean worksInBatches() {
+    return columnar;
+  }
+
+  @Override
+  protected void workBatch(final List<StorageEntry> batch) {
+    final List<StorageEntry> admitted = batch.stream().filter(it -> !excluded(it)).toList();
+    program.select(examiner, admitted, cache).forEach(this::qualified);
+  }
+
+  private void qualified(final StorageEntry entry) {
+    if (topK == null) {
+      emit(entry);
+    } else {
+      topK.offer(ordering.key(examiner, entry, cache));
     }
   }
 
+  @Override
+  protected void complete() {
+    if (topK != null) {
+      topK.entries().forEach(this::emit);
+    }
+  }
+
+  private boolean cutsByUri() {
+    return topK != null && ordering.byUri();
+  }
+
+  private boolean excluded(final StorageEntry entry) {
+    // by URI, an entry's position is known without loading it:
+    return cutsByUri() && topK.excludes(ordering.key(examiner, entry, cache));
+  }
+
 }
@@ -21,6 +21,13 @@ import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
 
+/**
+ * Interprets a condition entry by entry, strictly in the order it was written.
+ *
+ * <p>
+ * Queries run the {@link ConditionProgram} compiled from the condition instead -> this is kept as
+ * the reference to compare the programs against (see the condition evaluation benchmarks).
+ */
 final class ConditionEvaluator {
 
   private final StorageInstanceExaminer examiner;
@@ -28,22 +35,33 @@ final class ConditionEvaluator {
   private final StorageInstanceExaminer.ObjectEntryLookupTable cache;
   private final QueryConditionImpl.AssertionIterator iterator;
   private final StorageInstanceExaminer.PropertyDiscoveryResult medial;
+  private final IndexedAssertions indexed;
 
   ConditionEvaluator(final StorageInstanceExaminer examiner,
                      final StorageEntry entry,
                      final StorageInstanceExaminer.ObjectEntryLookupTable cache,
                      final QueryConditionImpl c) {
-    this(examiner, entry, cache, c, null);
+    this(examiner, entry, cache, c, IndexedAssertions.NONE);
+  }
+
+  ConditionEvaluator(final StorageInstanceExaminer examiner,
+                     final StorageEntry entry,
+                     final StorageInstanceExaminer.ObjectEntryLookupTable cache,
+                     final QueryConditionImpl c,
+                     final IndexedAssertions indexed) {
+    this(examiner, entry, cache, c, null, indexed);
   }
 
   private ConditionEvaluator(final StorageInstanceExaminer examiner,
                              final StorageEntry entry,
                              final StorageInstanceExaminer.ObjectEntryLookupTable cache,
                              final QueryConditionImpl c,
-                             final StorageInstanceExaminer.PropertyDiscoveryResult medial) {
+                             final StorageInstanceExaminer.PropertyDiscoveryResult medial,
+                             final IndexedAssertions indexed) {
     this.examiner = examiner;
     this.entry = entry;
     this.cache = cache;
+    this.indexed = indexed;
     this.iterator = (c != null)
         ? c.assertionIterator()
         : QueryConditionImpl.AssertionIterator.empty();
@@ -52,13 +70,13 @@ final class ConditionEvaluator {
 
   private ConditionEvaluator(final ConditionEvaluator orig,
                              final QueryConditionImpl c) {
-    this(orig.examiner, orig.entry, orig.cache, c, orig.medial);
+    this(orig.examiner, orig.entry, orig.cache, c, orig.medial, orig.indexed);
   }
 
   private ConditionEvaluator(final ConditionEvaluator orig,
                              final QueryConditionImpl c,
                              final StorageInstanceExaminer.PropertyDiscoveryResult medial) {
-    this(orig.examiner, orig.entry, orig.cache, c, medial);
+    this(orig.examiner, orig.entry, orig.cache, c, medial, orig.indexed);
   }
 
   boolean evaluate() {
@@ -119,6 +137,14 @@ final class ConditionEvaluator {
   }
 
   private boolean evalAssertion(final Assertion assertion) {
+    if (medial == null) {
+      final Boolean answer = indexed.answer(assertion, entry.uri());
+      if (answer != null) {
+        // answered from a property index, no need to load anything:
+        return answer;
+      }
+    }
+
     final var val = (medial == null)
         ? examiner.discoverProperty(entry, assertion.prop(), cache)
         : examiner.discoverProperty(medial, assertion.prop(), cache);
@@ -0,0 +1,545 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import com.aestallon.storageexplorer.arcscript.internal.query.Assertion;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.ObjectEntryLookupTable;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.PropertyPath;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.PropertyDiscoveryResult;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * A query condition compiled once per query into a tree of n-ary conjunctions and disjunctions.
+ *
+ * <p>
+ * ArcScript conditions read strictly left to right: {@code a || b && c} means
+ * {@code (a || b) && c}. Compilation makes these implicit brackets explicit, and flattens
+ * consecutive relations of the same kind -> the operands of a single junction are commutative, and
+ * can be evaluated in any order with proper short-circuiting.
+ *
+ * <p>
+ * Each junction starts with its cheapest operands (checks on the own URI of the entry first,
+ * content loads last), and periodically reorders them by their measured outcome: a conjunction
+ * wants the cheap operands likely to fail first, a disjunction the cheap ones likely to succeed.
+ * Evaluation is side effect free, hence the order never changes the outcome, only the work done to
+ * reach it.
+ *
+ * <p>
+ * A program evaluates either one entry at a time ({@link #test}), or a whole batch of entries at
+ * once ({@link #select}): then every node narrows the rows of the batch still in question, with
+ * the properties read laid out in columns (see {@link ColumnBatch}) -> the overhead of walking the
+ * tree is paid once per batch, instead of once per entry.
+ *
+ * <p>
+ * A program is safe to evaluate from multiple threads at once.
+ */
+final class ConditionProgram {
+
+  private static final long REORDER_INTERVAL = 512L;
+  private static final long MIN_SAMPLES = 64L;
+
+  // relative cost estimates, only their proportions matter:
+  private static final double COST_OWN_URI = 1d;
+  private static final double COST_INDEXED = 2d;
+  private static final double COST_CONTENT = 100d;
+  private static final double COST_LIST_MATCH = 150d;
+
+
+  private record Context(StorageInstanceExaminer examiner,
+                         StorageEntry entry,
+                         ObjectEntryLookupTable cache) {}
+
+
+  private sealed interface Node permits Const, Leaf, Junction {
+
+    boolean test(Context ctx, PropertyDiscoveryResult medial);
+
+    /**
+     * Decides the node without loading anything, if possible.
+     *
+     * @return the outcome, or {@code null} if deciding requires the content of the entry
+     */
+    Boolean decideCheaply(Context ctx);
+
+    double cost();
+
+    /**
+     * Narrows the given rows of the batch to those satisfying the node.
+     *
+     * @param batch the batch
+     * @param rows the rows in question, narrowed in place
+     */
+    void select(ColumnBatch batch, BitSet rows);
+
+  }
+
+
+  private record Const(boolean value) implements Node {
+
+    private static final Const TRUE = new Const(true);
+
+    @Override
+    public boolean test(Context ctx, PropertyDiscoveryResult medial) {
+      return value;
+    }
+
+    @Override
+    public Boolean decideCheaply(Context ctx) {
+      return value;
+    }
+
+    @Override
+    public double cost() {
+      return 0d;
+    }
+
+    @Override
+    public void select(final ColumnBatch batch, final BitSet rows) {
+      if (!value) {
+        rows.clear();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(value);
+    }
+
+  }
+
+
+  private static final class Leaf implements Node {
+
+    private final Assertion assertion;
+    private final PropertyPath path;
+    private final IndexedAssertions indexed;
+    private final Node listElementCondition;
+    private final Assertion.MatchOp matchOp;
+    private final ColumnKernel kernel;
+    private final double baseCost;
+    private final LongAdder evaluated = new LongAdder();
+    private final LongAdder answeredFromIndex = new LongAdder();
+
+    private Leaf(final Assertion assertion, final IndexedAssertions indexed) {
+      this.assertion = assertion;
+      this.path = PropertyPath.of(assertion.prop());
+      this.indexed = indexed;
+      if (assertion.isSingle()) {
+        listElementCondition = null;
+        matchOp = null;
+        kernel = ColumnKernel.of(assertion);
+        baseCost = path.isOwnUri() ? COST_OWN_URI : COST_CONTENT;
+      } else {
+        // list elements are never answered from an index -> no index for the element program:
+        listElementCondition = compileNode(
+            assertion.listElementCondition(),
+            IndexedAssertions.NONE);
+        matchOp = assertion.matchOp();
+        kernel = null;
+        baseCost = COST_LIST_MATCH;
+      }
+    }
+
+    @Override
+    public boolean test(final Context ctx, final PropertyDiscoveryResult medial) {
+      if (medial == null) {
+        evaluated.increment();
+        final Boolean answer = indexed.answer(assertion, ctx.entry().uri());
+        if (answer != null) {
+          answeredFromIndex.increment();
+          return answer;
+        }
+      }
+
+      final var val = (medial == null)
+          ? ctx.examiner().discoverProperty(ctx.entry(), path, ctx.cache())
+          : ctx.examiner().discoverProperty(medial, path, ctx.cache());
+      return (listElementCondition == null)
+          ? assertion.check(val)
+          : matchList(ctx, val);
+    }
+
+    @Override
+    public Boolean decideCheaply(final Context ctx) {
+      if (listElementCondition != null) {
+        return null;
+      }
+
+      if (path.isOwnUri()) {
+        // the own URI is known without loading:
+        return assertion.check(
+            ctx.examiner().discoverProperty(ctx.entry(), path, ctx.cache()));
+      }
+
+      return indexed.answer(assertion, ctx.entry().uri());
+    }
+
+    private boolean needsContent() {
+      return listElementCondition != null || !(path.isOwnUri() || indexed.covers(assertion));
+    }
+
+    private boolean matchList(final Context ctx, final PropertyDiscoveryResult val) {
+      if (!(val instanceof StorageInstanceExaminer.ListFound list)) {
+        return false;
+      }
+
+      final boolean anyMatch = Assertion.MatchOp.ANY == matchOp;
+      final boolean allMatch = Assertion.MatchOp.ALL == matchOp;
+      final boolean noneMatch = Assertion.MatchOp.NONE == matchOp;
+      for (final PropertyDiscoveryResult e : list.value()) {
+        final boolean match = listElementCondition.test(ctx, e);
+        if (match && anyMatch) {
+          return true;
+        } else if (match && noneMatch) {
+          return false;
+        } else if (!match && allMatch) {
+          return false;
+        }
+      }
+
+      // vacuous truth for all_match and none_match on an empty list, no match for any_match:
+      return !anyMatch;
+    }
+
+    @Override
+    public void select(final ColumnBatch batch, final BitSet rows) {
+      evaluated.add(rows.cardinality());
+      final BitSet undecided = (BitSet) rows.clone();
+      if (indexed.covers(assertion)) {
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+          final Boolean answer = indexed.answer(assertion, batch.row(i).uri());
+          if (answer != null) {
+            answeredFromIndex.increment();
+            undecided.clear(i);
+            if (!answer) {
+              rows.clear(i);
+            }
+          }
+        }
+      }
+      if (undecided.isEmpty()) {
+        return;
+      }
+
+      final ColumnBatch.Column column = batch.column(path, undecided);
+      final BitSet passing = (BitSet) undecided.clone();
+      if (kernel != null) {
+        kernel.filter(column, passing);
+      } else {
+        for (int i = undecided.nextSetBit(0); i >= 0; i = undecided.nextSetBit(i + 1)) {
+          final var ctx = new Context(batch.examiner(), batch.row(i), batch.cache());
+          if (!matchList(ctx, column.values[i])) {
+            passing.clear(i);
+          }
+        }
+      }
+
+      // whatever was in question and did not pass, failed:
+      undecided.andNot(passing);
+      rows.andNot(undecided);
+    }
+
+    @Override
+    public double cost() {
+      final long n = evaluated.sum();
+      if (n < MIN_SAMPLES) {
+        return indexed.covers(assertion) ? COST_INDEXED : baseCost;
+      }
+
+      final double answered = (double) answeredFromIndex.sum() / n;
+      return answered * COST_INDEXED + (1d - answered) * baseCost;
+    }
+
+    @Override
+    public String toString() {
+      return assertion.toString();
+    }
+
+  }
+
+
+  private static final class Junction implements Node {
+
+    private final boolean and;
+    private final Node[] operands;
+    private final LongAdder[] evaluated;
+    private final LongAdder[] passed;
+    private final AtomicLong calls = new AtomicLong();
+    private volatile int[] order;
+
+    private Junction(final boolean and, final List<Node> operands) {
+      this.and = and;
+      this.operands = operands.toArray(Node[]::new);
+      this.evaluated = new LongAdder[this.operands.length];
+      this.passed = new LongAdder[this.operands.length];
+      for (int i = 0; i < this.operands.length; i++) {
+        evaluated[i] = new LongAdder();
+        passed[i] = new LongAdder();
+      }
+      reorder();
+    }
+
+    @Override
+    public boolean test(final Context ctx, final PropertyDiscoveryResult medial) {
+      if (calls.incrementAndGet() % REORDER_INTERVAL == 0L) {
+        reorder();
+      }
+
+      for (final int i : order) {
+        final boolean result = operands[i].test(ctx, medial);
+        evaluated[i].increment();
+        if (result) {
+          passed[i].increment();
+        }
+
+        if (result != and) {
+          // false for a conjunction, true for a disjunction decides it:
+          return result;
+        }
+      }
+
+      return and;
+    }
+
+    @Override
+    public Boolean decideCheaply(final Context ctx) {
+      boolean undecided = false;
+      for (final Node operand : operands) {
+        final Boolean result = operand.decideCheaply(ctx);
+        if (result == null) {
+          undecided = true;
+        } else if (result != and) {
+          return result;
+        }
+      }
+
+      return undecided ? null : and;
+    }
+
+    @Override
+    public void select(final ColumnBatch batch, final BitSet rows) {
+      final long n = rows.cardinality();
+      final long before = calls.getAndAdd(n);
+      if (before / REORDER_INTERVAL != (before + n) / REORDER_INTERVAL) {
+        reorder();
+      }
+
+      if (and) {
+        // every operand only sees the rows the ones before it let through:
+        for (final int i : order) {
+          if (rows.isEmpty()) {
+            return;
+          }
+
+          evaluated[i].add(rows.cardinality());
+          operands[i].select(batch, rows);
+          passed[i].add(rows.cardinality());
+        }
+        return;
+      }
+
+      // every operand only sees the rows none of the ones before it let through:
+      final BitSet remaining = (BitSet) rows.clone();
+      rows.clear();
+      for (final int i : order) {
+        if (remaining.isEmpty()) {
+          return;
+        }
+
+        final BitSet passing = (BitSet) remaining.clone();
+        evaluated[i].add(passing.cardinality());
+        operands[i].select(batch, passing);
+        passed[i].add(passing.cardinality());
+        rows.or(passing);
+        remaining.andNot(passing);
+      }
+    }
+
+    private double passRate(final int i) {
+      final long n = evaluated[i].sum();
+      return n < MIN_SAMPLES ? 0.5d : (double) passed[i].sum() / n;
+    }
+
+    private double rank(final int i) {
+      // expected cost of evaluating an operand per chance of it deciding the junction:
+      final double decisive = and ? 1d - passRate(i) : passRate(i);
+      return operands[i].cost() / Math.max(decisive, 1e-3d);
+    }
+
+    private void reorder() {
+      final double[] ranks = new double[operands.length];
+      for (int i = 0; i < operands.length; i++) {
+        ranks[i] = rank(i);
+      }
+
+      order = IntStream.range(0, operands.length)
+          .boxed()
+          .sorted(Comparator.<Integer>comparingDouble(i -> ranks[i]).thenComparing(i -> i))
+          .mapToInt(Integer::intValue)
+          .toArray();
+    }
+
+    @Override
+    public double cost() {
+      // the expected cost of the current order:
+      double cost = 0d;
+      double reached = 1d;
+      for (final int i : order) {
+        cost += reached * operands[i].cost();
+        reached *= and ? passRate(i) : 1d - passRate(i);
+      }
+      return cost;
+    }
+
+    @Override
+    public String toString() {
+      return Arrays.stream(order)
+          .mapToObj(i -> operands[i] instanceof Junction
+              ? "(" + operands[i] + ")"
+              : operands[i].toString())
+          .collect(joining(and ? " && " : " || "));
+    }
+
+  }
+
+
+  static ConditionProgram compile(final QueryConditionImpl condition,
+                                  final IndexedAssertions indexed) {
+    return new ConditionProgram(compileNode(condition, indexed));
+  }
+
+  private static Node compileNode(final QueryConditionImpl condition,
+                                  final IndexedAssertions indexed) {
+    if (condition == null) {
+      return Const.TRUE;
+    }
+
+    Node acc = null;
+    for (final var element : condition.elements()) {
+      final Node node = switch (element.element()) {
+        case Assertion a -> new Leaf(a, indexed);
+        case QueryConditionImpl q -> compileNode(q, indexed);
+      };
+      acc = (acc == null)
+          ? node
+          : junction(QueryConditionImpl.AssertionRelation.AND == element.relation(), acc, node);
+    }
+
+    return acc == null ? Const.TRUE : acc;
+  }
+
+  private static Node junction(final boolean and, final Node left, final Node right) {
+    final List<Node> operands = new ArrayList<>();
+    for (final Node node : List.of(left, right)) {
+      if (node instanceof Junction j && j.and == and) {
+        operands.addAll(Arrays.asList(j.operands));
+      } else {
+        operands.add(node);
+      }
+    }
+
+    return new Junction(and, operands);
+  }
+
+  private static void collectPaths(final Node node, final Set<PropertyPath> paths) {
+    switch (node) {
+      case Const c -> { }
+      case Leaf l -> {
+        if (l.needsContent()) {
+          paths.add(l.path);
+        }
+      }
+      case Junction j -> {
+        for (final Node operand : j.operands) {
+          collectPaths(operand, paths);
+        }
+      }
+    }
+  }
+
+  private final Node root;
+  private final Set<PropertyPath> paths;
+
+  private ConditionProgram(final Node root) {
+    this.root = root;
+
+    final Set<PropertyPath> paths = new LinkedHashSet<>();
+    collectPaths(root, paths);
+    this.paths = Collections.unmodifiableSet(paths);
+  }
+
+  /**
+   * The paths the program may discover on the entries it tests (the paths list element conditions
+   * discover on the elements are not included).
+   */
+  Set<PropertyPath> paths() {
+    return paths;
+  }
+
+  /**
+   * Tells whether testing the given entry may require its content (or the content of the entries
+   * it references), i.e. whether the cheap checks of the program cannot decide it on their own.
+   */
+  boolean needsContent(final StorageInstanceExaminer examiner,
+                       final StorageEntry entry,
+                       final ObjectEntryLookupTable cache) {
+    return !paths.isEmpty() && root.decideCheaply(new Context(examiner, entry, cache)) == null;
+  }
+
+  boolean test(final StorageInstanceExaminer examiner,
+               final StorageEntry entry,
+               final ObjectEntryLookupTable cache) {
+    return root.test(new Context(examiner, entry, cache), null);
+  }
+
+  /**
+   * Tests every given entry at once.
+   *
+   * @return the entries satisfying the program, in the order they were given
+   */
+  List<StorageEntry> select(final StorageInstanceExaminer examiner,
+                            final List<StorageEntry> entries,
+                            final ObjectEntryLookupTable cache) {
+    if (entries.isEmpty()) {
+      return List.of();
+    }
+
+    final var batch = new ColumnBatch(examiner, entries, cache);
+    final BitSet rows = batch.all();
+    root.select(batch, rows);
+    return rows.stream().mapToObj(entries::get).toList();
+  }
+
+  @Override
+  public String toString() {
+    return root.toString();
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.aestallon.storageexplorer.arcscript.internal.query.Assertion;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.PropertyIndexes;
+import com.aestallon.storageexplorer.core.service.cache.PropertyValue;
+
+/**
+ * The assertions of a query condition answerable from property indices, answered up front for
+ * every candidate covered by a current index value.
+ *
+ * <p>
+ * Equality and prefix assertions on strings are looked up directly, anything else is checked with
+ * the predicate of the assertion itself, once per distinct indexed value -> an answer is always the
+ * very same the evaluation of the loaded object would give.
+ *
+ * <p>
+ * Assertions of list element conditions are never answered here: those are evaluated on list
+ * elements, not on the entry itself.
+ */
+final class IndexedAssertions {
+
+  static final IndexedAssertions NONE = new IndexedAssertions(Map.of());
+
+
+  private record Answer(PropertyIndexes.View view, Set<URI> matches) {}
+
+
+  static IndexedAssertions of(final QueryConditionImpl condition,
+                              final Collection<? extends StorageEntry> candidates,
+                              final PropertyIndexes propertyIndexes) {
+    if (condition == null || candidates.isEmpty() || propertyIndexes.all().isEmpty()) {
+      return NONE;
+    }
+
+    final Map<Assertion, Answer> answers = new IdentityHashMap<>();
+    // every assertion is looked up on the same candidates -> fingerprint them only once:
+    collect(condition, candidates, propertyIndexes, new HashMap<>(), answers);
+    return answers.isEmpty() ? NONE : new IndexedAssertions(answers);
+  }
+
+  private static void collect(final QueryConditionImpl condition,
+                              final Collection<? extends StorageEntry> candidates,
+                              final PropertyIndexes propertyIndexes,
+                              final Map<URI, Long> fingerprints,
+                              final Map<Assertion, Answer> answers) {
+    for (final var element : condition.elements()) {
+      switch (element.element()) {
+        case QueryConditionImpl q ->
+            collect(q, candidates, propertyIndexes, fingerprints, answers);
+        case Assertion a -> {
+          if (a.isSingle()) {
+            propertyIndexes
+                .view(a.prop(), candidates, fingerprints)
+                .ifPresent(view -> answers.put(a, new Answer(view, matches(a, view))));
+          }
+        }
+      }
+    }
+  }
+
+  private static Set<URI> matches(final Assertion assertion, final PropertyIndexes.View view) {
+    final List<Object> operands = assertion.operands();
+    final boolean stringOperands = !operands.isEmpty()
+                                   && operands.stream().allMatch(String.class::isInstance);
+    return switch (assertion.op()) {
+      case "is", "in" when stringOperands -> {
+        final Set<URI> ret = new HashSet<>();
+        operands.forEach(it -> ret.addAll(view.equalTo(PropertyValue.of((String) it))));
+        yield ret;
+      }
+      case "starts_with" when stringOperands && operands.size() == 1 ->
+          view.startingWith((String) operands.getFirst());
+      default -> view.matching(v -> assertion.check(v.toDiscoveryResult(null, assertion.prop())));
+    };
+  }
+
+  private final Map<Assertion, Answer> answers;
+
+  private IndexedAssertions(final Map<Assertion, Answer> answers) {
+    this.answers = answers;
+  }
+
+  /**
+   * Returns the answer of the given assertion for the given entry, if it is known without
+   * evaluation.
+   *
+   * @return the answer, or {@code null} if the assertion must be evaluated
+   */
+  Boolean answer(final Assertion assertion, final URI uri) {
+    final Answer answer = answers.get(assertion);
+    if (answer == null || !answer.view().covers(uri)) {
+      return null;
+    }
+
+    return answer.matches().contains(uri);
+  }
+
+  boolean covers(final Assertion assertion) {
+    return answers.containsKey(assertion);
+  }
+
+  int size() {
+    return answers.size();
+  }
+
+}
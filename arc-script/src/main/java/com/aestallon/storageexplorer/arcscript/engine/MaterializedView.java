@@ -0,0 +1,666 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import com.aestallon.storageexplorer.arcscript.api.ArcScript;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import com.aestallon.storageexplorer.arcscript.internal.Instruction;
+import com.aestallon.storageexplorer.arcscript.internal.index.IndexInstructionImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
+import com.aestallon.storageexplorer.core.service.IndexChangeFeed;
+import com.aestallon.storageexplorer.core.service.IndexingStrategy;
+import com.aestallon.storageexplorer.core.service.LoadScheduler;
+import com.aestallon.storageexplorer.core.service.StorageIndex;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+
+/**
+ * The result set of a query, kept current as the storage index learns of new, or changed entries.
+ *
+ * <p>
+ * The script of a view is a single, plain query (neither aggregating, nor explained or profiled),
+ * optionally preceded by index instructions. It is evaluated in full only when the view is
+ * {@link #refresh() refreshed}: on registration, and whenever the index is cleared, rebuilt or
+ * replaced. Afterwards the view listens to the {@link IndexChangeFeed change feed} of the index,
+ * and re-evaluates only the entries reported there, in the background, shortly after they are
+ * reported. An entry is only re-evaluated if its fingerprint changed (or it was never seen) ->
+ * loading an entry reports it, but does not make the view evaluate it again. Entries whose
+ * fingerprint is gone have vanished from the storage, and leave the result set.
+ *
+ * <p>
+ * The index does not notice deletions, nor entries changed behind its back -> the entries in the
+ * result set are re-checked every {@link #SWEEP_INTERVAL}. An entry changed behind the back of the
+ * index, and not in the result set, is only picked up by the next full refresh. Neither is a
+ * condition following references re-evaluated when the referenced entry changes.
+ *
+ * <p>
+ * Reads ({@link #snapshot()}) never evaluate anything: they return the result set as of the last
+ * maintenance, and tell how stale it is.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class MaterializedView implements AutoCloseable {
+
+  // changes come in bursts (e.g. a batch of loads) -> maintenance waits for the burst to pass:
+  private static final long DEBOUNCE_MILLIS = 250L;
+  public static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1L);
+
+  private static final ScheduledExecutorService MAINTAINER =
+      Executors.newSingleThreadScheduledExecutor(r -> {
+        final var t = new Thread(r, "arc-script-view-maintainer");
+        t.setDaemon(true);
+        return t;
+      });
+
+
+  /**
+   * How current the result set of a view is.
+   *
+   * @param refreshedAt the time of the last full evaluation, or {@code null} if it has not been
+   *     evaluated yet
+   * @param maintainedAt the time the last reported changes were taken into account
+   * @param pending the number of entries reported, but not yet re-evaluated
+   * @param reset whether the index got cleared, rebuilt or replaced since -> a full evaluation is
+   *     pending
+   * @param reevaluated the number of entries re-evaluated since the last full evaluation
+   * @param failure the reason the last maintenance failed, or {@code null} if it succeeded
+   */
+  public record Staleness(Instant refreshedAt,
+                          Instant maintainedAt,
+                          int pending,
+                          boolean reset,
+                          long reevaluated,
+                          String failure) {
+
+    public boolean materialised() {
+      return refreshedAt != null;
+    }
+
+    public boolean current() {
+      return materialised() && pending == 0 && !reset && failure == null;
+    }
+
+    public Duration age(final Instant now) {
+      return maintainedAt == null ? null : Duration.between(maintainedAt, now);
+    }
+
+    /**
+     * Describes this staleness in a single line, fit for displaying next to the result set.
+     *
+     * @param now the time of reading the result set
+     *
+     * @return the description
+     */
+    public String describe(final Instant now) {
+      if (!materialised()) {
+        return failure == null ? "not materialised yet" : "materialisation failed: " + failure;
+      }
+
+      final var sb = new StringBuilder(current() ? "current" : "stale");
+      sb.append(", maintained ").append(age(now).toSeconds()).append("s ago");
+      if (reset) {
+        sb.append(", full re-evaluation pending");
+      }
+      if (pending > 0) {
+        sb.append(", ").append(pending).append(" change(s) pending");
+      }
+      if (failure != null) {
+        sb.append(", last maintenance failed: ").append(failure);
+      }
+      return sb.toString();
+    }
+
+  }
+
+
+  /**
+   * The result set of a view, and its staleness, as of a single read.
+   *
+   * @param name the name of the view
+   * @param resultSet the result set, ordered and limited as the query prescribes
+   * @param staleness the staleness of the result set
+   */
+  public record Snapshot(String name, ArcScriptResult.ResultSet resultSet, Staleness staleness) {}
+
+
+  private record Row(ArcScriptResult.QueryResultRow row, QueryOrdering.Key key) {}
+
+
+  /**
+   * Creates a view of the given script, without evaluating it: its result set is empty until it
+   * gets {@link #refresh() refreshed}, or the first maintenance runs.
+   *
+   * @throws IllegalArgumentException if the script cannot be materialised
+   */
+  public static MaterializedView of(final String name,
+                                    final String script,
+                                    final ArcScript arcScript,
+                                    final StorageInstance storageInstance) {
+    if (!(arcScript instanceof ArcScriptImpl as)) {
+      throw new IllegalArgumentException("ArcScript is not an ArcScriptImpl");
+    }
+
+    QueryInstructionImpl query = null;
+    final List<IndexInstructionImpl> indexInstructions = new ArrayList<>();
+    for (final Instruction instruction : as.instructions) {
+      switch (instruction) {
+        case IndexInstructionImpl index when index._schemas.isEmpty() ->
+            throw new IllegalArgumentException(
+                "Specify at least one schema for indexing: " + index);
+        case IndexInstructionImpl index -> indexInstructions.add(index);
+        case QueryInstructionImpl q when query != null -> throw new IllegalArgumentException(
+            "A materialised view consists of a single query: " + q);
+        case QueryInstructionImpl q -> query = q;
+        default -> throw new IllegalArgumentException(
+            "A materialised view can only index, and query: " + instruction);
+      }
+    }
+
+    if (query == null) {
+      throw new IllegalArgumentException("A materialised view needs a query!");
+    }
+    if (query._schemas.isEmpty()) {
+      throw new IllegalArgumentException("Specify at least one schema for query: " + query);
+    }
+    if (query._mode != QueryInstructionImpl.Mode.PERFORM) {
+      throw new IllegalArgumentException("Explained, or profiled queries are not materialised: "
+                                         + query);
+    }
+    if (query.isAggregation()) {
+      throw new IllegalArgumentException("Aggregating queries are not materialised: " + query);
+    }
+
+    return new MaterializedView(name, script, query, indexInstructions, storageInstance);
+  }
+
+  private final String name;
+  private final String script;
+  private final QueryInstructionImpl query;
+  private final List<IndexInstructionImpl> indexInstructions;
+  private final StorageInstance storageInstance;
+  private final IndexingTarget target;
+  private final List<ArcScriptResult.ColumnDescriptor> columns;
+  private final QueryOrdering ordering;
+  private final IndexChangeFeed.Listener listener = this::onChange;
+
+  // guards the index bound, and the evaluated state below:
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile StorageIndex<?> index;
+  private final Map<URI, Long> fingerprints = new ConcurrentHashMap<>();
+  private final Map<URI, Row> rows = new ConcurrentHashMap<>();
+
+  // reported by the index, on whatever thread it is changed on:
+  private final Set<URI> pending = ConcurrentHashMap.newKeySet();
+  private volatile boolean reset = true;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  private volatile ArcScriptResult.ResultSet resultSet;
+  private volatile Instant refreshedAt;
+  private volatile Instant maintainedAt;
+  private volatile long reevaluated;
+  private volatile String failure;
+  private volatile boolean closed;
+  private volatile Supplier<ExecutionBudget> budgets = () -> null;
+  private final ScheduledFuture<?> sweep;
+  private final List<Consumer<Snapshot>> subscribers = new CopyOnWriteArrayList<>();
+
+  private MaterializedView(final String name,
+                           final String script,
+                           final QueryInstructionImpl query,
+                           final List<IndexInstructionImpl> indexInstructions,
+                           final StorageInstance storageInstance) {
+    this.name = name;
+    this.script = script;
+    this.query = query;
+    this.indexInstructions = List.copyOf(indexInstructions);
+    this.storageInstance = storageInstance;
+    this.target = new IndexingTarget(query._schemas, query._types);
+    this.columns = query._columns.stream()
+        .map(it -> new ArcScriptResult.ColumnDescriptor(
+            it.propertyInternal(),
+            it.displayNameInternal()))
+        .toList();
+    this.ordering = QueryOrdering.of(query._order);
+    this.resultSet = new ArcScriptResult.ResultSet(
+        new ArcScriptResult.ResultSetMeta(columns, -1L),
+        List.of());
+    this.sweep = MAINTAINER.scheduleWithFixedDelay(
+        this::sweep,
+        SWEEP_INTERVAL.toMillis(),
+        SWEEP_INTERVAL.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public String script() {
+    return script;
+  }
+
+  public StorageInstance storageInstance() {
+    return storageInstance;
+  }
+
+  /**
+   * Returns the result set of this view as of the last maintenance. Nothing is evaluated, nor
+   * loaded.
+   *
+   * @return the current snapshot of this view
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(name, resultSet, staleness());
+  }
+
+  public Staleness staleness() {
+    return new Staleness(
+        refreshedAt,
+        maintainedAt,
+        pending.size(),
+        reset,
+        reevaluated,
+        failure);
+  }
+
+  /**
+   * Registers a subscriber receiving a new snapshot every time the view is maintained. Called on
+   * the thread maintaining the view.
+   *
+   * @param subscriber the subscriber
+   */
+  public void subscribe(final Consumer<Snapshot> subscriber) {
+    subscribers.add(subscriber);
+  }
+
+  public void unsubscribe(final Consumer<Snapshot> subscriber) {
+    subscribers.remove(subscriber);
+  }
+
+  /**
+   * Limits every evaluation of this view (be it full, or of the changes reported) to a budget of
+   * its own. An evaluation stopped by its budget changes nothing, and is reported as the failure
+   * of the view.
+   *
+   * @param budgets the supplier of a new budget for every evaluation
+   */
+  public void limit(final Supplier<ExecutionBudget> budgets) {
+    this.budgets = Objects.requireNonNull(budgets, "Budgets cannot be null!");
+  }
+
+  /**
+   * Evaluates the query of this view in full, on the calling thread. Index instructions of the
+   * script are performed first, and so is the implicit indexing of the target of the query, if
+   * the index does not cover it yet.
+   */
+  public void refresh() {
+    if (closed) {
+      return;
+    }
+
+    final ExecutionBudget budget = startBudget();
+    lock.lock();
+    try {
+      LoadScheduler.global()
+          .openSession(LoadScheduler.Lane.BACKGROUND, budget)
+          .run(() -> evaluateAll(budget));
+      failure = null;
+    } catch (final RuntimeException e) {
+      failure = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+      throw e;
+    } finally {
+      lock.unlock();
+      completeBudget(budget);
+    }
+    publish();
+  }
+
+  /**
+   * Re-evaluates the entries reported by the index since the last maintenance, on the calling
+   * thread. If the index got cleared, rebuilt or replaced in the meantime, this is a full
+   * {@link #refresh()}.
+   */
+  public void maintain() {
+    if (closed) {
+      return;
+    }
+
+    if (reset || index != storageInstance.index()) {
+      refresh();
+      return;
+    }
+
+    final ExecutionBudget budget = startBudget();
+    lock.lock();
+    try {
+      LoadScheduler.global()
+          .openSession(LoadScheduler.Lane.BACKGROUND, budget)
+          .run(() -> evaluatePending(budget));
+      failure = null;
+    } catch (final RuntimeException e) {
+      failure = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+      throw e;
+    } finally {
+      lock.unlock();
+      completeBudget(budget);
+    }
+    publish();
+  }
+
+  /**
+   * Marks this view for a full evaluation, e.g. because its storage got re-indexed. The evaluation
+   * itself happens in the background, shortly afterwards.
+   */
+  public void invalidate() {
+    reset = true;
+    schedule();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    sweep.cancel(false);
+    lock.lock();
+    try {
+      if (index != null) {
+        index.changes().unsubscribe(listener);
+        index = null;
+      }
+    } finally {
+      lock.unlock();
+    }
+    subscribers.clear();
+  }
+
+  private ExecutionBudget startBudget() {
+    final ExecutionBudget budget = budgets.get();
+    return budget == null ? null : budget.start();
+  }
+
+  // a stopped evaluation yields a partial result, which must not pass for the whole:
+  private static void completeBudget(final ExecutionBudget budget) {
+    if (budget != null) {
+      budget.complete();
+    }
+  }
+
+  private static void checkBudget(final ExecutionBudget budget) {
+    if (budget != null && budget.stopped()) {
+      throw new IllegalStateException("Evaluation stopped: " + budget.status());
+    }
+  }
+
+  private void evaluateAll(final ExecutionBudget budget) {
+    final StorageIndex<?> current = storageInstance.index();
+    if (index != current) {
+      if (index != null) {
+        index.changes().unsubscribe(listener);
+      }
+      index = current;
+      current.changes().subscribe(listener);
+    }
+    reset = false;
+
+    try {
+      indexTarget(current);
+      // whatever the indexing reported is evaluated below anyway:
+      pending.clear();
+
+      final Set<StorageEntry> candidates = current.get(target);
+      // taken before evaluating -> an entry changing meanwhile is re-evaluated by the maintenance:
+      final Map<URI, Long> fresh = current.fingerprints(candidates);
+      final var cache = StorageInstanceExaminer.ObjectEntryLookupTable.newInstance();
+      final List<Row> rendered = render(evaluate(current, candidates, cache, budget), cache);
+      checkBudget(budget);
+
+      // only now, that everything got evaluated, is the view changed:
+      fingerprints.clear();
+      fingerprints.putAll(fresh);
+      rows.clear();
+      rendered.forEach(it -> rows.put(it.row().entry().uri(), it));
+    } catch (final RuntimeException e) {
+      // the view is left as it was, and is evaluated in full again on the next maintenance:
+      reset = true;
+      throw e;
+    }
+
+    reevaluated = 0L;
+    refreshedAt = Instant.now();
+    maintainedAt = refreshedAt;
+    resultSet = resultSet();
+  }
+
+  private void evaluatePending(final ExecutionBudget budget) {
+    final Instant start = Instant.now();
+    final Set<URI> dirty = new HashSet<>(pending);
+    pending.removeAll(dirty);
+    try {
+      reevaluate(dirty, budget);
+    } catch (final RuntimeException e) {
+      // nothing got committed -> the entries are re-evaluated on the next maintenance:
+      pending.addAll(dirty);
+      throw e;
+    }
+    maintainedAt = start;
+  }
+
+  private void reevaluate(final Set<URI> dirty, final ExecutionBudget budget) {
+    final List<URI> vanished = new ArrayList<>();
+    final List<StorageEntry> entries = new ArrayList<>(dirty.size());
+    for (final URI uri : dirty) {
+      final var entry = index.get(uri).filter(this::targets);
+      if (entry.isPresent()) {
+        entries.add(entry.get());
+      } else {
+        vanished.add(uri);
+      }
+    }
+
+    final Map<URI, Long> fresh = index.fingerprints(entries);
+    final Set<StorageEntry> changed = new HashSet<>();
+    for (final StorageEntry entry : entries) {
+      final URI uri = entry.uri();
+      final Long fingerprint = fresh.get(uri);
+      if (fingerprint == null) {
+        // vanished from the storage:
+        vanished.add(uri);
+      } else if (!Objects.equals(fingerprint, fingerprints.get(uri))) {
+        changed.add(entry);
+      }
+    }
+
+    List<Row> rendered = List.of();
+    if (!changed.isEmpty()) {
+      final var cache = StorageInstanceExaminer.ObjectEntryLookupTable.newInstance();
+      rendered = render(evaluate(index, changed, cache, budget), cache);
+      checkBudget(budget);
+    }
+
+    // only now, that everything got evaluated, is the view changed -> the fingerprints last, as
+    // they tell what is already taken into account:
+    boolean dropped = false;
+    for (final URI uri : vanished) {
+      dropped |= forget(uri);
+    }
+    changed.forEach(it -> rows.remove(it.uri()));
+    rendered.forEach(it -> rows.put(it.row().entry().uri(), it));
+    changed.forEach(it -> fingerprints.put(it.uri(), fresh.get(it.uri())));
+    reevaluated += changed.size();
+
+    if (!changed.isEmpty() || dropped) {
+      resultSet = resultSet();
+    }
+  }
+
+  private void indexTarget(final StorageIndex<?> storageIndex) {
+    boolean covered = false;
+    for (final IndexInstructionImpl instruction : indexInstructions) {
+      final var indexed = new IndexingTarget(instruction._schemas, instruction._types);
+      storageIndex.refresh(IndexingStrategy.of(instruction._strategy), indexed);
+      ArcScriptEngine.declarePropertyIndices(storageIndex, instruction);
+      covered |= indexed.covers(target);
+    }
+
+    if (!covered && storageIndex.coverage()
+        .covering(target, IndexingStrategyType.INITIAL)
+        .isEmpty()) {
+      storageIndex.refresh(IndexingStrategy.STRATEGY_INITIAL, target);
+    }
+  }
+
+  private Set<StorageEntry> evaluate(final StorageIndex<?> storageIndex,
+                                     final Set<StorageEntry> entries,
+                                     final StorageInstanceExaminer.ObjectEntryLookupTable cache,
+                                     final ExecutionBudget budget) {
+    if (entries.isEmpty()) {
+      return Set.of();
+    }
+
+    // every qualifying entry is kept -> the limit only applies to the result set read:
+    final var indexed = IndexedAssertions.of(
+        query.condition,
+        entries,
+        storageIndex.propertyIndexes());
+    final var builder = ConditionEvaluationExecutor
+        .builder(storageInstance.examiner(), entries, query.condition, -1L)
+        .useCache(cache)
+        .useIndex(indexed)
+        .columnar(true)
+        .lane(LoadScheduler.Lane.BACKGROUND);
+    if (budget != null) {
+      builder.budget(budget);
+    }
+    return builder.build().execute();
+  }
+
+  private List<Row> render(final Collection<StorageEntry> entries,
+                           final StorageInstanceExaminer.ObjectEntryLookupTable cache) {
+    final var examiner = storageInstance.examiner();
+    final var renderer = new RowRenderer(examiner, cache, columns);
+    final List<StorageEntry> toRender = new ArrayList<>(entries);
+    examiner.prefetch(toRender, renderer.columns(), cache);
+    // the sort keys are taken right away -> ordering a read does not load anything:
+    return toRender.stream()
+        .map(it -> new Row(renderer.render(it), ordering.key(examiner, it, cache)))
+        .toList();
+  }
+
+  private ArcScriptResult.ResultSet resultSet() {
+    final List<ArcScriptResult.QueryResultRow> ordered = rows.values().stream()
+        .sorted((a, b) -> ordering.comparator().compare(a.key(), b.key()))
+        .limit(query._limit > 0 ? query._limit : Long.MAX_VALUE)
+        .map(Row::row)
+        .toList();
+    return new ArcScriptResult.ResultSet(
+        new ArcScriptResult.ResultSetMeta(columns, -1L),
+        ordered);
+  }
+
+  private boolean forget(final URI uri) {
+    fingerprints.remove(uri);
+    return rows.remove(uri) != null;
+  }
+
+  private boolean targets(final URI uri) {
+    return target.schemas().contains(uri.getScheme());
+  }
+
+  private boolean targets(final StorageEntry entry) {
+    return targets(entry.uri())
+           && (target.types().isEmpty()
+               || entry instanceof ObjectEntry o && target.types().contains(o.typeName()));
+  }
+
+  private void onChange(final IndexChangeFeed.Change change) {
+    if (closed) {
+      return;
+    }
+
+    switch (change) {
+      case IndexChangeFeed.Change.Added(var uris) -> uris.stream()
+          .filter(this::targets)
+          .forEach(pending::add);
+      case IndexChangeFeed.Change.Modified(var uri) when targets(uri) -> pending.add(uri);
+      case IndexChangeFeed.Change.Modified m -> {}
+      case IndexChangeFeed.Change.Reset r -> reset = true;
+    }
+    schedule();
+  }
+
+  private void sweep() {
+    // deletions, and changes behind the back of the index are only noticed this way:
+    pending.addAll(rows.keySet());
+    schedule();
+  }
+
+  private void schedule() {
+    if (closed || (pending.isEmpty() && !reset) || !scheduled.compareAndSet(false, true)) {
+      return;
+    }
+
+    MAINTAINER.schedule(
+        () -> Thread.ofVirtual().name("arc-script-view").start(() -> {
+          scheduled.set(false);
+          try {
+            maintain();
+          } catch (final RuntimeException ignored) {
+            // recorded as the failure of the view -> reported with its staleness
+          }
+        }),
+        DEBOUNCE_MILLIS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void publish() {
+    if (subscribers.isEmpty()) {
+      return;
+    }
+
+    final Snapshot snapshot = snapshot();
+    subscribers.forEach(it -> it.accept(snapshot));
+  }
+
+  @Override
+  public String toString() {
+    return name + " (" + target + ")";
+  }
+
+}
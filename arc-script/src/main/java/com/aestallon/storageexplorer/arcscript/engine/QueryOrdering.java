@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+
+/**
+ * The order of query results: the keys of the {@code order_by} clauses, then the URI of the entry.
+ *
+ * <p>
+ * The URI always breaks ties, thus the order is total -> the same storage yields the same results
+ * in the same order on every run, however concurrently they were evaluated. A query without any
+ * {@code order_by} clause is ordered by URI alone.
+ */
+final class QueryOrdering {
+
+  static final QueryOrdering BY_URI = new QueryOrdering(List.of());
+
+
+  record Key(StorageEntry entry, Object[] values) {}
+
+
+  static QueryOrdering of(final List<QueryInstructionImpl.OrderColumn> columns) {
+    return columns.isEmpty() ? BY_URI : new QueryOrdering(columns);
+  }
+
+  private final StorageInstanceExaminer.PropertyPath[] paths;
+  private final boolean[] descending;
+  private final Comparator<Key> comparator;
+  private final String description;
+
+  private QueryOrdering(final List<QueryInstructionImpl.OrderColumn> columns) {
+    paths = new StorageInstanceExaminer.PropertyPath[columns.size()];
+    descending = new boolean[columns.size()];
+    for (int i = 0; i < columns.size(); i++) {
+      paths[i] = StorageInstanceExaminer.PropertyPath.of(columns.get(i).property());
+      descending[i] = columns.get(i).descending();
+    }
+    comparator = this::compare;
+    description = columns.stream()
+        .map(QueryInstructionImpl.OrderColumn::toString)
+        .collect(Collectors.joining(", ", "", columns.isEmpty() ? "uri" : ", uri"));
+  }
+
+  /**
+   * Returns whether this ordering is by URI alone: in that case the position of an entry is known
+   * without loading it.
+   *
+   * @return {@code true} if ordered by URI alone
+   */
+  boolean byUri() {
+    return paths.length == 0;
+  }
+
+  Comparator<Key> comparator() {
+    return comparator;
+  }
+
+  Key key(final StorageInstanceExaminer examiner,
+          final StorageEntry entry,
+          final StorageInstanceExaminer.ObjectEntryLookupTable cache) {
+    if (paths.length == 0) {
+      return new Key(entry, new Object[0]);
+    }
+
+    final Object[] values = new Object[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      values[i] = examiner.discoverProperty(entry, paths[i], cache)
+          instanceof StorageInstanceExaminer.Some some
+          ? some.val()
+          : null;
+    }
+    return new Key(entry, values);
+  }
+
+  List<StorageEntry> sort(final Collection<StorageEntry> entries,
+                          final StorageInstanceExaminer examiner,
+                          final StorageInstanceExaminer.ObjectEntryLookupTable cache) {
+    final List<Key> keys = new ArrayList<>(entries.size());
+    for (final StorageEntry entry : entries) {
+      keys.add(key(examiner, entry, cache));
+    }
+    keys.sort(comparator);
+    return keys.stream().map(Key::entry).toList();
+  }
+
+  private int compare(final Key a, final Key b) {
+    for (int i = 0; i < paths.length; i++) {
+      final Object x = a.values()[i];
+      final Object y = b.values()[i];
+      if (x == null || y == null) {
+        // missing values come last, in either direction:
+        if (x != y) {
+          return x == null ? 1 : -1;
+        }
+        continue;
+      }
+
+      final int c = compareValues(x, y);
+      if (c != 0) {
+        return descending[i] ? -c : c;
+      }
+    }
+
+    return a.entry().uri().compareTo(b.entry().uri());
+  }
+
+  /**
+   * Compares values of any type: values are ordered by their type first (missing values, booleans,
+   * numbers, strings, then anything else), and by their value within their type -> the order is
+   * total, and transitive even across types.
+   */
+  static int compareValues(final Object x, final Object y) {
+    final int rank = Integer.compare(rank(x), rank(y));
+    if (rank != 0) {
+      return rank;
+    }
+
+    return switch (x) {
+      case null -> 0;
+      case Boolean p -> Boolean.compare(p, (Boolean) y);
+      case Number n -> compareNumbers(n, (Number) y);
+      case String s -> s.compareTo((String) y);
+      // structured values: their textual form is still a total order:
+      default -> String.valueOf(x).compareTo(String.valueOf(y));
+    };
+  }
+
+  private static int rank(final Object o) {
+    return switch (o) {
+      case null -> 0;
+      case Boolean b -> 1;
+      case Number n -> 2;
+      case String s -> 3;
+      default -> 4;
+    };
+  }
+
+  private static int compareNumbers(final Number n, final Number m) {
+    final boolean integralN = isIntegral(n);
+    final boolean integralM = isIntegral(m);
+    if (integralN && integralM) {
+      return Long.compare(n.longValue(), m.longValue());
+    }
+
+    final double a = n.doubleValue();
+    final double b = m.doubleValue();
+    if (integralN == integralM || !Double.isFinite(a) || !Double.isFinite(b)) {
+      return Double.compare(a, b);
+    }
+
+    // a double cannot tell apart longs beyond 2^53 -> a long and a double are compared exactly:
+    return exact(n, integralN).compareTo(exact(m, integralM));
+  }
+
+  private static BigDecimal exact(final Number n, final boolean integral) {
+    return integral ? BigDecimal.valueOf(n.longValue()) : new BigDecimal(n.doubleValue());
+  }
+
+  private static boolean isIntegral(final Number n) {
+    return n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte;
+  }
+
+  @Override
+  public String toString() {
+    return description;
+  }
+
+
+  /**
+   * The best {@code k} keys offered so far, by this ordering. Thread safe.
+   */
+  final class TopK {
+
+    private final int k;
+    // the worst kept key is on top -> it is the one evicted by a better one:
+    private final PriorityQueue<Key> heap;
+
+    TopK(final int k) {
+      this.k = k;
+      // k may well be huge compared to the keys ever offered -> the heap grows as needed:
+      this.heap = new PriorityQueue<>(Math.clamp(k, 1, 1024), comparator.reversed());
+    }
+
+    synchronized void offer(final Key key) {
+      if (heap.size() < k) {
+        heap.add(key);
+      } else if (comparator.compare(key, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(key);
+      }
+    }
+
+    synchronized boolean full() {
+      return heap.size() >= k;
+    }
+
+    /**
+     * Returns whether the given key can no longer make it -> the entry it belongs to need not be
+     * evaluated at all.
+     *
+     * @param key the key
+     *
+     * @return {@code true} if the key is worse than every key kept
+     */
+    synchronized boolean excludes(final Key key) {
+      return heap.size() >= k && comparator.compare(key, heap.peek()) > 0;
+    }
+
+    synchronized List<StorageEntry> entries() {
+      return heap.stream().sorted(comparator).map(Key::entry).toList();
+    }
+
+  }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.model.loading.PushdownPredicate;
+
+/**
+ * The logical plan of a single query.
+ *
+ * <p>
+ * Candidates are the entries of the {@code target} known to the index, narrowed down by the storage
+ * backend with the {@code pushdown} predicate (if any). The {@code residual} condition is what
+ * remains to be evaluated in memory on the surviving candidates -> if it is {@code null}, no entry
+ * has to be loaded to decide whether it qualifies.
+ *
+ * @param target the schemas and types the query selects from
+ * @param pushdown the predicate to be evaluated by the storage backend, may be {@code null}
+ * @param residual the condition to be evaluated in memory, may be {@code null}
+ */
+public record QueryPlan(IndexingTarget target,
+                        PushdownPredicate pushdown,
+                        QueryConditionImpl residual) {
+
+  static QueryPlan inMemory(final IndexingTarget target, final QueryConditionImpl condition) {
+    return new QueryPlan(target, null, condition);
+  }
+
+  public boolean pushesDown() {
+    return pushdown != null;
+  }
+
+  @Override
+  public String toString() {
+    return "scan " + target
+           + (pushdown == null ? "" : " | push down " + pushdown)
+           + (residual == null ? "" : " | evaluate " + residual);
+  }
+
+}
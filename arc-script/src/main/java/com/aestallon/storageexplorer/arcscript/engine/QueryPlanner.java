@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import com.aestallon.storageexplorer.arcscript.internal.query.Assertion;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryElement;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.UriProperty;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.model.loading.PushdownPredicate;
+import com.aestallon.storageexplorer.core.service.RelationalDatabaseStorageIndex;
+import com.aestallon.storageexplorer.core.service.StorageIndex;
+
+/**
+ * Turns query conditions into {@link QueryPlan}s, pushing down whatever the storage backend can
+ * evaluate on its own.
+ *
+ * <p>
+ * Conditions are evaluated strictly left to right, thus {@code a || b && c} is read as
+ * {@code (a || b) && c}. An AND can always push down its pushable operands (dropping the rest only
+ * widens the selection), an OR can only be pushed down if all of its operands are. Pushed down URI
+ * filters are exact, property filters are not -> the latter are kept for in-memory evaluation, and
+ * only exact conjuncts of the top-level condition are removed from it.
+ */
+final class QueryPlanner {
+
+  enum Pushdown { NONE, URIS, URIS_AND_PROPERTIES }
+
+
+  private record Translation(PushdownPredicate pushed, boolean exact) {
+
+    private static final Translation NONE = new Translation(null, false);
+    private static final Translation TRUE = new Translation(null, true);
+
+    private Translation and(final Translation that) {
+      return new Translation(PushdownPredicate.and(pushed, that.pushed), exact && that.exact);
+    }
+
+    private Translation or(final Translation that) {
+      return new Translation(PushdownPredicate.or(pushed, that.pushed), exact && that.exact);
+    }
+
+  }
+
+
+  static QueryPlan plan(final QueryInstructionImpl query, final StorageIndex<?> index) {
+    final Pushdown pushdown = switch (index) {
+      case RelationalDatabaseStorageIndex rdb -> rdb.pushesDownProperties()
+          ? Pushdown.URIS_AND_PROPERTIES
+          : Pushdown.URIS;
+      case null, default -> Pushdown.NONE;
+    };
+    return plan(query, pushdown);
+  }
+
+  static QueryPlan plan(final QueryInstructionImpl query, final Pushdown pushdown) {
+    final var target = new IndexingTarget(query._schemas, query._types);
+    final QueryConditionImpl condition = query.condition;
+    if (condition == null || pushdown == Pushdown.NONE) {
+      return QueryPlan.inMemory(target, condition);
+    }
+
+    return new QueryPlanner(pushdown).plan(target, condition);
+  }
+
+  private final boolean pushProperties;
+
+  private QueryPlanner(final Pushdown pushdown) {
+    this.pushProperties = pushdown == Pushdown.URIS_AND_PROPERTIES;
+  }
+
+  private QueryPlan plan(final IndexingTarget target, final QueryConditionImpl condition) {
+    final var elements = condition.elements();
+    final List<Translation> translations = elements.stream()
+        .map(it -> translate(it.element()))
+        .toList();
+    final Translation whole = fold(elements, translations);
+    if (whole.exact) {
+      return new QueryPlan(target, whole.pushed, null);
+    }
+
+    final boolean conjunction = elements.stream()
+        .skip(1L)
+        .allMatch(it -> it.relation() == QueryConditionImpl.AssertionRelation.AND);
+    if (!conjunction) {
+      return new QueryPlan(target, whole.pushed, condition);
+    }
+
+    final List<QueryConditionImpl.AssertionElement> remaining = new ArrayList<>();
+    for (int i = 0; i < elements.size(); i++) {
+      if (!translations.get(i).exact) {
+        remaining.add(elements.get(i));
+      }
+    }
+    return new QueryPlan(target, whole.pushed, QueryConditionImpl.of(remaining));
+  }
+
+  private Translation translate(final QueryElement element) {
+    return switch (element) {
+      case Assertion a -> translate(a);
+      case QueryConditionImpl c -> fold(
+          c.elements(),
+          c.elements().stream().map(it -> translate(it.element())).toList());
+    };
+  }
+
+  private static Translation fold(final List<QueryConditionImpl.AssertionElement> elements,
+                                  final List<Translation> translations) {
+    if (elements.isEmpty()) {
+      return Translation.TRUE;
+    }
+
+    Translation acc = translations.getFirst();
+    for (int i = 1; i < elements.size(); i++) {
+      acc = switch (elements.get(i).relation()) {
+        case AND -> acc.and(translations.get(i));
+        case OR -> acc.or(translations.get(i));
+      };
+    }
+    return acc;
+  }
+
+  private Translation translate(final Assertion a) {
+    final List<Object> operands = a.operands();
+    if (!a.isSingle() || operands.isEmpty() || operands.contains(null)) {
+      return Translation.NONE;
+    }
+
+    if (UriProperty.OWN.equals(a.prop())) {
+      return translateUri(a.op(), operands);
+    }
+
+    if (pushProperties && PushdownPredicate.isAddressable(a.prop())) {
+      return translateProperty(a.prop(), a.op(), operands);
+    }
+
+    return Translation.NONE;
+  }
+
+  private static Translation translateUri(final String op, final List<Object> operands) {
+    if (!operands.stream().allMatch(String.class::isInstance)) {
+      return Translation.NONE;
+    }
+
+    return switch (op) {
+      case "is", "in" -> new Translation(
+          new PushdownPredicate.UriIn(new LinkedHashSet<>(operands.stream()
+              .map(String.class::cast)
+              .toList())),
+          true);
+      case "starts_with" -> new Translation(
+          new PushdownPredicate.UriStartsWith((String) operands.getFirst()),
+          true);
+      default -> Translation.NONE;
+    };
+  }
+
+  private static Translation translateProperty(final String prop,
+                                               final String op,
+                                               final List<Object> operands) {
+    final Object first = operands.getFirst();
+    final PushdownPredicate predicate = switch (op) {
+      case "is", "in" -> operands.stream().allMatch(QueryPlanner::isEquatable)
+          ? new PushdownPredicate.PropertyIn(prop, operands)
+          : null;
+      case "starts_with" -> first instanceof String s
+          ? new PushdownPredicate.PropertyStartsWith(prop, s)
+          : null;
+      case "greater_than" -> compare(prop, PushdownPredicate.Comparison.GT, first);
+      case "at_least" -> compare(prop, PushdownPredicate.Comparison.GE, first);
+      case "less_than" -> compare(prop, PushdownPredicate.Comparison.LT, first);
+      case "at_most" -> compare(prop, PushdownPredicate.Comparison.LE, first);
+      default -> null;
+    };
+    return predicate == null ? Translation.NONE : new Translation(predicate, false);
+  }
+
+  private static PushdownPredicate compare(final String prop,
+                                           final PushdownPredicate.Comparison comparison,
+                                           final Object operand) {
+    return operand instanceof Number n && isFinite(n)
+        ? new PushdownPredicate.PropertyCompare(prop, comparison, n)
+        : null;
+  }
+
+  private static boolean isEquatable(final Object operand) {
+    return switch (operand) {
+      case String s -> true;
+      case Boolean b -> true;
+      // numeric equality in memory truncates to long unless the value found is a floating point
+      // one; the database cannot mimic that for fractional operands:
+      case Number n -> isIntegral(n);
+      default -> false;
+    };
+  }
+
+  private static boolean isIntegral(final Number n) {
+    return switch (n) {
+      case Integer i -> true;
+      case Long l -> true;
+      case Short s -> true;
+      case Byte b -> true;
+      case BigInteger bi -> true;
+      case BigDecimal bd -> bd.signum() == 0 || bd.stripTrailingZeros().scale() <= 0;
+      default -> false;
+    };
+  }
+
+  private static boolean isFinite(final Number n) {
+    return switch (n) {
+      case Double d -> Double.isFinite(d);
+      case Float f -> Float.isFinite(f);
+      default -> true;
+    };
+  }
+
+}
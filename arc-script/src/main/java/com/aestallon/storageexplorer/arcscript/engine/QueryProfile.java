@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.List;
+
+/**
+ * The plan of a query, and (if it was profiled) what each phase of its evaluation took.
+ *
+ * <p>
+ * Phases are reported in the order they start, but some of them overlap: content is prefetched
+ * batch by batch, while the condition is already being evaluated on the batches loaded before.
+ * The time of such phases is summed over every worker taking part, thus it may well exceed the
+ * time the whole query took.
+ *
+ * @param executed whether the query was performed (profiled), or only planned (explained)
+ * @param plan the logical plan, and the ordering of the results
+ * @param program the condition program evaluated on every candidate (see {@link ConditionProgram})
+ * @param pushdownFailure the reason the backend could not take the pushdown, if any
+ * @param indexedAssertions the number of assertions answered from property indices
+ * @param implicitIndexing whether the target of the query is (or would be) indexed implicitly,
+ *     before the query itself
+ * @param phases the phases performed, empty if the query was only explained
+ * @param candidates the number of candidates the condition is evaluated on
+ * @param results the number of results, or {@code -1} if the query was only explained
+ * @param timeTaken the time the whole query took, in nanoseconds
+ */
+public record QueryProfile(boolean executed,
+                           String plan,
+                           String program,
+                           String pushdownFailure,
+                           int indexedAssertions,
+                           boolean implicitIndexing,
+                           List<PhaseProfile> phases,
+                           long candidates,
+                           long results,
+                           long timeTaken) {
+
+  public enum Phase {
+
+    IMPLICIT_INDEXING("implicit indexing"),
+    CANDIDATE_SELECTION("candidate selection"),
+    CONTENT_LOADING("content loading"),
+    CONDITION_EVALUATION("condition evaluation"),
+    COLUMN_MATERIALISATION("column materialisation");
+
+    private final String title;
+
+    Phase(final String title) {
+      this.title = title;
+    }
+
+    public String title() {
+      return title;
+    }
+
+  }
+
+
+  /**
+   * What a single phase took.
+   *
+   * @param phase the phase
+   * @param entries the number of entries the phase processed
+   * @param loads the number of entries the phase loaded from the storage
+   * @param cacheHits the number of entries the phase found already loaded
+   * @param bytes the estimated size of the entries the phase loaded
+   * @param timeTaken the time the phase took, in nanoseconds
+   */
+  public record PhaseProfile(Phase phase,
+                             long entries,
+                             long loads,
+                             long cacheHits,
+                             long bytes,
+                             long timeTaken) {}
+
+}
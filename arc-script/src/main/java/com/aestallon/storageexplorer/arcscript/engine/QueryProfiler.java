@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.aestallon.storageexplorer.core.service.LoadScheduler;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+import com.aestallon.storageexplorer.core.util.AbstractEntryEvaluationExecutor;
+
+/**
+ * Collects the phases of a single profiled query, as the engine performs them one after the other.
+ *
+ * <p>
+ * Executors count their own loads (see {@link AbstractEntryEvaluationExecutor#stats()}). Whatever
+ * the engine loads on its own thread (e.g. while sorting, or rendering rows an executor did not
+ * get to) is charged to the session of the script -> it is attributed to the phase in progress by
+ * comparing the session before and after. Cache hits are attributed the same way.
+ */
+final class QueryProfiler {
+
+  private final LoadScheduler.Session session;
+  private final StorageInstanceExaminer.ObjectEntryLookupTable cache;
+  private final List<QueryProfile.PhaseProfile> phases = new ArrayList<>();
+  private long loads;
+  private long bytes;
+  private long hits;
+  private long prefetchHits;
+
+  QueryProfiler(final LoadScheduler.Session session,
+                final StorageInstanceExaminer.ObjectEntryLookupTable cache) {
+    this.session = session;
+    this.cache = cache;
+    mark();
+  }
+
+  private void mark() {
+    loads = session == null ? 0L : session.loads();
+    bytes = session == null ? 0L : session.bytesLoaded();
+    hits = cache.hits();
+    prefetchHits = cache.prefetchHits();
+  }
+
+  private long loadsSinceMark() {
+    return session == null ? 0L : session.loads() - loads;
+  }
+
+  private long bytesSinceMark() {
+    return session == null ? 0L : session.bytesLoaded() - bytes;
+  }
+
+  void indexed(final ArcScriptResult.IndexingPerformed indexing) {
+    if (indexing != null) {
+      phases.add(new QueryProfile.PhaseProfile(
+          QueryProfile.Phase.IMPLICIT_INDEXING,
+          indexing.entriesFound(),
+          0L,
+          0L,
+          0L,
+          indexing.timeTaken()));
+    }
+  }
+
+  void selected(final long candidates, final long timeTaken) {
+    // candidates come from the index (and the backend, if pushed down), no entry is loaded:
+    phases.add(new QueryProfile.PhaseProfile(
+        QueryProfile.Phase.CANDIDATE_SELECTION,
+        candidates,
+        0L,
+        0L,
+        0L,
+        timeTaken));
+  }
+
+  /**
+   * Records the evaluation of the condition, split into loading the content it needs, and the
+   * evaluation itself.
+   *
+   * @param stats the stats of the evaluating executor
+   * @param engineTime the time the engine spent on the results itself (e.g. sorting them)
+   */
+  void evaluated(final AbstractEntryEvaluationExecutor.Stats stats, final long engineTime) {
+    phases.add(new QueryProfile.PhaseProfile(
+        QueryProfile.Phase.CONTENT_LOADING,
+        stats.prefetched(),
+        stats.prefetchLoads(),
+        cache.prefetchHits() - prefetchHits,
+        stats.prefetchBytes(),
+        stats.prefetchNanos()));
+    phases.add(new QueryProfile.PhaseProfile(
+        QueryProfile.Phase.CONDITION_EVALUATION,
+        stats.worked(),
+        stats.workLoads() + loadsSinceMark(),
+        cache.hits() - hits,
+        stats.workBytes() + bytesSinceMark(),
+        stats.workNanos() + engineTime));
+    mark();
+  }
+
+  /**
+   * Records the materialisation of the columns of the results.
+   *
+   * @param stats the stats of the rendering executor
+   * @param rows the number of rows rendered
+   * @param engineTime the time the engine spent rendering rows itself
+   */
+  void rendered(final AbstractEntryEvaluationExecutor.Stats stats,
+                final long rows,
+                final long engineTime) {
+    phases.add(new QueryProfile.PhaseProfile(
+        QueryProfile.Phase.COLUMN_MATERIALISATION,
+        rows,
+        stats.prefetchLoads() + stats.workLoads() + loadsSinceMark(),
+        cache.hits() - hits + cache.prefetchHits() - prefetchHits,
+        stats.prefetchBytes() + stats.workBytes() + bytesSinceMark(),
+        stats.prefetchNanos() + stats.workNanos() + engineTime));
+    mark();
+  }
+
+  List<QueryProfile.PhaseProfile> phases() {
+    return List.copyOf(phases);
+  }
+
+}
@@ -17,9 +17,8 @@ package com.aestallon.storageexplorer.arcscript.engine;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
-import com.aestallon.storageexplorer.common.util.Pair;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
 import com.aestallon.storageexplorer.core.util.AbstractEntryEvaluationExecutor;
@@ -56,16 +55,16 @@ public class QueryResultRowEvaluationExecutor extends
     return new Builder(examiner, entries, columns);
   }
 
-  private final Set<ArcScriptResult.ColumnDescriptor> columns;
+  private final RowRenderer renderer;
 
   private QueryResultRowEvaluationExecutor(Builder builder) {
     super(builder);
-    columns = builder.columns;
+    renderer = new RowRenderer(examiner, cache, builder.columns);
   }
 
   @Override
   protected boolean shortCircuit() {
-    return columns.isEmpty();
+    return renderer.columns().isEmpty();
   }
 
   @Override
@@ -74,22 +73,14 @@ public class QueryResultRowEvaluationExecutor extends
   }
 
   @Override
-  protected void work(StorageEntry entry) {
-    final Map<String, ArcScriptResult.DataCell> cells = columns.stream()
-        .map(it -> discoverCell(it, entry))
-        .collect(Pair.toMap());
-    results.add(new ArcScriptResult.QueryResultRow(entry, cells));
+  protected int prefetch(final List<StorageEntry> batch) {
+    examiner.prefetch(batch, renderer.columns(), cache);
+    return batch.size();
   }
 
-  private Pair<String, ArcScriptResult.DataCell> discoverCell(
-      final ArcScriptResult.ColumnDescriptor column,
-      final StorageEntry entry) {
-    final String prop = column.prop();
-    final ArcScriptResult.DataCell cell = switch (examiner.discoverProperty(entry, prop, cache)) {
-      case StorageInstanceExaminer.None none -> ArcScriptResult.DataCell.noValue();
-      case StorageInstanceExaminer.Some some -> ArcScriptResult.DataCell.of(some.val());
-    };
-    return Pair.of(prop, cell);
+  @Override
+  protected void work(StorageEntry entry) {
+    emit(renderer.render(entry));
   }
 
 }
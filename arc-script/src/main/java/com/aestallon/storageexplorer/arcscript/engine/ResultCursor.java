@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
+
+/**
+ * A streamed query result: rows are offered here as soon as their entries qualify (and their
+ * columns are rendered), and are consumed page by page.
+ *
+ * <p>
+ * The buffer between the evaluation and the consumer holds at most two pages -> once it is full,
+ * the evaluation blocks until the consumer catches up. A consumer not interested in further rows
+ * must {@link #close()} the cursor, which stops the evaluation.
+ *
+ * <p>
+ * Rows are produced concurrently, thus their order is not defined.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class ResultCursor implements AutoCloseable {
+
+  private static final long POLL_NANOS = MILLISECONDS.toNanos(50L);
+
+
+  public record Page(List<ArcScriptResult.QueryResultRow> rows, boolean last) {}
+
+
+  private final List<ArcScriptResult.ColumnDescriptor> columns;
+  private final int pageSize;
+  private final BlockingQueue<ArcScriptResult.QueryResultRow> buffer;
+  private volatile Runnable onClose = () -> {};
+  private volatile boolean done;
+  private volatile boolean closed;
+  private volatile Throwable error;
+  private volatile long timeTaken = -1L;
+  private volatile ExecutionBudget.Status status = ExecutionBudget.Status.OK;
+  private volatile long consumed;
+
+  ResultCursor(final List<ArcScriptResult.ColumnDescriptor> columns, final int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Page size must be positive!");
+    }
+
+    this.columns = List.copyOf(columns);
+    this.pageSize = pageSize;
+    this.buffer = new ArrayBlockingQueue<>(pageSize * 2);
+  }
+
+  public List<ArcScriptResult.ColumnDescriptor> columns() {
+    return columns;
+  }
+
+  public int pageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Returns the number of rows handed out so far.
+   *
+   * @return the number of rows consumed
+   */
+  public long consumed() {
+    return consumed;
+  }
+
+  /**
+   * Returns the time the evaluation took in nanoseconds, or {@code -1} if it is still running.
+   *
+   * @return the time taken
+   */
+  public long timeTaken() {
+    return timeTaken;
+  }
+
+  /**
+   * Returns whether the evaluation got stopped before seeing every candidate (see
+   * {@link ExecutionBudget}), in which case the rows handed out are only a partial result. Only
+   * final once the cursor is {@link #exhausted()}.
+   *
+   * @return the status of the evaluation
+   */
+  public ExecutionBudget.Status status() {
+    return status;
+  }
+
+  public Optional<Throwable> error() {
+    return Optional.ofNullable(error);
+  }
+
+  /**
+   * Returns whether every row has been handed out (or the cursor got closed).
+   *
+   * @return {@code true} if no further rows are to be expected
+   */
+  public boolean exhausted() {
+    return closed || (done && buffer.isEmpty());
+  }
+
+  /**
+   * Returns the next page, blocking until it is full, or the evaluation completes.
+   *
+   * @return the next page
+   *
+   * @throws InterruptedException if interrupted while waiting for rows
+   */
+  public Page next() throws InterruptedException {
+    return next(-1L, NANOSECONDS);
+  }
+
+  /**
+   * Returns the next page, blocking until it is full, the evaluation completes, or the timeout
+   * elapses -> whichever comes first. A page returned on timeout may be partial, or even empty.
+   *
+   * @param timeout the maximum time to wait, negative to wait indefinitely
+   * @param unit the unit of the timeout
+   *
+   * @return the next page
+   *
+   * @throws InterruptedException if interrupted while waiting for rows
+   */
+  public synchronized Page next(final long timeout, final TimeUnit unit)
+      throws InterruptedException {
+    final boolean timed = timeout >= 0L;
+    final long deadline = timed ? System.nanoTime() + unit.toNanos(timeout) : 0L;
+    final List<ArcScriptResult.QueryResultRow> rows = new ArrayList<>(pageSize);
+    while (rows.size() < pageSize && !closed) {
+      buffer.drainTo(rows, pageSize - rows.size());
+      if (rows.size() == pageSize) {
+        break;
+      }
+
+      if (done) {
+        // nothing is offered after completion -> one last drain gets every row still buffered:
+        buffer.drainTo(rows, pageSize - rows.size());
+        break;
+      }
+
+      final long wait = timed ? Math.min(deadline - System.nanoTime(), POLL_NANOS) : POLL_NANOS;
+      if (wait <= 0L) {
+        break;
+      }
+
+      final ArcScriptResult.QueryResultRow row = buffer.poll(wait, NANOSECONDS);
+      if (row != null) {
+        rows.add(row);
+      }
+    }
+
+    consumed += rows.size();
+    return new Page(List.copyOf(rows), exhausted());
+  }
+
+  /**
+   * Consumes every remaining row into a plain result set, for consumers which cannot work
+   * incrementally (e.g. exporters).
+   *
+   * @return the remaining rows as a result set
+   *
+   * @throws InterruptedException if interrupted while waiting for rows
+   */
+  public ArcScriptResult.ResultSet drain() throws InterruptedException {
+    final List<ArcScriptResult.QueryResultRow> rows = new ArrayList<>();
+    Page page;
+    do {
+      page = next();
+      rows.addAll(page.rows());
+    } while (!page.last());
+
+    return new ArcScriptResult.ResultSet(
+        new ArcScriptResult.ResultSetMeta(columns, timeTaken),
+        rows);
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    onClose.run();
+    buffer.clear();
+  }
+
+  boolean closed() {
+    return closed;
+  }
+
+  void onClose(final Runnable onClose) {
+    this.onClose = onClose;
+    if (closed) {
+      onClose.run();
+    }
+  }
+
+  void offer(final ArcScriptResult.QueryResultRow row) {
+    try {
+      // blocks the producer while the consumer is lagging behind by more than two pages:
+      while (!closed) {
+        if (buffer.offer(row, POLL_NANOS, NANOSECONDS)) {
+          return;
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  void complete(final Throwable error,
+                final long timeTaken,
+                final ExecutionBudget.Status status) {
+    this.error = error;
+    this.timeTaken = timeTaken;
+    this.status = status;
+    done = true;
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import com.aestallon.storageexplorer.common.util.Pair;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+
+/**
+ * Renders the requested columns of single entries into {@link ArcScriptResult.QueryResultRow}s.
+ *
+ * <p>
+ * Shared by the materialising {@link QueryResultRowEvaluationExecutor} and by streamed queries,
+ * where every row is rendered on the spot, as soon as its entry qualifies.
+ */
+final class RowRenderer {
+
+  private final StorageInstanceExaminer examiner;
+  private final StorageInstanceExaminer.ObjectEntryLookupTable cache;
+  private final List<StorageInstanceExaminer.PropertyPath> columns;
+
+  RowRenderer(final StorageInstanceExaminer examiner,
+              final StorageInstanceExaminer.ObjectEntryLookupTable cache,
+              final Collection<ArcScriptResult.ColumnDescriptor> columns) {
+    this.examiner = examiner;
+    this.cache = cache;
+    // parsed once here, not once per entry:
+    this.columns = columns.stream()
+        .map(it -> StorageInstanceExaminer.PropertyPath.of(it.prop()))
+        .toList();
+  }
+
+  List<StorageInstanceExaminer.PropertyPath> columns() {
+    return columns;
+  }
+
+  ArcScriptResult.QueryResultRow render(final StorageEntry entry) {
+    if (columns.isEmpty()) {
+      return new ArcScriptResult.QueryResultRow(entry);
+    }
+
+    final Map<String, ArcScriptResult.DataCell> cells = columns.stream()
+        .map(it -> discoverCell(it, entry))
+        .collect(Pair.toMap());
+    return new ArcScriptResult.QueryResultRow(entry, cells);
+  }
+
+  private Pair<String, ArcScriptResult.DataCell> discoverCell(
+      final StorageInstanceExaminer.PropertyPath column,
+      final StorageEntry entry) {
+    final ArcScriptResult.DataCell cell = switch (examiner.discoverProperty(entry, column, cache)) {
+      case StorageInstanceExaminer.None none -> ArcScriptResult.DataCell.noValue();
+      case StorageInstanceExaminer.Some some -> ArcScriptResult.DataCell.of(some.val());
+    };
+    return Pair.of(column.path(), cell);
+  }
+
+}
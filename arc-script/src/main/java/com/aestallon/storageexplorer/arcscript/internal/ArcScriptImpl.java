@@ -45,6 +45,26 @@ public abstract class ArcScriptImpl extends Script implements ArcScript {
     instructions.add(updateInstruction);
     return updateInstruction;
   }
+
+  @Override
+  public QueryInstruction explain(QueryInstruction query) {
+    return analyse(query, QueryInstructionImpl.Mode.EXPLAIN);
+  }
+
+  @Override
+  public QueryInstruction profile(QueryInstruction query) {
+    return analyse(query, QueryInstructionImpl.Mode.PROFILE);
+  }
+
+  private static QueryInstruction analyse(final QueryInstruction query,
+                                          final QueryInstructionImpl.Mode mode) {
+    if (!(query instanceof QueryInstructionImpl q)) {
+      throw new IllegalArgumentException("Only queries can be explained or profiled!");
+    }
+
+    q._mode = mode;
+    return q;
+  }
   
 
   @Override
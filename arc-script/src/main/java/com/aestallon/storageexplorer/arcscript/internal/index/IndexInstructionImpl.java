@@ -2,6 +2,7 @@ package com.aestallon.storageexplorer.arcscript.internal.index;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -14,6 +15,7 @@ public class IndexInstructionImpl implements IndexInstruction, Instruction {
   public final Set<String> _schemas = new HashSet<>();
   public final Set<String> _types = new HashSet<>();
   public IndexingStrategyType _strategy = IndexingStrategyType.INITIAL;
+  public final Set<String> _properties = new LinkedHashSet<>();
 
   @Override
   public void schemas(String... schemas) {
@@ -38,6 +40,15 @@ public class IndexInstructionImpl implements IndexInstruction, Instruction {
     _strategy = method;
   }
 
+  @Override
+  public void properties(String... properties) {
+    if (properties == null || properties.length == 0) {
+      throw new IllegalArgumentException("Properties must have at least one property");
+    }
+
+    Arrays.stream(properties).filter(Objects::nonNull).forEach(_properties::add);
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("index ");
@@ -55,6 +66,11 @@ public class IndexInstructionImpl implements IndexInstruction, Instruction {
       sb.append("in schemas ").append(_schemas).append(" ");
     }
     
-    return sb.append("with method ").append(_strategy).toString();
+    sb.append("with method ").append(_strategy);
+    if (!_properties.isEmpty()) {
+      sb.append(" and property indices on ").append(_properties);
+    }
+
+    return sb.toString();
   }
 }
@@ -1,5 +1,8 @@
 package com.aestallon.storageexplorer.arcscript.internal.query;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import com.aestallon.storageexplorer.arcscript.api.QueryCondition;
 import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
 import groovy.lang.Closure;
@@ -7,14 +10,21 @@ import groovy.lang.Closure;
 public final class Assertion implements QueryElement {
 
   private String prop;
+  private Kind kind;
   private String op;
   private String value;
+  private List<Object> _operands = Collections.emptyList();
   private PropertyPredicate _predicate;
   private QueryConditionImpl _listElementCondition;
 
   void set(String op, Object value, PropertyPredicate p) {
+    set(op, value, Collections.singletonList(value), p);
+  }
+
+  void set(String op, Object value, List<?> operands, PropertyPredicate p) {
     this.op = op;
     this.value = String.valueOf(value);
+    this._operands = Collections.unmodifiableList(Arrays.asList(operands.toArray()));
     this._predicate = p;
   }
 
@@ -32,6 +42,20 @@ public final class Assertion implements QueryElement {
 
   public String op() {return op;}
 
+  /**
+   * The kind of value the assertion was stated on -> the same operation means different things on
+   * different kinds (e.g. {@code contains} on a string or on a list).
+   */
+  public Kind kind() {return kind;}
+
+  public enum Kind { STR, BOOL, NUM, JSON, LIST }
+
+  /**
+   * The literal operands the assertion was stated with (empty for operations like {@code is_empty}
+   * or list matching) -> for those wishing to evaluate the assertion by other means.
+   */
+  public List<Object> operands() {return _operands;}
+
   public enum MatchOp {
     ANY("any_match"), ALL("all_match"), NONE("none_match"), UNKNOWN(null);
 
@@ -69,26 +93,31 @@ public final class Assertion implements QueryElement {
 
   public AssertionOperation.AssertionOperationStr str(final String prop) {
     this.prop = prop;
+    this.kind = Kind.STR;
     return new AssertionOperation.AssertionOperationStr(this);
   }
 
   public AssertionOperation.AssertionOperationBool bool(final String prop) {
     this.prop = prop;
+    this.kind = Kind.BOOL;
     return new AssertionOperation.AssertionOperationBool(this);
   }
 
   public AssertionOperation.AssertionOperationNum num(final String prop) {
     this.prop = prop;
+    this.kind = Kind.NUM;
     return new AssertionOperation.AssertionOperationNum(this);
   }
 
   public AssertionOperation.AssertionOperationJson json(final String prop) {
     this.prop = prop;
+    this.kind = Kind.JSON;
     return new AssertionOperation.AssertionOperationJson(this);
   }
 
   public AssertionOperation.AssertionOperationList list(final String prop) {
     this.prop = prop;
+    this.kind = Kind.LIST;
     return new AssertionOperation.AssertionOperationList(this);
   }
 
@@ -15,12 +15,15 @@
 
 package com.aestallon.storageexplorer.arcscript.internal.query;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
 import static java.util.stream.Collectors.joining;
 import com.aestallon.storageexplorer.arcscript.api.QueryCondition;
 import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
@@ -57,30 +60,24 @@ public abstract sealed class AssertionOperation<T> permits
     }
 
     if (values.length == 0) {
-      assertion.set("in", "{{ EMPTY SET }}", it -> false);
+      assertion.set("in", "{{ EMPTY SET }}", List.of(), it -> false);
       return;
     }
 
-    Arrays.stream(values)
-        .map(this::equalityPredicate)
-        .reduce(PropertyPredicate::or)
-        .ifPresentOrElse(
-            p -> assertion.set(
-                "in",
-                Arrays.stream(values).map(String::valueOf).collect(joining(", ", "( ", " )")),
-                p),
-            () -> assertion.set(
-                "in",
-                "{{ EMPTY SET }}",
-                it -> false));
+    final List<T> operands = Arrays.asList(values);
+    assertion.set(
+        "in",
+        operands.stream().map(String::valueOf).collect(joining(", ", "( ", " )")),
+        operands,
+        membership(operands));
   }
 
   public final void is_empty() {
-    assertion.set("is", "empty", it -> it instanceof StorageInstanceExaminer.None);
+    assertion.set("is", "empty", List.of(), it -> it instanceof StorageInstanceExaminer.None);
   }
 
   public final void is_present() {
-    assertion.set("is", "present", it -> it instanceof StorageInstanceExaminer.Some);
+    assertion.set("is", "present", List.of(), it -> it instanceof StorageInstanceExaminer.Some);
   }
 
   private PropertyPredicate equalityPredicate(final T value) {
@@ -91,6 +88,18 @@ public abstract sealed class AssertionOperation<T> permits
 
   protected abstract PropertyPredicate equality(final T value);
 
+  /**
+   * Returns the predicate of an {@code in} assertion. Types with a cheap and exact notion of
+   * equality override this to look discovered values up in a set built once, instead of checking
+   * every operand one by one.
+   */
+  protected PropertyPredicate membership(final List<T> values) {
+    return values.stream()
+        .map(this::equalityPredicate)
+        .reduce(PropertyPredicate::or)
+        .orElse(it -> false);
+  }
+
   public static final class AssertionOperationStr extends AssertionOperation<String> {
     public AssertionOperationStr(Assertion assertion) {
       super(assertion);
@@ -102,6 +111,15 @@ public abstract sealed class AssertionOperation<T> permits
                    && str.string().equals(value);
     }
 
+    @Override
+    protected PropertyPredicate membership(final List<String> values) {
+      final Set<String> expected = new HashSet<>(values);
+      final boolean orNull = expected.remove(null);
+      return it -> (it instanceof StorageInstanceExaminer.StringFound str
+                    && expected.contains(str.string()))
+                   || (orNull && it instanceof StorageInstanceExaminer.NoValue);
+    }
+
     public void contains(final String value) {
       if (value == null) {
         throw new IllegalArgumentException("Cannot call str contains with null value!");
@@ -129,11 +147,25 @@ public abstract sealed class AssertionOperation<T> permits
       }
 
       assertion.set(
-          "starts_with",
+          "ends_with",
           value,
           it -> it instanceof StorageInstanceExaminer.StringFound str
                 && str.string().endsWith(value));
     }
+
+    public void matches(final String regex) {
+      if (regex == null) {
+        throw new IllegalArgumentException("Cannot call str matches with null value!");
+      }
+
+      // compiled once, malformed patterns are reported when the script is compiled:
+      final Pattern pattern = Pattern.compile(regex);
+      assertion.set(
+          "matches",
+          regex,
+          it -> it instanceof StorageInstanceExaminer.StringFound str
+                && pattern.matcher(str.string()).matches());
+    }
   }
 
 
@@ -157,21 +189,9 @@ public abstract sealed class AssertionOperation<T> permits
 
     @Override
     protected PropertyPredicate equality(Map<String, Object> value) {
-      return it -> {
-        if (!(it instanceof StorageInstanceExaminer.ComplexFound complex)) {
-          return false;
-        }
-
-        final var actual = complex.value();
-        return actual.size() == value.size()
-               && actual.keySet().containsAll(value.keySet())
-               && actual.entrySet().stream().allMatch((e) -> {
-          final var k = e.getKey();
-          final var actualV = e.getValue();
-          final var expectedV = value.get(k);
-          return (actualV == null && expectedV == null) || Objects.equals(actualV, expectedV);
-        });
-      };
+      // same keys with equal values, in the sense of Map::equals:
+      return it -> it instanceof StorageInstanceExaminer.ComplexFound complex
+                   && value.equals(complex.value());
     }
 
     public void overlaps(Closure closure) {
@@ -182,17 +202,20 @@ public abstract sealed class AssertionOperation<T> permits
       final var strVal = b.toString();
       final PropertyPredicate p;
       if (json instanceof Map) {
-        final var expected = (Map<String, Object>) json;
+        final var expected = List.copyOf(((Map<String, Object>) json).entrySet());
         p = it -> {
           if (!(it instanceof StorageInstanceExaminer.ComplexFound complex)) {
             return false;
           }
 
           final var actual = complex.value();
-          final Set<String> overlap = new HashSet<>(expected.keySet());
-          overlap.retainAll(actual.keySet());
-
-          return overlap.stream().anyMatch(k -> Objects.equals(actual.get(k), expected.get(k)));
+          for (final Map.Entry<String, Object> e : expected) {
+            if (actual.containsKey(e.getKey())
+                && Objects.equals(actual.get(e.getKey()), e.getValue())) {
+              return true;
+            }
+          }
+          return false;
         };
       } else {
         p = it -> false;
@@ -210,23 +233,120 @@ public abstract sealed class AssertionOperation<T> permits
 
     @Override
     protected PropertyPredicate equality(final Number value) {
+      final double expectedDouble = value.doubleValue();
+      final boolean integral = isIntegral(value);
+      final long expectedLong = value.longValue();
       return it -> {
         if (!(it instanceof StorageInstanceExaminer.NumberFound n)) {
           return false;
         }
 
         final Number actual = n.number();
-        if (actual instanceof Float || actual instanceof Double) {
-          final double actualDouble = actual.doubleValue();
-          final double expectedDouble = value.doubleValue();
-          return Double.compare(actualDouble, expectedDouble) == 0;
+        return isFloatingPoint(actual)
+            ? Double.compare(actual.doubleValue(), expectedDouble) == 0
+            : integral && actual.longValue() == expectedLong;
+      };
+    }
+
+    @Override
+    protected PropertyPredicate membership(final List<Number> values) {
+      // Double::equals is exactly Double::compare == 0, thus the same as equality above:
+      final Set<Double> doubles = new HashSet<>();
+      final Set<Long> longs = new HashSet<>();
+      boolean nullAllowed = false;
+      for (final Number value : values) {
+        if (value == null) {
+          nullAllowed = true;
         } else {
-          final long actualLong = actual.longValue();
-          final long expectedLong = value.longValue();
-          return actualLong == expectedLong;
+          doubles.add(value.doubleValue());
+          if (isIntegral(value)) {
+            longs.add(value.longValue());
+          }
         }
+      }
+
+      final boolean orNull = nullAllowed;
+      return it -> switch (it) {
+        case StorageInstanceExaminer.NumberFound n -> isFloatingPoint(n.number())
+            ? doubles.contains(n.number().doubleValue())
+            : longs.contains(n.number().longValue());
+        case StorageInstanceExaminer.NoValue nv -> orNull;
+        default -> false;
       };
     }
+
+    private static boolean isFloatingPoint(final Number n) {
+      return n instanceof Float || n instanceof Double;
+    }
+
+    // 2.0d is integral, 2.5d is not -> only the former can equal an integral actual value:
+    private static boolean isIntegral(final Number n) {
+      if (!isFloatingPoint(n)) {
+        return true;
+      }
+
+      final double d = n.doubleValue();
+      return d == Math.rint(d) && d >= Long.MIN_VALUE && d <= Long.MAX_VALUE;
+    }
+
+    public void greater_than(final Number value) {
+      compare("greater_than", value, c -> c > 0);
+    }
+
+    public void at_least(final Number value) {
+      compare("at_least", value, c -> c >= 0);
+    }
+
+    public void less_than(final Number value) {
+      compare("less_than", value, c -> c < 0);
+    }
+
+    public void at_most(final Number value) {
+      compare("at_most", value, c -> c <= 0);
+    }
+
+    private void compare(final String op, final Number value, final IntPredicate outcome) {
+      if (value == null) {
+        throw new IllegalArgumentException("Cannot call num " + op + " with null value!");
+      }
+
+      final BigDecimal expected = new BigDecimal(value.toString());
+      final Long expectedLong = exactLong(expected);
+      assertion.set(
+          op,
+          value,
+          it -> it instanceof StorageInstanceExaminer.NumberFound n
+                && isFinite(n.number())
+                && outcome.test(compare(n.number(), expected, expectedLong)));
+    }
+
+    private static Long exactLong(final BigDecimal d) {
+      try {
+        return d.longValueExact();
+      } catch (ArithmeticException e) {
+        return null;
+      }
+    }
+
+    private static int compare(final Number actual,
+                               final BigDecimal expected,
+                               final Long expectedLong) {
+      if (expectedLong != null
+          && (actual instanceof Long
+              || actual instanceof Integer
+              || actual instanceof Short
+              || actual instanceof Byte)) {
+        // no need to go through BigDecimal when both are integral:
+        return Long.compare(actual.longValue(), expectedLong);
+      }
+
+      return new BigDecimal(actual.toString()).compareTo(expected);
+    }
+
+    private static boolean isFinite(final Number n) {
+      return !(n instanceof Double d && (d.isNaN() || d.isInfinite()))
+             && !(n instanceof Float f && (f.isNaN() || f.isInfinite()));
+    }
   }
 
 
@@ -2,6 +2,7 @@ package com.aestallon.storageexplorer.arcscript.internal.query;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
@@ -20,6 +21,24 @@ public final class QueryConditionImpl implements QueryCondition, QueryElement {
 
   QueryConditionImpl() {}
 
+  /**
+   * Creates a condition of the given elements, e.g. to carry on with the remainder of another
+   * condition.
+   *
+   * @param elements the elements of the condition
+   *
+   * @return a new condition
+   */
+  public static QueryConditionImpl of(final List<AssertionElement> elements) {
+    final var c = new QueryConditionImpl();
+    c.elements.addAll(elements);
+    return c;
+  }
+
+  public List<AssertionElement> elements() {
+    return Collections.unmodifiableList(elements);
+  }
+
   QueryConditionImpl createClause(final Closure closure) {
     return (QueryConditionImpl) or(closure);
   }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import com.aestallon.storageexplorer.arcscript.api.QueryCondition;
 import com.aestallon.storageexplorer.arcscript.api.QueryInstruction;
 import com.aestallon.storageexplorer.arcscript.internal.Instruction;
@@ -14,9 +15,14 @@ public class QueryInstructionImpl implements QueryInstruction, Instruction {
   public final Set<String> _types = new HashSet<>();
   public final Set<String> _schemas = new HashSet<>();
   public final List<ShowColumn> _columns = new ArrayList<>();
+  public final List<OrderColumn> _order = new ArrayList<>();
+  public final List<String> _groupBy = new ArrayList<>();
+  public final List<AggregateColumn> _aggregates = new ArrayList<>();
 
+  public boolean _distinct;
   public long _limit = -1L;
   public QueryConditionImpl condition;
+  public Mode _mode = Mode.PERFORM;
 
   @Override
   public void a(String typeName) {
@@ -113,6 +119,107 @@ public class QueryInstructionImpl implements QueryInstruction, Instruction {
     }
   }
 
+  @Override
+  public void order_by(String property, String... properties) {
+    order(false, property, properties);
+  }
+
+  @Override
+  public void order_by_desc(String property, String... properties) {
+    order(true, property, properties);
+  }
+
+  private void order(final boolean descending, String property, String... properties) {
+    this._order.add(new OrderColumn(property, descending));
+    if (properties != null) {
+      for (final String prop : properties) {
+        this._order.add(new OrderColumn(prop, descending));
+      }
+    }
+  }
+
+  @Override
+  public void group_by(String property, String... properties) {
+    if (property == null || property.isBlank()) {
+      throw new IllegalArgumentException("property cannot be null or empty");
+    }
+
+    this._groupBy.add(property);
+    if (properties != null) {
+      for (final String prop : properties) {
+        if (prop == null || prop.isBlank()) {
+          throw new IllegalArgumentException("property cannot be null or empty");
+        }
+
+        this._groupBy.add(prop);
+      }
+    }
+  }
+
+  @Override
+  public void distinct(String property, String... properties) {
+    group_by(property, properties);
+    this._distinct = true;
+  }
+
+  @Override
+  public Column count() {
+    return aggregate(AggregateFunction.COUNT, null);
+  }
+
+  @Override
+  public Column count_distinct(String property) {
+    return aggregate(AggregateFunction.COUNT_DISTINCT, property);
+  }
+
+  @Override
+  public Column min(String property) {
+    return aggregate(AggregateFunction.MIN, property);
+  }
+
+  @Override
+  public Column max(String property) {
+    return aggregate(AggregateFunction.MAX, property);
+  }
+
+  @Override
+  public Column sum(String property) {
+    return aggregate(AggregateFunction.SUM, property);
+  }
+
+  @Override
+  public Column avg(String property) {
+    return aggregate(AggregateFunction.AVG, property);
+  }
+
+  private Column aggregate(final AggregateFunction function, final String property) {
+    final var col = new AggregateColumn(function, property);
+    this._aggregates.add(col);
+    return col;
+  }
+
+  public boolean isAggregation() {
+    return !_groupBy.isEmpty() || !_aggregates.isEmpty();
+  }
+
+  public enum Mode { PERFORM, EXPLAIN, PROFILE }
+
+
+  public record OrderColumn(String property, boolean descending) {
+
+    public OrderColumn {
+      if (property == null || property.isBlank()) {
+        throw new IllegalArgumentException("property cannot be null or empty");
+      }
+    }
+
+    @Override
+    public String toString() {
+      return descending ? property + " desc" : property;
+    }
+
+  }
+
   public static final class ShowColumn implements Column {
     private final String property;
     private String displayName;
@@ -140,9 +247,68 @@ public class QueryInstructionImpl implements QueryInstruction, Instruction {
 
   }
 
+  public enum AggregateFunction { COUNT, COUNT_DISTINCT, MIN, MAX, SUM, AVG }
+
+
+  public static final class AggregateColumn implements Column {
+    private final AggregateFunction function;
+    private final String property;
+    private String displayName;
+
+    public AggregateColumn(AggregateFunction function, String property) {
+      if (function != AggregateFunction.COUNT && (property == null || property.isBlank())) {
+        throw new IllegalArgumentException("property cannot be null or empty");
+      }
+
+      this.function = function;
+      this.property = function == AggregateFunction.COUNT ? null : property;
+    }
+
+    @Override
+    public void as(String displayName) {
+      this.displayName = displayName;
+    }
+
+    public AggregateFunction functionInternal() {
+      return function;
+    }
+
+    /**
+     * Returns the aggregated property.
+     *
+     * @return the aggregated property, or {@code null} for a plain count
+     */
+    public String propertyInternal() {
+      return property;
+    }
+
+    public String displayNameInternal() {
+      return (displayName == null || displayName.isBlank()) ? toString() : displayName;
+    }
+
+    @Override
+    public String toString() {
+      final String name = function.name().toLowerCase();
+      return property == null ? name : name + "(" + property + ")";
+    }
+
+  }
+
   @Override
   public String toString() {
-    final StringBuilder sb = new StringBuilder("select ");
+    final StringBuilder sb = new StringBuilder(switch (_mode) {
+      case PERFORM -> "select ";
+      case EXPLAIN -> "explain select ";
+      case PROFILE -> "profile select ";
+    });
+    if (_distinct && _aggregates.isEmpty()) {
+      sb.append("distinct ").append(String.join(", ", _groupBy)).append(" of ");
+    } else if (!_aggregates.isEmpty()) {
+      sb.append(_aggregates.stream()
+          .map(AggregateColumn::toString)
+          .collect(Collectors.joining(", ")))
+          .append(" of ");
+    }
     if (_types.isEmpty()) {
       sb.append("every type ");
     } else if (_types.size() == 1) {
@@ -169,6 +335,16 @@ public class QueryInstructionImpl implements QueryInstruction, Instruction {
     }
     sb.append("where ").append(conditionStr);
 
+    if (!_groupBy.isEmpty() && !(_distinct && _aggregates.isEmpty())) {
+      sb.append(" group by ").append(String.join(", ", _groupBy));
+    }
+
+    if (!_order.isEmpty()) {
+      sb.append(" order by ").append(_order.stream()
+          .map(OrderColumn::toString)
+          .collect(Collectors.joining(", ")));
+    }
+
     if (_limit > 0) {
       sb.append(" limit ").append(_limit);
     }
@@ -1,7 +1,121 @@
 package com.aestallon.storageexplorer.arcscript.internal.update;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import com.aestallon.storageexplorer.arcscript.api.QueryCondition;
 import com.aestallon.storageexplorer.arcscript.api.UpdateInstruction;
 import com.aestallon.storageexplorer.arcscript.internal.Instruction;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.UriProperty;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.PropertyChange;
+import groovy.lang.Closure;
+import groovy.lang.GString;
 
 public class UpdateInstructionImpl implements UpdateInstruction, Instruction {
+
+  public static final int DEFAULT_BATCH_SIZE = 500;
+
+  // the objects to modify are selected by a plain query:
+  public final QueryInstructionImpl query = new QueryInstructionImpl();
+  public final List<PropertyChange> _changes = new ArrayList<>();
+  public int _batchSize = DEFAULT_BATCH_SIZE;
+  public boolean _dryRun;
+
+  @Override
+  public void a(String typeName) {
+    query.a(typeName);
+  }
+
+  @Override
+  public void every(String... typeNames) {
+    query.every(typeNames);
+  }
+
+  @Override
+  public void from(String... schemas) {
+    query.from(schemas);
+  }
+
+  @Override
+  public QueryCondition where(Closure closure) {
+    return query.where(closure);
+  }
+
+  @Override
+  public QueryCondition where(QueryCondition condition) {
+    return query.where(condition);
+  }
+
+  @Override
+  public QueryCondition expr(Closure closure) {
+    return query.expr(closure);
+  }
+
+  @Override
+  public QueryCondition expr(QueryCondition condition) {
+    return query.expr(condition);
+  }
+
+  @Override
+  public void limit(long limit) {
+    query.limit(limit);
+  }
+
+  @Override
+  public void set(String property, Object value) {
+    checkProperty(property);
+    _changes.add(new PropertyChange.SetValue(
+        property,
+        value instanceof GString s ? s.toString() : value));
+  }
+
+  @Override
+  public void unset(String property) {
+    checkProperty(property);
+    _changes.add(new PropertyChange.Unset(property));
+  }
+
+  private static void checkProperty(final String property) {
+    if (property == null || property.isBlank()) {
+      throw new IllegalArgumentException("property cannot be null or empty");
+    }
+
+    if (UriProperty.Segment.isOwnUri(UriProperty.Segment.parse(property))) {
+      throw new IllegalArgumentException("The URI of an object cannot be modified!");
+    }
+  }
+
+  @Override
+  public void batch_size(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Batch size must be positive!");
+    }
+
+    _batchSize = size;
+  }
+
+  @Override
+  public void dry_run() {
+    _dryRun = true;
+  }
+
+  @Override
+  public String toString() {
+    // the query renders as "select ...":
+    final String selection = query.toString().substring("select ".length());
+    final StringBuilder sb = new StringBuilder(_dryRun ? "dry run update " : "update ")
+        .append(selection);
+    if (!_changes.isEmpty()) {
+      sb.append(" ").append(_changes.stream()
+          .map(it -> switch (it) {
+            case PropertyChange.SetValue set -> "set " + set.path() + " = " + set.value();
+            case PropertyChange.Unset unset -> "unset " + unset.path();
+          })
+          .collect(Collectors.joining(", ")));
+    }
+
+    return sb.append(" in batches of ").append(_batchSize).toString();
+  }
+
 }
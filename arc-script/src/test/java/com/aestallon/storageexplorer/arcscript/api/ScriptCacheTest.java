@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.api;
+
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScriptCacheTest {
+
+  private static final String SCRIPT = """
+      query {
+        a 'demo'
+        from 'schema'
+      }
+      """;
+
+  @Test
+  void textsOnlyDifferingInWhitespaceShareTheirClass() {
+    final var cache = new ScriptCache(4);
+    final var lf = cache.compile(SCRIPT);
+    final var crlf = cache.compile(SCRIPT.replace("\n", "  \r\n") + "\n\n");
+
+    assertThat(crlf).isSameAs(lf);
+    assertThat(cache.stats().hits()).isEqualTo(1L);
+    assertThat(cache.stats().misses()).isEqualTo(1L);
+    assertThat(cache.stats().hitRate()).isEqualTo(0.5d);
+  }
+
+  @Test
+  void normalisingKeepsLineNumbers() {
+    assertThat(ScriptCache.normalise("a  \r\n\r\nb\t\r\n").lines()).containsExactly("a", "", "b");
+  }
+
+  @Test
+  void theTextAsGivenIsCompiled_notItsNormalisedForm() {
+    final var cache = new ScriptCache(4);
+    final var script = (ArcScriptImpl) cache.instantiate("""
+        query {
+          a '''demo\t
+        '''
+          from 'schema'
+        }""");
+    script.run();
+
+    final var query = (QueryInstructionImpl) script.instructions.getFirst();
+    assertThat(query._types).containsExactly("demo\t\n");
+  }
+
+  @Test
+  void everyEvaluationGetsAnInstanceOfItsOwn() {
+    final var cache = new ScriptCache(4);
+    final var first = (ArcScriptImpl) cache.instantiate(SCRIPT);
+    final var second = (ArcScriptImpl) cache.instantiate(SCRIPT);
+    first.run();
+    second.run();
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getClass()).isSameAs(first.getClass());
+    assertThat(first.instructions).hasSize(1);
+    assertThat(second.instructions).hasSize(1);
+  }
+
+  @Test
+  void leastRecentlyUsedClassIsEvicted() {
+    final var cache = new ScriptCache(2);
+    final var a = cache.compile("query { a 'a' }");
+    cache.compile("query { a 'b' }");
+    cache.compile("query { a 'a' }");
+    cache.compile("query { a 'c' }");
+
+    assertThat(cache.stats().evictions()).isEqualTo(1L);
+    assertThat(cache.stats().size()).isEqualTo(2);
+    // 'b' got evicted, 'a' did not:
+    assertThat(cache.compile("query { a 'a' }")).isSameAs(a);
+    assertThat(cache.stats().misses()).isEqualTo(3L);
+  }
+
+  @Test
+  void failedCompilationIsNotCached() {
+    final var cache = new ScriptCache(4);
+    assertThatThrownBy(() -> cache.compile("query {")).isInstanceOf(RuntimeException.class);
+    assertThatThrownBy(() -> cache.compile("query {")).isInstanceOf(RuntimeException.class);
+
+    assertThat(cache.stats().misses()).isEqualTo(2L);
+    assertThat(cache.stats().size()).isZero();
+  }
+
+}
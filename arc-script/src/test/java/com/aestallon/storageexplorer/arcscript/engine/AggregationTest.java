@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl.AggregateFunction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AggregationTest {
+
+  private static Object accumulate(final AggregateFunction function, final Object... values) {
+    final var accumulator = Aggregation.Accumulator.of(function);
+    for (final Object value : values) {
+      accumulator.accept(Aggregation.normalise(value));
+    }
+    return accumulator.result();
+  }
+
+  // the entries are already read -> the examiner and the lookup table are never consulted:
+  private static Aggregation aggregation(final QueryInstructionImpl query) {
+    return Aggregation.of(query, null, null);
+  }
+
+  private static List<Map<String, Object>> rows(final Aggregation aggregation) {
+    return aggregation.result(-1L, 0L).rows().stream()
+        .map(row -> {
+          final Map<String, Object> values = new HashMap<>();
+          row.forEach((k, v) -> values.put(k, v.value()));
+          return values;
+        })
+        .toList();
+  }
+
+  @Test
+  void count_countsEveryEntry_withOrWithoutValue() {
+    assertThat(accumulate(AggregateFunction.COUNT, 1, null, "a")).isEqualTo(3L);
+    assertThat(accumulate(AggregateFunction.COUNT)).isEqualTo(0L);
+  }
+
+  @Test
+  void countDistinct_countsPresentValues_onceEach() {
+    assertThat(accumulate(AggregateFunction.COUNT_DISTINCT, 3, 3L, 3.0d, "3", null))
+        .isEqualTo(2L);
+  }
+
+  @Test
+  void minAndMax_skipMissingValues() {
+    assertThat(accumulate(AggregateFunction.MIN, 4, null, 2.5d, 7L)).isEqualTo(2.5d);
+    assertThat(accumulate(AggregateFunction.MAX, 4, null, 2.5d, 7L)).isEqualTo(7L);
+    assertThat(accumulate(AggregateFunction.MAX, (Object) null)).isNull();
+  }
+
+  @Test
+  void sum_staysExact_untilAFractionOrAnOverflow() {
+    assertThat(accumulate(AggregateFunction.SUM, 1, 2L, 3.0d)).isEqualTo(6L);
+    assertThat(accumulate(AggregateFunction.SUM, 1, 0.5d)).isEqualTo(1.5d);
+    assertThat(accumulate(AggregateFunction.SUM, Long.MAX_VALUE, 1L))
+        .isEqualTo((double) Long.MAX_VALUE + 1d);
+    assertThat(accumulate(AggregateFunction.SUM, "a", null)).isNull();
+  }
+
+  @Test
+  void avg_averagesNumbersOnly() {
+    assertThat(accumulate(AggregateFunction.AVG, 1, 2, "x", null)).isEqualTo(1.5d);
+    assertThat(accumulate(AggregateFunction.AVG)).isNull();
+  }
+
+  @Test
+  void integralNumbers_areNormalisedToLongs() {
+    assertThat(Aggregation.normalise(3)).isEqualTo(3L);
+    assertThat(Aggregation.normalise(3.0d)).isEqualTo(3L);
+    assertThat(Aggregation.normalise(3.0f)).isEqualTo(3L);
+    assertThat(Aggregation.normalise(BigInteger.valueOf(3))).isEqualTo(3L);
+    assertThat(Aggregation.normalise(new BigDecimal("3.00"))).isEqualTo(3L);
+    assertThat(Aggregation.normalise(3.5d)).isEqualTo(3.5d);
+    assertThat(Aggregation.normalise(1e19d)).isEqualTo(1e19d);
+    assertThat(Aggregation.normalise(Double.NaN)).isEqualTo(Double.NaN);
+  }
+
+  @Test
+  void numericGroupKeys_ofDifferentTypes_fallIntoTheSameGroup() {
+    final var query = new QueryInstructionImpl();
+    query.group_by("rank");
+    query.sum("score");
+    final var aggregation = aggregation(query);
+
+    aggregation.accept(new Object[] { 3L }, new Object[] { 1 });
+    aggregation.accept(new Object[] { 3.0d }, new Object[] { 2L });
+    aggregation.accept(new Object[] { 3 }, new Object[] { 4.0d });
+    aggregation.accept(new Object[] { 4.5d }, new Object[] { 1 });
+
+    assertThat(rows(aggregation)).containsExactly(
+        Map.of("rank", 3L, "sum(score)", 7L),
+        Map.of("rank", 4.5d, "sum(score)", 1L));
+    assertThat(aggregation.accepted()).isEqualTo(4L);
+  }
+
+  @Test
+  void groups_areOrderedByTheirKeys_missingValuesLast() {
+    final var query = new QueryInstructionImpl();
+    query.group_by("state");
+    final var aggregation = aggregation(query);
+
+    aggregation.accept(new Object[] { null }, new Object[] { null });
+    aggregation.accept(new Object[] { "TX" }, new Object[] { null });
+    aggregation.accept(new Object[] { "CA" }, new Object[] { null });
+    aggregation.accept(new Object[] { "TX" }, new Object[] { null });
+
+    assertThat(aggregation.result(-1L, 0L).rows())
+        .extracting(it -> it.get("state").value(), it -> it.get("count").value())
+        .containsExactly(
+            tuple("CA", 1L),
+            tuple("TX", 2L),
+            tuple(null, 1L));
+    assertThat(aggregation.result(2L, 0L).size()).isEqualTo(2);
+  }
+
+  @Test
+  void distinct_yieldsTheGroupKeysOnly() {
+    final var query = new QueryInstructionImpl();
+    query.distinct("state", "city");
+    final var aggregation = aggregation(query);
+
+    aggregation.accept(new Object[] { "CA", "LA" }, new Object[0]);
+    aggregation.accept(new Object[] { "CA", "LA" }, new Object[0]);
+    aggregation.accept(new Object[] { "CA", "SF" }, new Object[0]);
+
+    assertThat(rows(aggregation)).containsExactly(
+        Map.of("state", "CA", "city", "LA"),
+        Map.of("state", "CA", "city", "SF"));
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.arcscript.internal.update.UpdateInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.PropertyChange;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.StorageEntryModificationResult;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkUpdateTest {
+
+  // the entries themselves are never touched by the update, only handed to its target:
+  private static List<ObjectEntry> targets(final int n) {
+    return Collections.nCopies(n, null);
+  }
+
+  private static UpdateInstructionImpl update(final int batchSize) {
+    final var update = new UpdateInstructionImpl();
+    update.a("Order");
+    update.from("orders");
+    update.set("status", "CLOSED");
+    update.batch_size(batchSize);
+    return update;
+  }
+
+  /**
+   * Writes every other entry, and leaves the rest unchanged; records the size of every batch
+   * written.
+   */
+  private static final class Recording implements BulkUpdate.Target {
+
+    private final List<Integer> batches = new ArrayList<>();
+    private final List<List<PropertyChange>> changes = new ArrayList<>();
+    private int loaded;
+    private Runnable afterBatch = () -> {};
+
+    @Override
+    public Collection<ObjectEntryLoadResult> load(final List<ObjectEntry> entries) {
+      loaded += entries.size();
+      final List<ObjectEntryLoadResult> ret = new ArrayList<>();
+      for (int i = 0; i < entries.size(); i++) {
+        ret.add(i == 0
+            ? new ObjectEntryLoadResult.Err("gone")
+            : new ObjectEntryLoadResult.SingleVersion.Eager(null, Map.of("status", "OPEN"), null));
+      }
+      return ret;
+    }
+
+    @Override
+    public List<StorageEntryModificationResult> modifyAll(final List<ObjectEntry> entries,
+                                                          final List<PropertyChange> changes) {
+      batches.add(entries.size());
+      this.changes.add(changes);
+      final List<StorageEntryModificationResult> ret = new ArrayList<>();
+      for (int i = 0; i < entries.size(); i++) {
+        ret.add(i % 2 == 0
+            ? new StorageEntryModificationResult.Ok(entries.get(i))
+            : new StorageEntryModificationResult.Unchanged(entries.get(i)));
+      }
+      afterBatch.run();
+      return ret;
+    }
+
+  }
+
+  @Test
+  void matches_areWrittenInBatches_andEveryEntryIsAccountedFor() {
+    final var target = new Recording();
+    final var result = new BulkUpdate(update(4), target, ExecutionBudget.unlimited().start())
+        .perform(targets(10), System.nanoTime());
+
+    assertThat(target.batches).containsExactly(4, 4, 2);
+    assertThat(target.changes).allSatisfy(it -> assertThat(it)
+        .containsExactly(new PropertyChange.SetValue("status", "CLOSED")));
+    assertThat(result.matched()).isEqualTo(10L);
+    assertThat(result.batches()).isEqualTo(3);
+    assertThat(result.modified()).isEqualTo(6L);
+    assertThat(result.unchanged()).isEqualTo(4L);
+    assertThat(result.failed()).isZero();
+    assertThat(result.failures()).isEmpty();
+    assertThat(result.estimate()).isNull();
+  }
+
+  @Test
+  void stoppedBudget_stopsTheUpdateBetweenBatches() {
+    final var target = new Recording();
+    final var budget = ExecutionBudget.unlimited().start();
+    target.afterBatch = budget::cancel;
+    final var result = new BulkUpdate(update(4), target, budget)
+        .perform(targets(10), System.nanoTime());
+
+    // the batch in flight is written in full, the ones after it are not written at all:
+    assertThat(target.batches).containsExactly(4);
+    assertThat(result.batches()).isEqualTo(1);
+    assertThat(result.modified() + result.unchanged()).isEqualTo(4L);
+    assertThat(result.matched()).isEqualTo(10L);
+  }
+
+  @Test
+  void dryRun_writesNothing_andExtrapolatesFromASample() {
+    final var target = new Recording();
+    final var result = new BulkUpdate(update(50), target, ExecutionBudget.unlimited().start())
+        .dryRun(targets(BulkUpdate.DRY_RUN_SAMPLE * 2), System.nanoTime());
+
+    assertThat(target.batches).isEmpty();
+    assertThat(target.loaded).isEqualTo(BulkUpdate.DRY_RUN_SAMPLE);
+    assertThat(result.matched()).isEqualTo(BulkUpdate.DRY_RUN_SAMPLE * 2L);
+    assertThat(result.modified()).isZero();
+    assertThat(result.batches()).isEqualTo(3);
+    // the entry failing to load is left out of the sample, instead of counting as empty:
+    assertThat(result.estimate().sampled()).isEqualTo(BulkUpdate.DRY_RUN_SAMPLE - 1);
+    assertThat(result.estimate().bytesRead())
+        .isPositive()
+        .isEqualTo(result.estimate().bytesWritten());
+  }
+
+  @Test
+  void dryRun_ofNothing_estimatesNothing() {
+    final var result = new BulkUpdate(update(50), new Recording(), ExecutionBudget.unlimited())
+        .dryRun(targets(0), System.nanoTime());
+
+    assertThat(result.batches()).isZero();
+    assertThat(result.estimate().sampled()).isZero();
+    assertThat(result.estimate().bytesRead()).isZero();
+  }
+
+}
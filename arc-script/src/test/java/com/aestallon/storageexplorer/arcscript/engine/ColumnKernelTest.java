@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.arcscript.internal.query.Assertion;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.PropertyDiscoveryResult;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnKernelTest {
+
+  // a bit of everything a property may turn out to be:
+  private static final List<PropertyDiscoveryResult> VALUES = List.of(
+      new StorageInstanceExaminer.StringFound("Ada", null, "p"),
+      new StorageInstanceExaminer.StringFound("Adam", null, "p"),
+      new StorageInstanceExaminer.StringFound("", null, "p"),
+      new StorageInstanceExaminer.NumberFound(3, null, "p"),
+      new StorageInstanceExaminer.NumberFound(3L, null, "p"),
+      new StorageInstanceExaminer.NumberFound(-7L, null, "p"),
+      new StorageInstanceExaminer.NumberFound(3.0d, null, "p"),
+      new StorageInstanceExaminer.NumberFound(2.5d, null, "p"),
+      new StorageInstanceExaminer.NumberFound(2.5f, null, "p"),
+      new StorageInstanceExaminer.NumberFound(Double.NaN, null, "p"),
+      new StorageInstanceExaminer.NumberFound(new BigDecimal("3.00"), null, "p"),
+      new StorageInstanceExaminer.BooleanFound(true, null, "p"),
+      new StorageInstanceExaminer.BooleanFound(false, null, "p"),
+      new StorageInstanceExaminer.ComplexFound(Map.of("a", 1), null, "p"),
+      new StorageInstanceExaminer.ListFound(List.of(), null, true, "p"),
+      new StorageInstanceExaminer.NoValue(),
+      new StorageInstanceExaminer.NotFound("gone"));
+
+  // every assertion is stated on the same property, only the operation differs:
+  private static final List<Consumer<Assertion>> ASSERTIONS = List.of(
+      it -> it.str("p").is("Ada"),
+      it -> it.str("p").not("Ada"),
+      it -> it.str("p").is(null),
+      it -> it.str("p").not(null),
+      it -> it.str("p").in("Ada", "Adam", null),
+      it -> it.str("p").in(),
+      it -> it.str("p").starts_with("Ada"),
+      it -> it.str("p").ends_with("am"),
+      it -> it.str("p").contains("d"),
+      it -> it.str("p").matches("A.*"),
+      it -> it.str("p").is_empty(),
+      it -> it.str("p").is_present(),
+      it -> it.num("p").is(3),
+      it -> it.num("p").not(3),
+      it -> it.num("p").is(2.5d),
+      it -> it.num("p").is(3.0d),
+      it -> it.num("p").is(new BigDecimal("2.5")),
+      it -> it.num("p").in(3, 2.5d),
+      it -> it.num("p").greater_than(2),
+      it -> it.num("p").at_least(3L),
+      it -> it.num("p").less_than(3),
+      it -> it.num("p").at_most(-7),
+      it -> it.num("p").greater_than(2.5d),
+      it -> it.bool("p").is(true),
+      it -> it.bool("p").is(false),
+      it -> it.bool("p").not(true),
+      it -> it.list("p").has_size(0));
+
+  @Test
+  void kernels_agreeWithThePredicateOfTheAssertion_onEveryRow() {
+    final var column = new ColumnBatch.Column(VALUES.size());
+    for (int i = 0; i < VALUES.size(); i++) {
+      column.set(i, VALUES.get(i));
+    }
+
+    for (final Consumer<Assertion> stating : ASSERTIONS) {
+      final var assertion = new Assertion();
+      stating.accept(assertion);
+
+      final BitSet expected = new BitSet();
+      for (int i = 0; i < VALUES.size(); i++) {
+        if (assertion.check(VALUES.get(i))) {
+          expected.set(i);
+        }
+      }
+      final BitSet rows = new BitSet();
+      rows.set(0, VALUES.size());
+      ColumnKernel.of(assertion).filter(column, rows);
+
+      assertThat(rows).as(assertion.toString()).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void kernels_leaveRowsOutOfQuestionAlone() {
+    final var assertion = new Assertion();
+    assertion.str("p").not("Ada");
+    final var column = new ColumnBatch.Column(VALUES.size());
+    final BitSet rows = new BitSet();
+    rows.set(1);
+    rows.set(2);
+    column.extract(rows, VALUES::get);
+
+    ColumnKernel.of(assertion).filter(column, rows);
+
+    assertThat(rows.stream()).containsExactly(1, 2);
+    assertThat(column.extracted.stream()).containsExactly(1, 2);
+  }
+
+}
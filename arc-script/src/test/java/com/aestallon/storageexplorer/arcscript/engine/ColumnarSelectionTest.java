@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.io.TempDir;
+import org.smartbit4all.api.collection.CollectionApi;
+import org.smartbit4all.api.config.PlatformApiConfig;
+import org.smartbit4all.core.object.ObjectApi;
+import org.smartbit4all.core.object.ObjectDefinitionApi;
+import org.smartbit4all.domain.data.storage.ObjectStorage;
+import org.smartbit4all.storage.fs.StorageFS;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.Availability;
+import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceDto;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.ObjectEntryLookupTable;
+import com.aestallon.storageexplorer.generator.StorageGenerator;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Selecting a batch column by column must yield exactly the entries testing them one by one does,
+ * on real content: missing parents, lists, numbers of either kind, and values of the wrong type.
+ */
+class ColumnarSelectionTest {
+
+  private static final int BATCH = 64;
+
+  @TempDir
+  Path root;
+
+  private AnnotationConfigApplicationContext ctx;
+  private StorageInstance instance;
+  private List<StorageEntry> entries;
+
+  @BeforeEach
+  void setUp() {
+    final Map<String, Object> props = new HashMap<>();
+    props.put("applicationruntime.maintain.enabled", "false");
+    props.put("invocationregistry.refresh.enabled", "false");
+    props.put("application.setup.enabled", "false");
+
+    ctx = new AnnotationConfigApplicationContext();
+    ctx.register(PlatformApiConfig.class);
+    ctx.registerBean("columnarTestStorage", ObjectStorage.class, () -> new StorageFS(
+        root.toFile(),
+        ctx.getBean(ObjectDefinitionApi.class)));
+    ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("default", props));
+    ctx.refresh();
+
+    final ObjectApi objectApi = ctx.getBean(ObjectApi.class);
+    final CollectionApi collectionApi = ctx.getBean(CollectionApi.class);
+    StorageGenerator.builder()
+        .entries(500)
+        .fanOut(2d)
+        .build()
+        .generate(objectApi, collectionApi);
+
+    final var storageId = new StorageId(UUID.randomUUID());
+    instance = StorageInstance.fromDto(new StorageInstanceDto()
+        .id(storageId.uuid())
+        .name("columnar-test")
+        .availability(Availability.AVAILABLE)
+        .indexingStrategy(IndexingStrategyType.INITIAL)
+        .type(StorageInstanceType.FS)
+        .fs(new FsStorageLocation().path(root)));
+    instance.setIndex(new FileSystemStorageIndex(storageId, objectApi, collectionApi, root, false));
+    instance.refreshIndex();
+    entries = instance.index().get(IndexingTarget.any()).stream()
+        .sorted(Comparator.comparing(it -> it.uri().toString()))
+        .toList();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ctx.close();
+  }
+
+  private static ConditionProgram compile(final String where) {
+    final var arcScript = (ArcScriptImpl) Arc.compile("""
+        query {
+          from 'alpha', 'beta', 'gamma'
+          %s
+        }""".formatted(where));
+    final var query = (QueryInstructionImpl) arcScript.instructions.getFirst();
+    return ConditionProgram.compile(query.condition, IndexedAssertions.NONE);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "where { str 'name' starts_with 'Ada' }",
+      "where { str 'name' starts_with 'Ada' } and { bool 'active' is true } or "
+      + "{ str 'address.city' is 'Szeged' }",
+      "where { str 'parent.name' starts_with 'Ada' }",
+      "where { str 'parent' is null }",
+      "where { list 'tags' contains 'vip' }",
+      "where { num 'seq' greater_than 100 } and { num 'score' at_most 50.5 }",
+      "where { num 'address.zip' less_than 5000 } or { bool 'active' not true }",
+      "where { num 'name' is 3 } or { str 'score' is null }",
+      "where { str 'name' matches '.*a 1.*' } and { str 'uri' starts_with 'alpha:' }" })
+  void select_agreesWithTest(final String where) {
+    final ConditionProgram program = compile(where);
+    final var examiner = instance.examiner();
+    final var cache = ObjectEntryLookupTable.newInstance();
+
+    final List<StorageEntry> tested = entries.stream()
+        .filter(it -> program.test(examiner, it, cache))
+        .toList();
+    final List<StorageEntry> selected = new ArrayList<>();
+    for (int i = 0; i < entries.size(); i += BATCH) {
+      selected.addAll(program.select(
+          examiner,
+          entries.subList(i, Math.min(i + BATCH, entries.size())),
+          cache));
+    }
+
+    assertThat(selected).as(where).containsExactlyElementsOf(tested);
+  }
+
+}
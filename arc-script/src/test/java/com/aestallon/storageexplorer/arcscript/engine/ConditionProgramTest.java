@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionProgramTest {
+
+  private static QueryConditionImpl compileCondition(final String where) {
+    final var arcScript = (ArcScriptImpl) Arc.compile("""
+        query {
+              every 'Person'
+           from 'crm'
+          %s
+        }""".formatted(where));
+    return ((QueryInstructionImpl) arcScript.instructions.getFirst()).condition;
+  }
+
+  @Test
+  void missingCondition_compilesToConstantTrue() {
+    final var program = ConditionProgram.compile(null, IndexedAssertions.NONE);
+
+    assertThat(program).hasToString("true");
+  }
+
+  @Test
+  void leftToRightRelations_compileToExplicitBrackets() {
+    final var program = ConditionProgram.compile(
+        compileCondition("""
+            where { str 'name' is 'Bob' } \
+            or { str 'name' is 'Alice' } \
+            and { num 'age' is 3 }"""),
+        IndexedAssertions.NONE);
+
+    assertThat(program.toString())
+        .startsWith("(name is ")
+        .contains(" || name is ")
+        .endsWith(") && age is 3");
+  }
+
+  @Test
+  void consecutiveRelationsOfTheSameKind_areFlattenedIntoOneJunction() {
+    final var program = ConditionProgram.compile(
+        compileCondition("""
+            where { str 'name' is 'Bob' } \
+            and { num 'age' is 3 } \
+            and { bool 'active' is true }"""),
+        IndexedAssertions.NONE);
+
+    assertThat(program.toString())
+        .doesNotContain("(")
+        .containsSubsequence("name is ", " && age is 3", " && active is true");
+  }
+
+  @Test
+  void ownUriAssertions_areEvaluatedBeforeContentAssertions() {
+    final var program = ConditionProgram.compile(
+        compileCondition("""
+            where { str 'name' contains 'o' } \
+            and { num 'age' at_least 18 } \
+            and { str 'uri' starts_with 'crm:/' }"""),
+        IndexedAssertions.NONE);
+
+    assertThat(program.toString())
+        .startsWith("uri starts_with ")
+        .containsSubsequence(" && name contains ", " && age at_least 18");
+  }
+
+}
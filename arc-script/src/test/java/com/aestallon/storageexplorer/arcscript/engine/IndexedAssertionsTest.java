@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.smartbit4all.api.collection.CollectionApi;
+import org.smartbit4all.api.config.PlatformApiConfig;
+import org.smartbit4all.core.object.ObjectApi;
+import org.smartbit4all.core.object.ObjectDefinitionApi;
+import org.smartbit4all.domain.data.storage.ObjectStorage;
+import org.smartbit4all.storage.fs.StorageFS;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.Assertion;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.Availability;
+import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceDto;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.PropertyChange;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.ObjectEntryLookupTable;
+import com.aestallon.storageexplorer.core.service.cache.PropertyIndexDefinition;
+import com.aestallon.storageexplorer.core.service.cache.PropertyIndexSqliteStore;
+import com.aestallon.storageexplorer.core.util.Uris;
+import com.aestallon.storageexplorer.generator.model.Customer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedAssertionsTest {
+
+  @TempDir
+  Path root;
+
+  private AnnotationConfigApplicationContext ctx;
+  private StorageId storageId;
+  private FileSystemStorageIndex index;
+  private StorageInstance instance;
+
+  private URI alice;
+  private URI albert;
+  private URI bob;
+  private URI nameless;
+
+  @BeforeEach
+  void setUp() {
+    final Map<String, Object> props = new HashMap<>();
+    props.put("applicationruntime.maintain.enabled", "false");
+    props.put("invocationregistry.refresh.enabled", "false");
+    props.put("application.setup.enabled", "false");
+
+    ctx = new AnnotationConfigApplicationContext();
+    ctx.register(PlatformApiConfig.class);
+    ctx.registerBean("indexedTestStorage", ObjectStorage.class, () -> new StorageFS(
+        root.toFile(),
+        ctx.getBean(ObjectDefinitionApi.class)));
+    ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("default", props));
+    ctx.refresh();
+
+    alice = save("Alice");
+    albert = save("Albert");
+    bob = save("Bob");
+    nameless = save(null);
+
+    storageId = new StorageId(UUID.randomUUID());
+    index = new FileSystemStorageIndex(
+        storageId,
+        ctx.getBean(ObjectApi.class),
+        ctx.getBean(CollectionApi.class),
+        root,
+        false);
+    instance = StorageInstance.fromDto(new StorageInstanceDto()
+        .id(storageId.uuid())
+        .name("indexed-test")
+        .availability(Availability.AVAILABLE)
+        .indexingStrategy(IndexingStrategyType.INITIAL)
+        .type(StorageInstanceType.FS)
+        .fs(new FsStorageLocation().path(root)));
+    instance.setIndex(index);
+    instance.refreshIndex();
+    index.propertyIndexes().declare(new PropertyIndexDefinition("crm", null, "name")).join();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    ctx.close();
+    Files.deleteIfExists(PropertyIndexSqliteStore.location(storageId));
+  }
+
+  private URI save(final String name) {
+    final var customer = new Customer();
+    customer.setName(name);
+    final ObjectApi objectApi = ctx.getBean(ObjectApi.class);
+    return Uris.latest(objectApi.save(objectApi.create("crm", customer)));
+  }
+
+  private ObjectEntry entry(final URI uri) {
+    return (ObjectEntry) index.get(uri).orElseThrow();
+  }
+
+  private List<StorageEntry> candidates() {
+    return List.of(entry(alice), entry(albert), entry(bob), entry(nameless));
+  }
+
+  private static QueryConditionImpl condition(final String where) {
+    final var arcScript = (ArcScriptImpl) Arc.compile("""
+        query {
+          a 'Customer'
+          from 'crm'
+          %s
+        }""".formatted(where));
+    return ((QueryInstructionImpl) arcScript.instructions.getFirst()).condition;
+  }
+
+  private void assertIndexAgreesWithEvaluation(final String where) {
+    final QueryConditionImpl condition = condition(where);
+    final List<StorageEntry> candidates = candidates();
+    final var indexed = IndexedAssertions.of(condition, candidates, index.propertyIndexes());
+    assertThat(indexed.size()).isPositive();
+
+    final ConditionProgram answering = ConditionProgram.compile(condition, indexed);
+    final ConditionProgram evaluating = ConditionProgram.compile(condition, IndexedAssertions.NONE);
+    final var examiner = instance.examiner();
+    for (final StorageEntry candidate : candidates) {
+      assertThat(answering.test(examiner, candidate, ObjectEntryLookupTable.newInstance()))
+          .as("%s on %s", where, candidate.uri())
+          .isEqualTo(evaluating.test(examiner, candidate, ObjectEntryLookupTable.newInstance()));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "where { str 'name' is 'Alice' }",
+      "where { str 'name' starts_with 'Al' }",
+      "where { str 'name' contains 'b' }",
+      "where { str 'name' is null }",
+      "where { str 'name' not 'Bob' }",
+      "where { str 'name' is 'Alice' } or { str 'name' is null }" })
+  void freshValues_areAnsweredAsEvaluated(final String where) {
+    assertIndexAgreesWithEvaluation(where);
+  }
+
+  @Test
+  void freshValues_includingMissingOnes_areAnsweredFromTheIndex() {
+    final QueryConditionImpl condition = condition("where { str 'name' starts_with 'Al' }");
+    final var assertion = (Assertion) condition.elements().getFirst().element();
+    final var indexed = IndexedAssertions.of(condition, candidates(), index.propertyIndexes());
+
+    assertThat(indexed.answer(assertion, alice)).isTrue();
+    assertThat(indexed.answer(assertion, albert)).isTrue();
+    assertThat(indexed.answer(assertion, bob)).isFalse();
+    assertThat(indexed.answer(assertion, nameless)).isNotNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "where { str 'name' starts_with 'Al' }",
+      "where { str 'name' is 'Bob' }",
+      "where { str 'name' is null }" })
+  void staleValues_areNeverAnsweredFromTheIndex(final String where) {
+    // the old values would answer every one of these differently:
+    index.modifier().modifyAll(
+        List.of(entry(bob)),
+        List.of(new PropertyChange.SetValue("name", "Alfred")));
+    index.modifier().modifyAll(
+        List.of(entry(nameless)),
+        List.of(new PropertyChange.SetValue("name", "Nina")));
+
+    assertIndexAgreesWithEvaluation(where);
+  }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.smartbit4all.api.collection.CollectionApi;
+import org.smartbit4all.api.config.PlatformApiConfig;
+import org.smartbit4all.core.object.ObjectApi;
+import org.smartbit4all.core.object.ObjectDefinitionApi;
+import org.smartbit4all.domain.data.storage.ObjectStorage;
+import org.smartbit4all.storage.fs.StorageFS;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.Availability;
+import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceDto;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.PropertyChange;
+import com.aestallon.storageexplorer.core.util.Uris;
+import com.aestallon.storageexplorer.generator.model.Customer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MaterializedViewTest {
+
+  private static final String SCRIPT = """
+      query {
+        a 'Customer'
+        from 'crm'
+        where { str 'name' starts_with 'A' }
+      }""";
+
+  @TempDir
+  Path root;
+
+  private AnnotationConfigApplicationContext ctx;
+  private FileSystemStorageIndex index;
+  private MaterializedView view;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    final Map<String, Object> props = new HashMap<>();
+    props.put("applicationruntime.maintain.enabled", "false");
+    props.put("invocationregistry.refresh.enabled", "false");
+    props.put("application.setup.enabled", "false");
+
+    ctx = new AnnotationConfigApplicationContext();
+    ctx.register(PlatformApiConfig.class);
+    ctx.registerBean("viewTestStorage", ObjectStorage.class, () -> new StorageFS(
+        root.toFile(),
+        ctx.getBean(ObjectDefinitionApi.class)));
+    ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("default", props));
+    ctx.refresh();
+
+    final var storageId = new StorageId(UUID.randomUUID());
+    index = new FileSystemStorageIndex(
+        storageId,
+        ctx.getBean(ObjectApi.class),
+        ctx.getBean(CollectionApi.class),
+        root,
+        false);
+    final var instance = StorageInstance.fromDto(new StorageInstanceDto()
+        .id(storageId.uuid())
+        .name("view-test")
+        .availability(Availability.AVAILABLE)
+        .indexingStrategy(IndexingStrategyType.ON_DEMAND)
+        .type(StorageInstanceType.FS)
+        .fs(new FsStorageLocation().path(root)));
+    instance.setIndex(index);
+    view = Arc.materialize("customers", SCRIPT, instance);
+  }
+
+  @AfterEach
+  void tearDown() {
+    view.close();
+    ctx.close();
+  }
+
+  private URI save(final String name) {
+    final var customer = new Customer();
+    customer.setName(name);
+    final ObjectApi objectApi = ctx.getBean(ObjectApi.class);
+    return Uris.latest(objectApi.save(objectApi.create("crm", customer)));
+  }
+
+  private ObjectEntry entry(final URI uri) {
+    return (ObjectEntry) index.get(uri).orElseThrow();
+  }
+
+  // written through the index -> reported on its change feed, just as the explorer writes:
+  private void rename(final URI uri, final String name) {
+    index.modifier().modifyAll(
+        List.of(entry(uri)),
+        List.of(new PropertyChange.SetValue("name", name)));
+  }
+
+  private List<URI> rows() {
+    return view.snapshot().resultSet().rows().stream()
+        .map(it -> it.entry().uri())
+        .toList();
+  }
+
+  @Test
+  void refresh_materialisesTheMatchingEntries() {
+    final URI alice = save("Alice");
+    final URI anna = save("Anna");
+    save("Bob");
+
+    view.refresh();
+
+    assertThat(rows()).containsExactlyInAnyOrder(alice, anna);
+    assertThat(view.staleness().materialised()).isTrue();
+    assertThat(view.staleness().reevaluated()).isZero();
+  }
+
+  @Test
+  void onlyEntriesChanged_areReevaluated() {
+    final URI alice = save("Alice");
+    save("Anna");
+    final URI bob = save("Bob");
+    view.refresh();
+
+    // evaluating the view loaded every entry, which reported each -> none of them changed, though:
+    view.maintain();
+    assertThat(view.staleness().reevaluated()).isZero();
+
+    rename(bob, "Bobby");
+    view.maintain();
+    assertThat(view.staleness().reevaluated()).isEqualTo(1L);
+    assertThat(view.staleness().pending()).isZero();
+
+    rename(alice, "Alicia");
+    rename(bob, "Robert");
+    view.maintain();
+    assertThat(view.staleness().reevaluated()).isEqualTo(3L);
+  }
+
+  @Test
+  void changedEntries_enterAndLeaveTheResultSet() {
+    final URI alice = save("Alice");
+    final URI bob = save("Bob");
+    view.refresh();
+    assertThat(rows()).containsExactly(alice);
+
+    rename(bob, "Abraham");
+    view.maintain();
+    assertThat(rows()).containsExactlyInAnyOrder(alice, bob);
+
+    rename(alice, "Zoe");
+    view.maintain();
+    assertThat(rows()).containsExactly(bob);
+  }
+
+  @Test
+  void entriesWithoutFingerprint_areDropped() throws IOException {
+    final URI alice = save("Alice");
+    final URI anna = save("Anna");
+    view.refresh();
+
+    final ObjectEntry deleted = entry(anna);
+    Files.delete(deleted.path());
+    // the index does not notice deletions -> the sweep reports the entries in the result set:
+    index.notifyRefresh(deleted);
+    view.maintain();
+
+    assertThat(rows()).containsExactly(alice);
+  }
+
+  @Test
+  void resetIndex_triggersAFullRefresh() {
+    final URI alice = save("Alice");
+    view.refresh();
+    final URI bob = save("Bob");
+    // a new entry is learnt of by indexing, which reports it:
+    index.refreshIncrementally(new IndexingTarget(Set.of("crm"), Set.of()));
+    rename(bob, "Albert");
+    view.maintain();
+    final Instant refreshedAt = view.staleness().refreshedAt();
+    assertThat(view.staleness().reevaluated()).isEqualTo(1L);
+
+    index.clear();
+    assertThat(view.staleness().reset()).isTrue();
+    view.maintain();
+
+    assertThat(view.staleness().reset()).isFalse();
+    assertThat(view.staleness().reevaluated()).isZero();
+    assertThat(view.staleness().refreshedAt()).isAfterOrEqualTo(refreshedAt);
+    assertThat(rows()).containsExactlyInAnyOrder(alice, bob);
+  }
+
+  // scripts are rejected before the view would touch the storage -> none is needed:
+  private static void assertRejected(final String script, final String reason) {
+    assertThatThrownBy(() -> MaterializedView.of("view", script, Arc.compile(script), null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining(reason);
+  }
+
+  @Test
+  void aggregatingQueries_areRejected() {
+    assertRejected("""
+        query {
+          every 'Person'
+           from 'crm'
+          group_by 'address.state'
+          count()
+        }""", "Aggregating queries");
+  }
+
+  @Test
+  void scriptsOfMoreThanASingleQuery_areRejected() {
+    assertRejected("""
+        query {
+          a 'Foo'
+          from 'baz'
+        }
+        query {
+          a 'Bar'
+          from 'baz'
+        }""", "single query");
+  }
+
+  @Test
+  void explainedQueries_andUpdates_areRejected() {
+    assertRejected("""
+        explain query {
+          a 'Foo'
+          from 'baz'
+        }""", "Explained, or profiled");
+    assertRejected("""
+        update {
+           a 'Order'
+          from 'orders'
+          set 'status', 'CLOSED'
+        }""", "can only index, and query");
+  }
+
+  @Test
+  void staleness_describesWhatIsPending() {
+    final var now = Instant.now();
+    final var notYet = new MaterializedView.Staleness(null, null, 0, true, 0L, null);
+    final var stale = new MaterializedView.Staleness(
+        now.minusSeconds(60L), now.minusSeconds(5L), 3, false, 12L, null);
+
+    assertThat(notYet.materialised()).isFalse();
+    assertThat(notYet.describe(now)).isEqualTo("not materialised yet");
+    assertThat(stale.current()).isFalse();
+    assertThat(stale.describe(now)).isEqualTo("stale, maintained 5s ago, 3 change(s) pending");
+  }
+
+}
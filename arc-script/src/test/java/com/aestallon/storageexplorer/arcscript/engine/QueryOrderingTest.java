@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryOrderingTest {
+
+  @Test
+  void noOrderColumns_orderByUriAlone() {
+    final var ordering = QueryOrdering.of(List.of());
+
+    assertThat(ordering).isSameAs(QueryOrdering.BY_URI);
+    assertThat(ordering.byUri()).isTrue();
+    assertThat(ordering).hasToString("uri");
+  }
+
+  @Test
+  void orderColumns_areFollowedByTheUriAsTieBreaker() {
+    final var ordering = QueryOrdering.of(List.of(
+        new QueryInstructionImpl.OrderColumn("name", false),
+        new QueryInstructionImpl.OrderColumn("age", true)));
+
+    assertThat(ordering.byUri()).isFalse();
+    assertThat(ordering).hasToString("name, age desc, uri");
+  }
+
+  @Test
+  void numbers_areComparedByValue_regardlessOfTheirType() {
+    assertThat(QueryOrdering.compareValues(9, 10L)).isNegative();
+    assertThat(QueryOrdering.compareValues(2.5d, 2)).isPositive();
+    assertThat(QueryOrdering.compareValues(Long.MAX_VALUE, Long.MAX_VALUE - 1)).isPositive();
+  }
+
+  @Test
+  void valuesOfTheSameType_areComparedByValue() {
+    assertThat(QueryOrdering.compareValues("b", "a")).isPositive();
+    assertThat(QueryOrdering.compareValues(false, true)).isNegative();
+    assertThat(QueryOrdering.compareValues(List.of(2), List.of(1))).isPositive();
+  }
+
+  @Test
+  void mixedValues_areOrderedByTheirTypeFirst() {
+    assertThat(QueryOrdering.compareValues("10", 9)).isPositive();
+    assertThat(QueryOrdering.compareValues(true, 0)).isNegative();
+    assertThat(QueryOrdering.compareValues(null, false)).isNegative();
+    assertThat(QueryOrdering.compareValues(Map.of(), "z")).isPositive();
+  }
+
+  @Test
+  void mixedValues_areOrderedTransitively() {
+    final List<Object> values = List.of(
+        "9", 10, "10", 9.5d, true, List.of("a"), "a", 9L, false,
+        Long.MAX_VALUE, 9.223372036854776E18);
+    for (final Object x : values) {
+      for (final Object y : values) {
+        final int xy = Integer.signum(QueryOrdering.compareValues(x, y));
+        assertThat(Integer.signum(QueryOrdering.compareValues(y, x))).isEqualTo(-xy);
+        for (final Object z : values) {
+          if (xy < 0 && QueryOrdering.compareValues(y, z) < 0) {
+            assertThat(QueryOrdering.compareValues(x, z)).as("%s < %s < %s", x, y, z).isNegative();
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void longsBeyondDoublePrecision_areComparedExactly_withDoubles() {
+    // (double) Long.MAX_VALUE is 2^63, one more than the long itself:
+    assertThat(QueryOrdering.compareValues(Long.MAX_VALUE, 9.223372036854776E18)).isNegative();
+    assertThat(QueryOrdering.compareValues(3L, 3.0d)).isZero();
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.Assertion;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.core.model.loading.PushdownPredicate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryPlannerTest {
+
+  private static QueryInstructionImpl compileQuery(final String where) {
+    final var arcScript = (ArcScriptImpl) Arc.compile("""
+        query {
+              every 'Person'
+           from 'crm'
+          %s
+        }""".formatted(where));
+    return (QueryInstructionImpl) arcScript.instructions.getFirst();
+  }
+
+  private static List<String> residualProps(final QueryPlan plan) {
+    return plan.residual().elements().stream()
+        .map(it -> ((Assertion) it.element()).prop())
+        .toList();
+  }
+
+  @Test
+  void queryWithoutCondition_isPlannedWithoutPushdownOrResidual() {
+    final var plan = QueryPlanner.plan(
+        compileQuery(""),
+        QueryPlanner.Pushdown.URIS_AND_PROPERTIES);
+
+    assertThat(plan.target().schemas()).containsExactly("crm");
+    assertThat(plan.target().types()).containsExactly("Person");
+    assertThat(plan.pushdown()).isNull();
+    assertThat(plan.residual()).isNull();
+  }
+
+  @Test
+  void uriOnlyCondition_isPushedDownExactly_withNothingLeftInMemory() {
+    final var plan = QueryPlanner.plan(
+        compileQuery("where { str 'uri' starts_with 'crm:/org_' } or { str 'uri' is 'crm:/x' }"),
+        QueryPlanner.Pushdown.URIS);
+
+    assertThat(plan.pushdown()).isEqualTo(new PushdownPredicate.Or(List.of(
+        new PushdownPredicate.UriStartsWith("crm:/org_"),
+        new PushdownPredicate.UriIn(Set.of("crm:/x")))));
+    assertThat(plan.residual()).isNull();
+  }
+
+  @Test
+  void conjunction_pushesDownEverythingPossible_butKeepsPropertiesForRecheck() {
+    final var plan = QueryPlanner.plan(
+        compileQuery("""
+            where { str 'uri' starts_with 'crm:/' } \
+            and { num 'age' greater_than 30 } \
+            and { str 'name' contains 'o' }"""),
+        QueryPlanner.Pushdown.URIS_AND_PROPERTIES);
+
+    assertThat(plan.pushdown()).isEqualTo(new PushdownPredicate.And(List.of(
+        new PushdownPredicate.UriStartsWith("crm:/"),
+        new PushdownPredicate.PropertyCompare("age", PushdownPredicate.Comparison.GT, 30))));
+    assertThat(residualProps(plan)).containsExactly("age", "name");
+  }
+
+  @Test
+  void propertiesAreNotPushedDown_whenTheBackendCannotEvaluateThem() {
+    final var plan = QueryPlanner.plan(
+        compileQuery("where { str 'uri' starts_with 'crm:/' } and { str 'name' is 'Bob' }"),
+        QueryPlanner.Pushdown.URIS);
+
+    assertThat(plan.pushdown()).isEqualTo(new PushdownPredicate.UriStartsWith("crm:/"));
+    assertThat(residualProps(plan)).containsExactly("name");
+  }
+
+  @Test
+  void disjunctionWithUnpushableOperand_isNotPushedDownAtAll() {
+    final var query = compileQuery("""
+        where { str 'name' is 'Bob' } \
+        or { str 'name' contains 'li' } \
+        and { str 'uri' is 'crm:/x' }""");
+    final var plan = QueryPlanner.plan(query, QueryPlanner.Pushdown.URIS_AND_PROPERTIES);
+
+    // ((name is Bob OR name contains li) AND uri is crm:/x) -> only the URI can be pushed:
+    assertThat(plan.pushdown()).isEqualTo(new PushdownPredicate.UriIn(Set.of("crm:/x")));
+    // ...but the condition is not a mere conjunction, thus it is evaluated as a whole:
+    assertThat(plan.residual()).isSameAs(query.condition);
+  }
+
+  @Test
+  void fractionalNumericEquality_isNotPushedDown() {
+    final var plan = QueryPlanner.plan(
+        compileQuery("where { num 'age' is 3.5 } and { num 'age' is 4 }"),
+        QueryPlanner.Pushdown.URIS_AND_PROPERTIES);
+
+    assertThat(plan.pushdown()).isEqualTo(new PushdownPredicate.PropertyIn("age", List.of(4)));
+  }
+
+  @Test
+  void nothingIsPushedDown_withoutBackendSupport() {
+    final var query = compileQuery("where { str 'uri' is 'crm:/x' }");
+    final var plan = QueryPlanner.plan(query, QueryPlanner.Pushdown.NONE);
+
+    assertThat(plan.pushdown()).isNull();
+    assertThat(plan.residual()).isSameAs(query.condition);
+  }
+
+}
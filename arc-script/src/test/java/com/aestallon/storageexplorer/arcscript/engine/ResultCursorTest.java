@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultCursorTest {
+
+  private static ArcScriptResult.QueryResultRow row() {
+    return new ArcScriptResult.QueryResultRow(null, Map.of());
+  }
+
+  private static void offer(final ResultCursor cursor, final int n) {
+    for (int i = 0; i < n; i++) {
+      cursor.offer(row());
+    }
+  }
+
+  @Test
+  void rowsAreHandedOutInFullPages_andTheRemainderLast() throws InterruptedException {
+    final var cursor = new ResultCursor(List.of(), 3);
+    final var producer = Thread.ofVirtual().start(() -> {
+      offer(cursor, 7);
+      cursor.complete(null, 42L, ExecutionBudget.Status.OK);
+    });
+
+    assertThat(cursor.next().rows()).hasSize(3);
+    assertThat(cursor.next().rows()).hasSize(3);
+    final var last = cursor.next();
+    assertThat(last.rows()).hasSize(1);
+    assertThat(last.last()).isTrue();
+    assertThat(cursor.exhausted()).isTrue();
+    assertThat(cursor.consumed()).isEqualTo(7L);
+    assertThat(cursor.timeTaken()).isEqualTo(42L);
+    assertThat(cursor.status().partial()).isFalse();
+    producer.join();
+  }
+
+  @Test
+  void timedNext_returnsPartialPage_whileTheEvaluationIsRunning() throws InterruptedException {
+    final var cursor = new ResultCursor(List.of(), 10);
+    offer(cursor, 2);
+
+    final var page = cursor.next(100L, TimeUnit.MILLISECONDS);
+    assertThat(page.rows()).hasSize(2);
+    assertThat(page.last()).isFalse();
+  }
+
+  @Test
+  void producer_isBlocked_onceTwoPagesAreBuffered() throws InterruptedException {
+    final var cursor = new ResultCursor(List.of(), 2);
+    final var offered = new CountDownLatch(5);
+    final var producer = Thread.ofVirtual().start(() -> {
+      for (int i = 0; i < 5; i++) {
+        cursor.offer(row());
+        offered.countDown();
+      }
+      cursor.complete(null, 0L, ExecutionBudget.Status.OK);
+    });
+
+    assertThat(offered.await(300L, TimeUnit.MILLISECONDS)).isFalse();
+    assertThat(offered.getCount()).isEqualTo(1L);
+
+    assertThat(cursor.next().rows()).hasSize(2);
+    assertThat(offered.await(1L, TimeUnit.SECONDS)).isTrue();
+    assertThat(cursor.drain().rows()).hasSize(3);
+    producer.join();
+  }
+
+  @Test
+  void close_stopsTheEvaluation_andReleasesABlockedProducer() throws InterruptedException {
+    final var cursor = new ResultCursor(List.of(), 1);
+    final var stopped = new AtomicBoolean();
+    cursor.onClose(() -> stopped.set(true));
+    final var producer = Thread.ofVirtual().start(() -> offer(cursor, 10));
+
+    assertThat(producer.join(Duration.ofMillis(200L))).isFalse();
+    cursor.close();
+
+    assertThat(producer.join(Duration.ofSeconds(1L))).isTrue();
+    assertThat(stopped).isTrue();
+    assertThat(cursor.exhausted()).isTrue();
+    assertThat(cursor.next().rows()).isEmpty();
+  }
+
+  @Test
+  void rowsFoundUntilTheBudgetStopped_areStillHandedOut_asAPartialResult()
+      throws InterruptedException {
+    final var cursor = new ResultCursor(List.of(), 5);
+    offer(cursor, 2);
+    cursor.complete(null, 0L, ExecutionBudget.Status.MAX_ENTRIES_EXCEEDED);
+
+    final var page = cursor.next();
+    assertThat(page.rows()).hasSize(2);
+    assertThat(page.last()).isTrue();
+    assertThat(cursor.status().budgetExceeded()).isTrue();
+  }
+
+}
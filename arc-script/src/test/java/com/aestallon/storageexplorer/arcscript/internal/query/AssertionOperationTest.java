@@ -294,6 +294,47 @@ class AssertionOperationTest {
         .hasMessageContaining("Cannot call str ends_with with null value");
   }
 
+  // ~~MATCHES~~ -----------------------------------------------------------------------------------
+
+  @Test
+  void stringMatchesChecksOut_whenDiscoveredStringMatchesTheWholePattern() {
+    // given
+    final var assertion = new Assertion();
+    assertion.str("code").matches("[A-Z]{3}-\\d+");
+
+    // when
+    final var discovery = new StorageInstanceExaminer.StringFound("ABC-42", null, null);
+
+    // then
+    assertThat(assertion).matches(it -> it.check(discovery), discovery.toString());
+  }
+
+  @Test
+  void stringMatchesFails_whenPatternOnlyMatchesPartOfDiscoveredString() {
+    // given
+    final var assertion = new Assertion();
+    assertion.str("code").matches("[A-Z]{3}-\\d+");
+
+    // when
+    final var discovery = new StorageInstanceExaminer.StringFound("ABC-42x", null, null);
+
+    // then
+    assertThat(assertion).matches(it -> !it.check(discovery), discovery.toString());
+  }
+
+  @Test
+  void stringMatchesDoesNotAcceptNullValues() {
+    // given
+    final var assertion = new Assertion();
+    final var op = assertion.str("name");
+    // when
+    assertThatCode(() -> op.matches(null))
+        // then
+        .as("Invoking str matches with null value")
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Cannot call str matches with null value");
+  }
+
   // -----------------------------------------------------------------------------------------------
   // NUMERIC OPERATIONS
   // -----------------------------------------------------------------------------------------------
@@ -416,4 +457,44 @@ class AssertionOperationTest {
     // then
     assertThat(assertion).matches(it -> it.check(discovery), discovery.toString());
   }
+
+  @Test
+  void numInMatches_IfEquivalentValueIsFound() {
+    // given
+    final var assertion = new Assertion();
+    assertion.num("age").in(1, 2.5d, 69L);
+
+    // when
+    final var discovery = new StorageInstanceExaminer.NumberFound(69.0d, null, null);
+
+    // then
+    assertThat(assertion).matches(it -> it.check(discovery), discovery.toString());
+  }
+
+  @Test
+  void numInDoesNotMatch_IfValueIsNotFound() {
+    // given
+    final var assertion = new Assertion();
+    assertion.num("age").in(1, 2.5d, 69L);
+
+    // when
+    final var discovery = new StorageInstanceExaminer.NumberFound(2, null, null);
+
+    // then
+    assertThat(assertion).matches(it -> !it.check(discovery), discovery.toString());
+  }
+
+  @Test
+  void numInMatches_IfLookingForNull_andDiscoveryFindsNull() {
+    // given
+    final var assertion = new Assertion();
+    assertion.num("age").in(1, null);
+
+    // when
+    final var discovery = new StorageInstanceExaminer.NoValue();
+
+    // then
+    assertThat(assertion).matches(it -> it.check(discovery), discovery.toString());
+  }
+
 }
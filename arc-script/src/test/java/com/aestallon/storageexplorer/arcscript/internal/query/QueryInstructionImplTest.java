@@ -87,4 +87,93 @@ class QueryInstructionImplTest {
     assertThat(assertionIterator.hasNext()).isFalse();
   }
 
+  @Test
+  void orderByClauses_areKeptInOrderOfSignificance() {
+    final var arcScript = compileScript("""
+        query {
+              a 'Foo'
+           from 'baz'
+          order_by 'name', 'age'
+          order_by_desc 'createdAt'
+          limit 10
+        }""");
+
+    final var query = (QueryInstructionImpl) arcScript.instructions.getFirst();
+    assertThat(query._order).containsExactly(
+        new QueryInstructionImpl.OrderColumn("name", false),
+        new QueryInstructionImpl.OrderColumn("age", false),
+        new QueryInstructionImpl.OrderColumn("createdAt", true));
+    assertThat(query.toString()).endsWith(" order by name, age, createdAt desc limit 10");
+  }
+
+  @Test
+  void aggregates_areKeptWithTheirGroupKeys() {
+    final var arcScript = compileScript("""
+        query {
+          every 'Person'
+           from 'crm'
+          group_by '$schema', 'address.state'
+          count()
+          avg('age').as('average age')
+        }""");
+
+    final var query = (QueryInstructionImpl) arcScript.instructions.getFirst();
+    assertThat(query.isAggregation()).isTrue();
+    assertThat(query._groupBy).containsExactly("$schema", "address.state");
+    assertThat(query._aggregates)
+        .extracting(QueryInstructionImpl.AggregateColumn::functionInternal)
+        .containsExactly(
+            QueryInstructionImpl.AggregateFunction.COUNT,
+            QueryInstructionImpl.AggregateFunction.AVG);
+    assertThat(query._aggregates.getLast().displayNameInternal()).isEqualTo("average age");
+    assertThat(query.toString())
+        .startsWith("select count, avg(age) of ")
+        .endsWith(" group by $schema, address.state");
+  }
+
+  @Test
+  void distinct_groupsWithoutAggregates() {
+    final var arcScript = compileScript("""
+        query {
+          every 'Person'
+           from 'crm'
+          distinct 'address.state', 'address.city'
+        }""");
+
+    final var query = (QueryInstructionImpl) arcScript.instructions.getFirst();
+    assertThat(query.isAggregation()).isTrue();
+    assertThat(query._distinct).isTrue();
+    assertThat(query._groupBy).containsExactly("address.state", "address.city");
+    assertThat(query._aggregates).isEmpty();
+    assertThat(query.toString())
+        .startsWith("select distinct address.state, address.city of ")
+        .doesNotContain("group by");
+  }
+
+  @Test
+  void explainedAndProfiledQueries_keepTheirMode() {
+    final var arcScript = compileScript("""
+        explain query {
+          a 'Foo'
+          from 'baz'
+        }
+        profile query {
+          a 'Bar'
+          from 'baz'
+        }
+        query {
+          a 'Baz'
+          from 'baz'
+        }""");
+
+    assertThat(arcScript.instructions)
+        .hasSize(3)
+        .extracting(it -> ((QueryInstructionImpl) it)._mode)
+        .containsExactly(
+            QueryInstructionImpl.Mode.EXPLAIN,
+            QueryInstructionImpl.Mode.PROFILE,
+            QueryInstructionImpl.Mode.PERFORM);
+    assertThat(arcScript.instructions.getFirst().toString()).startsWith("explain select ");
+  }
+
 }
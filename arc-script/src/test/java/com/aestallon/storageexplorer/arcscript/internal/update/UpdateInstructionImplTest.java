@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.internal.update;
+
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.PropertyChange;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpdateInstructionImplTest {
+
+  @Test
+  void updateSelectsLikeAQuery_andKeepsItsChangesInOrder() {
+    final var update = compileUpdate("""
+        update {
+               a 'Order'
+            from 'orders'
+           where { str 'status' is 'OPEN' }
+             set 'status', 'CLOSED'
+           unset 'assignee'
+          batch_size 100
+        }""");
+
+    assertThat(update.query._schemas).containsExactly("orders");
+    assertThat(update.query._types).containsExactly("Order");
+    assertThat(update.query.condition).isNotNull();
+    assertThat(update._changes).containsExactly(
+        new PropertyChange.SetValue("status", "CLOSED"),
+        new PropertyChange.Unset("assignee"));
+    assertThat(update._batchSize).isEqualTo(100);
+    assertThat(update._dryRun).isFalse();
+  }
+
+  @Test
+  void dryRun_isRecorded_andBatchSizeDefaults() {
+    final var update = compileUpdate("""
+        update {
+          from 'orders'
+          set 'status', "CLOSED_${1 + 1}"
+          dry_run()
+        }""");
+
+    // interpolated strings are stored as plain strings, not as lazily evaluated GStrings:
+    assertThat(update._changes).containsExactly(new PropertyChange.SetValue("status", "CLOSED_2"));
+    assertThat(update._batchSize).isEqualTo(UpdateInstructionImpl.DEFAULT_BATCH_SIZE);
+    assertThat(update._dryRun).isTrue();
+    assertThat(update.toString()).startsWith("dry run update ");
+  }
+
+  private static UpdateInstructionImpl compileUpdate(final String script) {
+    final var arcScript = Arc.compile(script);
+    assertThat(arcScript).isInstanceOf(ArcScriptImpl.class);
+
+    final var instructions = ((ArcScriptImpl) arcScript).instructions;
+    assertThat(instructions).hasSize(1).first().isInstanceOf(UpdateInstructionImpl.class);
+    return (UpdateInstructionImpl) instructions.getFirst();
+  }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.internal.ArcScriptImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryConditionImpl;
+import com.aestallon.storageexplorer.arcscript.internal.query.QueryInstructionImpl;
+import com.aestallon.storageexplorer.benchmarks.SyntheticStorage;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.ObjectEntryLookupTable;
+
+/**
+ * Evaluates query conditions over every entry of a synthetic storage.
+ *
+ * <p>
+ * {@link #executor()} is what a query instruction does (fresh lookup table, parallel evaluation),
+ * while {@link #sequential()} evaluates on the calling thread against a lookup table already
+ * holding every entry -> it measures the evaluation of the condition alone. It does so with the
+ * {@link ConditionEvaluator} interpreting the condition as written, {@link #compiled()} does the
+ * same with the {@link ConditionProgram} queries actually run.
+ *
+ * <p>
+ * {@link #columnar()} and {@link #columnarExecutor()} are their counterparts evaluating batches of
+ * entries column by column, instead of one entry at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConditionEvaluatorBenchmark {
+
+  public enum Condition {
+
+    INLINE("""
+        where { str 'name' starts_with 'Ada' }"""),
+
+    COMPOUND("""
+        where { str 'name' starts_with 'Ada' } and { bool 'active' is true } or {
+          str 'address.city' is 'Szeged'
+        }"""),
+
+    REFERENCE("""
+        where { str 'parent.name' starts_with 'Ada' }"""),
+
+    LIST("""
+        where { list 'tags' contains 'vip' }"""),
+
+    // written content check first, the compiled program evaluates the URI check first:
+    URI_LAST("""
+        where { str 'name' contains 'a' } and { str 'address.city' is 'Szeged' } and {
+          str 'uri' starts_with 'alpha:'
+        }""");
+
+    private final String where;
+
+    Condition(final String where) {
+      this.where = where;
+    }
+
+    private QueryConditionImpl compile() {
+      final var arcScript = (ArcScriptImpl) Arc.compile("""
+          query {
+            from 'alpha', 'beta', 'gamma'
+            %s
+          }""".formatted(where));
+      return ((QueryInstructionImpl) arcScript.instructions.getFirst()).condition;
+    }
+
+  }
+
+
+  @Param({ "10000" })
+  public int entries;
+
+  // the batch size of columnar evaluation, with or without the executor:
+  @Param({ "256" })
+  public int batch;
+
+  @Param
+  public Condition condition;
+
+  private SyntheticStorage storage;
+  private StorageInstanceExaminer examiner;
+  private Set<StorageEntry> candidates;
+  private List<StorageEntry> candidateList;
+  private QueryConditionImpl compiled;
+  private ConditionProgram program;
+  private ObjectEntryLookupTable warm;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    storage = SyntheticStorage.open(entries);
+    final StorageInstance instance = storage.newInstance(IndexingStrategyType.INITIAL);
+    instance.refreshIndex();
+    examiner = instance.examiner();
+    candidates = instance.index().get(IndexingTarget.any());
+    candidateList = List.copyOf(candidates);
+    compiled = condition.compile();
+    program = ConditionProgram.compile(compiled, IndexedAssertions.NONE);
+    warm = ObjectEntryLookupTable.newInstance();
+    sequential();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    storage.close();
+  }
+
+  @Benchmark
+  public int executor() {
+    return ConditionEvaluationExecutor.builder(examiner, candidates, compiled, -1L)
+        .useCache(ObjectEntryLookupTable.newInstance())
+        .build()
+        .execute()
+        .size();
+  }
+
+  @Benchmark
+  public int columnarExecutor() {
+    return ConditionEvaluationExecutor.builder(examiner, candidates, compiled, -1L)
+        .useCache(ObjectEntryLookupTable.newInstance())
+        .columnar(true)
+        .batchSize(batch)
+        .build()
+        .execute()
+        .size();
+  }
+
+  @Benchmark
+  public int sequential() {
+    int hits = 0;
+    for (final StorageEntry entry : candidateList) {
+      if (new ConditionEvaluator(examiner, entry, warm, compiled).evaluate()) {
+        hits++;
+      }
+    }
+    return hits;
+  }
+
+  @Benchmark
+  public int compiled() {
+    int hits = 0;
+    for (final StorageEntry entry : candidateList) {
+      if (program.test(examiner, entry, warm)) {
+        hits++;
+      }
+    }
+    return hits;
+  }
+
+  @Benchmark
+  public int columnar() {
+    int hits = 0;
+    for (int i = 0; i < candidateList.size(); i += batch) {
+      final var rows = candidateList.subList(i, Math.min(i + batch, candidateList.size()));
+      hits += program.select(examiner, rows, warm).size();
+    }
+    return hits;
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.arcscript.engine;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.api.ArcScript;
+import com.aestallon.storageexplorer.benchmarks.SyntheticStorage;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+
+/**
+ * Compares a materialised query result with a streamed one.
+ *
+ * <p>
+ * {@link #firstPage()} is the latency until the first page of a streamed result is at hand, to be
+ * compared with {@link #materialised()}, where nothing is at hand until everything is.
+ * {@link #streamed()} consumes every page. Every invocation is a single shot, and reports the peak
+ * heap usage observed during it (in KiB, as the {@code peakHeapKiB} counter) -> it includes garbage
+ * not collected yet, thus it is a rough upper bound, not the live set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class ResultStreamingBenchmark {
+
+  private static final String SCRIPT = """
+      query {
+        from 'alpha', 'beta', 'gamma'
+        where { str 'name' contains 'a' }
+        show 'name', 'address.city', 'parent.name'
+      }""";
+
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Heap {
+
+    private static final List<MemoryPoolMXBean> POOLS = ManagementFactory.getMemoryPoolMXBeans()
+        .stream()
+        .filter(it -> it.getType() == MemoryType.HEAP)
+        .toList();
+
+    public long peakHeapKiB;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      System.gc();
+      POOLS.forEach(MemoryPoolMXBean::resetPeakUsage);
+      peakHeapKiB = 0L;
+    }
+
+    void record() {
+      peakHeapKiB = POOLS.stream().mapToLong(it -> it.getPeakUsage().getUsed()).sum() / 1024L;
+    }
+
+  }
+
+
+  @Param({ "10000" })
+  public int entries;
+
+  @Param({ "100" })
+  public int pageSize;
+
+  private SyntheticStorage storage;
+  private StorageInstance instance;
+  private ArcScript arcScript;
+  private ArcScriptEngine engine;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    storage = SyntheticStorage.open(entries);
+    instance = storage.newInstance(IndexingStrategyType.INITIAL);
+    instance.refreshIndex();
+    arcScript = Arc.compile(SCRIPT);
+    engine = new ArcScriptEngine(null);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    storage.close();
+  }
+
+  @Benchmark
+  public int materialised(final Heap heap) {
+    final var ok = (ArcScriptResult.Ok) engine.execute(arcScript, instance);
+    final var query = (ArcScriptResult.QueryPerformed) ok.elements().getLast();
+    heap.record();
+    return query.resultSet().size();
+  }
+
+  @Benchmark
+  public int firstPage(final Heap heap) throws InterruptedException {
+    try (var cursor = cursor()) {
+      final int rows = cursor.next().rows().size();
+      heap.record();
+      return rows;
+    }
+  }
+
+  @Benchmark
+  public long streamed(final Heap heap) throws InterruptedException {
+    try (var cursor = cursor()) {
+      ResultCursor.Page page;
+      do {
+        page = cursor.next();
+      } while (!page.last());
+      heap.record();
+      return cursor.consumed();
+    }
+  }
+
+  private ResultCursor cursor() {
+    final var ok = (ArcScriptResult.Ok) engine.execute(arcScript, instance, pageSize);
+    return ((ArcScriptResult.QueryStreaming) ok.elements().getLast()).cursor();
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
+import com.aestallon.storageexplorer.core.service.IndexingStrategy;
+
+/**
+ * Retained heap of a freshly refreshed index, per indexed entry.
+ *
+ * <p>
+ * The time of the refresh is reported as well, but the interesting figure is the
+ * {@code bytesPerEntry} secondary result: the growth of the used heap (measured after full
+ * collections) over building the index, divided by the number of its entries. {@code INITIAL} only
+ * creates the entries, {@code FULL} loads each of them as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+public class IndexFootprintBenchmark {
+
+  @Param({ "1000000" })
+  public int entries;
+
+  @Param({ "INITIAL", "FULL" })
+  public IndexingStrategyType strategy;
+
+  private SyntheticStorage storage;
+
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Footprint {
+
+    public double bytesPerEntry;
+
+    public long indexedEntries;
+
+  }
+
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    storage = SyntheticStorage.open(entries);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    storage.close();
+  }
+
+  @Benchmark
+  public long refresh(final Footprint footprint) {
+    final long before = usedHeap();
+    final FileSystemStorageIndex index = storage.newIndex();
+    index.refresh(IndexingStrategy.of(strategy));
+    final long n = index.uris().size();
+    final long after = usedHeap();
+    Reference.reachabilityFence(index);
+
+    footprint.indexedEntries = n;
+    footprint.bytesPerEntry = n == 0L ? 0d : (double) (after - before) / n;
+    return n;
+  }
+
+  private static long usedHeap() {
+    // a single request is only a hint -> settle on a few consecutive ones:
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import com.aestallon.storageexplorer.core.model.entry.UriProperty;
+import com.aestallon.storageexplorer.core.util.ObjectMaps;
+import com.aestallon.storageexplorer.core.util.Uris;
+
+/**
+ * The small, pure functions executed for every entry during loading and property discovery.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParsingBenchmark {
+
+  private static final String URI =
+      "alpha:/2025/6/14/9/Customer/0b7e4e1c-3f0e-4a4e-9d6c-2c1f43a8e0f1";
+  private static final String URI_VERSIONED = URI + ".v3";
+  private static final String URI_LIKE = "see also: https://example.com/docs";
+
+  private final Map<String, Object> objectAsMap = objectAsMap();
+
+  private static Map<String, Object> objectAsMap() {
+    final Map<String, Object> address = new LinkedHashMap<>();
+    address.put("city", "Budapest");
+    address.put("zip", 1111);
+    address.put("lines", List.of("Street 12", "Floor 3"));
+
+    final Map<String, Object> m = new LinkedHashMap<>();
+    m.put("uri", URI);
+    m.put("name", "Ada 12");
+    m.put("seq", 12L);
+    m.put("active", true);
+    m.put("score", 42.5d);
+    m.put("tags", List.of("new", "vip"));
+    m.put("address", address);
+    m.put("parent", URI);
+    m.put("refs", List.of(URI, URI, URI));
+    m.put("history", List.of(Map.of("at", 1L, "by", URI), Map.of("at", 2L, "by", URI)));
+    return m;
+  }
+
+  @Benchmark
+  public long flatten() {
+    return ObjectMaps.flatten(objectAsMap).count();
+  }
+
+  @Benchmark
+  public void segmentParse(final Blackhole bh) {
+    bh.consume(UriProperty.Segment.parse("name"));
+    bh.consume(UriProperty.Segment.parse("address.lines.1"));
+    bh.consume(UriProperty.Segment.parse("history.0.by"));
+  }
+
+  @Benchmark
+  public void parseStr(final Blackhole bh) {
+    bh.consume(Uris.parseStr(URI));
+    bh.consume(Uris.parseStr(URI_VERSIONED));
+  }
+
+  @Benchmark
+  public void parseStrRejected(final Blackhole bh) {
+    bh.consume(Uris.parseStr("Ada 12"));
+    bh.consume(Uris.parseStr(URI_LIKE));
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.benchmarks;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.ObjectEntryLookupTable;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.PropertyPath;
+import com.aestallon.storageexplorer.generator.model.SyntheticObject;
+
+/**
+ * Property discovery over a fixed sample of entries.
+ *
+ * <p>
+ * The {@code warm} variants share a lookup table already holding every sampled entry (and every
+ * entry reachable from them), thus they measure the discovery itself. The {@code cold} variants
+ * start from an empty table on every invocation, like a fresh query would.
+ *
+ * <p>
+ * {@code warm} passes the property as a string (looked up in the parsed path cache on every call),
+ * {@code warmCompiled} passes the path compiled once up front (as queries do), while
+ * {@code warmParsed} parses the path on every call, as every discovery did before the cache.
+ *
+ * <p>
+ * {@code coldPrefetched} loads the whole sample (and the distinct targets of its references) level
+ * by level in batches first, as query executors do, then discovers against the filled table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertyDiscoveryBenchmark {
+
+  private static final int SAMPLE = 256;
+
+  @Param({ "10000" })
+  public int entries;
+
+  @Param({
+      SyntheticObject.PROP_NAME,
+      SyntheticObject.PROP_CITY,
+      SyntheticObject.PROP_PARENT_NAME,
+      SyntheticObject.PROP_REFS })
+  public String property;
+
+  private SyntheticStorage storage;
+  private StorageInstanceExaminer examiner;
+  private List<StorageEntry> sample;
+  private ObjectEntryLookupTable warm;
+  private PropertyPath path;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    storage = SyntheticStorage.open(entries);
+    final StorageInstance instance = storage.newInstance(IndexingStrategyType.INITIAL);
+    instance.refreshIndex();
+    examiner = instance.examiner();
+    sample = instance.entities()
+        .filter(ObjectEntry.class::isInstance)
+        .sorted(Comparator.comparing(it -> it.uri().toString()))
+        .limit(SAMPLE)
+        .toList();
+    path = PropertyPath.of(property);
+    warm = ObjectEntryLookupTable.newInstance();
+    sample.forEach(it -> examiner.discoverProperty(it, property, warm));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    storage.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SAMPLE)
+  public void warm(final Blackhole bh) {
+    for (final StorageEntry entry : sample) {
+      bh.consume(examiner.discoverProperty(entry, property, warm));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SAMPLE)
+  public void warmCompiled(final Blackhole bh) {
+    for (final StorageEntry entry : sample) {
+      bh.consume(examiner.discoverProperty(entry, path, warm));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SAMPLE)
+  public void warmParsed(final Blackhole bh) {
+    for (final StorageEntry entry : sample) {
+      bh.consume(examiner.discoverProperty(entry, PropertyPath.parse(property), warm));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SAMPLE)
+  public void cold(final Blackhole bh) {
+    final var cache = ObjectEntryLookupTable.newInstance();
+    for (final StorageEntry entry : sample) {
+      bh.consume(examiner.discoverProperty(entry, property, cache));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SAMPLE)
+  public void coldPrefetched(final Blackhole bh) {
+    final var cache = ObjectEntryLookupTable.newInstance();
+    examiner.prefetch(sample, List.of(path), cache);
+    for (final StorageEntry entry : sample) {
+      bh.consume(examiner.discoverProperty(entry, path, cache));
+    }
+  }
+
+}
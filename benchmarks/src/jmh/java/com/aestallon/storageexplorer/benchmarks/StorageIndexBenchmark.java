@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.benchmarks;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.entry.ScopedEntry;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
+import com.aestallon.storageexplorer.core.service.IndexingStrategy;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageIndexBenchmark {
+
+  @Param({ "10000" })
+  public int entries;
+
+  private SyntheticStorage storage;
+  private FileSystemStorageIndex index;
+  private String fullUri;
+  private String uuidPrefix;
+  private String typeName;
+  private IndexingTarget oneSchema;
+  private IndexingTarget oneType;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    storage = SyntheticStorage.open(entries);
+    index = storage.newIndex();
+    index.refresh(IndexingStrategy.STRATEGY_INITIAL);
+
+    final ObjectEntry sample = index.entities()
+        .filter(ObjectEntry.class::isInstance)
+        .filter(it -> !(it instanceof ScopedEntry))
+        .map(ObjectEntry.class::cast)
+        .min(Comparator.comparing(it -> it.uri().toString()))
+        .orElseThrow();
+    fullUri = sample.uri().toString();
+    uuidPrefix = sample.uuid().substring(0, 8);
+    oneSchema = new IndexingTarget(Set.of(sample.uri().getScheme()), Set.of());
+    typeName = sample.typeName();
+    oneType = new IndexingTarget(Set.of(sample.uri().getScheme()), Set.of(typeName));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    storage.close();
+  }
+
+  @Benchmark
+  public long searchForType() {
+    return index.searchForUri(typeName).count();
+  }
+
+  @Benchmark
+  public long searchForUuidPrefix() {
+    return index.searchForUri(uuidPrefix).count();
+  }
+
+  @Benchmark
+  public long searchForFullUri() {
+    return index.searchForUri(fullUri).count();
+  }
+
+  @Benchmark
+  public int getAny() {
+    return index.get(IndexingTarget.any()).size();
+  }
+
+  @Benchmark
+  public int getSchema() {
+    return index.get(oneSchema).size();
+  }
+
+  @Benchmark
+  public int getSchemaAndType() {
+    return index.get(oneType).size();
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.smartbit4all.api.collection.CollectionApi;
+import org.smartbit4all.api.config.PlatformApiConfig;
+import org.smartbit4all.core.object.ObjectApi;
+import org.smartbit4all.core.object.ObjectDefinitionApi;
+import org.smartbit4all.domain.data.storage.ObjectStorage;
+import org.smartbit4all.storage.fs.StorageFS;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.Availability;
+import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceDto;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
+import com.aestallon.storageexplorer.generator.StorageGenerator;
+
+/**
+ * A synthetic file system storage produced by the {@link StorageGenerator}, opened for reading.
+ *
+ * <p>
+ * Generation is slow compared to anything worth measuring, so a storage is generated once per
+ * shape under the directory given by the {@value #BASE_DIR_PROPERTY} system property, and reused
+ * on subsequent runs.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class SyntheticStorage implements AutoCloseable {
+
+  public static final String BASE_DIR_PROPERTY = "storage.explorer.benchmarks.dir";
+
+  private static final String MARKER = ".synthetic-complete";
+
+  /**
+   * Opens the default benchmark storage of the given size: three schemas, three types, a mean
+   * fan-out of two with mildly skewed fan-in, up to three versions per object, every twentieth
+   * object owning a scoped entry, plus a few stand-alone collections and sequences.
+   *
+   * @param entries the number of objects
+   *
+   * @return the opened storage
+   */
+  public static SyntheticStorage open(final int entries) {
+    return open(StorageGenerator.builder()
+        .entries(entries)
+        .fanOut(2d)
+        .fanInSkew(1d)
+        .versionDepth(3)
+        .scopedEntryRatio(0.05d)
+        .collections(3)
+        .sequences(2));
+  }
+
+  public static SyntheticStorage open(final StorageGenerator.Builder generator) {
+    final Path root = baseDir().resolve("fs-" + generator.shape()).toAbsolutePath();
+    final boolean complete = Files.exists(root.resolve(MARKER));
+    if (!complete) {
+      delete(root);
+    }
+
+    final var storage = new SyntheticStorage(root);
+    if (!complete) {
+      generator.build().generate(storage.objectApi(), storage.collectionApi());
+      try {
+        Files.createFile(root.resolve(MARKER));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    return storage;
+  }
+
+  private static Path baseDir() {
+    final String dir = System.getProperty(BASE_DIR_PROPERTY);
+    return dir == null
+        ? Path.of(System.getProperty("java.io.tmpdir"), "storage-explorer-benchmarks")
+        : Path.of(dir);
+  }
+
+  private static void delete(final Path root) {
+    if (!Files.exists(root)) {
+      return;
+    }
+
+    try (final Stream<Path> paths = Files.walk(root)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(it -> it.toFile().delete());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private final Path root;
+  private final StorageId storageId;
+  private final AnnotationConfigApplicationContext ctx;
+
+  private SyntheticStorage(final Path root) {
+    this.root = root;
+    this.storageId = new StorageId(UUID.nameUUIDFromBytes(root.toString().getBytes()));
+    try {
+      Files.createDirectories(root);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    final Map<String, Object> props = new HashMap<>();
+    props.put("applicationruntime.maintain.enabled", "false");
+    props.put("invocationregistry.refresh.enabled", "false");
+    props.put("application.setup.enabled", "false");
+
+    ctx = new AnnotationConfigApplicationContext();
+    ctx.register(PlatformApiConfig.class);
+    ctx.registerBean(storageId.toString(), ObjectStorage.class, () -> new StorageFS(
+        root.toFile(),
+        ctx.getBean(ObjectDefinitionApi.class)));
+    ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("default", props));
+    ctx.refresh();
+  }
+
+  public Path root() {
+    return root;
+  }
+
+  public StorageId id() {
+    return storageId;
+  }
+
+  public ObjectApi objectApi() {
+    return ctx.getBean(ObjectApi.class);
+  }
+
+  public CollectionApi collectionApi() {
+    return ctx.getBean(CollectionApi.class);
+  }
+
+  /**
+   * Creates a new, empty index over this storage. Call
+   * {@link FileSystemStorageIndex#refresh(com.aestallon.storageexplorer.core.service.IndexingStrategy)}
+   * to populate it.
+   *
+   * @return a new, empty index
+   */
+  public FileSystemStorageIndex newIndex() {
+    return new FileSystemStorageIndex(storageId, objectApi(), collectionApi(), root, false);
+  }
+
+  public StorageInstance newInstance(final IndexingStrategyType indexingStrategy) {
+    final var instance = StorageInstance.fromDto(new StorageInstanceDto()
+        .id(storageId.uuid())
+        .name(root.getFileName().toString())
+        .availability(Availability.AVAILABLE)
+        .indexingStrategy(Objects.requireNonNull(indexingStrategy))
+        .type(StorageInstanceType.FS)
+        .fs(new FsStorageLocation().path(root)));
+    instance.setIndex(newIndex());
+    return instance;
+  }
+
+  @Override
+  public void close() {
+    ctx.close();
+  }
+
+}
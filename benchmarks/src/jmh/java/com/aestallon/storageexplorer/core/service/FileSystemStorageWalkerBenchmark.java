@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.net.URI;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import com.aestallon.storageexplorer.benchmarks.SyntheticStorage;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.util.Uris;
+
+/**
+ * Walks a synthetic storage -> the walker is package-private, hence the package.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileSystemStorageWalkerBenchmark {
+
+  @Param({ "10000" })
+  public int entries;
+
+  private SyntheticStorage storage;
+  private FileSystemStorageWalker walker;
+  private IndexingTarget oneSchema;
+  private IndexingTarget oneType;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    storage = SyntheticStorage.open(entries);
+    walker = FileSystemStorageWalker.of(storage.root());
+    final URI sample = walker.walk(IndexingTarget.any())
+        .filter(it -> !it.getPath().contains("/stored"))
+        .min(Comparator.comparing(URI::toString))
+        .orElseThrow();
+    oneSchema = new IndexingTarget(Set.of(sample.getScheme()), Set.of());
+    oneType = new IndexingTarget(Set.of(sample.getScheme()), Set.of(Uris.getTypeName(sample)));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    storage.close();
+  }
+
+  @Benchmark
+  public long walkAll() {
+    return walker.walk(IndexingTarget.any()).count();
+  }
+
+  @Benchmark
+  public long walkSchema() {
+    return walker.walk(oneSchema).count();
+  }
+
+  @Benchmark
+  public long walkType() {
+    return walker.walk(oneType).count();
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import com.aestallon.storageexplorer.benchmarks.SyntheticStorage;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+
+/**
+ * Measures the indexing strategies in isolation (on an already walked list of URIs), and the
+ * complete refresh of an index (walking included).
+ *
+ * <p>
+ * {@link IndexingStrategy#STRATEGY_FULL} loads every entry, thus each invocation creates a fresh
+ * set of entries -> nothing is served from a previous invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IndexingStrategyBenchmark {
+
+  @Param({ "10000" })
+  public int entries;
+
+  private SyntheticStorage storage;
+  private FileSystemStorageIndex index;
+  private List<URI> uris;
+  private IndexingStrategy.StorageEntryCreator creator;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    storage = SyntheticStorage.open(entries);
+    index = storage.newIndex();
+    uris = FileSystemStorageWalker.of(storage.root()).walk(IndexingTarget.any()).toList();
+    creator = index.storageEntryFactory::create;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    storage.close();
+  }
+
+  @Benchmark
+  public int initial() {
+    return IndexingStrategy.STRATEGY_INITIAL.processEntries(uris.stream(), creator).size();
+  }
+
+  @Benchmark
+  public int full() {
+    return IndexingStrategy.STRATEGY_FULL.processEntries(uris.stream(), creator).size();
+  }
+
+  @Benchmark
+  public int refreshInitial() {
+    return index.refresh(IndexingStrategy.STRATEGY_INITIAL);
+  }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.client.arcscript;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.engine.MaterializedView;
+import com.aestallon.storageexplorer.client.storage.StorageInstanceProvider;
+import com.aestallon.storageexplorer.client.userconfig.service.StoredArcScript;
+import com.aestallon.storageexplorer.core.event.StorageIndexDiscardedEvent;
+import com.aestallon.storageexplorer.core.event.StorageReindexed;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+
+/**
+ * Keeps the materialised views of saved ArcScript queries, by the storage and title of the script
+ * (see {@link MaterializedView}).
+ *
+ * <p>
+ * A view is evaluated in full once, in the background, when it is registered. From then on its
+ * result set is kept current incrementally, and reading it costs nothing. Views live as long as
+ * the application does, or until they are dropped, or their storage is discarded.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+@Service
+public class MaterializedViewService {
+
+  private static final ExecutorService REFRESHER = Executors.newVirtualThreadPerTaskExecutor();
+
+
+  public record ViewKey(StorageId storageId, String title) {
+
+    public static ViewKey of(final StoredArcScript storedArcScript) {
+      return new ViewKey(storedArcScript.storageId(), storedArcScript.title());
+    }
+
+  }
+
+
+  public sealed interface RegistrationResult {
+
+    /**
+     * @param view the view registered
+     * @param refreshed completes once the first, full evaluation of the view is done -> until
+     *     then, the view is empty, and reports it is not materialised yet
+     */
+    record Ok(MaterializedView view, CompletableFuture<Void> refreshed)
+        implements RegistrationResult {}
+
+
+    record Err(String msg) implements RegistrationResult {}
+
+  }
+
+
+  private final StorageInstanceProvider storageInstanceProvider;
+  private final Map<ViewKey, MaterializedView> views = new ConcurrentHashMap<>();
+
+  public MaterializedViewService(StorageInstanceProvider storageInstanceProvider) {
+    this.storageInstanceProvider = storageInstanceProvider;
+  }
+
+  /**
+   * Registers the given script as a materialised view, replacing the view registered for it
+   * before, if any.
+   *
+   * @param storedArcScript the script to register, not null
+   *
+   * @return the result of the registration, represented as a {@link RegistrationResult}
+   */
+  public RegistrationResult register(final StoredArcScript storedArcScript) {
+    final StorageInstance storageInstance = storageInstanceProvider.get(
+        storedArcScript.storageId());
+    if (storageInstance == null) {
+      return new RegistrationResult.Err(
+          "Unknown storage: " + storedArcScript.storageId());
+    }
+
+    final MaterializedView view;
+    try {
+      view = Arc.materialize(
+          storedArcScript.title(),
+          storedArcScript.script(),
+          storageInstance);
+    } catch (final IllegalArgumentException e) {
+      return new RegistrationResult.Err(e.getMessage());
+    }
+
+    final MaterializedView previous = views.put(ViewKey.of(storedArcScript), view);
+    if (previous != null) {
+      previous.close();
+    }
+
+    // a failed evaluation is reported by the staleness of the view as well:
+    final var refreshed = CompletableFuture.runAsync(view::refresh, REFRESHER);
+    return new RegistrationResult.Ok(view, refreshed);
+  }
+
+  public Optional<MaterializedView> find(final StorageId storageId, final String title) {
+    return Optional.ofNullable(views.get(new ViewKey(storageId, title)));
+  }
+
+  public boolean isRegistered(final StoredArcScript storedArcScript) {
+    return views.containsKey(ViewKey.of(storedArcScript));
+  }
+
+  public List<MaterializedView> views(final StorageId storageId) {
+    return views.entrySet().stream()
+        .filter(it -> it.getKey().storageId().equals(storageId))
+        .map(Map.Entry::getValue)
+        .sorted(Comparator.comparing(MaterializedView::name))
+        .toList();
+  }
+
+  public boolean drop(final StorageId storageId, final String title) {
+    final MaterializedView view = views.remove(new ViewKey(storageId, title));
+    if (view == null) {
+      return false;
+    }
+
+    view.close();
+    return true;
+  }
+
+  /**
+   * Keeps the view of a script (if it has one) in line with the script: a view of a renamed
+   * script follows its new title, and a view of a script saved with a new text is registered
+   * again.
+   *
+   * @param previous the script before it was changed
+   * @param current the script after it was changed
+   *
+   * @return the result of registering the view again, if it had to be
+   */
+  public Optional<RegistrationResult> scriptChanged(final StoredArcScript previous,
+                                                    final StoredArcScript current) {
+    final MaterializedView view = views.get(ViewKey.of(previous));
+    if (view == null) {
+      return Optional.empty();
+    }
+
+    if (Objects.equals(previous.title(), current.title())
+        && Objects.equals(view.script(), current.script())) {
+      return Optional.empty();
+    }
+
+    drop(previous.storageId(), previous.title());
+    return Optional.of(register(current));
+  }
+
+  @EventListener
+  public void onStorageReindexed(final StorageReindexed e) {
+    views(e.storageInstance().id()).forEach(MaterializedView::invalidate);
+  }
+
+  @EventListener
+  public void onStorageIndexDiscarded(final StorageIndexDiscardedEvent e) {
+    final StorageId storageId = e.storageInstance().id();
+    views(storageId).forEach(it -> drop(storageId, it.name()));
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.client.storage;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smartbit4all.api.config.PlatformApiConfig;
+import org.smartbit4all.core.object.ObjectDefinitionApi;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+
+/**
+ * Trims the per-storage platform contexts down to what the explorer actually uses.
+ *
+ * <p>
+ * A storage context is only ever asked for its {@code ObjectApi}, {@code CollectionApi} and (for
+ * relational databases) its {@code JdbcClient}, yet the platform configuration registers dozens of
+ * services besides. Contexts {@link #prepare prepared} here:
+ * <ul>
+ *   <li>initialise every bean lazily -> only the beans reachable from the ones requested get
+ *   instantiated,</li>
+ *   <li>share the class metadata read while processing the configuration classes with every other
+ *   context of the same backend type,</li>
+ *   <li>share one {@link ObjectDefinitionApi} (and with it the default serializer) across all
+ *   storages. Object definitions only depend on the domain classes on the classpath, never on the
+ *   storage they are read from.</li>
+ * </ul>
+ *
+ * @author Szabolcs Bazil Papp
+ */
+final class PlatformBootstrap {
+
+  private static final Logger log = LoggerFactory.getLogger(PlatformBootstrap.class);
+
+  static final String OBJECT_DEFINITION_API = "objectDefinitionApi";
+
+  private static final Map<StorageInstanceType, MetadataReaderFactory> METADATA_READERS =
+      new EnumMap<>(StorageInstanceType.class);
+
+  private static volatile AnnotationConfigApplicationContext sharedContext;
+  private static volatile boolean sharedContextFailed;
+
+  private PlatformBootstrap() {}
+
+  static Map<String, Object> defaultProps() {
+    final Map<String, Object> props = new HashMap<>();
+    props.put("applicationruntime.maintain.enabled", "false");
+    props.put("invocationregistry.refresh.enabled", "false");
+    props.put("application.setup.enabled", "false");
+    return props;
+  }
+
+  static void prepare(final AnnotationConfigApplicationContext ctx,
+                      final StorageInstanceType type) {
+    ctx.addBeanFactoryPostProcessor(new SharedMetadataPostProcessor(metadataReaderOf(type)));
+    ctx.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+
+    final ObjectDefinitionApi objectDefinitionApi = sharedObjectDefinitionApi();
+    if (objectDefinitionApi != null) {
+      // a programmatic definition takes precedence over the @Bean method of the same name. It is
+      // a prototype, so closing the storage context never destroys the shared instance:
+      ctx.registerBean(
+          OBJECT_DEFINITION_API,
+          ObjectDefinitionApi.class,
+          () -> objectDefinitionApi,
+          it -> it.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+    }
+  }
+
+  private static synchronized MetadataReaderFactory metadataReaderOf(
+      final StorageInstanceType type) {
+    return METADATA_READERS.computeIfAbsent(
+        type,
+        k -> new CachingMetadataReaderFactory(PlatformBootstrap.class.getClassLoader()));
+  }
+
+  /**
+   * Returns the object definition registry shared by all storages, booting the storage-less
+   * context holding it on first call.
+   *
+   * <p>
+   * Should that fail, every storage falls back to its own registry.
+   *
+   * @return the shared registry, or {@code null} if it is not available
+   */
+  static ObjectDefinitionApi sharedObjectDefinitionApi() {
+    if (sharedContextFailed) {
+      return null;
+    }
+
+    AnnotationConfigApplicationContext ctx = sharedContext;
+    if (ctx == null) {
+      synchronized (PlatformBootstrap.class) {
+        ctx = sharedContext;
+        if (ctx == null && !sharedContextFailed) {
+          ctx = bootSharedContext();
+          sharedContext = ctx;
+        }
+      }
+    }
+
+    return ctx == null ? null : ctx.getBean(ObjectDefinitionApi.class);
+  }
+
+  private static AnnotationConfigApplicationContext bootSharedContext() {
+    final ClassLoader original = Thread.currentThread().getContextClassLoader();
+    Thread.currentThread().setContextClassLoader(PlatformBootstrap.class.getClassLoader());
+    final var ctx = new AnnotationConfigApplicationContext();
+    try {
+      ctx.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+      ctx.register(PlatformApiConfig.class);
+      ctx.getEnvironment().getPropertySources()
+          .addFirst(new MapPropertySource("default", defaultProps()));
+      ctx.refresh();
+      // touch it right away: if it cannot be built without a storage, we want to know now:
+      ctx.getBean(ObjectDefinitionApi.class).getDefaultSerializer();
+      return ctx;
+    } catch (final Exception e) {
+      log.warn("Cannot share object definitions across storages: {}", e.getMessage());
+      log.debug(e.getMessage(), e);
+      sharedContextFailed = true;
+      ctx.close();
+      return null;
+    } finally {
+      Thread.currentThread().setContextClassLoader(original);
+    }
+  }
+
+
+  private static final class SharedMetadataPostProcessor
+      implements BeanDefinitionRegistryPostProcessor {
+
+    private final MetadataReaderFactory metadataReaderFactory;
+
+    private SharedMetadataPostProcessor(final MetadataReaderFactory metadataReaderFactory) {
+      this.metadataReaderFactory = metadataReaderFactory;
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(final BeanDefinitionRegistry registry) {
+      final String name = AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME;
+      if (registry.containsBeanDefinition(name)) {
+        registry.getBeanDefinition(name)
+            .getPropertyValues()
+            .add("metadataReaderFactory", metadataReaderFactory);
+      }
+    }
+
+    @Override
+    public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
+      // nothing to do here
+    }
+
+  }
+
+}
@@ -16,7 +16,8 @@
 package com.aestallon.storageexplorer.client.storage;
 
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -48,6 +49,10 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.aestallon.storageexplorer.common.util.NotImplementedException;
 import com.aestallon.storageexplorer.core.model.instance.dto.Availability;
 import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseConnectionData;
@@ -55,6 +60,7 @@ import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseVendor;
 import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
 import com.aestallon.storageexplorer.core.model.instance.dto.SqlStorageLocation;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageLocation;
 import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
 import com.aestallon.storageexplorer.core.service.RelationalDatabaseStorageIndex;
@@ -141,24 +147,19 @@ final class StorageIndexFactory {
     }
   }
 
-  private Map<String, Object> defaultProps() {
-    final Map<String, Object> props = new HashMap<>();
-    props.put("applicationruntime.maintain.enabled", "false");
-    props.put("invocationregistry.refresh.enabled", "false");
-    props.put("application.setup.enabled", "false");
-    return props;
-  }
-
   private StorageIndexCreationResult createFs(final FsStorageLocation fsStorageLocation) {
     final Path path = fsStorageLocation.getPath().toAbsolutePath();
     final var ctx = new AnnotationConfigApplicationContext();
+    PlatformBootstrap.prepare(ctx, StorageInstanceType.FS);
     ctx.register(PlatformApiConfig.class);
     ctx.registerBean(storageId.toString(), ObjectStorage.class, () -> new StorageFS(
         path.toFile(),
         ctx.getBean(ObjectDefinitionApi.class)));
 
     final ConfigurableEnvironment env = ctx.getEnvironment();
-    env.getPropertySources().addFirst(new MapPropertySource("default", defaultProps()));
+    env.getPropertySources().addFirst(new MapPropertySource(
+        "default",
+        PlatformBootstrap.defaultProps()));
 
     ctx.refresh();
 
@@ -171,7 +172,7 @@ final class StorageIndexFactory {
 
 
   private StorageIndexCreationResult createDb(final SqlStorageLocation sqlStorageLocation) {
-    final Map<String, Object> props = defaultProps();
+    final Map<String, Object> props = PlatformBootstrap.defaultProps();
     final DatabaseVendor vendor = sqlStorageLocation.getVendor();
     if (vendor == null) {
       // we don't even need the vendor, the DriverManager can figure it out from the URL...
@@ -191,6 +192,7 @@ final class StorageIndexFactory {
     final String targetSchema = connectionData.getTargetSchema();
 
     final var ctx = new AnnotationConfigApplicationContext();
+    PlatformBootstrap.prepare(ctx, StorageInstanceType.DB);
 
     ctx.register(SQLConfig.class);
     ctx.register(SQLObjectStorageEntityConfiguration.class);
@@ -214,7 +216,7 @@ final class StorageIndexFactory {
           new EntityConfiguration().setupEntityDefinitions(ctx);
           return storage;
         },
-        it -> it.setDependsOn("objectDefinitionApi", "jdbcTemplate"));
+        it -> it.setDependsOn(PlatformBootstrap.OBJECT_DEFINITION_API, "jdbcTemplate"));
     ctx.registerBean(
         "jdbcClient", 
         JdbcClient.class,
@@ -229,7 +231,8 @@ final class StorageIndexFactory {
     final ObjectApi objectApi = ctx.getBean(ObjectApi.class);
     final CollectionApi collectionApi = ctx.getBean(CollectionApi.class);
     final JdbcClient jdbcClient = ctx.getBean(JdbcClient.class);
-
+    final var transactions = new TransactionTemplate(
+        writableTransactionManager(ctx.getBean(DataSource.class)));
 
     final var index = new RelationalDatabaseStorageIndex(
         storageId,
@@ -237,7 +240,9 @@ final class StorageIndexFactory {
         collectionApi,
         jdbcClient,
         targetSchema,
-        false);
+        false,
+        vendor,
+        transactions);
     return new StorageIndexCreationResult.Ok(index, ctx);
   }
 
@@ -291,7 +296,8 @@ final class StorageIndexFactory {
       config.setUsername(connectionData.getUsername());
       config.setPassword(connectionData.getPassword());
       config.setMaximumPoolSize(20);
-      config.setMinimumIdle(5);
+      // idle connections are the bulk of an open but unused storage's footprint:
+      config.setMinimumIdle(1);
       config.setConnectionTimeout(30_000L);
       config.setIdleTimeout(600_000L);
       config.setMaxLifetime(1_800_000L);
@@ -308,6 +314,21 @@ final class StorageIndexFactory {
     };
   }
 
+  private static PlatformTransactionManager writableTransactionManager(
+      final DataSource dataSource) {
+    // the pool hands out read-only connections -> the transactions of modifications are the only
+    // place the explorer ever writes the database:
+    return new DataSourceTransactionManager(dataSource) {
+      @Override
+      protected void prepareTransactionalConnection(final Connection con,
+                                                    final TransactionDefinition definition)
+          throws SQLException {
+        con.setReadOnly(definition.isReadOnly());
+        super.prepareTransactionalConnection(con, definition);
+      }
+    };
+  }
+
   private Supplier<JdbcTemplate> getJdbcTemplateFactory(final ApplicationContext ctx) {
     return () -> {
       final var template = new JdbcTemplate(ctx.getBean(DataSource.class));
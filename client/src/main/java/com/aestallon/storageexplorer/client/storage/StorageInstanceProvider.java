@@ -15,17 +15,21 @@
 
 package com.aestallon.storageexplorer.client.storage;
 
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
+import static java.util.stream.Collectors.partitioningBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.event.EventListener;
@@ -34,6 +38,7 @@ import com.aestallon.storageexplorer.client.userconfig.service.UserConfigService
 import com.aestallon.storageexplorer.common.event.bgwork.BackgroundWorkCompletedEvent;
 import com.aestallon.storageexplorer.common.event.bgwork.BackgroundWorkStartedEvent;
 import com.aestallon.storageexplorer.common.event.msg.Msg;
+import com.aestallon.storageexplorer.core.event.BatchingEventPublisher;
 import com.aestallon.storageexplorer.core.event.StorageImportEvent;
 import com.aestallon.storageexplorer.core.event.StorageIndexDiscardedEvent;
 import com.aestallon.storageexplorer.core.event.StorageReimportedEvent;
@@ -49,6 +54,16 @@ public class StorageInstanceProvider {
   private static final Logger log = LoggerFactory.getLogger(StorageInstanceProvider.class);
 
 
+  /**
+   * The result of searching every storage for a URI.
+   *
+   * @param entries the matching entries of the storages already initialised
+   * @param initialising the storages not searched, for they are still being initialised -> their
+   *     initialisation is started by the search itself, if it has not been yet
+   */
+  public record UriSearchResult(Stream<StorageEntry> entries, List<StorageInstance> initialising) {}
+
+
   private static final class HighPriorityThreadFactory implements ThreadFactory {
     private static final AtomicInteger poolNumber = new AtomicInteger(1);
     private final ThreadGroup group;
@@ -75,19 +90,36 @@ public class StorageInstanceProvider {
   }
 
 
+  // every initialisation boots a Spring context -> CPU and metaspace bound, we keep this low:
+  private static final int INIT_PARALLELISM = Math.clamp(
+      Runtime.getRuntime().availableProcessors() / 2,
+      1, 4);
+  private static final AtomicInteger INIT_THREAD_NUMBER = new AtomicInteger(1);
+
   private final ApplicationEventPublisher eventPublisher;
+  private final BatchingEventPublisher storageEventPublisher;
   private final UserConfigService userConfigService;
   private final Map<StorageId, StorageInstance> storageInstancesById;
   private final Map<StorageInstance, ConfigurableApplicationContext> contextsByInstance;
   private final ExecutorService executorService;
+  private final ExecutorService initExecutor;
+  private final boolean warmUp;
 
   public StorageInstanceProvider(ApplicationEventPublisher eventPublisher,
-                                 UserConfigService userConfigService) {
+                                 UserConfigService userConfigService,
+                                 @Value("${warm-up-storages:false}") boolean warmUp) {
     this.eventPublisher = eventPublisher;
+    this.warmUp = warmUp;
+    this.storageEventPublisher = new BatchingEventPublisher(eventPublisher);
     this.userConfigService = userConfigService;
-    storageInstancesById = new HashMap<>();
-    contextsByInstance = new HashMap<>();
+    storageInstancesById = new ConcurrentHashMap<>();
+    contextsByInstance = new ConcurrentHashMap<>();
     executorService = Executors.newSingleThreadExecutor(new HighPriorityThreadFactory());
+    initExecutor = Executors.newFixedThreadPool(INIT_PARALLELISM, r -> {
+      final var t = new Thread(r, "storage-init-" + INIT_THREAD_NUMBER.getAndIncrement());
+      t.setDaemon(true);
+      return t;
+    });
   }
 
   public Stream<StorageInstance> provide() {
@@ -98,10 +130,31 @@ public class StorageInstanceProvider {
     return storageInstancesById.get(id);
   }
 
-  public Stream<StorageEntry> searchForUri(final String queryString) {
-    return storageInstancesById.values().stream()
-        .map(StorageInstance::index)
-        .flatMap(it -> it.searchForUri(queryString));
+  public UriSearchResult searchForUri(final String queryString) {
+    // searching must not wait for the initialisation of every storage -> those not ready are
+    // started in the background, and reported instead:
+    final Map<Boolean, List<StorageInstance>> byReadiness = storageInstancesById.values().stream()
+        .filter(it -> it.readiness() != StorageInstance.Readiness.FAILED)
+        .collect(partitioningBy(it -> it.readiness() == StorageInstance.Readiness.READY));
+    final List<StorageInstance> initialising = byReadiness.get(false);
+    initialising.forEach(this::initialiseAsync);
+    return new UriSearchResult(
+        byReadiness.get(true).stream()
+            .map(StorageInstance::index)
+            .flatMap(it -> it.searchForUri(queryString)),
+        initialising);
+  }
+
+  /**
+   * Initialises the given storage in the background, unless it is initialised already.
+   *
+   * @param storageInstance the storage to initialise
+   *
+   * @return completed with the index of the storage once it is initialised, or with {@code null}
+   *     if it is not available
+   */
+  public CompletableFuture<StorageIndex<?>> initialiseAsync(final StorageInstance storageInstance) {
+    return storageInstance.initialiseAsync(initExecutor);
   }
 
   public StorageInstance storageInstanceOf(final StorageEntry storageEntry) {
@@ -136,16 +189,50 @@ public class StorageInstanceProvider {
 
     final UUID workId = UUID.randomUUID();
     eventPublisher.publishEvent(new BackgroundWorkStartedEvent(workId, "Importing storages"));
-    for (final var dto : storageLocations) {
-      final StorageInstance storageInstance = StorageInstance.fromDto(dto);
-      initialise(storageInstance);
+    final List<StorageInstance> storageInstances = storageLocations.stream()
+        .map(StorageInstance::fromDto)
+        .toList();
+    for (final StorageInstance storageInstance : storageInstances) {
+      storageInstance.setEventPublisher(storageEventPublisher);
+      storageInstance.deferInitialisation(() -> initialise(storageInstance));
+      storageInstancesById.put(storageInstance.id(), storageInstance);
       eventPublisher.publishEvent(new StorageImportEvent(storageInstance));
     }
     eventPublisher.publishEvent(BackgroundWorkCompletedEvent.ok(workId));
+
+    // storages are initialised on first use, unless warming them up is asked for explicitly:
+    if (warmUp) {
+      warmUp(storageInstances);
+    }
+  }
+
+  /**
+   * Initialises the given, deferred storage instances in the background, the most recently used
+   * one first. Only done if the {@code warm-up-storages} property is set.
+   *
+   * <p>
+   * Warm-up is merely an optimisation: a storage used before its turn comes is initialised by its
+   * first user, and the warm-up simply skips it afterwards.
+   */
+  private void warmUp(final List<StorageInstance> storageInstances) {
+    final StorageId mostRecent = userConfigService.getMostRecentStorageInstanceLoad().orElse(null);
+    final UUID workId = UUID.randomUUID();
+    eventPublisher.publishEvent(new BackgroundWorkStartedEvent(workId, "Initialising storages"));
+    final CompletableFuture<?>[] futures = storageInstances.stream()
+        .sorted(Comparator.comparing(it -> !it.id().equals(mostRecent)))
+        .map(this::initialiseAsync)
+        .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(futures).whenComplete((v, t) -> {
+      if (t != null) {
+        log.error("Storage warm-up failed!", t);
+      }
+      eventPublisher.publishEvent(BackgroundWorkCompletedEvent.ok(workId));
+    });
   }
 
   private void initialise(final StorageInstance storageInstance) {
-    storageInstance.setEventPublisher(eventPublisher);
+    // storages emit discovery and loading events by the thousands -> these go out in batches:
+    storageInstance.setEventPublisher(storageEventPublisher);
 
     final var factory = StorageIndexFactory.of(storageInstance.id());
     switch (factory.create(storageInstance.location())) {
@@ -158,6 +245,7 @@ public class StorageInstanceProvider {
         contextsByInstance.put(storageInstance, ctx);
       }
       case StorageIndexFactory.StorageIndexCreationResult.Err err -> {
+        storageInstance.setAvailability(err.availability);
         eventPublisher.publishEvent(Msg.err(
             "Failed to initialize " + storageInstance.name(),
             "Storage instance is unavailable: " + err.errorMessage()));
@@ -197,7 +285,10 @@ public class StorageInstanceProvider {
 
   public void discardIndex(final StorageInstance storageInstance) {
     storageInstancesById.remove(storageInstance.id());
-    final var idx = storageInstance.index();
+    // no point in initialising a storage just to throw it away:
+    final var idx = storageInstance.readiness() == StorageInstance.Readiness.READY
+        ? storageInstance.index()
+        : null;
     if (idx != null) {
       idx.clear();
     }
@@ -213,10 +304,14 @@ public class StorageInstanceProvider {
 
   public void reimport(final StorageInstance storageInstance) {
     executorService.submit(() -> {
-      storageInstance.index().clear();
+      if (storageInstance.readiness() == StorageInstance.Readiness.READY) {
+        storageInstance.index().clear();
+      }
 
       final ConfigurableApplicationContext ctx = contextsByInstance.remove(storageInstance);
-      tryCloseCtx(ctx, storageInstance);
+      if (ctx != null) {
+        tryCloseCtx(ctx, storageInstance);
+      }
 
       final UUID workId = UUID.randomUUID();
       eventPublisher.publishEvent(new BackgroundWorkStartedEvent(
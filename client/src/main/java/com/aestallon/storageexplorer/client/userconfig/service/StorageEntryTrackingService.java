@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -81,10 +82,17 @@ public class StorageEntryTrackingService {
     return Collections.unmodifiableList(trackedInspectors.get());
   }
 
-  public List<StorageEntry> entriesOfTrackedInspectors() {
+  /**
+   * Discovers the entries of the tracked inspectors, once the storages they belong to are
+   * initialised. Storages not initialised yet are initialised in the background, the calling
+   * thread is never blocked.
+   *
+   * @return completed with the entries found, in the order their inspectors are tracked
+   */
+  public CompletableFuture<List<StorageEntry>> entriesOfTrackedInspectors() {
     final var toRemove = new ArrayList<TrackedInspector>();
     final var es = new ArrayList<>(trackedInspectors());
-    final var result = es.stream()
+    final List<CompletableFuture<Optional<StorageEntry>>> discoveries = es.stream()
         .flatMap(it -> {
           final var storageInstance = storageInstanceProvider.get(new StorageId(it.getStorageId()));
           if (storageInstance == null) {
@@ -93,7 +101,13 @@ public class StorageEntryTrackingService {
             return Stream.empty();
           }
 
-          return storageInstance.discover(it.getUri()).stream();
+          return Stream.of(storageInstanceProvider
+              .initialiseAsync(storageInstance)
+              .thenApply(index -> storageInstance.discover(it.getUri()))
+              .exceptionally(e -> {
+                log.warn("Could not reopen tracked inspector [ {} ]!", it, e);
+                return Optional.empty();
+              }));
         })
         .toList();
     if (!toRemove.isEmpty()) {
@@ -101,7 +115,11 @@ public class StorageEntryTrackingService {
       updateTrackedInspectors(es);
     }
 
-    return result;
+    return CompletableFuture
+        .allOf(discoveries.toArray(CompletableFuture[]::new))
+        .thenApply(v -> discoveries.stream()
+            .flatMap(it -> it.join().stream())
+            .toList());
   }
 
   public void addTrackedInspector(final StorageEntry storageEntry) {
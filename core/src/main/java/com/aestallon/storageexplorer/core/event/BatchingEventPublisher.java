@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+
+/**
+ * An {@link ApplicationEventPublisher} collecting high-frequency storage events into windows.
+ *
+ * <p>
+ * Indexing and reference discovery can emit tens of thousands of {@link EntryDiscovered} and
+ * {@link LoadingQueueSize} events per second, each of them hopping onto the UI thread on its own.
+ * This publisher instead:
+ * <ul>
+ *   <li>collects discovered entries per storage, and publishes them as one
+ *   {@link EntriesDiscovered} when either the window elapses or the batch fills up,</li>
+ *   <li>samples loading queue sizes: only the latest size per storage is published, once per
+ *   window,</li>
+ *   <li>publishes everything else immediately. Pending discoveries of a storage are flushed before
+ *   an {@link EntryAcquired} of the same storage, thus an acquired entry's host is always
+ *   published first.</li>
+ * </ul>
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class BatchingEventPublisher implements ApplicationEventPublisher, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(BatchingEventPublisher.class);
+
+  public static final Duration DEFAULT_WINDOW = Duration.ofMillis(100L);
+  public static final int DEFAULT_MAX_BATCH_SIZE = 1_000;
+
+  private final ApplicationEventPublisher delegate;
+  private final int maxBatchSize;
+  private final ScheduledExecutorService scheduler;
+
+  private final Object lock = new Object();
+  private final Map<StorageInstance, List<StorageEntry>> discovered = new LinkedHashMap<>();
+  private final Map<StorageId, LoadingQueueSize> queueSizes = new LinkedHashMap<>();
+
+  public BatchingEventPublisher(final ApplicationEventPublisher delegate) {
+    this(delegate, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  public BatchingEventPublisher(final ApplicationEventPublisher delegate,
+                                final Duration window,
+                                final int maxBatchSize) {
+    if (window.isNegative() || window.isZero() || maxBatchSize < 1) {
+      throw new IllegalArgumentException("Window and batch size must be positive!");
+    }
+
+    this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null!");
+    this.maxBatchSize = maxBatchSize;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      final var t = new Thread(r, "storage-event-batcher");
+      t.setDaemon(true);
+      return t;
+    });
+    final long millis = window.toMillis();
+    scheduler.scheduleWithFixedDelay(this::flushSafely, millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void publishEvent(final Object event) {
+    switch (event) {
+      case EntryDiscovered e -> {
+        List<StorageEntry> full = null;
+        synchronized (lock) {
+          final List<StorageEntry> batch = discovered.computeIfAbsent(
+              e.storageInstance(),
+              k -> new ArrayList<>());
+          batch.add(e.storageEntry());
+          if (batch.size() >= maxBatchSize) {
+            full = discovered.remove(e.storageInstance());
+          }
+        }
+
+        if (full != null) {
+          delegate.publishEvent(new EntriesDiscovered(e.storageInstance(), full));
+        }
+      }
+      case LoadingQueueSize e -> {
+        synchronized (lock) {
+          queueSizes.put(e.storageId(), e);
+        }
+      }
+      case EntryAcquired e -> {
+        flushDiscoveries(e.storageInstance());
+        delegate.publishEvent(e);
+      }
+      case null -> throw new IllegalArgumentException("Event cannot be null!");
+      default -> delegate.publishEvent(event);
+    }
+  }
+
+  private void flushDiscoveries(final StorageInstance storageInstance) {
+    final List<StorageEntry> batch;
+    synchronized (lock) {
+      batch = discovered.remove(storageInstance);
+    }
+
+    if (batch != null) {
+      delegate.publishEvent(new EntriesDiscovered(storageInstance, batch));
+    }
+  }
+
+  /**
+   * Publishes every pending batch and the latest loading queue sizes right away.
+   */
+  public void flush() {
+    final List<EntriesDiscovered> batches = new ArrayList<>();
+    final List<LoadingQueueSize> sizes;
+    synchronized (lock) {
+      discovered.forEach((k, v) -> batches.add(new EntriesDiscovered(k, v)));
+      discovered.clear();
+      sizes = new ArrayList<>(queueSizes.values());
+      queueSizes.clear();
+    }
+
+    batches.forEach(delegate::publishEvent);
+    sizes.forEach(delegate::publishEvent);
+  }
+
+  private void flushSafely() {
+    try {
+      flush();
+    } catch (final Exception e) {
+      // an exception must not cancel the periodic flush:
+      log.error("Failed to publish batched events!", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    flush();
+  }
+
+}
@@ -0,0 +1,8 @@
+package com.aestallon.storageexplorer.core.event;
+
+import java.util.List;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+
+public record EntriesDiscovered(StorageInstance storageInstance,
+                                List<StorageEntry> storageEntries) {}
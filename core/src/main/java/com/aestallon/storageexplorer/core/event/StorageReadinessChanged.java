@@ -0,0 +1,6 @@
+package com.aestallon.storageexplorer.core.event;
+
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+
+public record StorageReadinessChanged(StorageInstance storageInstance,
+                                      StorageInstance.Readiness readiness) {}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(BatchLoadEvent.NAME)
+@Label("Relational Database Batch Load")
+@Category({ "Storage Explorer", "Loading" })
+@Description("A batch of object entries loaded from a relational database storage in one query")
+@StackTrace(false)
+public final class BatchLoadEvent extends Event {
+
+  public static final String NAME = "com.aestallon.storageexplorer.BatchLoad";
+
+  @Label("Storage ID")
+  public String storageId;
+
+  @Label("Strategy")
+  public String strategy;
+
+  @Label("Lane")
+  public String lane;
+
+  @Label("Batch Size")
+  public int size;
+
+  @Label("Flush Reason")
+  public String reason;
+
+  @Label("Failed Entries")
+  public int failed;
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(DeserialisationEvent.NAME)
+@Label("Object Deserialisation")
+@Category({ "Storage Explorer", "Loading" })
+@Description("Reading and deserialising the content of a single object file or record")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class DeserialisationEvent extends Event {
+
+  public static final String NAME = "com.aestallon.storageexplorer.Deserialisation";
+
+  @Label("URI")
+  public String uri;
+
+  @Label("Schema")
+  public String schema;
+
+  @Label("Type")
+  public String type;
+
+  @Label("Size")
+  @DataAmount(DataAmount.BYTES)
+  public long size;
+
+  @Label("Successful")
+  public boolean successful;
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(EntryLoadEvent.NAME)
+@Label("Object Entry Load")
+@Category({ "Storage Explorer", "Loading" })
+@Description("Loading of a single object entry, including scheduling, I/O and deserialisation")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class EntryLoadEvent extends Event {
+
+  public static final String NAME = "com.aestallon.storageexplorer.EntryLoad";
+
+  @Label("Storage ID")
+  public String storageId;
+
+  @Label("URI")
+  public String uri;
+
+  @Label("Schema")
+  public String schema;
+
+  @Label("Type")
+  public String type;
+
+  @Label("Backend")
+  public String backend;
+
+  @Label("Strategy")
+  public String strategy;
+
+  @Label("Lane")
+  public String lane;
+
+  @Label("Successful")
+  public boolean successful;
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(IndexingEvent.NAME)
+@Label("Indexing")
+@Category({ "Storage Explorer", "Indexing" })
+@Description("Processing of the URIs discovered during indexing by an indexing strategy")
+@StackTrace(false)
+public final class IndexingEvent extends Event {
+
+  public static final String NAME = "com.aestallon.storageexplorer.Indexing";
+
+  @Label("Strategy")
+  public String strategy;
+
+  @Label("Entries")
+  public int entries;
+
+  @Label("Scoped Entries")
+  public int scopedEntries;
+
+}
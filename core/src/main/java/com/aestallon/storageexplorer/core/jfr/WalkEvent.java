@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(WalkEvent.NAME)
+@Label("File System Walk")
+@Category({ "Storage Explorer", "Indexing" })
+@Description("A file system storage walk looking for object files")
+@StackTrace(false)
+public final class WalkEvent extends Event {
+
+  public static final String NAME = "com.aestallon.storageexplorer.Walk";
+
+  @Label("Storage Root")
+  public String root;
+
+  @Label("Schemas")
+  @Description("The schemas targeted, comma separated; empty if every schema was walked")
+  public String schemas;
+
+  @Label("Types")
+  @Description("The types targeted, comma separated; empty if every type was walked")
+  public String types;
+
+  @Label("Directories")
+  public int directories;
+
+  @Label("Entries Found")
+  public int entries;
+
+}
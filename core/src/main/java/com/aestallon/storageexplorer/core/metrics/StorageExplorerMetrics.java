@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.metrics;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+
+/**
+ * Central catalogue of the meters published by the explorer.
+ *
+ * <p>
+ * Storage indices and their collaborators are not Spring beans, thus every meter is registered
+ * against Micrometer's {@link Metrics#globalRegistry global registry}. Spring Boot (with actuator
+ * present) adds its own registry to the global one, so everything recorded here shows up on the
+ * actuator endpoints without further wiring. Anywhere else (CLI, tests) a registry has to be added
+ * explicitly with {@link Metrics#addRegistry(MeterRegistry)}.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class StorageExplorerMetrics {
+
+  public static final String PREFIX = "storage.explorer";
+
+  public static final String LOAD_LATENCY = PREFIX + ".load.latency";
+  public static final String LOAD_BATCH_SIZE = PREFIX + ".load.batch.size";
+  public static final String LOAD_BATCH_FLUSH = PREFIX + ".load.batch.flush";
+  public static final String WALKER_DIRECTORIES = PREFIX + ".walker.directories";
+  public static final String WALKER_THROUGHPUT = PREFIX + ".walker.throughput";
+  public static final String WALKER_DURATION = PREFIX + ".walker.duration";
+  public static final String LOOKUP_CACHE = PREFIX + ".lookup.cache";
+  public static final String INDEX_CACHE = PREFIX + ".index.cache";
+  public static final String INDEX_SIZE = PREFIX + ".index.size";
+  public static final String SCHEDULER_IN_FLIGHT = PREFIX + ".scheduler.in.flight";
+  public static final String SCHEDULER_QUEUE_DEPTH = PREFIX + ".scheduler.queue.depth";
+  public static final String EXECUTOR_IN_FLIGHT = PREFIX + ".executor.in.flight";
+  public static final String SCRIPT_CACHE = PREFIX + ".script.cache";
+  public static final String SCRIPT_CACHE_SIZE = PREFIX + ".script.cache.size";
+  public static final String SCRIPT_COMPILE_TIME = PREFIX + ".script.compile.time";
+
+  public static final String TAG_STORAGE = "storage";
+  public static final String TAG_BACKEND = "backend";
+  public static final String TAG_STRATEGY = "strategy";
+  public static final String TAG_REASON = "reason";
+  public static final String TAG_RESULT = "result";
+  public static final String TAG_LANE = "lane";
+  public static final String TAG_EXECUTOR = "executor";
+
+  public static final String BACKEND_FS = "fs";
+  public static final String BACKEND_DB = "db";
+
+  public static final String FLUSH_FULL = "full";
+  public static final String FLUSH_DRAINED = "drained";
+  public static final String FLUSH_PREFETCH = "prefetch";
+
+
+  private static final class IndexSizeHolder {
+
+    private volatile WeakReference<Object> index = new WeakReference<>(null);
+    private volatile ToIntFunction<Object> size = it -> 0;
+
+    private double size() {
+      final Object o = index.get();
+      return o == null ? 0d : size.applyAsInt(o);
+    }
+
+  }
+
+
+  private static final class BatchMeters {
+
+    private final StorageId storageId;
+    private final DistributionSummary sizes;
+    private final Map<String, Counter> flushes = new ConcurrentHashMap<>();
+
+    private BatchMeters(final StorageId storageId) {
+      this.storageId = storageId;
+      this.sizes = DistributionSummary.builder(LOAD_BATCH_SIZE)
+          .description("Number of entries loaded in one relational database batch")
+          .tag(TAG_STORAGE, storageId.toString())
+          .baseUnit("entries")
+          .register(registry());
+    }
+
+    private Counter flush(final String reason) {
+      return flushes.computeIfAbsent(reason, r -> Counter.builder(LOAD_BATCH_FLUSH)
+          .description("Relational database batches flushed, by the reason of flushing")
+          .tag(TAG_STORAGE, storageId.toString())
+          .tag(TAG_REASON, r)
+          .register(registry()));
+    }
+
+  }
+
+
+  // the global registry is a composite -> meters registered on it up front are still forwarded to
+  // registries added later on:
+  private static final Counter LOOKUP_HIT = lookup("hit");
+  private static final Counter LOOKUP_MISS = lookup("miss");
+  private static final Counter WALK_DIRECTORIES = Counter.builder(WALKER_DIRECTORIES)
+      .description("Directories visited by the file system storage walker")
+      .register(registry());
+  private static final Timer WALK_DURATION = Timer.builder(WALKER_DURATION)
+      .description("Time taken by a file system storage walk")
+      .register(registry());
+  private static final DistributionSummary WALK_THROUGHPUT =
+      DistributionSummary.builder(WALKER_THROUGHPUT)
+          .description("Directories per second visited by a file system storage walk")
+          .baseUnit("directories/s")
+          .register(registry());
+
+  private static final Map<StorageId, BatchMeters> BATCHES = new ConcurrentHashMap<>();
+  private static final Map<StorageId, IndexSizeHolder> INDEX_SIZES = new ConcurrentHashMap<>();
+  private static final Map<String, AtomicInteger> EXECUTORS_IN_FLIGHT = new ConcurrentHashMap<>();
+
+  private StorageExplorerMetrics() {}
+
+  public static MeterRegistry registry() {
+    return Metrics.globalRegistry;
+  }
+
+  private static Counter lookup(final String result) {
+    return Counter.builder(LOOKUP_CACHE)
+        .description("Object entry lookup table accesses during property discovery")
+        .tag(TAG_RESULT, result)
+        .register(registry());
+  }
+
+  public static Timer loadLatency(final String backend, final String strategy) {
+    return Timer.builder(LOAD_LATENCY)
+        .description("Time taken to load a single entry, or a batch of entries from the backend")
+        .tag(TAG_BACKEND, backend)
+        .tag(TAG_STRATEGY, strategy)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofNanos(100_000L))
+        .maximumExpectedValue(Duration.ofSeconds(30L))
+        .register(registry());
+  }
+
+  public static void recordBatch(final StorageId storageId, final int size, final String reason) {
+    final BatchMeters meters = BATCHES.computeIfAbsent(storageId, BatchMeters::new);
+    meters.sizes.record(size);
+    meters.flush(reason).increment();
+  }
+
+  public static void recordWalk(final int directories, final long nanos) {
+    WALK_DIRECTORIES.increment(directories);
+    WALK_DURATION.record(Duration.ofNanos(nanos));
+    if (nanos > 0L) {
+      WALK_THROUGHPUT.record(directories * 1_000_000_000d / nanos);
+    }
+  }
+
+  public static void recordLookup(final boolean hit) {
+    (hit ? LOOKUP_HIT : LOOKUP_MISS).increment();
+  }
+
+  /**
+   * Binds the size gauge of the given storage to the given index.
+   *
+   * <p>
+   * Indices get replaced on re-import, while a gauge, once registered, is never re-registered by
+   * Micrometer -> the gauge reads through a holder, and the index is only weakly reachable from it.
+   *
+   * @param storageId the storage the index belongs to
+   * @param index the index
+   * @param size the function returning the number of known entries of the index
+   * @param <T> the type of the index
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> void bindIndexSize(final StorageId storageId,
+                                       final T index,
+                                       final ToIntFunction<? super T> size) {
+    final IndexSizeHolder holder = INDEX_SIZES.computeIfAbsent(storageId, id -> {
+      final var h = new IndexSizeHolder();
+      Gauge.builder(INDEX_SIZE, h, IndexSizeHolder::size)
+          .description("Number of entries known to the storage index")
+          .tag(TAG_STORAGE, id.toString())
+          .register(registry());
+      return h;
+    });
+    holder.size = (ToIntFunction<Object>) size;
+    holder.index = new WeakReference<>(index);
+  }
+
+  public static AtomicInteger executorInFlight(final String executor) {
+    return EXECUTORS_IN_FLIGHT.computeIfAbsent(executor, k -> {
+      final var counter = new AtomicInteger();
+      Gauge.builder(EXECUTOR_IN_FLIGHT, counter, AtomicInteger::get)
+          .description("Entries currently being evaluated by entry evaluation executors")
+          .tag(TAG_EXECUTOR, k)
+          .register(registry());
+      return counter;
+    });
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.model.entry;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Read-only {@link java.util.Set} view over an array of distinct elements.
+ *
+ * <p>
+ * Entries keep their properties in plain arrays to save the per-element overhead of a hash set;
+ * this view lets them hand those arrays out through the {@code Set} based API without copying.
+ * Callers are expected to stream or iterate the view -> {@link #contains(Object)} is a linear
+ * scan.
+ *
+ * @param <T> the type of the elements
+ */
+final class ArraySetView<T> extends AbstractSet<T> {
+
+  private final T[] elements;
+
+  ArraySetView(T[] elements) {
+    this.elements = elements;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new Iterator<>() {
+
+      private int i = 0;
+
+      @Override
+      public boolean hasNext() {
+        return i < elements.length;
+      }
+
+      @Override
+      public T next() {
+        if (i >= elements.length) {
+          throw new NoSuchElementException();
+        }
+        return elements[i++];
+      }
+
+    };
+  }
+
+  @Override
+  public Spliterator<T> spliterator() {
+    return Spliterators.spliterator(
+        elements,
+        Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+  }
+
+  @Override
+  public int size() {
+    return elements.length;
+  }
+
+  @Override
+  public Object[] toArray() {
+    return Arrays.copyOf(elements, elements.length, Object[].class);
+  }
+
+}
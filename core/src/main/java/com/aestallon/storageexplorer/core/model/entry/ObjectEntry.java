@@ -18,11 +18,16 @@ package com.aestallon.storageexplorer.core.model.entry;
 import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import static java.util.stream.Collectors.toSet;
@@ -52,18 +57,45 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
 
   private static final Logger log = LoggerFactory.getLogger(ObjectEntry.class);
 
+  private static final UriProperty[] NO_PROPERTIES = new UriProperty[0];
+  private static final ScopedEntry[] NO_SCOPED_ENTRIES = new ScopedEntry[0];
+  private static final String SINGLE_VERSION_SUFFIX = "-s";
+
+  // Entries are counted in the millions, types in the hundreds: each entry would otherwise keep
+  // its own copy of the type name substring.
+  private static final Map<String, String> TYPE_NAMES = new ConcurrentHashMap<>();
+
+  // A lock per entry costs a ReentrantLock and its Sync object on every one of them, even though
+  // contention is only ever expected on the handful of entries being loaded at a given moment.
+  private static final int REFRESH_LOCK_STRIPES = 256;
+  private static final Lock[] REFRESH_LOCKS = new Lock[REFRESH_LOCK_STRIPES];
+
+  static {
+    for (int i = 0; i < REFRESH_LOCK_STRIPES; i++) {
+      REFRESH_LOCKS[i] = new ReentrantLock();
+    }
+  }
+
+  private static final long VERSION_UNKNOWN = Long.MIN_VALUE;
+  private static final long VERSION_SINGLE = -1L;
+
   private final WeakReference<StorageIndex<?>> storageIndex;
   private final StorageId id;
   private final Path path;
   private final URI uri;
   private final String typeName;
-  private final String uuid;
-  private final Set<ScopedEntry> scopedEntries = new HashSet<>();
 
-  private final Lock refreshLock = new ReentrantLock(true);
-  private boolean valid = false;
-  private Versioning versioning;
-  private Set<UriProperty> uriProperties;
+  // the UUID is kept as two longs where it round-trips; anything else is kept as is. The string
+  // form of a parsed UUID is only materialised for the entries it is asked of, then kept:
+  private final long uuidMsb;
+  private final long uuidLsb;
+  private final boolean uuidSingleVersion;
+  private String uuidString;
+
+  private volatile ScopedEntry[] scopedEntries;
+  private volatile boolean valid = false;
+  private volatile long version = VERSION_UNKNOWN;
+  private volatile UriProperty[] uriProperties;
 
   ObjectEntry(final StorageIndex<?> storageIndex,
               final Path path,
@@ -72,16 +104,70 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
     this.id = storageIndex.id();
     this.path = path;
     this.uri = uri;
-    this.typeName = Uris.getTypeName(uri);
-    this.uuid = Uris.getUuid(uri);
+    this.typeName = TYPE_NAMES.computeIfAbsent(Uris.getTypeName(uri), it -> it);
+
+    final String uuid = Uris.getUuid(uri);
+    final boolean singleVersion = uuid.endsWith(SINGLE_VERSION_SUFFIX);
+    final String bare = singleVersion
+        ? uuid.substring(0, uuid.length() - SINGLE_VERSION_SUFFIX.length())
+        : uuid;
+    final UUID parsed = tryParseUuid(bare);
+    if (parsed == null) {
+      this.uuidMsb = 0L;
+      this.uuidLsb = 0L;
+      this.uuidSingleVersion = false;
+      this.uuidString = uuid;
+    } else {
+      this.uuidMsb = parsed.getMostSignificantBits();
+      this.uuidLsb = parsed.getLeastSignificantBits();
+      this.uuidSingleVersion = singleVersion;
+      this.uuidString = null;
+    }
+  }
+
+  private static UUID tryParseUuid(final String s) {
+    if (s.length() != 36) {
+      return null;
+    }
+
+    try {
+      final UUID uuid = UUID.fromString(s);
+      // UUID::fromString is lenient with casing, we must hand back exactly what we were given:
+      return uuid.toString().equals(s) ? uuid : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private Lock refreshLock() {
+    final int h = uri.hashCode();
+    return REFRESH_LOCKS[(h ^ (h >>> 16)) & (REFRESH_LOCK_STRIPES - 1)];
   }
 
   public Set<ScopedEntry> scopedEntries() {
-    return scopedEntries;
+    final ScopedEntry[] arr = scopedEntries;
+    return arr == null ? Collections.emptySet() : new ArraySetView<>(arr);
   }
 
   public void addScopedEntry(final ScopedEntry scopedEntry) {
-    scopedEntries.add(scopedEntry);
+    Objects.requireNonNull(scopedEntry, "scopedEntry cannot be null!");
+    final Lock lock = refreshLock();
+    lock.lock();
+    try {
+      final ScopedEntry[] arr = scopedEntries == null ? NO_SCOPED_ENTRIES : scopedEntries;
+      for (final ScopedEntry e : arr) {
+        if (e.equals(scopedEntry)) {
+          return;
+        }
+      }
+
+      final ScopedEntry[] next = new ScopedEntry[arr.length + 1];
+      System.arraycopy(arr, 0, next, 0, arr.length);
+      next[arr.length] = scopedEntry;
+      scopedEntries = next;
+    } finally {
+      lock.unlock();
+    }
   }
 
   @Override
@@ -100,27 +186,49 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
       refresh();
     }
 
-    if (uriProperties == null) {
+    final UriProperty[] props = this.uriProperties;
+    if (props == null) {
       log.warn("!!!!!!!!!! NULL URI PROPERTIES FOR {} !!!!!!!!!!", uri);
       return Collections.emptySet();
     }
-    final var ret = new HashSet<>(this.uriProperties);
-    ret.addAll(scopedEntriesAsUriProperties());
-    return ret;
+
+    final ScopedEntry[] scoped = scopedEntries;
+    if (scoped == null) {
+      return new ArraySetView<>(props);
+    }
+
+    final UriProperty[] ret = new UriProperty[props.length + scoped.length];
+    System.arraycopy(props, 0, ret, 0, props.length);
+    for (int i = 0; i < scoped.length; i++) {
+      ret[props.length + i] = scopedEntryAsUriProperty(scoped[i]);
+    }
+    return new ArraySetView<>(ret);
   }
 
   public Set<UriProperty> scopedEntriesAsUriProperties() {
-    return scopedEntries.stream()
-        .map(e -> UriProperty.of(new UriProperty.Segment[] { UriProperty.Segment.key(
-                (e instanceof ObjectEntry o) ? o.uuid : e.uri().toString()) },
-            e.uri()))
-        .collect(toSet());
+    final ScopedEntry[] scoped = scopedEntries;
+    if (scoped == null) {
+      return Collections.emptySet();
+    }
+
+    final UriProperty[] ret = new UriProperty[scoped.length];
+    for (int i = 0; i < scoped.length; i++) {
+      ret[i] = scopedEntryAsUriProperty(scoped[i]);
+    }
+    return new ArraySetView<>(ret);
+  }
+
+  private static UriProperty scopedEntryAsUriProperty(final ScopedEntry e) {
+    return UriProperty.of(
+        new UriProperty.Segment[] { UriProperty.Segment.key(
+            (e instanceof ObjectEntry o) ? o.uuid() : e.uri().toString()) },
+        e.uri());
   }
 
   @Override
   public boolean references(StorageEntry that) {
     return StorageEntry.super.references(that)
-           || ((that instanceof ScopedEntry se) && scopedEntries.contains(se));
+           || ((that instanceof ScopedEntry se) && scopedEntries().contains(se));
   }
 
   @Override
@@ -129,17 +237,9 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
       return;
     }
 
-    refreshLock.lock();
-    try {
-      if (valid) {
-        return;
-      }
-
-      // TODO: maybe explicitly get() here? The whole entrance to the critical section is awful...
-      Objects.requireNonNull(storageIndex.get()).loader().load(this);
-    } finally {
-      refreshLock.unlock();
-    }
+    // the lock is shared with every other entry of the stripe -> the load must not happen under it,
+    // only the publication of its result (see refresh(Map, long)):
+    Objects.requireNonNull(storageIndex.get()).loader().load(this);
   }
 
   public void refresh(final ObjectNode objectNode) {
@@ -157,24 +257,64 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
       return;
     }
 
-    if (objectAsMap == null) {
-      uriProperties = new HashSet<>();
-      return;
+    final UriProperty[] props = objectAsMap == null ? null : initUriProperties(objectAsMap);
+    if (publish(props, version, false)) {
+      storageIndex.get().notifyRefresh(this);
     }
+  }
 
-    uriProperties = initUriProperties(objectAsMap);
-    valid = true;
-    versioning = version < 0 ? new Versioning.Single() : new Versioning.Multi(version);
-    storageIndex.get().notifyRefresh(this);
+  /**
+   * Replaces what is known of this entry with the given content, just written to the storage.
+   *
+   * @param objectAsMap the content written
+   * @param version the version written, or {@code -1} if the entry is single version
+   */
+  public void modified(final Map<String, Object> objectAsMap, final long version) {
+    final UriProperty[] props = objectAsMap == null ? null : initUriProperties(objectAsMap);
+    if (publish(props, version, true)) {
+      storageIndex.get().notifyRefresh(this);
+    }
+    Objects.requireNonNull(storageIndex.get()).notifyModified(this);
   }
 
-  private Set<UriProperty> initUriProperties(final Map<String, Object> objectAsMap) {
+  private boolean publish(final UriProperty[] props, final long version, final boolean replace) {
+    final Lock lock = refreshLock();
+    lock.lock();
+    try {
+      if (valid && !replace) {
+        // someone else has loaded this entry in the meantime:
+        return false;
+      }
+
+      if (props == null) {
+        valid = false;
+        uriProperties = NO_PROPERTIES;
+        return false;
+      }
+
+      uriProperties = props;
+      this.version = version < 0 ? VERSION_SINGLE : version;
+      valid = true;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static UriProperty[] initUriProperties(final Map<String, Object> objectAsMap) {
     return ObjectMaps.flatten(objectAsMap)
         .filter(it -> !UriProperty.Segment.isOwnUri(it.a()))
         .map(Pair.onB(Uris::parse))
         .flatMap(Pair.streamOnB())
         .map(it -> UriProperty.of(it.a(), it.b()))
-        .collect(toSet());
+        .collect(toSet())
+        .toArray(UriProperty[]::new);
+  }
+
+  private static UriProperty[] toArray(final Set<UriProperty> uriProperties) {
+    return uriProperties == null || uriProperties.isEmpty()
+        ? NO_PROPERTIES
+        : uriProperties.toArray(UriProperty[]::new);
   }
 
   public String getDisplayName(final ObjectEntryLoadResult.SingleVersion version) {
@@ -210,21 +350,29 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
 
   @Override
   public void accept(StorageEntry storageEntry) {
-    refreshLock.lock();
+    final Lock lock = refreshLock();
+    lock.lock();
     try {
 
+      // the arrays are never mutated once published, so they can be shared between entries:
       if (Objects.requireNonNull(storageEntry) instanceof ObjectEntry that && that.valid) {
         uriProperties = that.uriProperties;
         valid = true;
       }
 
     } finally {
-      refreshLock.unlock();
+      lock.unlock();
     }
   }
 
   public String uuid() {
-    return uuid;
+    String s = uuidString;
+    if (s == null) {
+      // racing threads compute the same immutable string -> no need to synchronise:
+      s = new UUID(uuidMsb, uuidLsb).toString();
+      uuidString = s = uuidSingleVersion ? s + SINGLE_VERSION_SUFFIX : s;
+    }
+    return s;
   }
 
   public String typeName() {
@@ -232,13 +380,14 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
   }
 
   public Versioning versioning() {
-    if (versioning == null) {
-      return uri.toString().endsWith("-s")
+    final long v = version;
+    if (v == VERSION_UNKNOWN) {
+      return uri.toString().endsWith(SINGLE_VERSION_SUFFIX)
           ? new Versioning.Single()
           : new Versioning.Multi(0L);
     }
 
-    return versioning;
+    return v == VERSION_SINGLE ? new Versioning.Single() : new Versioning.Multi(v);
   }
 
   @Override
@@ -251,6 +400,32 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
     return Objects.requireNonNull(storageIndex.get()).loader().load(this);
   }
 
+  /**
+   * Loads the given entries together: the entries of a storage are loaded by a single batched
+   * request, instead of one by one.
+   *
+   * @param entries the entries to load
+   *
+   * @return the load request of each given entry
+   */
+  public static Map<ObjectEntry, ObjectEntryLoadRequest> tryLoadAll(
+      final Collection<ObjectEntry> entries) {
+    if (entries.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    final Map<StorageIndex<?>, List<ObjectEntry>> byIndex = new HashMap<>();
+    for (final ObjectEntry entry : entries) {
+      byIndex
+          .computeIfAbsent(Objects.requireNonNull(entry.storageIndex.get()), k -> new ArrayList<>())
+          .add(entry);
+    }
+
+    final Map<ObjectEntry, ObjectEntryLoadRequest> ret = new HashMap<>();
+    byIndex.forEach((index, es) -> ret.putAll(index.loader().loadAll(es)));
+    return ret;
+  }
+
   @Override
   public boolean valid() {
     return valid;
@@ -258,7 +433,7 @@ public sealed class ObjectEntry implements StorageEntry permits ScopedObjectEntr
 
   @Override
   public void setUriProperties(Set<UriProperty> uriProperties) {
-    this.uriProperties = uriProperties;
+    this.uriProperties = toArray(uriProperties);
     this.valid = true;
   }
 
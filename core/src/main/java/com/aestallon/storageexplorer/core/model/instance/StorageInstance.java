@@ -4,6 +4,9 @@ import java.net.URI;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +16,7 @@ import org.springframework.util.Assert;
 import com.aestallon.storageexplorer.core.event.EntryAcquired;
 import com.aestallon.storageexplorer.core.event.EntryAcquisitionFailed;
 import com.aestallon.storageexplorer.core.event.EntryDiscovered;
+import com.aestallon.storageexplorer.core.event.StorageReadinessChanged;
 import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 import com.aestallon.storageexplorer.core.model.instance.dto.Availability;
@@ -37,18 +41,40 @@ public final class StorageInstance {
     return new StorageInstance(new StorageId(dto.getId())).applyDto(dto);
   }
 
+
+
+  /**
+   * Describes how far the storage backend behind an instance got in its initialisation.
+   */
+  public enum Readiness {
+    /** The backend is not initialised yet, and will be on first use. */
+    PENDING,
+    /** The backend is being initialised right now. */
+    INITIALISING,
+    /** The index is available. */
+    READY,
+    /** The backend could not be initialised. */
+    FAILED
+  }
+
+
   private final StorageId id;
   private String name;
   private Availability availability;
   private StorageLocation location;
   private IndexingStrategy indexingStrategy;
 
-  private StorageIndex<?> index;
+  private volatile StorageIndex<?> index;
+  private volatile Readiness readiness;
+  private Runnable initialiser;
+  private volatile CompletableFuture<StorageIndex<?>> initialisation = new CompletableFuture<>();
+  private final AtomicBoolean initialisationStarted = new AtomicBoolean();
   private ApplicationEventPublisher eventPublisher;
 
   private StorageInstance(final StorageId id) {
     this.id = Objects.requireNonNull(id, "Storage Instance ID cannot be null!");
     availability = Availability.UNAVAILABLE;
+    readiness = Readiness.PENDING;
   }
 
   private <EVENT> void publishEvent(final EVENT e) {
@@ -100,26 +126,128 @@ public final class StorageInstance {
     this.indexingStrategy = IndexingStrategy.of(type);
   }
 
+  /**
+   * Returns the index of this storage, initialising the backend first if it has been
+   * {@link #deferInitialisation(Runnable) deferred} and not initialised yet. If the initialisation
+   * is already in progress on another thread (e.g. a background warm-up), waits for it.
+   *
+   * @return the index, or {@code null} if the backend is not available
+   */
   public StorageIndex<?> index() {
+    final StorageIndex<?> idx = index;
+    if (idx != null || readiness == Readiness.FAILED) {
+      return idx;
+    }
+
+    // pending, or initialising -> the latter holds the monitor, we wait for it:
+    ensureInitialised();
     return index;
   }
 
-  public void setIndex(final StorageIndex<?> index) {
+  public synchronized void setIndex(final StorageIndex<?> index) {
     this.index = index;
     this.index.setEventPublisher(eventPublisher);
+    initialiser = null;
+    setReadiness(Readiness.READY);
+    initialisation.complete(index);
+  }
+
+  public Readiness readiness() {
+    return readiness;
+  }
+
+  /**
+   * Registers the work required to create the index of this storage, without executing it.
+   *
+   * <p>
+   * The initialiser runs at most once: either on the first call to {@link #index()}, or when
+   * {@link #ensureInitialised()} is called explicitly (e.g. by a background warm-up, or through
+   * {@link #initialiseAsync(Executor)}), whichever comes first. The initialiser is expected to
+   * {@link #setIndex(StorageIndex) set the index} on success.
+   *
+   * @param initialiser the work creating the index
+   */
+  public synchronized void deferInitialisation(final Runnable initialiser) {
+    this.initialiser = Objects.requireNonNull(initialiser, "initialiser cannot be null!");
+    if (initialisation.isDone()) {
+      initialisation = new CompletableFuture<>();
+    }
+    initialisationStarted.set(false);
+    setReadiness(Readiness.PENDING);
+  }
+
+  /**
+   * Runs the deferred initialiser of this storage, if there is one still pending. Concurrent
+   * callers wait for the initialisation in progress.
+   */
+  public synchronized void ensureInitialised() {
+    final Runnable r = initialiser;
+    if (r == null) {
+      // nothing to run (anymore) -> whoever waits for the initialisation gets what we have:
+      initialisation.complete(index);
+      return;
+    }
+
+    initialiser = null;
+    setReadiness(Readiness.INITIALISING);
+    try {
+      r.run();
+    } finally {
+      if (index == null) {
+        setReadiness(Readiness.FAILED);
+      }
+      initialisation.complete(index);
+    }
+  }
+
+  /**
+   * Initialises this storage on the given executor, unless it is initialised (or being
+   * initialised) already. Unlike {@link #index()}, this never blocks the calling thread.
+   *
+   * @param executor the executor to run the deferred initialiser on, if it has not started yet
+   *
+   * @return completed with the index once the storage is initialised, or with {@code null} if the
+   *     backend is not available
+   */
+  public CompletableFuture<StorageIndex<?>> initialiseAsync(final Executor executor) {
+    final StorageIndex<?> idx = index;
+    if (idx != null || readiness == Readiness.FAILED) {
+      return CompletableFuture.completedFuture(idx);
+    }
+
+    final CompletableFuture<StorageIndex<?>> ret = initialisation;
+    if (initialisationStarted.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::ensureInitialised);
+      } catch (final RuntimeException e) {
+        initialisationStarted.set(false);
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    return ret;
+  }
+
+  private void setReadiness(final Readiness readiness) {
+    if (this.readiness == readiness) {
+      return;
+    }
+
+    this.readiness = readiness;
+    publishEvent(new StorageReadinessChanged(this, readiness));
   }
 
   public void refreshIndex() {
-    if (index == null || indexingStrategy == null) {
+    final StorageIndex<?> idx = index();
+    if (idx == null || indexingStrategy == null) {
       log.warn("Index or Strategy is not available for instance: {}", this);
       return;
     }
 
-    index.refresh(indexingStrategy);
+    idx.refresh(indexingStrategy);
   }
 
   public void validate(final Collection<? extends StorageEntry> entries) {
-    index.revalidate(entries);
+    index().revalidate(entries);
   }
 
   /**
@@ -134,6 +262,12 @@ public final class StorageInstance {
    *     otherwise
    */
   public Optional<StorageEntry> acquire(final URI uri) {
+    final StorageIndex<?> index = index();
+    if (index == null) {
+      publishEvent(new EntryAcquisitionFailed(this, uri));
+      return Optional.empty();
+    }
+
     final StorageIndex.EntryAcquisitionResult result = index.getOrCreate(uri);
     return switch (result) {
       case StorageIndex.EntryAcquisitionResult.Fail f -> {
@@ -191,6 +325,12 @@ public final class StorageInstance {
   }
 
   public Optional<StorageEntry> discover(final URI uri) {
+    final StorageIndex<?> index = index();
+    if (index == null) {
+      publishEvent(new EntryAcquisitionFailed(this, uri));
+      return Optional.empty();
+    }
+
     final StorageIndex.EntryAcquisitionResult result = index.getOrCreate(uri);
     return switch (result) {
       case StorageIndex.EntryAcquisitionResult.Fail f -> {
@@ -208,6 +348,11 @@ public final class StorageInstance {
   }
 
   public Optional<StorageEntry> softDiscover(final URI uri) {
+    final StorageIndex<?> index = index();
+    if (index == null) {
+      return Optional.empty();
+    }
+
     return switch (index.getOrCreate(uri)) {
       case StorageIndex.EntryAcquisitionResult.Fail f -> Optional.empty();
       case StorageIndex.EntryAcquisitionResult.Present(StorageEntry e) -> Optional.of(e);
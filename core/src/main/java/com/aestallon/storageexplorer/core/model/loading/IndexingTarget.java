@@ -23,4 +23,20 @@ public record IndexingTarget(Set<String> schemas, Set<String> types) {
     return schemas.isEmpty() && types.isEmpty();
   }
 
+  /**
+   * Returns whether every entry selected by the given target is selected by this one too. An empty
+   * set of schemas (or types) selects any of them.
+   *
+   * @param that the other target
+   *
+   * @return {@code true} if this target is at least as wide as the other one
+   */
+  public boolean covers(final IndexingTarget that) {
+    return covers(schemas, that.schemas) && covers(types, that.types);
+  }
+
+  private static boolean covers(final Set<String> outer, final Set<String> inner) {
+    return outer.isEmpty() || (!inner.isEmpty() && outer.containsAll(inner));
+  }
+
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.model.loading;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A filter on storage entries a backend may evaluate on its own, before any entry gets loaded.
+ *
+ * <p>
+ * URI filters are {@link #exact() exact}: they select precisely the entries whose own URI matches.
+ * Property filters only address top-level properties of the latest version of an entry, and are
+ * never exact: a backend is free to evaluate them conservatively (or not at all) as long as it
+ * never drops an entry that would match -> whoever pushes a property filter down still has to
+ * re-check the surviving entries.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public sealed interface PushdownPredicate {
+
+  /**
+   * Top-level property names a backend can safely address (in a JSON path, or as a quoted
+   * identifier).
+   */
+  Pattern PROPERTY_NAME = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+  static boolean isAddressable(final String property) {
+    return property != null && PROPERTY_NAME.matcher(property).matches();
+  }
+
+  static PushdownPredicate and(final PushdownPredicate left, final PushdownPredicate right) {
+    if (left == null) {
+      return right;
+    }
+
+    if (right == null) {
+      return left;
+    }
+
+    return new And(List.of(left, right));
+  }
+
+  static PushdownPredicate or(final PushdownPredicate left, final PushdownPredicate right) {
+    if (left == null || right == null) {
+      // one side cannot be pushed, thus it may match anything:
+      return null;
+    }
+
+    return new Or(List.of(left, right));
+  }
+
+  boolean exact();
+
+
+  record UriIn(Set<String> uris) implements PushdownPredicate {
+
+    public UriIn {
+      Objects.requireNonNull(uris, "uris cannot be null!");
+      uris = Set.copyOf(uris);
+    }
+
+    @Override
+    public boolean exact() {
+      return true;
+    }
+
+  }
+
+
+  record UriStartsWith(String prefix) implements PushdownPredicate {
+
+    public UriStartsWith {
+      Objects.requireNonNull(prefix, "prefix cannot be null!");
+    }
+
+    @Override
+    public boolean exact() {
+      return true;
+    }
+
+  }
+
+
+  /**
+   * The property equals any of the given values. Values may be strings, numbers or booleans.
+   */
+  record PropertyIn(String property, List<Object> values) implements PushdownPredicate {
+
+    public PropertyIn {
+      if (!isAddressable(property)) {
+        throw new IllegalArgumentException("Property cannot be pushed down: " + property);
+      }
+
+      values = List.copyOf(values);
+      if (values.isEmpty()) {
+        throw new IllegalArgumentException("values cannot be empty!");
+      }
+    }
+
+    @Override
+    public boolean exact() {
+      return false;
+    }
+
+  }
+
+
+  record PropertyStartsWith(String property, String prefix) implements PushdownPredicate {
+
+    public PropertyStartsWith {
+      if (!isAddressable(property)) {
+        throw new IllegalArgumentException("Property cannot be pushed down: " + property);
+      }
+
+      Objects.requireNonNull(prefix, "prefix cannot be null!");
+    }
+
+    @Override
+    public boolean exact() {
+      return false;
+    }
+
+  }
+
+
+  enum Comparison {
+    LT("<"), LE("<="), GT(">"), GE(">=");
+
+    private final String sql;
+
+    Comparison(String sql) {
+      this.sql = sql;
+    }
+
+    public String sql() {
+      return sql;
+    }
+
+  }
+
+
+  record PropertyCompare(String property, Comparison comparison, Number value)
+      implements PushdownPredicate {
+
+    public PropertyCompare {
+      if (!isAddressable(property)) {
+        throw new IllegalArgumentException("Property cannot be pushed down: " + property);
+      }
+
+      Objects.requireNonNull(comparison, "comparison cannot be null!");
+      Objects.requireNonNull(value, "value cannot be null!");
+    }
+
+    @Override
+    public boolean exact() {
+      return false;
+    }
+
+  }
+
+
+  record And(List<PushdownPredicate> operands) implements PushdownPredicate {
+
+    public And {
+      operands = List.copyOf(operands);
+    }
+
+    @Override
+    public boolean exact() {
+      return operands.stream().allMatch(PushdownPredicate::exact);
+    }
+
+  }
+
+
+  record Or(List<PushdownPredicate> operands) implements PushdownPredicate {
+
+    public Or {
+      operands = List.copyOf(operands);
+    }
+
+    @Override
+    public boolean exact() {
+      return operands.stream().allMatch(PushdownPredicate::exact);
+    }
+
+  }
+
+}
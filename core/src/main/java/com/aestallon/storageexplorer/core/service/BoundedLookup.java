@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A map holding a bounded number of entries: once it holds more than its capacity, the entries
+ * admitted the earliest are evicted. Thread safe.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class BoundedLookup<K, V> {
+
+  // a key evicted, then admitted again, is queued again -> its earlier admission must not evict
+  // its later one, thus every admission is queued with the value it admitted:
+  private record Admission<K, V>(K key, V value) {}
+
+  private final ConcurrentHashMap<K, V> inner = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Admission<K, V>> admissionOrder =
+      new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final int capacity;
+
+  BoundedLookup(final int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive!");
+    }
+
+    this.capacity = capacity;
+  }
+
+  V get(final K key) {
+    return inner.get(key);
+  }
+
+  boolean containsKey(final K key) {
+    return inner.containsKey(key);
+  }
+
+  V computeIfAbsent(final K key, final Function<? super K, ? extends V> f) {
+    final boolean[] admitted = { false };
+    final V ret = inner.computeIfAbsent(key, k -> {
+      admitted[0] = true;
+      return f.apply(k);
+    });
+    if (admitted[0] && ret != null) {
+      admitted(key, ret);
+    }
+    return ret;
+  }
+
+  /**
+   * Admits the given value, unless the key is already present.
+   *
+   * @param key the key
+   * @param value the value
+   *
+   * @return {@code true} if the value got admitted
+   */
+  boolean putIfAbsent(final K key, final V value) {
+    if (inner.putIfAbsent(key, value) != null) {
+      return false;
+    }
+
+    admitted(key, value);
+    return true;
+  }
+
+  private void admitted(final K key, final V value) {
+    admissionOrder.add(new Admission<>(key, value));
+    if (size.incrementAndGet() <= capacity) {
+      return;
+    }
+
+    // every admission evicts at most one, thus we never overshoot by more than the number of
+    // threads admitting at once; admissions no longer current hold no slot, they are skipped:
+    Admission<K, V> eldest;
+    while ((eldest = admissionOrder.poll()) != null) {
+      if (inner.remove(eldest.key(), eldest.value())) {
+        size.decrementAndGet();
+        return;
+      }
+    }
+  }
+
+  int size() {
+    return inner.size();
+  }
+
+  int capacity() {
+    return capacity;
+  }
+
+}
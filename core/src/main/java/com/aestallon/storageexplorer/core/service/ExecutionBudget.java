@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The resources a single piece of bulk work (e.g. a script) may spend, and the means to stop it.
+ *
+ * <p>
+ * A budget limits the wall-clock time of the work, the number of entries it may load from the
+ * backend, and the (estimated) size of those entries. Loads are charged against the budget of the
+ * {@link LoadScheduler.Session} they are issued in. Once any limit is hit, or someone
+ * {@link #cancel() cancels} the work, the budget stops: its sessions are cancelled (dropping every
+ * load still waiting for a slot), and every {@link #onStop(Runnable) listener} is notified, so
+ * evaluations can stop admitting further work.
+ *
+ * <p>
+ * Stopping is cooperative: work already in progress is allowed to finish, and whatever was produced
+ * until then is a partial result -> the {@link #status()} tells why it is partial.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class ExecutionBudget {
+
+  public enum Status {
+
+    OK("completed"),
+    CANCELLED("cancelled"),
+    TIMED_OUT("timed out"),
+    MAX_ENTRIES_EXCEEDED("budget exceeded: too many entries loaded"),
+    MAX_BYTES_EXCEEDED("budget exceeded: too much data loaded");
+
+    private final String description;
+
+    Status(final String description) {
+      this.description = description;
+    }
+
+    public String description() {
+      return description;
+    }
+
+    public boolean partial() {
+      return this != OK;
+    }
+
+    public boolean budgetExceeded() {
+      return this == TIMED_OUT || this == MAX_ENTRIES_EXCEEDED || this == MAX_BYTES_EXCEEDED;
+    }
+
+  }
+
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns a budget without any limits: the work it belongs to can only be stopped by
+   * {@link #cancel() cancelling} it.
+   *
+   * @return a new, unlimited budget
+   */
+  public static ExecutionBudget unlimited() {
+    return builder().build();
+  }
+
+
+  public static final class Builder {
+
+    private Duration timeout;
+    private long maxEntries = -1L;
+    private long maxBytes = -1L;
+
+    private Builder() {}
+
+    public Builder timeout(final Duration timeout) {
+      this.timeout = (timeout == null || timeout.isZero() || timeout.isNegative())
+          ? null
+          : timeout;
+      return this;
+    }
+
+    /**
+     * Sets the number of entries the work may load, non-positive values meaning no limit.
+     *
+     * @param maxEntries the number of entries the work may load
+     *
+     * @return this builder
+     */
+    public Builder maxEntries(final long maxEntries) {
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    /**
+     * Sets the estimated size of the entries the work may load, in bytes, non-positive values
+     * meaning no limit.
+     *
+     * @param maxBytes the size of the entries the work may load
+     *
+     * @return this builder
+     */
+    public Builder maxBytes(final long maxBytes) {
+      this.maxBytes = maxBytes;
+      return this;
+    }
+
+    public ExecutionBudget build() {
+      return new ExecutionBudget(timeout, maxEntries, maxBytes);
+    }
+
+  }
+
+
+  private final Duration timeout;
+  private final long maxEntries;
+  private final long maxBytes;
+  private final AtomicLong entriesLoaded = new AtomicLong();
+  private final AtomicLong bytesLoaded = new AtomicLong();
+  private final AtomicReference<Status> status = new AtomicReference<>(Status.OK);
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile CompletableFuture<Void> timer;
+  private volatile boolean completed;
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+  private ExecutionBudget(final Duration timeout, final long maxEntries, final long maxBytes) {
+    this.timeout = timeout;
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxBytes;
+  }
+
+  public Duration timeout() {
+    return timeout;
+  }
+
+  public long maxEntries() {
+    return maxEntries;
+  }
+
+  public long maxBytes() {
+    return maxBytes;
+  }
+
+  public long entriesLoaded() {
+    return entriesLoaded.get();
+  }
+
+  public long bytesLoaded() {
+    return bytesLoaded.get();
+  }
+
+  public Status status() {
+    return status.get();
+  }
+
+  public boolean stopped() {
+    return status.get() != Status.OK;
+  }
+
+  /**
+   * Starts the clock of the timeout, if any. Only the first invocation has any effect.
+   *
+   * @return this budget
+   */
+  public ExecutionBudget start() {
+    if (timeout != null && started.compareAndSet(false, true)) {
+      timer = CompletableFuture.runAsync(
+          () -> stop(Status.TIMED_OUT),
+          CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS));
+      if (stopped() || completed) {
+        // stopped or completed while the timer was being armed:
+        cancelTimer();
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Marks the work this budget belongs to done: the clock of the timeout (if any) is stopped, and
+   * the status is left as is. Listeners are not notified, for the budget has not stopped.
+   */
+  public void complete() {
+    completed = true;
+    cancelTimer();
+  }
+
+  private void cancelTimer() {
+    final CompletableFuture<Void> t = timer;
+    if (t != null) {
+      t.cancel(false);
+    }
+  }
+
+  /**
+   * Charges a loaded entry of the given (estimated) size against this budget.
+   *
+   * @param bytes the estimated size of the entry
+   */
+  public void charge(final long bytes) {
+    final long entries = entriesLoaded.incrementAndGet();
+    final long total = bytesLoaded.addAndGet(Math.max(0L, bytes));
+    if (maxEntries > 0L && entries > maxEntries) {
+      stop(Status.MAX_ENTRIES_EXCEEDED);
+    } else if (maxBytes > 0L && total > maxBytes) {
+      stop(Status.MAX_BYTES_EXCEEDED);
+    }
+  }
+
+  public void cancel() {
+    stop(Status.CANCELLED);
+  }
+
+  /**
+   * Registers a listener to run once this budget stops -> immediately, if it already has.
+   *
+   * @param listener the listener
+   */
+  public void onStop(final Runnable listener) {
+    Objects.requireNonNull(listener, "Listener cannot be null!");
+    listeners.add(listener);
+    if (stopped() && listeners.remove(listener)) {
+      listener.run();
+    }
+  }
+
+  private void stop(final Status reason) {
+    if (!status.compareAndSet(Status.OK, reason)) {
+      // the first reason wins, and listeners are only notified once:
+      return;
+    }
+
+    cancelTimer();
+    for (final Runnable listener : listeners) {
+      if (listeners.remove(listener)) {
+        listener.run();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ExecutionBudget{" +
+           "status=" + status.get() +
+           ", entries=" + entriesLoaded.get() + (maxEntries > 0L ? "/" + maxEntries : "") +
+           ", bytes=" + bytesLoaded.get() + (maxBytes > 0L ? "/" + maxBytes : "") +
+           ", timeout=" + timeout +
+           '}';
+  }
+
+}
@@ -15,24 +15,99 @@
 
 package com.aestallon.storageexplorer.core.service;
 
-import com.aestallon.storageexplorer.common.util.NotImplementedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 
 class FileSystemStorageEntryModificationService
     implements StorageEntryModificationService<FileSystemStorageIndex> {
 
+  private static final Logger log =
+      LoggerFactory.getLogger(FileSystemStorageEntryModificationService.class);
+
+  // every entry is a file (or a handful of them) of its own -> a batch is written in parallel, but
+  // by a bounded number of writers, so the disk is kept busy without being flooded:
+  static final int WRITERS = 8;
+
   private final FileSystemStorageIndex storageIndex;
+  private final PlatformObjectWriter writer;
 
   FileSystemStorageEntryModificationService(FileSystemStorageIndex storageIndex) {
     this.storageIndex = storageIndex;
+    this.writer = new PlatformObjectWriter(storageIndex.objectApi);
   }
 
   @Override
   public StorageEntryModificationResult modify(final StorageEntry storageEntry,
                                                final String content, 
                                                final ModificationMode mode) {
-    throw new NotImplementedException(
-        "Not yet implemented: FileSystemStorageEntryModificationService.modify(StorageEntry, String, ModificationMode)");
+    final var refusal = PlatformObjectWriter.refuse(storageEntry, mode);
+    if (refusal.isPresent()) {
+      return new StorageEntryModificationResult.Err(storageEntry, refusal.get());
+    }
+
+    final var entry = (ObjectEntry) storageEntry;
+    try {
+      return writer.replace(entry, writer.parse(content))
+          .<StorageEntryModificationResult>map(written -> {
+            written.refresh();
+            return new StorageEntryModificationResult.Ok(entry);
+          })
+          .orElseGet(() -> new StorageEntryModificationResult.Unchanged(entry));
+    } catch (final Exception e) {
+      log.error("Could not modify [ {} ] in {}", entry.uri(), storageIndex.id(), e);
+      return new StorageEntryModificationResult.Err(entry, e.getMessage());
+    }
+  }
+
+  @Override
+  public List<StorageEntryModificationResult> modifyAll(final List<ObjectEntry> entries,
+                                                        final List<PropertyChange> changes) {
+    final List<Future<StorageEntryModificationResult>> futures = new ArrayList<>(entries.size());
+    try (ExecutorService executor = Executors.newFixedThreadPool(
+        WRITERS,
+        Thread.ofVirtual().name("fs-writer-", 0).factory())) {
+      for (final ObjectEntry entry : entries) {
+        futures.add(executor.submit(() -> apply(entry, changes)));
+      }
+    }
+
+    return IntStream.range(0, entries.size())
+        .mapToObj(i -> {
+          final Future<StorageEntryModificationResult> f = futures.get(i);
+          return f.state() == Future.State.SUCCESS
+              ? f.resultNow()
+              : new StorageEntryModificationResult.Err(
+                  entries.get(i),
+                  "Failed to modify " + entries.get(i).uri());
+        })
+        .toList();
+  }
+
+  private StorageEntryModificationResult apply(final ObjectEntry entry,
+                                               final List<PropertyChange> changes) {
+    try {
+      // files are independent of each other -> every entry is final (and refreshed) once written:
+      return writer.apply(entry, changes)
+          .<StorageEntryModificationResult>map(written -> {
+            written.refresh();
+            return new StorageEntryModificationResult.Ok(entry);
+          })
+          .orElseGet(() -> new StorageEntryModificationResult.Unchanged(entry));
+    } catch (final RuntimeException e) {
+      log.error("Could not modify [ {} ] in {}: {}",
+          entry.uri(),
+          storageIndex.id(),
+          e.getMessage());
+      return new StorageEntryModificationResult.Err(entry, e.getMessage());
+    }
   }
 
 }
@@ -15,13 +15,21 @@
 
 package com.aestallon.storageexplorer.core.service;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smartbit4all.api.collection.CollectionApi;
 import org.smartbit4all.core.object.ObjectApi;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntryFactory;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
 import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
@@ -33,6 +41,7 @@ public final class FileSystemStorageIndex extends StorageIndex<FileSystemStorage
 
   private final Path pathToStorage;
   private final ObjectEntryLoadingService<FileSystemStorageIndex> objectEntryLoadingService;
+  private final StorageEntryModificationService<FileSystemStorageIndex> modifier;
 
   public FileSystemStorageIndex(
       StorageId storageId,
@@ -47,6 +56,7 @@ public final class FileSystemStorageIndex extends StorageIndex<FileSystemStorage
         trustPlatformBeans
             ? StorageInteractionStrategy.FileSystem.Trusting::new
             : StorageInteractionStrategy.FileSystem.Autonomous::new);
+    this.modifier = new FileSystemStorageEntryModificationService(this);
     this.storageEntryFactory = StorageEntryFactory.builder(this, objectApi, collectionApi)
         .pathToStorage(pathToStorage)
         .build();
@@ -58,6 +68,11 @@ public final class FileSystemStorageIndex extends StorageIndex<FileSystemStorage
     return objectEntryLoadingService;
   }
 
+  @Override
+  public StorageEntryModificationService<FileSystemStorageIndex> modifier() {
+    return modifier;
+  }
+
   @Override
   protected Stream<URI> fetchEntries() {
     return fetchEntries(IndexingTarget.any());
@@ -68,4 +83,27 @@ public final class FileSystemStorageIndex extends StorageIndex<FileSystemStorage
     return FileSystemStorageWalker.of(pathToStorage).walk(target);
   }
 
+  @Override
+  public Map<URI, Long> fingerprints(final Collection<? extends StorageEntry> entries) {
+    return LoadScheduler.global().run(storageId, () -> {
+      final Map<URI, Long> ret = new HashMap<>();
+      for (final StorageEntry entry : entries) {
+        final Path path = entry.path();
+        if (path == null) {
+          continue;
+        }
+
+        try {
+          final var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+          ret.put(
+              entry.uri(),
+              attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS) * 31 + attributes.size());
+        } catch (IOException e) {
+          log.trace("Cannot fingerprint {}: {}", entry.uri(), e.getMessage());
+        }
+      }
+      return ret;
+    });
+  }
+
 }
@@ -28,11 +28,14 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.aestallon.storageexplorer.common.util.IO;
+import com.aestallon.storageexplorer.core.jfr.WalkEvent;
+import com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics;
 import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
 import static java.util.stream.Collectors.toSet;
 
@@ -76,15 +79,29 @@ public final class FileSystemStorageWalker {
   }
 
   Stream<URI> walk(final IndexingTarget target) {
+    final var event = new WalkEvent();
+    event.begin();
+    final long start = System.nanoTime();
     final LinkedBlockingQueue<URI> queue = new LinkedBlockingQueue<>();
+    final AtomicInteger dirCount = new AtomicInteger();
     final List<Thread> virtualThreads = new ArrayList<>();
     final var typeWalkers = schemaWalkers(target).stream()
         .flatMap(it -> it.typeWalkers(target, queue).stream())
         .collect(toSet());
     for (final var walker : typeWalkers) {
-      virtualThreads.add(walker.walk(queue));
+      virtualThreads.add(walker.walk(queue, dirCount));
     }
     forEach(virtualThreads, Thread::join);
+    StorageExplorerMetrics.recordWalk(dirCount.get(), System.nanoTime() - start);
+    event.end();
+    if (event.shouldCommit()) {
+      event.root = pathToStorage.toString();
+      event.schemas = String.join(",", target.schemas());
+      event.types = String.join(",", target.types());
+      event.directories = dirCount.get();
+      event.entries = queue.size();
+      event.commit();
+    }
 
     return new ArrayList<>(queue).stream();
   }
@@ -142,16 +159,18 @@ public final class FileSystemStorageWalker {
 
   private record TypeWalker(Path root, Path typeFolder) {
 
-    private Thread walk(LinkedBlockingQueue<URI> queue) {
+    private Thread walk(LinkedBlockingQueue<URI> queue, AtomicInteger dirCount) {
       final var absolute = root.resolve(typeFolder);
-      return processDir(root, absolute, queue);
+      return processDir(root, absolute, queue, dirCount);
     }
   }
 
   private static Thread processDir(final Path root,
                                    final Path dir,
-                                   final LinkedBlockingQueue<URI> queue) {
+                                   final LinkedBlockingQueue<URI> queue,
+                                   final AtomicInteger dirCount) {
     return Thread.ofVirtual().start(() -> {
+      dirCount.incrementAndGet();
       try (final var es = Files.list(dir)) {
         final var children = es.collect(toSet());
         final Set<Path> oFiles = new HashSet<>();
@@ -180,7 +199,7 @@ public final class FileSystemStorageWalker {
 
         if (!subDirs.isEmpty()) {
           final var futures = subDirs.stream()
-              .map(it -> processDir(root, it, queue))
+              .map(it -> processDir(root, it, queue, dirCount))
               .toList();
           forEach(futures, Thread::join);
         }
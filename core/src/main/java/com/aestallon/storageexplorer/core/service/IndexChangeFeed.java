@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the entries a storage index learns of, or learns something new about, to whoever keeps
+ * state derived from them (e.g. a materialised view of an ArcScript query).
+ *
+ * <p>
+ * Listeners are called on the thread changing the index -> they must return quickly, and must not
+ * call back into the index: anything expensive is to be queued, and done elsewhere. Nothing is
+ * published while nobody listens.
+ *
+ * <p>
+ * Deletions are never reported: the index does not notice entries vanishing from the storage.
+ * Whoever needs to know can ask for the {@link StorageIndex#fingerprints(Collection) fingerprints}
+ * of the entries they care about -> vanished entries are omitted.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class IndexChangeFeed {
+
+  private static final Logger log = LoggerFactory.getLogger(IndexChangeFeed.class);
+
+
+  public sealed interface Change {
+
+    /**
+     * The given entries got indexed -> some of them may have been known already.
+     *
+     * @param uris the URIs of the entries
+     */
+    record Added(Collection<URI> uris) implements Change {}
+
+
+    /**
+     * The content of the given entry got loaded, or written.
+     *
+     * @param uri the URI of the entry
+     */
+    record Modified(URI uri) implements Change {}
+
+
+    /**
+     * Anything may have changed: the index got cleared, or rebuilt from scratch.
+     */
+    record Reset() implements Change {}
+
+  }
+
+
+  @FunctionalInterface
+  public interface Listener {
+
+    void onChange(Change change);
+
+  }
+
+
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  IndexChangeFeed() {}
+
+  public void subscribe(final Listener listener) {
+    listeners.add(listener);
+  }
+
+  public void unsubscribe(final Listener listener) {
+    listeners.remove(listener);
+  }
+
+  void added(final Collection<URI> uris) {
+    if (listeners.isEmpty() || uris.isEmpty()) {
+      return;
+    }
+
+    publish(new Change.Added(List.copyOf(uris)));
+  }
+
+  void modified(final URI uri) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+
+    publish(new Change.Modified(uri));
+  }
+
+  void reset() {
+    if (listeners.isEmpty()) {
+      return;
+    }
+
+    publish(new Change.Reset());
+  }
+
+  private void publish(final Change change) {
+    for (final Listener listener : listeners) {
+      try {
+        listener.onChange(change);
+      } catch (final RuntimeException e) {
+        // a faulty listener must not break indexing, or loading:
+        log.warn("Index change listener [ {} ] failed: {}", listener, e.getMessage());
+        log.debug(e.getMessage(), e);
+      }
+    }
+  }
+
+}
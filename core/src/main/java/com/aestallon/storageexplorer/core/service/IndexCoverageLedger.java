@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+
+/**
+ * Records which targets of a storage index were indexed, with what strategy, and when.
+ *
+ * <p>
+ * Anyone about to index a target "just in case" (e.g. the implicit indexing of an ArcScript query)
+ * can ask here first: if a wide enough target was indexed at least as thoroughly, and recently
+ * enough, the index already knows everything the indexing would tell it. What counts as recent is
+ * up to the {@link #staleAfter(Duration) staleness window} of the storage: entries created since
+ * the last indexing are only discovered once the coverage goes stale.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class IndexCoverageLedger {
+
+  public static final Duration DEFAULT_STALENESS_WINDOW = Duration.ofMinutes(10L);
+
+
+  public record Coverage(IndexingTarget target, IndexingStrategyType strategy, Instant at) {}
+
+
+  private final Clock clock;
+  private final List<Coverage> coverages = new ArrayList<>();
+  private volatile Duration staleAfter = DEFAULT_STALENESS_WINDOW;
+
+  IndexCoverageLedger() {
+    this(Clock.systemUTC());
+  }
+
+  IndexCoverageLedger(final Clock clock) {
+    this.clock = clock;
+  }
+
+  public Duration staleAfter() {
+    return staleAfter;
+  }
+
+  /**
+   * Sets how long an indexing is trusted to cover its target. A zero window disables the ledger:
+   * nothing is ever considered covered.
+   *
+   * @param staleAfter the staleness window
+   */
+  public void staleAfter(final Duration staleAfter) {
+    Objects.requireNonNull(staleAfter, "Staleness window cannot be null!");
+    if (staleAfter.isNegative()) {
+      throw new IllegalArgumentException("Staleness window cannot be negative!");
+    }
+
+    this.staleAfter = staleAfter;
+  }
+
+  /**
+   * Records that the given target has just been indexed with the given strategy. Strategies not
+   * fetching any entries are not recorded, they tell the index nothing.
+   *
+   * @param target the target indexed
+   * @param strategy the strategy the target was indexed with
+   */
+  public void record(final IndexingTarget target, final IndexingStrategyType strategy) {
+    if (rank(strategy) == 0) {
+      return;
+    }
+
+    final var coverage = new Coverage(target, strategy, clock.instant());
+    synchronized (coverages) {
+      // whatever the new one supersedes is of no use anymore:
+      coverages.removeIf(it -> target.covers(it.target()) && rank(strategy) >= rank(it.strategy()));
+      coverages.add(coverage);
+    }
+  }
+
+  /**
+   * Returns the recorded indexing covering the given target at least as thoroughly as the given
+   * strategy would, if there is one within the staleness window.
+   *
+   * @param target the target to be indexed
+   * @param strategy the strategy it would be indexed with
+   *
+   * @return the covering indexing, if any
+   */
+  public Optional<Coverage> covering(final IndexingTarget target,
+                                     final IndexingStrategyType strategy) {
+    final Instant freshSince = clock.instant().minus(staleAfter);
+    synchronized (coverages) {
+      return coverages.stream()
+          .filter(it -> it.at().isAfter(freshSince))
+          .filter(it -> rank(it.strategy()) >= rank(strategy))
+          .filter(it -> it.target().covers(target))
+          .findFirst();
+    }
+  }
+
+  public List<Coverage> coverages() {
+    synchronized (coverages) {
+      return List.copyOf(coverages);
+    }
+  }
+
+  /**
+   * Forgets every recorded indexing, e.g. because the index got cleared.
+   */
+  public void clear() {
+    synchronized (coverages) {
+      coverages.clear();
+    }
+  }
+
+  private static int rank(final IndexingStrategyType strategy) {
+    return switch (strategy) {
+      case null -> 0;
+      case ON_DEMAND -> 0;
+      case INITIAL -> 1;
+      case FULL -> 2;
+    };
+  }
+
+}
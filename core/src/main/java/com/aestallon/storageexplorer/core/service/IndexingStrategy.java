@@ -28,6 +28,7 @@ import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.aestallon.storageexplorer.common.util.Pair;
+import com.aestallon.storageexplorer.core.jfr.IndexingEvent;
 import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.entry.ScopedEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
@@ -96,6 +97,15 @@ public interface IndexingStrategy {
 
     @Override
     public Map<URI, StorageEntry> processEntries(Stream<URI> uris, StorageEntryCreator creator) {
+      final var event = new IndexingEvent();
+      event.begin();
+      final var map = createEntries(uris, creator);
+      commit(event, type(), map);
+      return map;
+    }
+
+    protected final Map<URI, StorageEntry> createEntries(Stream<URI> uris,
+                                                         StorageEntryCreator creator) {
       final var map = uris/* .parallel() */
           .map(uri -> Pair.of(uri, creator.apply(uri)))
           .flatMap(Pair.streamOnB())
@@ -120,6 +130,20 @@ public interface IndexingStrategy {
           });
       return map;
     }
+
+    protected static void commit(final IndexingEvent event,
+                                 final IndexingStrategyType type,
+                                 final Map<URI, StorageEntry> map) {
+      event.end();
+      if (event.shouldCommit()) {
+        event.strategy = type.name();
+        event.entries = map.size();
+        event.scopedEntries = (int) map.values().stream()
+            .filter(ScopedEntry.class::isInstance)
+            .count();
+        event.commit();
+      }
+    }
   }
 
 
@@ -134,13 +158,17 @@ public interface IndexingStrategy {
 
     @Override
     public Map<URI, StorageEntry> processEntries(Stream<URI> uris, StorageEntryCreator creator) {
-      final var map = super.processEntries(uris, creator);
+      final var event = new IndexingEvent();
+      event.begin();
+      final var map = createEntries(uris, creator);
       log.info("Indexing strategy FULL: {} entries indexed", map.size());
       log.info("Refreshing {} entries...", map.size());
       new EntryProcessor.Builder(null, new HashSet<>(map.values()))
+          .lane(LoadScheduler.Lane.BACKGROUND)
           .build()
           .execute()
           .forEach(ObjectEntryLoadRequest::get);
+      commit(event, type(), map);
       return map;
     }
 
@@ -187,10 +215,10 @@ public interface IndexingStrategy {
     @Override
     protected void work(StorageEntry entry) {
       if (entry instanceof ObjectEntry o) {
-        results.offer(o.tryLoad());
+        emit(o.tryLoad());
       } else {
         // FIXME: this is not cool.
-        results.offer(
+        emit(
             new ObjectEntryLoadRequest.FileSystemObjectEntryLoadRequest(
                 ObjectEntryLoadResult.err("not an object entry")));
       }
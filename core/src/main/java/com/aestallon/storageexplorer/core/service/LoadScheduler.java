@@ -0,0 +1,451 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import io.micrometer.core.instrument.Gauge;
+
+/**
+ * Process-wide admission control for storage I/O.
+ *
+ * <p>
+ * Every load against a storage (be it a single file read or a batched SQL query) acquires a slot
+ * here before touching the backend. Slots are bounded both globally and per storage, and waiting
+ * loads are admitted strictly by {@link Lane} priority: an interactive click never waits behind a
+ * queued bulk of background indexing, it only waits for the loads already in flight.
+ *
+ * <p>
+ * Bulk work runs inside a {@link Session}: every load issued on a thread bound to the session
+ * inherits its lane, and cancelling the session drops all of its loads still waiting for a slot.
+ * Loads issued outside any session are considered {@link Lane#INTERACTIVE}. A session may carry an
+ * {@link ExecutionBudget}: loaded entries are charged against it, and once it stops, the session is
+ * cancelled.
+ *
+ * <p>
+ * A thread already holding a slot executes any further load inline, without queueing again ->
+ * nested loads can never deadlock on the limits.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class LoadScheduler {
+
+  private static final Logger log = LoggerFactory.getLogger(LoadScheduler.class);
+
+  private static final LoadScheduler GLOBAL = new LoadScheduler(
+      Math.max(8, Runtime.getRuntime().availableProcessors() * 2),
+      8);
+
+  public static LoadScheduler global() {
+    return GLOBAL;
+  }
+
+
+  public enum Lane { INTERACTIVE, QUERY, BACKGROUND }
+
+
+  public static final class Session {
+
+    private final LoadScheduler scheduler;
+    private final Lane lane;
+    private final ExecutionBudget budget;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder bytesLoaded = new LongAdder();
+    private volatile boolean cancelled;
+
+    private Session(final LoadScheduler scheduler, final Lane lane, final ExecutionBudget budget) {
+      this.scheduler = scheduler;
+      this.lane = lane;
+      this.budget = budget;
+    }
+
+    public Lane lane() {
+      return lane;
+    }
+
+    /**
+     * Returns the budget of this session, if any.
+     *
+     * @return the budget, or {@code null}
+     */
+    public ExecutionBudget budget() {
+      return budget;
+    }
+
+    /**
+     * Charges an entry loaded in this session against its budget (if any).
+     *
+     * @param bytes the estimated size of the loaded entry
+     */
+    public void charge(final long bytes) {
+      loads.increment();
+      bytesLoaded.add(bytes);
+      if (budget != null) {
+        budget.charge(bytes);
+      }
+    }
+
+    /**
+     * Returns the number of entries charged to this session so far (see {@link #charge(long)}).
+     *
+     * @return the number of entries loaded in this session
+     */
+    public long loads() {
+      return loads.sum();
+    }
+
+    public long bytesLoaded() {
+      return bytesLoaded.sum();
+    }
+
+    public boolean cancelled() {
+      return cancelled;
+    }
+
+    /**
+     * Executes the given work with the current thread bound to this session.
+     *
+     * @param work the work to execute
+     */
+    public void run(final Runnable work) {
+      final Session prev = CURRENT_SESSION.get();
+      CURRENT_SESSION.set(this);
+      try {
+        work.run();
+      } finally {
+        CURRENT_SESSION.set(prev);
+      }
+    }
+
+    public void cancel() {
+      if (cancelled) {
+        return;
+      }
+
+      cancelled = true;
+      scheduler.cancelWaiters(w -> w.session == this);
+    }
+
+  }
+
+
+  private static final ThreadLocal<Session> CURRENT_SESSION = new ThreadLocal<>();
+  private static final ThreadLocal<Boolean> HOLDING_SLOT = new ThreadLocal<>();
+
+  /**
+   * Returns the session the current thread is bound to, if any.
+   *
+   * @return the current session, or {@code null}
+   */
+  public static Session currentSession() {
+    return CURRENT_SESSION.get();
+  }
+
+  public static Lane currentLane() {
+    final Session session = CURRENT_SESSION.get();
+    return session == null ? Lane.INTERACTIVE : session.lane;
+  }
+
+
+  private static final class Waiter {
+
+    private final StorageId storageId;
+    private final Lane lane;
+    private final Session session;
+    private final Condition admission;
+    private boolean admitted;
+    private boolean cancelled;
+
+    private Waiter(StorageId storageId, Lane lane, Session session, Condition admission) {
+      this.storageId = storageId;
+      this.lane = lane;
+      this.session = session;
+      this.admission = admission;
+    }
+
+  }
+
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Lane, ArrayDeque<Waiter>> queues = new EnumMap<>(Lane.class);
+  private final Map<StorageId, Integer> inFlightByStorage = new HashMap<>();
+  private int inFlight;
+  private int globalLimit;
+  private int perStorageLimit;
+
+  LoadScheduler(final int globalLimit, final int perStorageLimit) {
+    for (final Lane lane : Lane.values()) {
+      queues.put(lane, new ArrayDeque<>());
+    }
+    configure(globalLimit, perStorageLimit);
+    registerGauges();
+  }
+
+  private void registerGauges() {
+    Gauge.builder(StorageExplorerMetrics.SCHEDULER_IN_FLIGHT, this, LoadScheduler::inFlight)
+        .description("Loads currently holding a scheduler slot")
+        .register(StorageExplorerMetrics.registry());
+    for (final Lane lane : Lane.values()) {
+      Gauge.builder(StorageExplorerMetrics.SCHEDULER_QUEUE_DEPTH, this, s -> s.queueDepth(lane))
+          .description("Loads waiting for a scheduler slot")
+          .tag(StorageExplorerMetrics.TAG_LANE, lane.name().toLowerCase())
+          .register(StorageExplorerMetrics.registry());
+    }
+  }
+
+  public void configure(final int globalLimit, final int perStorageLimit) {
+    if (globalLimit < 1 || perStorageLimit < 1) {
+      throw new IllegalArgumentException("Concurrency limits must be positive!");
+    }
+
+    lock.lock();
+    try {
+      this.globalLimit = globalLimit;
+      this.perStorageLimit = perStorageLimit;
+      dispatch();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public Session openSession(final Lane lane) {
+    return openSession(lane, null);
+  }
+
+  /**
+   * Opens a session charging its loads against the given budget. The session is cancelled as soon
+   * as the budget stops.
+   *
+   * @param lane the lane of the session
+   * @param budget the budget, or {@code null} for none
+   *
+   * @return the new session
+   */
+  public Session openSession(final Lane lane, final ExecutionBudget budget) {
+    final var session = new Session(
+        this,
+        Objects.requireNonNull(lane, "lane cannot be null!"),
+        budget);
+    if (budget != null) {
+      budget.onStop(session::cancel);
+    }
+    return session;
+  }
+
+  /**
+   * Executes the given I/O work on the calling thread once a slot is available for the given
+   * storage, on the lane of the current session.
+   *
+   * @param storageId the storage the work is performed against
+   * @param io the work to execute
+   * @param <R> the result type
+   *
+   * @return the result of the work
+   *
+   * @throws CancellationException if the current session got cancelled, the storage's loads got
+   *     cancelled, or the thread got interrupted while waiting for a slot
+   */
+  public <R> R run(final StorageId storageId, final Supplier<R> io) {
+    final Session session = CURRENT_SESSION.get();
+    return run(storageId, session == null ? Lane.INTERACTIVE : session.lane, session, io);
+  }
+
+  <R> R run(final StorageId storageId,
+            final Lane lane,
+            final Session session,
+            final Supplier<R> io) {
+    if (Boolean.TRUE.equals(HOLDING_SLOT.get())) {
+      return io.get();
+    }
+
+    final Waiter waiter = acquire(storageId, lane, session);
+    HOLDING_SLOT.set(Boolean.TRUE);
+    try {
+      return io.get();
+    } finally {
+      HOLDING_SLOT.remove();
+      release(waiter);
+    }
+  }
+
+  private Waiter acquire(final StorageId storageId, final Lane lane, final Session session) {
+    if (session != null && session.cancelled) {
+      throw new CancellationException("Session cancelled");
+    }
+
+    lock.lock();
+    try {
+      final var waiter = new Waiter(storageId, lane, session, lock.newCondition());
+      queues.get(lane).addLast(waiter);
+      dispatch();
+      while (!waiter.admitted) {
+        if (waiter.cancelled) {
+          throw new CancellationException("Load cancelled while waiting in lane " + lane);
+        }
+
+        try {
+          waiter.admission.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          if (waiter.admitted) {
+            // we got the slot in the meantime, we must hand it back:
+            releaseLocked(waiter);
+          } else {
+            queues.get(lane).remove(waiter);
+          }
+          throw new CancellationException("Interrupted while waiting in lane " + lane);
+        }
+      }
+
+      return waiter;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(final Waiter waiter) {
+    lock.lock();
+    try {
+      releaseLocked(waiter);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void releaseLocked(final Waiter waiter) {
+    inFlight--;
+    inFlightByStorage.computeIfPresent(waiter.storageId, (k, v) -> v > 1 ? v - 1 : null);
+    dispatch();
+  }
+
+  // must be called holding the lock:
+  private void dispatch() {
+    while (inFlight < globalLimit) {
+      final Waiter next = pollEligible();
+      if (next == null) {
+        return;
+      }
+
+      inFlight++;
+      inFlightByStorage.merge(next.storageId, 1, Integer::sum);
+      next.admitted = true;
+      next.admission.signal();
+    }
+  }
+
+  private Waiter pollEligible() {
+    for (final Lane lane : Lane.values()) {
+      final Iterator<Waiter> it = queues.get(lane).iterator();
+      while (it.hasNext()) {
+        final Waiter w = it.next();
+        if (inFlightByStorage.getOrDefault(w.storageId, 0) < perStorageLimit) {
+          it.remove();
+          return w;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Cancels every load waiting for a slot against the given storage. Loads already in flight are
+   * not affected.
+   *
+   * @param storageId the storage whose pending loads should be dropped
+   */
+  public void cancelAll(final StorageId storageId) {
+    cancelWaiters(w -> w.storageId.equals(storageId));
+  }
+
+  private void cancelWaiters(final Predicate<Waiter> predicate) {
+    lock.lock();
+    try {
+      int cancelled = 0;
+      for (final ArrayDeque<Waiter> queue : queues.values()) {
+        final Iterator<Waiter> it = queue.iterator();
+        while (it.hasNext()) {
+          final Waiter w = it.next();
+          if (predicate.test(w)) {
+            it.remove();
+            w.cancelled = true;
+            w.admission.signal();
+            cancelled++;
+          }
+        }
+      }
+
+      if (cancelled > 0) {
+        log.debug("Cancelled {} pending loads.", cancelled);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int queueDepth(final Lane lane) {
+    lock.lock();
+    try {
+      return queues.get(lane).size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public Map<Lane, Integer> queueDepths() {
+    lock.lock();
+    try {
+      final Map<Lane, Integer> ret = new EnumMap<>(Lane.class);
+      queues.forEach((lane, queue) -> ret.put(lane, queue.size()));
+      return ret;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int inFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int inFlight(final StorageId storageId) {
+    lock.lock();
+    try {
+      return inFlightByStorage.getOrDefault(storageId, 0);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+}
@@ -17,14 +17,16 @@ package com.aestallon.storageexplorer.core.service;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -34,11 +36,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smartbit4all.core.object.ObjectNode;
 import com.aestallon.storageexplorer.core.event.LoadingQueueSize;
+import com.aestallon.storageexplorer.core.jfr.BatchLoadEvent;
+import com.aestallon.storageexplorer.core.jfr.EntryLoadEvent;
+import com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics;
 import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadRequest;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
+import com.aestallon.storageexplorer.core.util.ObjectMaps;
 import com.aestallon.storageexplorer.core.util.Uris;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 
 public abstract sealed class ObjectEntryLoadingService<T extends StorageIndex<T>> {
 
@@ -47,13 +54,89 @@ public abstract sealed class ObjectEntryLoadingService<T extends StorageIndex<T>
   public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
   protected final T storageIndex;
+  protected final LoadScheduler scheduler;
 
   protected ObjectEntryLoadingService(final T storageIndex) {
     this.storageIndex = storageIndex;
+    this.scheduler = LoadScheduler.global();
+  }
+
+  protected static String strategyName(final StorageInteractionStrategy<?, ?> strategy) {
+    return strategy.getClass().getSimpleName().toLowerCase();
+  }
+
+  protected static EntryLoadEvent beginLoadEvent() {
+    final var event = new EntryLoadEvent();
+    event.begin();
+    return event;
+  }
+
+  protected final void commitLoadEvent(final EntryLoadEvent event,
+                                       final ObjectEntry objectEntry,
+                                       final LoadScheduler.Lane lane,
+                                       final String backend,
+                                       final String strategy,
+                                       final ObjectEntryLoadResult result) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.storageId = storageIndex.id().toString();
+      event.uri = objectEntry.uri().toString();
+      event.schema = objectEntry.uri().getScheme();
+      event.type = objectEntry.typeName();
+      event.backend = backend;
+      event.strategy = strategy;
+      event.lane = lane.name();
+      event.successful = !result.isErr();
+      event.commit();
+    }
+  }
+
+  /**
+   * Charges the given entry, loaded from the backend, against the budget of the given session (if
+   * any).
+   *
+   * @param session the session the entry was loaded in, or {@code null}
+   * @param result the result of the load
+   */
+  protected static void charge(final LoadScheduler.Session session,
+                               final ObjectEntryLoadResult result) {
+    if (session == null || session.budget() == null) {
+      return;
+    }
+
+    switch (result) {
+      case ObjectEntryLoadResult.SingleVersion sv ->
+          session.charge(ObjectMaps.estimateSize(sv.objectAsMap()));
+      case ObjectEntryLoadResult.MultiVersion mv -> {
+        // lazy versions are charged by loadExact, if and when they are loaded:
+        for (final ObjectEntryLoadResult.SingleVersion version : mv.versions()) {
+          if (version instanceof ObjectEntryLoadResult.SingleVersion.Eager eager) {
+            session.charge(ObjectMaps.estimateSize(eager.objectAsMap()));
+          }
+        }
+      }
+      case ObjectEntryLoadResult.Err err -> {}
+    }
   }
 
   public abstract ObjectEntryLoadRequest load(final ObjectEntry objectEntry);
 
+  /**
+   * Loads the given entries together, in as few round trips to the backend as the backend allows.
+   *
+   * @param objectEntries the entries to load
+   *
+   * @return the load request of each given entry
+   */
+  public Map<ObjectEntry, ObjectEntryLoadRequest> loadAll(
+      final Collection<ObjectEntry> objectEntries) {
+    final Map<ObjectEntry, ObjectEntryLoadRequest> ret = new HashMap<>();
+    for (final ObjectEntry objectEntry : objectEntries) {
+      ret.put(objectEntry, load(objectEntry));
+    }
+    return ret;
+  }
+
   public abstract ObjectEntryLoadResult.SingleVersion.Eager loadExact(final URI uri,
                                                                       final long version);
 
@@ -122,25 +205,89 @@ public abstract sealed class ObjectEntryLoadingService<T extends StorageIndex<T>
   static final class FileSystem extends ObjectEntryLoadingService<FileSystemStorageIndex> {
 
     private final StorageInteractionStrategy.FileSystem interactionStrategy;
+    private final Timer loadTimer;
 
     FileSystem(FileSystemStorageIndex storageIndex,
                StorageInteractionStrategy.Factory<FileSystemStorageIndex, FileSystem, StorageInteractionStrategy.FileSystem> strategyFactory) {
       super(storageIndex);
       this.interactionStrategy = strategyFactory.create(this);
+      this.loadTimer = StorageExplorerMetrics.loadLatency(
+          StorageExplorerMetrics.BACKEND_FS,
+          strategyName(interactionStrategy));
     }
 
     @Override
     public ObjectEntryLoadRequest load(ObjectEntry objectEntry) {
-      return new ObjectEntryLoadRequest.FileSystemObjectEntryLoadRequest(loadInner(objectEntry));
+      final var event = beginLoadEvent();
+      ObjectEntryLoadResult result;
+      try {
+        result = scheduler.run(
+            storageIndex.id(),
+            () -> loadTimer.record(() -> loadInner(objectEntry)));
+      } catch (final CancellationException e) {
+        log.debug("Loading [ {} ] cancelled: {}", objectEntry.uri(), e.getMessage());
+        result = ObjectEntryLoadResult.err("Loading cancelled: " + e.getMessage());
+      }
+      charge(LoadScheduler.currentSession(), result);
+      commitLoadEvent(
+          event,
+          objectEntry,
+          LoadScheduler.currentLane(),
+          StorageExplorerMetrics.BACKEND_FS,
+          strategyName(interactionStrategy),
+          result);
+      return new ObjectEntryLoadRequest.FileSystemObjectEntryLoadRequest(result);
+    }
+
+    @Override
+    public Map<ObjectEntry, ObjectEntryLoadRequest> loadAll(
+        final Collection<ObjectEntry> objectEntries) {
+      if (objectEntries.size() < 2) {
+        return super.loadAll(objectEntries);
+      }
+
+      // files are read one by one, but there is no reason to read them one after the other: the
+      // scheduler still bounds how many are read at once. The reads inherit our session (if any):
+      final var session = LoadScheduler.currentSession();
+      final Map<ObjectEntry, Future<ObjectEntryLoadRequest>> futures = new HashMap<>();
+      try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (final ObjectEntry objectEntry : objectEntries) {
+          futures.put(objectEntry, executor.submit(() -> loadInSession(session, objectEntry)));
+        }
+      }
+
+      final Map<ObjectEntry, ObjectEntryLoadRequest> ret = new HashMap<>();
+      futures.forEach((objectEntry, f) -> ret.put(
+          objectEntry,
+          f.state() == Future.State.SUCCESS
+              ? f.resultNow()
+              : new ObjectEntryLoadRequest.FileSystemObjectEntryLoadRequest(
+                  ObjectEntryLoadResult.err("Failed to load " + objectEntry.uri()))));
+      return ret;
+    }
+
+    private ObjectEntryLoadRequest loadInSession(final LoadScheduler.Session session,
+                                                 final ObjectEntry objectEntry) {
+      if (session == null) {
+        return load(objectEntry);
+      }
+
+      final var ret = new AtomicReference<ObjectEntryLoadRequest>();
+      session.run(() -> ret.set(load(objectEntry)));
+      return ret.get();
     }
 
     @Override
     public ObjectEntryLoadResult.SingleVersion.Eager loadExact(URI uri, long version) {
-      return (ObjectEntryLoadResult.SingleVersion.Eager) ObjectEntryLoadResult.singleVersion(
-          Uris.isSingleVersion(uri)
-              ? storageIndex.objectApi.loadLatest(uri, null)
-              : storageIndex.objectApi.load(Uris.atVersion(uri, version)),
-          OBJECT_MAPPER);
+      final var result = scheduler.run(
+          storageIndex.id(),
+          () -> (ObjectEntryLoadResult.SingleVersion.Eager) ObjectEntryLoadResult.singleVersion(
+              Uris.isSingleVersion(uri)
+                  ? storageIndex.objectApi.loadLatest(uri, null)
+                  : storageIndex.objectApi.load(Uris.atVersion(uri, version)),
+              OBJECT_MAPPER));
+      charge(LoadScheduler.currentSession(), result);
+      return result;
     }
 
     private ObjectEntryLoadResult loadInner(final ObjectEntry objectEntry) {
@@ -149,7 +296,7 @@ public abstract sealed class ObjectEntryLoadingService<T extends StorageIndex<T>
     }
 
     private ObjectNode loadObjectNode(ObjectEntry entry) {
-      return interactionStrategy.loadObjectNode(entry);
+      return interactionStrategy.load(entry);
     }
 
   }
@@ -169,24 +316,22 @@ public abstract sealed class ObjectEntryLoadingService<T extends StorageIndex<T>
   static final class RelationalDatabase
       extends ObjectEntryLoadingService<RelationalDatabaseStorageIndex> {
 
-    private record LoadingTask(ObjectEntry objectEntry) {}
-
-
-    private final Map<LoadingTask, CompletableFuture<ObjectEntryLoadResult>> pendingRequests;
-    private final BlockingQueue<LoadingTask> queue;
+    private final PendingLoads<ObjectEntry> pending = new PendingLoads<>();
     // TODO: we keep a reference because we need to shut this down if the storage is deleted!
     private final Thread worker;
     private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
     private final AtomicReference<RelationalDatabaseLoadingServiceParameters> params;
     private final AtomicInteger timeoutMillis;
     private final StorageInteractionStrategy.RelationalDatabase interactionStrategy;
+    private final Timer loadTimer;
 
     RelationalDatabase(RelationalDatabaseStorageIndex storageIndex,
                        StorageInteractionStrategy.Factory<RelationalDatabaseStorageIndex, RelationalDatabase, StorageInteractionStrategy.RelationalDatabase> interactionFactory) {
       super(storageIndex);
       interactionStrategy = interactionFactory.create(this);
-      this.pendingRequests = new ConcurrentHashMap<>();
-      this.queue = new LinkedBlockingQueue<>();
+      loadTimer = StorageExplorerMetrics.loadLatency(
+          StorageExplorerMetrics.BACKEND_DB,
+          strategyName(interactionStrategy));
       params = new AtomicReference<>(RelationalDatabaseLoadingServiceParameters.DEFAULT);
       timeoutMillis =
           new AtomicInteger(RelationalDatabaseLoadingServiceParameters.DEFAULT.timeoutMillisMax());
@@ -209,62 +354,194 @@ public abstract sealed class ObjectEntryLoadingService<T extends StorageIndex<T>
 
     @Override
     public ObjectEntryLoadResult.SingleVersion.Eager loadExact(URI uri, long version) {
-      return interactionStrategy.loadExact(uri, version);
+      final var result = scheduler.run(
+          storageIndex.id(),
+          () -> interactionStrategy.loadExact(uri, version));
+      charge(LoadScheduler.currentSession(), result);
+      return result;
     }
 
     @Override
     public ObjectEntryLoadRequest load(final ObjectEntry objectEntry) {
-      final var f = pendingRequests.computeIfAbsent(
-          new LoadingTask(objectEntry),
-          k -> {
-            queue.add(k);
-            return new CompletableFuture<>();
-          });
+      final var f = pending.enqueue(
+          objectEntry,
+          LoadScheduler.currentSession(),
+          LoadScheduler.currentLane());
       return new ObjectEntryLoadRequest.RelationalDatabaseObjectEntryLoadRequest(f);
     }
 
+    @Override
+    public Map<ObjectEntry, ObjectEntryLoadRequest> loadAll(
+        final Collection<ObjectEntry> objectEntries) {
+      // we do not wait for the batch loader to collect these one by one: we take over every entry
+      // not yet pending, and load them right here, batchSize entries per query. Anyone asking for
+      // them in the meantime waits for our futures:
+      final var session = LoadScheduler.currentSession();
+      final var lane = LoadScheduler.currentLane();
+      final Map<ObjectEntry, ObjectEntryLoadRequest> ret = new HashMap<>();
+      final Set<ObjectEntry> owned = new LinkedHashSet<>();
+      for (final ObjectEntry objectEntry : objectEntries) {
+        final PendingLoads.Claim claim = pending.claim(objectEntry, session, lane);
+        if (claim.owned()) {
+          owned.add(objectEntry);
+        }
+        ret.put(
+            objectEntry,
+            new ObjectEntryLoadRequest.RelationalDatabaseObjectEntryLoadRequest(claim.future()));
+      }
+
+      final List<ObjectEntry> toLoad = new ArrayList<>(owned);
+      final int batchSize = params.get().batchSize();
+      try {
+        for (int i = 0; i < toLoad.size(); i += batchSize) {
+          final List<ObjectEntry> batch = toLoad.subList(i, Math.min(i + batchSize, toLoad.size()));
+          final List<ObjectEntryLoadResult> results = loadBatchNow(batch);
+          for (int j = 0; j < batch.size(); j++) {
+            final ObjectEntry e = batch.get(j);
+            pending.complete(e, loadInner(e, results.get(j)));
+            owned.remove(e);
+          }
+        }
+      } finally {
+        // whatever went wrong, nobody may be left waiting on our entries:
+        owned.forEach(e -> pending.complete(
+            e,
+            ObjectEntryLoadResult.err("Failed to load " + e.uri())));
+      }
+
+      return ret;
+    }
+
+    private List<ObjectEntryLoadResult> loadBatchNow(final List<ObjectEntry> batch) {
+      StorageExplorerMetrics.recordBatch(
+          storageIndex.id(),
+          batch.size(),
+          StorageExplorerMetrics.FLUSH_PREFETCH);
+      final var event = new BatchLoadEvent();
+      event.begin();
+      List<ObjectEntryLoadResult> results;
+      try {
+        results = scheduler.run(
+            storageIndex.id(),
+            () -> loadTimer.record(() -> batch.stream()
+                .map(ObjectEntry::uri)
+                .collect(collectingAndThen(toList(), interactionStrategy::loadBatch))));
+      } catch (final CancellationException e) {
+        results = batch.stream()
+            .<ObjectEntryLoadResult>map(it -> ObjectEntryLoadResult.err("Loading cancelled"))
+            .toList();
+      }
+
+      event.end();
+      if (event.shouldCommit()) {
+        event.storageId = storageIndex.id().toString();
+        event.strategy = strategyName(interactionStrategy);
+        event.lane = LoadScheduler.currentLane().name();
+        event.size = batch.size();
+        event.reason = StorageExplorerMetrics.FLUSH_PREFETCH;
+        event.failed = (int) results.stream().filter(ObjectEntryLoadResult::isErr).count();
+        event.commit();
+      }
+      return results;
+    }
+
     private int processBatch(final int oldQueueSize) throws InterruptedException {
       final var params = this.params.get();
       final var batchSize = params.batchSize;
       final var timeoutMillisMax = params.timeoutMillisMax;
       final var timeoutMillisMin = params.timeoutMillisMin;
 
-      final int newQueueSize = queue.size();
+      final int newQueueSize = pending.queueSize();
       if (newQueueSize != oldQueueSize) {
         storageIndex.publishEvent(new LoadingQueueSize(storageIndex.id(), newQueueSize));
       }
 
-      final List<LoadingTask> batch = new ArrayList<>(batchSize);
-      final var t = queue.poll(timeoutMillis.get(), TimeUnit.MILLISECONDS);
+      final List<PendingLoads.Task<ObjectEntry>> batch = new ArrayList<>(batchSize);
+      final var t = pending.poll(timeoutMillis.get(), TimeUnit.MILLISECONDS);
+      final String flushReason;
       if (t != null) {
         timeoutMillis.set(timeoutMillisMin);
         batch.add(t);
-        queue.drainTo(batch, batchSize - 1);
+        pending.drainTo(batch, batchSize - 1);
+        flushReason = batch.size() >= batchSize
+            ? StorageExplorerMetrics.FLUSH_FULL
+            : StorageExplorerMetrics.FLUSH_DRAINED;
+        StorageExplorerMetrics.recordBatch(storageIndex.id(), batch.size(), flushReason);
       } else {
+        flushReason = null;
         timeoutMillis.getAndUpdate(i -> (i + timeoutMillisMax) / 2);
       }
 
+      dropCancelled(batch);
       if (!batch.isEmpty()) {
-        final List<ObjectEntryLoadResult> results = batch.stream()
-            .map(LoadingTask::objectEntry)
-            .map(ObjectEntry::uri)
-            .collect(collectingAndThen(toList(), interactionStrategy::loadBatch));
+        // the queue is ordered by lane, thus the first task carries the most urgent one:
+        final var event = new BatchLoadEvent();
+        event.begin();
+        final List<ObjectEntryLoadResult> results;
+        try {
+          results = scheduler.run(
+              storageIndex.id(),
+              batch.getFirst().lane(),
+              null,
+              () -> loadTimer.record(() -> batch.stream()
+                  .map(PendingLoads.Task::key)
+                  .map(ObjectEntry::uri)
+                  .collect(collectingAndThen(toList(), interactionStrategy::loadBatch))));
+        } catch (final CancellationException e) {
+          batch.forEach(it -> complete(it, ObjectEntryLoadResult.err("Loading cancelled")));
+          return newQueueSize;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+          event.storageId = storageIndex.id().toString();
+          event.strategy = strategyName(interactionStrategy);
+          event.lane = batch.getFirst().lane().name();
+          event.size = batch.size();
+          event.reason = flushReason;
+          event.failed = (int) results.stream().filter(ObjectEntryLoadResult::isErr).count();
+          event.commit();
+        }
+
         for (int i = 0; i < results.size(); i++) {
-          final LoadingTask task = batch.get(i);
-          final ObjectEntry e = task.objectEntry();
+          final PendingLoads.Task<ObjectEntry> task = batch.get(i);
+          final ObjectEntry e = task.key();
           final ObjectEntryLoadResult loadResult = results.get(i);
-          executor.submit(() -> {
-            final ObjectEntryLoadResult r = loadInner(e, loadResult);
-            final CompletableFuture<ObjectEntryLoadResult> f = pendingRequests.remove(task);
-            if (f != null) {
-              f.complete(r);
-            }
-          });
+          executor.submit(() -> complete(task, loadInner(e, loadResult)));
         }
       }
       return newQueueSize;
     }
 
+    private void dropCancelled(final List<PendingLoads.Task<ObjectEntry>> batch) {
+      // only the entries no one but cancelled sessions waits for are dropped:
+      batch.removeIf(it -> {
+        final var cancelled = ObjectEntryLoadResult.err("Loading cancelled");
+        if (pending.dropIfCancelled(it, cancelled)) {
+          commitLoad(it, cancelled);
+          return true;
+        }
+        return false;
+      });
+    }
+
+    private void complete(final PendingLoads.Task<ObjectEntry> task,
+                          final ObjectEntryLoadResult result) {
+      commitLoad(task, result);
+      pending.complete(task.key(), result);
+    }
+
+    private void commitLoad(final PendingLoads.Task<ObjectEntry> task,
+                            final ObjectEntryLoadResult result) {
+      commitLoadEvent(
+          task.event(),
+          task.key(),
+          task.lane(),
+          StorageExplorerMetrics.BACKEND_DB,
+          strategyName(interactionStrategy),
+          result);
+    }
+
   }
 
 }
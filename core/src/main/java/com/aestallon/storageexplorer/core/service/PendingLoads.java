@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import com.aestallon.storageexplorer.core.jfr.EntryLoadEvent;
+import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
+
+/**
+ * The entries requested from a batching loader and not loaded yet, with everyone waiting on them.
+ *
+ * <p>
+ * An entry is pending once, no matter how many sessions ask for it: later requests join the
+ * pending entry, and are completed with the very same result. Every request is remembered with its
+ * own session and lane though:
+ * <ul>
+ *   <li>an entry still queued is moved up to the most urgent lane of its requests,</li>
+ *   <li>an entry is only dropped once every session waiting on it got cancelled.</li>
+ * </ul>
+ *
+ * <p>
+ * Entries may also be claimed by a caller loading them on its own (see
+ * {@link #claim(Object, LoadScheduler.Session, LoadScheduler.Lane)}): those are never queued, but
+ * anyone asking for them in the meantime waits for the claimant.
+ *
+ * @param <K> the type of the pending entries
+ *
+ * @author Szabolcs Bazil Papp
+ */
+final class PendingLoads<K> {
+
+  /**
+   * An entry waiting in the queue of the batching loader.
+   *
+   * @param key the entry
+   * @param lane the most urgent lane the entry was requested on
+   * @param seq the order of the first request of the entry
+   * @param event the load event of the entry, begun on its first request
+   * @param <K> the type of the entry
+   */
+  record Task<K>(K key, LoadScheduler.Lane lane, long seq, EntryLoadEvent event) {}
+
+
+  /**
+   * The future of a claimed entry.
+   *
+   * @param future completed once the entry is loaded, by whoever loads it
+   * @param owned whether the entry is to be loaded by the claimant itself
+   */
+  record Claim(CompletableFuture<ObjectEntryLoadResult> future, boolean owned) {}
+
+
+  private record Waiter(LoadScheduler.Lane lane, LoadScheduler.Session session) {
+
+    private boolean cancelled() {
+      return session != null && session.cancelled();
+    }
+
+  }
+
+
+  private static final class Pending<K> {
+
+    private final CompletableFuture<ObjectEntryLoadResult> future = new CompletableFuture<>();
+    // only ever touched under the mapping of the entry:
+    private final List<Waiter> waiters = new ArrayList<>(2);
+    // null if the entry is claimed:
+    private Task<K> task;
+
+  }
+
+
+  private static final Comparator<Task<?>> BY_PRIORITY = Comparator
+      .<Task<?>, LoadScheduler.Lane>comparing(Task::lane)
+      .thenComparingLong(Task::seq);
+
+  private final Map<K, Pending<K>> pending = new ConcurrentHashMap<>();
+  private final BlockingQueue<Task<K>> queue = new PriorityBlockingQueue<>(256, BY_PRIORITY);
+  private final AtomicLong seq = new AtomicLong();
+
+  /**
+   * Requests the given entry to be loaded by the batching loader: queues it, or joins it if it is
+   * already pending.
+   *
+   * @param key the entry
+   * @param session the session of the request, or {@code null}
+   * @param lane the lane of the request
+   *
+   * @return completed once the entry is loaded
+   */
+  CompletableFuture<ObjectEntryLoadResult> enqueue(final K key,
+                                                   final LoadScheduler.Session session,
+                                                   final LoadScheduler.Lane lane) {
+    return pending.compute(key, (k, p) -> {
+      if (p == null) {
+        final Pending<K> created = new Pending<>();
+        created.waiters.add(new Waiter(lane, session));
+        created.task = new Task<>(
+            k,
+            lane,
+            seq.getAndIncrement(),
+            ObjectEntryLoadingService.beginLoadEvent());
+        queue.add(created.task);
+        return created;
+      }
+
+      join(p, lane, session);
+      return p;
+    }).future;
+  }
+
+  /**
+   * Claims the given entry for the caller to load on its own, unless it is already pending.
+   *
+   * @param key the entry
+   * @param session the session of the claimant, or {@code null}
+   * @param lane the lane of the claimant
+   *
+   * @return the claim: if not owned, the entry is already being loaded by someone else
+   */
+  Claim claim(final K key, final LoadScheduler.Session session, final LoadScheduler.Lane lane) {
+    final var owned = new AtomicBoolean();
+    final Pending<K> p = pending.compute(key, (k, existing) -> {
+      if (existing == null) {
+        owned.set(true);
+        final Pending<K> created = new Pending<>();
+        created.waiters.add(new Waiter(lane, session));
+        return created;
+      }
+
+      join(existing, lane, session);
+      return existing;
+    });
+    return new Claim(p.future, owned.get());
+  }
+
+  private void join(final Pending<K> p,
+                    final LoadScheduler.Lane lane,
+                    final LoadScheduler.Session session) {
+    p.waiters.add(new Waiter(lane, session));
+    final Task<K> task = p.task;
+    // still queued in a less urgent lane -> move it up (if the loader took it already, it is too
+    // late for that):
+    if (task != null && lane.compareTo(task.lane()) < 0 && queue.remove(task)) {
+      p.task = new Task<>(task.key(), lane, task.seq(), task.event());
+      queue.add(p.task);
+    }
+  }
+
+  Task<K> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    return queue.poll(timeout, unit);
+  }
+
+  int drainTo(final Collection<? super Task<K>> tasks, final int maxElements) {
+    return queue.drainTo(tasks, maxElements);
+  }
+
+  int queueSize() {
+    return queue.size();
+  }
+
+  /**
+   * Drops the entry of the given task, if every session waiting on it got cancelled.
+   *
+   * @param task the task taken from the queue
+   * @param result the result to complete the dropped entry with
+   *
+   * @return {@code true} if the entry is dropped, thus the task should not be loaded
+   */
+  boolean dropIfCancelled(final Task<K> task, final ObjectEntryLoadResult result) {
+    final var dropped = new AtomicReference<Pending<K>>();
+    pending.computeIfPresent(task.key(), (k, p) -> {
+      if (p.task == task && p.waiters.stream().allMatch(Waiter::cancelled)) {
+        dropped.set(p);
+        return null;
+      }
+
+      return p;
+    });
+
+    final Pending<K> p = dropped.get();
+    if (p == null) {
+      return false;
+    }
+
+    p.future.complete(result);
+    return true;
+  }
+
+  /**
+   * Completes the given pending entry with the given result, charging it to every session waiting
+   * on it (once each, however many times it asked).
+   *
+   * @param key the entry
+   * @param result the result of loading it
+   */
+  void complete(final K key, final ObjectEntryLoadResult result) {
+    final Pending<K> p = pending.remove(key);
+    if (p == null) {
+      return;
+    }
+
+    p.waiters.stream()
+        .map(Waiter::session)
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(it -> ObjectEntryLoadingService.charge(it, result));
+    p.future.complete(result);
+  }
+
+  boolean isPending(final K key) {
+    return pending.containsKey(key);
+  }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.smartbit4all.core.object.ObjectApi;
+import org.smartbit4all.core.object.ObjectNode;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.entry.UriProperty;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.ModificationMode;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.PropertyChange;
+import com.aestallon.storageexplorer.core.util.ObjectMaps;
+import com.aestallon.storageexplorer.core.util.Uris;
+
+/**
+ * Writes object entries through the platform: the {@link ObjectApi} of the storage takes care of
+ * versioning, serialisation and compression, exactly as it does for the applications owning the
+ * storage.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+final class PlatformObjectWriter {
+
+  /**
+   * An entry written. It is only refreshed in the index once the write is final (e.g. the
+   * transaction it was written in got committed).
+   *
+   * @param entry the entry written
+   * @param content the content written
+   * @param version the version written, or {@code -1} for a single version entry
+   */
+  record Written(ObjectEntry entry, Map<String, Object> content, long version) {
+
+    void refresh() {
+      entry.modified(content, version);
+    }
+
+  }
+
+  /**
+   * The edits of the top level properties of an object.
+   */
+  interface Edits {
+
+    void set(String key, Object value);
+
+    void remove(String key);
+
+  }
+
+  private final ObjectApi objectApi;
+
+  PlatformObjectWriter(final ObjectApi objectApi) {
+    this.objectApi = objectApi;
+  }
+
+  /**
+   * Applies the given changes to the latest version of the given entry.
+   *
+   * @param entry the entry to modify
+   * @param changes the changes to apply, in order
+   *
+   * @return the entry written, or an empty optional if the changes left its content as it was
+   *
+   * @throws IllegalArgumentException if a change cannot be applied to the content of the entry
+   */
+  Optional<Written> apply(final ObjectEntry entry, final List<PropertyChange> changes) {
+    final ObjectNode node = loadLatest(entry);
+    final Map<String, Object> before = new LinkedHashMap<>(node.getObjectAsMap());
+    return write(entry, node, before, applied(before, changes));
+  }
+
+  /**
+   * Applies the given changes to the given content.
+   *
+   * @param content the content to change, which is left as it is
+   * @param changes the changes to apply, in order
+   *
+   * @return the changed content
+   *
+   * @throws IllegalArgumentException if a change cannot be applied to the content
+   */
+  static Map<String, Object> applied(final Map<String, Object> content,
+                                     final List<PropertyChange> changes) {
+    Map<String, Object> ret = content;
+    for (final PropertyChange change : changes) {
+      final UriProperty.Segment[] path = UriProperty.Segment.parse(change.path());
+      ret = switch (change) {
+        case PropertyChange.SetValue set -> ObjectMaps.withValue(ret, path, set.value());
+        case PropertyChange.Unset unset -> ObjectMaps.withoutValue(ret, path);
+      };
+    }
+    return ret;
+  }
+
+  /**
+   * Edits only the top level properties that actually differ between the given contents: the
+   * properties no longer present are removed, instead of being set to {@code null}.
+   *
+   * @param edits the edits to make
+   * @param before the content before the change
+   * @param after the content after the change
+   */
+  static void edit(final Edits edits,
+                   final Map<String, Object> before,
+                   final Map<String, Object> after) {
+    final Set<String> keys = new LinkedHashSet<>(before.keySet());
+    keys.addAll(after.keySet());
+    for (final String key : keys) {
+      if (!after.containsKey(key)) {
+        edits.remove(key);
+        continue;
+      }
+
+      final Object value = after.get(key);
+      if (!before.containsKey(key) || !Objects.equals(before.get(key), value)) {
+        edits.set(key, value);
+      }
+    }
+  }
+
+  /**
+   * Replaces the content of the latest version of the given entry.
+   *
+   * @param entry the entry to modify
+   * @param content the new content
+   *
+   * @return the entry written, or an empty optional if it already had the given content
+   */
+  Optional<Written> replace(final ObjectEntry entry, final Map<String, Object> content) {
+    final ObjectNode node = loadLatest(entry);
+    return write(entry, node, new LinkedHashMap<>(node.getObjectAsMap()), content);
+  }
+
+  /**
+   * Parses the given serialised content, as it would be stored by the platform.
+   *
+   * @param content the serialised content
+   *
+   * @return the content as a map
+   *
+   * @throws IOException if the content cannot be parsed
+   */
+  @SuppressWarnings("unchecked")
+  Map<String, Object> parse(final String content) throws IOException {
+    return objectApi.getDefaultSerializer().fromString(content, LinkedHashMap.class);
+  }
+
+  /**
+   * Checks whether an entry may be written in the given mode at all: versions are never
+   * overwritten in place, only single version entries are.
+   *
+   * @param entry the entry to write
+   * @param mode the mode of the modification
+   *
+   * @return the reason the entry cannot be written, or an empty optional if it can
+   */
+  static Optional<String> refuse(final StorageEntry entry, final ModificationMode mode) {
+    if (!(entry instanceof ObjectEntry objectEntry)) {
+      return Optional.of("Only objects can be modified!");
+    }
+
+    final boolean singleVersion = Uris.isSingleVersion(objectEntry.uri());
+    return switch (mode) {
+      case ModificationMode.Overwrite ow -> Optional.of(
+          "Versions cannot be overwritten in place, save a new version instead!");
+      case ModificationMode.OverwriteSingleVersion sv when !singleVersion -> Optional.of(
+          objectEntry.uri() + " is not a single version entry!");
+      case ModificationMode.SaveNewVersion nv when singleVersion -> Optional.of(
+          objectEntry.uri() + " is a single version entry, it can only be overwritten!");
+      case ModificationMode.OverwriteSingleVersion sv -> Optional.empty();
+      case ModificationMode.SaveNewVersion nv -> Optional.empty();
+    };
+  }
+
+  private Optional<Written> write(final ObjectEntry entry,
+                                  final ObjectNode node,
+                                  final Map<String, Object> before,
+                                  final Map<String, Object> after) {
+    if (before.equals(after)) {
+      return Optional.empty();
+    }
+
+    edit(new Edits() {
+      @Override
+      public void set(final String key, final Object value) {
+        node.setValue(key, value);
+      }
+
+      @Override
+      public void remove(final String key) {
+        // setting the property marks the node modified, dropping it from the content removes it:
+        node.setValue(key, null);
+        node.getObjectAsMap().remove(key);
+      }
+    }, before, after);
+
+    final URI saved = objectApi.save(node);
+    final long version = Uris.isSingleVersion(entry.uri()) || saved == null
+        ? -1L
+        : Uris.getVersion(saved);
+    return Optional.of(new Written(entry, after, version));
+  }
+
+  private ObjectNode loadLatest(final ObjectEntry entry) {
+    final ObjectNode node = Uris.isSingleVersion(entry.uri())
+        ? objectApi.loadLatest(entry.uri(), null)
+        : objectApi.loadLatest(entry.uri());
+    if (node == null) {
+      throw new IllegalStateException("Could not load " + entry.uri());
+    }
+
+    return node;
+  }
+
+}
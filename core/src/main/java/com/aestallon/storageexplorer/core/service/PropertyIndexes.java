@@ -0,0 +1,427 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
+import com.aestallon.storageexplorer.core.service.cache.PropertyIndex;
+import com.aestallon.storageexplorer.core.service.cache.PropertyIndexDefinition;
+import com.aestallon.storageexplorer.core.service.cache.PropertyIndexSqliteStore;
+import com.aestallon.storageexplorer.core.service.cache.PropertyValue;
+import com.google.common.collect.Lists;
+
+/**
+ * The property value indices of a storage index.
+ *
+ * <p>
+ * Indices are declared explicitly (see {@link #declare(PropertyIndexDefinition)}), built and
+ * maintained on a single background thread per storage, and persisted next to the index cache so
+ * they survive restarts. Nothing here is ever trusted blindly: every value is stored with the
+ * fingerprint of its entry, and a {@link View} only answers for the candidates whose fingerprint is
+ * unchanged. Everything else is left to regular evaluation, and queued for re-indexing.
+ *
+ * <p>
+ * Only values discoverable without following references are indexed: a value living on another
+ * entry may change without the fingerprint of the indexed entry changing.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class PropertyIndexes {
+
+  private static final Logger log = LoggerFactory.getLogger(PropertyIndexes.class);
+
+  private static final int CHUNK_SIZE = 500;
+
+
+  /**
+   * The property indices of a single path, restricted to the candidates of a query whose indexed
+   * values are current.
+   */
+  public static final class View {
+
+    private final Map<URI, PropertyIndex> fresh;
+    private final Set<PropertyIndex> indices;
+
+    private View(final Map<URI, PropertyIndex> fresh) {
+      this.fresh = fresh;
+      this.indices = new HashSet<>(fresh.values());
+    }
+
+    public boolean covers(final URI uri) {
+      return fresh.containsKey(uri);
+    }
+
+    public int size() {
+      return fresh.size();
+    }
+
+    public Set<URI> equalTo(final PropertyValue value) {
+      return collect(it -> it.equalTo(value));
+    }
+
+    public Set<URI> startingWith(final String prefix) {
+      return collect(it -> it.startingWith(prefix));
+    }
+
+    public Set<URI> matching(final Predicate<PropertyValue> predicate) {
+      return collect(it -> it.matching(predicate));
+    }
+
+    private Set<URI> collect(final Function<PropertyIndex, Set<URI>> f) {
+      if (indices.size() == 1) {
+        return f.apply(indices.iterator().next());
+      }
+
+      final Set<URI> ret = new HashSet<>();
+      indices.forEach(it -> ret.addAll(f.apply(it)));
+      return ret;
+    }
+
+  }
+
+
+  private record Extraction(PropertyValue value, boolean failed) {
+
+    private static final Extraction FAILED = new Extraction(null, true);
+
+  }
+
+
+  private final StorageIndex<?> storageIndex;
+  private final Map<PropertyIndexDefinition, PropertyIndex> indices = new ConcurrentHashMap<>();
+  private final StorageInstanceExaminer examiner =
+      new StorageInstanceExaminer(uri -> Optional.empty());
+  private final Set<URI> dirty = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private ExecutorService worker;
+  // confined to the worker thread:
+  private PropertyIndexSqliteStore store;
+
+  PropertyIndexes(final StorageIndex<?> storageIndex) {
+    this.storageIndex = storageIndex;
+    if (PropertyIndexSqliteStore.location(storageIndex.id()).toFile().exists()) {
+      worker().execute(this::restore);
+    }
+  }
+
+  private synchronized ExecutorService worker() {
+    if (worker == null) {
+      worker = Executors.newSingleThreadExecutor(r -> {
+        final var t = new Thread(r, "property-index-" + storageIndex.id());
+        t.setDaemon(true);
+        return t;
+      });
+    }
+
+    return worker;
+  }
+
+  private void restore() {
+    try {
+      store = PropertyIndexSqliteStore.openExisting(storageIndex.id()).orElse(null);
+      if (store == null) {
+        return;
+      }
+
+      for (final PropertyIndexDefinition definition : store.definitions()) {
+        final PropertyIndex index = indices.computeIfAbsent(definition, PropertyIndex::new);
+        store.load(index);
+        log.info("Restored property index [ {} ] with {} values.", definition, index.size());
+      }
+    } catch (RuntimeException e) {
+      log.warn("Cannot restore property indices of {}: {}", storageIndex.id(), e.getMessage());
+      log.debug(e.getMessage(), e);
+    }
+  }
+
+  public Collection<PropertyIndex> all() {
+    return List.copyOf(indices.values());
+  }
+
+  public Optional<PropertyIndex> get(final PropertyIndexDefinition definition) {
+    return Optional.ofNullable(indices.get(definition));
+  }
+
+  /**
+   * Declares (and persists) the given property index, and (re)builds it in the background.
+   *
+   * <p>
+   * Re-declaring an existing index only re-indexes the entries changed since they were indexed.
+   *
+   * @param definition the index to declare
+   *
+   * @return the index, completed once the build is done
+   */
+  public CompletableFuture<PropertyIndex> declare(final PropertyIndexDefinition definition) {
+    final PropertyIndex index = indices.computeIfAbsent(definition, PropertyIndex::new);
+    return CompletableFuture.supplyAsync(
+        () -> {
+          persist(it -> it.define(definition));
+          build(index);
+          return index;
+        },
+        worker());
+  }
+
+  private void build(final PropertyIndex index) {
+    final var definition = index.definition();
+    final long start = System.currentTimeMillis();
+    index.complete(false);
+
+    final Set<StorageEntry> entries = storageIndex.get(definition.target());
+    final Set<URI> gone = new HashSet<>(index.snapshot().keySet());
+    entries.forEach(it -> gone.remove(it.uri()));
+    gone.forEach(index::remove);
+    persist(it -> it.remove(definition, gone));
+
+    LoadScheduler.global().openSession(LoadScheduler.Lane.BACKGROUND).run(() -> Lists
+        .partition(new ArrayList<>(entries), CHUNK_SIZE)
+        .forEach(chunk -> reindex(index, chunk)));
+    index.complete(true);
+    log.info("Property index [ {} ] built: {} values of {} entries in {} ms.",
+        definition, index.size(), entries.size(), System.currentTimeMillis() - start);
+  }
+
+  private void reindex(final PropertyIndex index, final List<StorageEntry> chunk) {
+    final var definition = index.definition();
+    final Map<URI, Long> fingerprints = storageIndex.fingerprints(chunk);
+    final Map<URI, PropertyIndex.Indexed> written = new HashMap<>();
+    final List<URI> removed = new ArrayList<>();
+    for (final StorageEntry entry : chunk) {
+      final URI uri = entry.uri();
+      final Long fingerprint = fingerprints.get(uri);
+      final var current = index.get(uri);
+      if (fingerprint == null) {
+        if (current.isPresent()) {
+          index.remove(uri);
+          removed.add(uri);
+        }
+        continue;
+      }
+
+      if (current.isPresent() && current.get().fingerprint() == fingerprint) {
+        continue;
+      }
+
+      final Extraction extraction = extract(entry, definition.path());
+      if (!extraction.failed()) {
+        // a null value records the entry cannot be answered from the index at this fingerprint:
+        final var indexed = new PropertyIndex.Indexed(extraction.value(), fingerprint);
+        index.put(uri, indexed);
+        written.put(uri, indexed);
+      }
+    }
+
+    persist(it -> {
+      it.write(definition, written);
+      it.remove(definition, removed);
+    });
+  }
+
+  private Extraction extract(final StorageEntry entry, final String path) {
+    if (!(entry instanceof ObjectEntry o)) {
+      return new Extraction(null, false);
+    }
+
+    final Optional<StorageInstanceExaminer.PropertyDiscoveryResult> result =
+        switch (o.tryLoad().get()) {
+          case ObjectEntryLoadResult.Err err -> null;
+          case ObjectEntryLoadResult.SingleVersion sv ->
+              examiner.discoverLocalProperty(o, path, sv);
+          case ObjectEntryLoadResult.MultiVersion(var versions) -> versions.isEmpty()
+              ? Optional.of(new StorageInstanceExaminer.NoValue())
+              : examiner.discoverLocalProperty(o, path, versions.getLast())
+                  .map(it -> it instanceof StorageInstanceExaminer.NotFound
+                      ? new StorageInstanceExaminer.NoValue()
+                      : it);
+        };
+    return result == null
+        ? Extraction.FAILED
+        : new Extraction(result.flatMap(PropertyValue::of).orElse(null), false);
+  }
+
+  private void persist(final Consumer<PropertyIndexSqliteStore> action) {
+    try {
+      if (store == null) {
+        store = PropertyIndexSqliteStore.open(storageIndex.id());
+      }
+
+      action.accept(store);
+    } catch (RuntimeException e) {
+      log.warn("Cannot persist property index of {}: {}", storageIndex.id(), e.getMessage());
+      log.debug(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns a view of the property indices of the given path on the given candidates, if any of
+   * them can be answered from an index.
+   *
+   * <p>
+   * Candidates covered by a declaration but not (or no longer currently) indexed are queued for
+   * re-indexing as a side effect.
+   *
+   * @param path the property path
+   * @param candidates the entries to be evaluated
+   *
+   * @return the view, or empty if no candidate can be answered from an index
+   */
+  public Optional<View> view(final String path,
+                             final Collection<? extends StorageEntry> candidates) {
+    return view(path, candidates, new HashMap<>());
+  }
+
+  /**
+   * Returns a view of the property indices of the given path on the given candidates, reusing the
+   * fingerprints already fetched for them.
+   *
+   * <p>
+   * Views of several paths on the same candidates should share the same {@code fingerprints}: each
+   * entry is fingerprinted at most once then.
+   *
+   * @param path the property path
+   * @param candidates the entries to be evaluated
+   * @param fingerprints the fingerprints fetched so far, keyed by URI ({@code null} for entries
+   *     without one); the ones fetched here are added to it
+   *
+   * @return the view, or empty if no candidate can be answered from an index
+   */
+  public Optional<View> view(final String path,
+                             final Collection<? extends StorageEntry> candidates,
+                             final Map<URI, Long> fingerprints) {
+    final List<PropertyIndex> forPath = indices.values().stream()
+        .filter(it -> it.definition().path().equals(path))
+        .toList();
+    if (forPath.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final Map<URI, PropertyIndex.Indexed> claimed = new HashMap<>();
+    final Map<URI, PropertyIndex> claimedBy = new HashMap<>();
+    final List<StorageEntry> toCheck = new ArrayList<>();
+    for (final StorageEntry candidate : candidates) {
+      forPath.stream()
+          .filter(it -> it.definition().covers(candidate))
+          .findFirst()
+          .ifPresent(index -> index.get(candidate.uri()).ifPresentOrElse(
+              indexed -> {
+                claimed.put(candidate.uri(), indexed);
+                claimedBy.put(candidate.uri(), index);
+                toCheck.add(candidate);
+              },
+              () -> markDirty(candidate.uri())));
+    }
+
+    if (toCheck.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final List<StorageEntry> toFingerprint = toCheck.stream()
+        .filter(it -> !fingerprints.containsKey(it.uri()))
+        .toList();
+    if (!toFingerprint.isEmpty()) {
+      final Map<URI, Long> fetched = storageIndex.fingerprints(toFingerprint);
+      toFingerprint.forEach(it -> fingerprints.put(it.uri(), fetched.get(it.uri())));
+    }
+
+    final Map<URI, PropertyIndex> fresh = new HashMap<>();
+    claimed.forEach((uri, indexed) -> {
+      final Long fingerprint = fingerprints.get(uri);
+      if (fingerprint == null || fingerprint != indexed.fingerprint()) {
+        markDirty(uri);
+      } else if (indexed.value() != null) {
+        fresh.put(uri, claimedBy.get(uri));
+      }
+    });
+
+    return fresh.isEmpty() ? Optional.empty() : Optional.of(new View(fresh));
+  }
+
+  void refreshed(final StorageEntry entry) {
+    if (indices.isEmpty()) {
+      return;
+    }
+
+    for (final PropertyIndex index : indices.values()) {
+      if (index.definition().covers(entry) && index.get(entry.uri()).isEmpty()) {
+        markDirty(entry.uri());
+        return;
+      }
+    }
+  }
+
+  void modified(final StorageEntry entry) {
+    // whatever got indexed of the entry is stale now:
+    if (indices.values().stream().anyMatch(it -> it.definition().covers(entry))) {
+      markDirty(entry.uri());
+    }
+  }
+
+  void cleared() {
+    indices.values().forEach(it -> it.complete(false));
+  }
+
+  void rebuild() {
+    indices.values().forEach(it -> worker().execute(() -> build(it)));
+  }
+
+  private void markDirty(final URI uri) {
+    dirty.add(uri);
+    if (drainScheduled.compareAndSet(false, true)) {
+      worker().execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    drainScheduled.set(false);
+    final List<URI> uris = new ArrayList<>(dirty);
+    uris.forEach(dirty::remove);
+    final List<StorageEntry> entries = uris.stream()
+        .map(storageIndex::get)
+        .flatMap(Optional::stream)
+        .toList();
+    LoadScheduler.global().openSession(LoadScheduler.Lane.BACKGROUND).run(() -> {
+      for (final PropertyIndex index : indices.values()) {
+        final List<StorageEntry> covered = entries.stream()
+            .filter(index.definition()::covers)
+            .toList();
+        Lists.partition(covered, CHUNK_SIZE).forEach(chunk -> reindex(index, chunk));
+      }
+    });
+    log.debug("Re-indexed {} entries of {}.", entries.size(), storageIndex.id());
+  }
+
+}
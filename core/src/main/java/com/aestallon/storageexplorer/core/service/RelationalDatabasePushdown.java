@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import static java.util.stream.Collectors.joining;
+import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseVendor;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.model.loading.PushdownPredicate;
+
+/**
+ * Renders {@link PushdownPredicate}s into a single URI query against the platform's relational
+ * storage tables.
+ *
+ * <p>
+ * URI predicates translate to plain column filters on {@code OBJECT_ENTRY}. Property predicates are
+ * evaluated on the latest {@code OBJECT_VERSION} content with the JSON functions of the vendor at
+ * hand. Where that is not possible (unknown vendor, compressed content, string literals needing
+ * escaping in JSON) they evaluate to {@code TRUE} -> the result is always a superset of the
+ * matching entries.
+ */
+final class RelationalDatabasePushdown {
+
+  record Query(String sql, Map<String, Object> params) {}
+
+
+  private enum Dialect {
+
+    H2 {
+      @Override
+      String jsonText(String prop) {
+        return "CAST((CAST(CAST(v.OBJECT_CONTENT AS VARBINARY) AS JSON)).\"%s\" AS VARCHAR)"
+            .formatted(prop);
+      }
+
+      @Override
+      String number(String prop) {
+        final String text = jsonText(prop);
+        return "CASE WHEN REGEXP_LIKE(%s, '%s') THEN CAST(%s AS DECFLOAT) END"
+            .formatted(text, NUMBER_PATTERN, text);
+      }
+    },
+
+    PG {
+      @Override
+      String jsonText(String prop) {
+        return "((convert_from(v.OBJECT_CONTENT, 'UTF8')::jsonb) -> '%s')::text".formatted(prop);
+      }
+
+      @Override
+      String number(String prop) {
+        return ("CASE WHEN jsonb_typeof((convert_from(v.OBJECT_CONTENT, 'UTF8')::jsonb) -> '%s')"
+                + " = 'number' THEN ((convert_from(v.OBJECT_CONTENT, 'UTF8')::jsonb) ->> '%s')"
+                + "::numeric END").formatted(prop, prop);
+      }
+    },
+
+    ORACLE {
+      @Override
+      String jsonText(String prop) {
+        // Oracle hands out unquoted scalars, never their JSON text:
+        return ("JSON_VALUE(v.OBJECT_CONTENT FORMAT JSON, '$.\"%s\"'"
+                + " RETURNING VARCHAR2(4000) NULL ON ERROR)").formatted(prop);
+      }
+
+      @Override
+      String number(String prop) {
+        return "JSON_VALUE(v.OBJECT_CONTENT FORMAT JSON, '$.\"%s\"' RETURNING NUMBER NULL ON ERROR)"
+            .formatted(prop);
+      }
+
+      @Override
+      String quote(String s) {
+        return s;
+      }
+
+      @Override
+      String quotePrefix(String s) {
+        return s;
+      }
+    };
+
+    private static final String NUMBER_PATTERN = "^-?[0-9]+(\\.[0-9]+)?([eE][+-]?[0-9]+)?$";
+
+    private static Dialect of(final DatabaseVendor vendor) {
+      return switch (vendor) {
+        case H2 -> H2;
+        case PG -> PG;
+        case ORACLE -> ORACLE;
+        case null, default -> null;
+      };
+    }
+
+    /**
+     * Returns an expression yielding the textual form of a top-level property of the content.
+     */
+    abstract String jsonText(String prop);
+
+    /**
+     * Returns an expression yielding the numeric value of a top-level property of the content, or
+     * {@code NULL} if it is not a number.
+     */
+    abstract String number(String prop);
+
+    /**
+     * Returns the given plain string (one needing no escaping in JSON) the way
+     * {@link #jsonText(String)} would yield it.
+     */
+    String quote(String s) {
+      return '"' + s + '"';
+    }
+
+    /**
+     * Returns the given plain string (one needing no escaping in JSON) the way
+     * {@link #jsonText(String)} would start for any string value starting with it.
+     */
+    String quotePrefix(String s) {
+      return '"' + s;
+    }
+
+  }
+
+
+  private final Dialect dialect;
+  private final String targetSchema;
+  private final boolean compressionAware;
+
+  RelationalDatabasePushdown(final DatabaseVendor vendor,
+                             final String targetSchema,
+                             final boolean compressionAware) {
+    this.dialect = Dialect.of(vendor);
+    this.targetSchema = targetSchema;
+    this.compressionAware = compressionAware;
+  }
+
+  static boolean rendersProperties(final DatabaseVendor vendor) {
+    return Dialect.of(vendor) != null;
+  }
+
+  Query render(final IndexingTarget target, final PushdownPredicate predicate) {
+    final var render = new Render();
+    final List<String> clauses = new ArrayList<>();
+    if (!target.schemas().isEmpty()) {
+      clauses.add("e.SCHEME IN (:" + render.param(List.copyOf(target.schemas())) + ")");
+    }
+
+    if (!target.types().isEmpty()) {
+      clauses.add(target.types().stream()
+          .map(it -> "e.CLASSNAME LIKE :" + render.param("%" + it))
+          .collect(joining(" OR ", "(", ")")));
+    }
+
+    final String condition = (predicate == null) ? null : render.predicate(predicate);
+    if (condition != null) {
+      clauses.add(condition);
+    }
+
+    final StringBuilder sb = new StringBuilder("SELECT e.URI AS \"URI\" FROM ")
+        .append(table("OBJECT_ENTRY")).append(" e");
+    if (render.content) {
+      sb.append(" JOIN ").append(table("OBJECT_VERSION")).append(" v")
+          .append(" ON v.ENTRY_ID = e.ID AND v.VERSION = e.VERSION");
+    }
+
+    if (!clauses.isEmpty()) {
+      sb.append(" WHERE ").append(String.join(" AND ", clauses));
+    }
+
+    return new Query(sb.toString(), render.params);
+  }
+
+  private String table(final String name) {
+    return (targetSchema == null) ? name : targetSchema + "." + name;
+  }
+
+
+  private final class Render {
+
+    private final Map<String, Object> params = new LinkedHashMap<>();
+    private boolean content;
+
+    private String param(final Object value) {
+      final String name = "p" + params.size();
+      params.put(name, value);
+      return name;
+    }
+
+    // null stands for TRUE:
+    private String predicate(final PushdownPredicate p) {
+      return switch (p) {
+        case PushdownPredicate.UriIn(Set<String> uris) -> uris.isEmpty()
+            ? "1 = 0"
+            : "e.URI IN (:" + param(List.copyOf(uris)) + ")";
+        case PushdownPredicate.UriStartsWith(String prefix) ->
+            "e.URI LIKE :" + param(likePrefix(prefix)) + " ESCAPE '\\'";
+        case PushdownPredicate.PropertyIn in -> onContent(propertyIn(in));
+        case PushdownPredicate.PropertyStartsWith(String prop, String prefix) -> onContent(
+            dialect == null || !plain(prefix)
+                ? null
+                : dialect.jsonText(prop)
+                  + " LIKE :" + param(likePrefix(dialect.quotePrefix(prefix))) + " ESCAPE '\\'");
+        case PushdownPredicate.PropertyCompare(String prop, var comparison, Number value) ->
+            onContent(dialect == null
+                ? null
+                : dialect.number(prop) + " " + comparison.sql() + " :" + param(value));
+        case PushdownPredicate.And(List<PushdownPredicate> operands) -> {
+          final List<String> rendered = operands.stream()
+              .map(this::predicate)
+              .filter(Objects::nonNull)
+              .toList();
+          yield rendered.isEmpty() ? null : rendered.stream().collect(joining(" AND ", "(", ")"));
+        }
+        case PushdownPredicate.Or(List<PushdownPredicate> operands) -> {
+          final List<String> rendered = new ArrayList<>(operands.size());
+          for (final PushdownPredicate operand : operands) {
+            final String r = predicate(operand);
+            if (r == null) {
+              yield null;
+            }
+            rendered.add(r);
+          }
+          yield rendered.stream().collect(joining(" OR ", "(", ")"));
+        }
+      };
+    }
+
+    private String propertyIn(final PushdownPredicate.PropertyIn in) {
+      if (dialect == null) {
+        return null;
+      }
+
+      final List<String> alternatives = new ArrayList<>(in.values().size());
+      for (final Object value : in.values()) {
+        final String alternative = switch (value) {
+          case String s when plain(s) ->
+              dialect.jsonText(in.property()) + " = :" + param(dialect.quote(s));
+          case Boolean b -> dialect.jsonText(in.property()) + " = '" + b + "'";
+          case Number n -> dialect.number(in.property()) + " = :" + param(n);
+          default -> null;
+        };
+        if (alternative == null) {
+          return null;
+        }
+        alternatives.add(alternative);
+      }
+
+      return alternatives.stream().collect(joining(" OR ", "(", ")"));
+    }
+
+    private String onContent(final String condition) {
+      if (condition == null) {
+        return null;
+      }
+
+      content = true;
+      // compressed content is opaque to the JSON functions, it can never be ruled out (nor can it
+      // be handed to them, thus the CASE):
+      return compressionAware
+          ? "(CASE WHEN LENGTH(v.OBJECT_CONTENT_COMPRESS_TYPE) > 0 THEN 1"
+            + " WHEN " + condition + " THEN 1 ELSE 0 END = 1)"
+          : condition;
+    }
+
+  }
+
+
+  /**
+   * Returns whether the given string is encoded the same way by every JSON writer (no escaping
+   * whatsoever) -> such strings can be compared to the textual form of a JSON value.
+   */
+  private static boolean plain(final String s) {
+    return s.chars().allMatch(c -> c >= 0x20 && c != '"' && c != '\\');
+  }
+
+  private static String likePrefix(final String prefix) {
+    return prefix
+        .replace("\\", "\\\\")
+        .replace("%", "\\%")
+        .replace("_", "\\_")
+        + "%";
+  }
+
+}
@@ -15,18 +15,150 @@
 
 package com.aestallon.storageexplorer.core.service;
 
-import com.aestallon.storageexplorer.common.util.NotImplementedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 
 class RelationalDatabaseStorageEntryModificationService
     implements StorageEntryModificationService<RelationalDatabaseStorageIndex> {
 
+  private static final Logger log =
+      LoggerFactory.getLogger(RelationalDatabaseStorageEntryModificationService.class);
+
+  private final RelationalDatabaseStorageIndex storageIndex;
+  private final PlatformObjectWriter writer;
+  private final TransactionOperations transactions;
+  /**
+   * Whether {@link #transactions} actually demarcate transactions. Without them, every entry of a
+   * batch is committed on its own, thus a batch failing midway cannot be reported as rolled back.
+   */
+  private final boolean transactional;
+
+  RelationalDatabaseStorageEntryModificationService(
+      final RelationalDatabaseStorageIndex storageIndex,
+      final TransactionOperations transactions) {
+    this.storageIndex = storageIndex;
+    this.writer = new PlatformObjectWriter(storageIndex.objectApi);
+    this.transactions = transactions;
+    this.transactional = transactions != TransactionOperations.withoutTransaction();
+  }
+
   @Override
   public StorageEntryModificationResult modify(final StorageEntry storageEntry,
                                                final String content, 
                                                final ModificationMode mode) {
-    throw new NotImplementedException(
-        "Not yet implemented: RelationalDatabaseStorageEntryModificationService.modify(StorageEntry, String, ModificationMode)");
+    final var refusal = PlatformObjectWriter.refuse(storageEntry, mode);
+    if (refusal.isPresent()) {
+      return new StorageEntryModificationResult.Err(storageEntry, refusal.get());
+    }
+
+    final var entry = (ObjectEntry) storageEntry;
+    try {
+      final Map<String, Object> parsed = writer.parse(content);
+      return inTransaction(List.of(entry), e -> writer.replace(e, parsed)).getFirst();
+    } catch (final Exception e) {
+      log.error("Could not modify [ {} ] in {}", entry.uri(), storageIndex.id(), e);
+      return new StorageEntryModificationResult.Err(entry, e.getMessage());
+    }
+  }
+
+  @Override
+  public List<StorageEntryModificationResult> modifyAll(final List<ObjectEntry> entries,
+                                                        final List<PropertyChange> changes) {
+    if (entries.isEmpty()) {
+      return List.of();
+    }
+
+    if (!transactional) {
+      return oneByOne(entries, e -> writer.apply(e, changes));
+    }
+
+    try {
+      return inTransaction(entries, e -> writer.apply(e, changes));
+    } catch (final RuntimeException e) {
+      // the transaction got rolled back -> not a single entry of the batch got written:
+      log.error("Could not modify a batch of {} entries in {}: {}",
+          entries.size(),
+          storageIndex.id(),
+          e.getMessage());
+      final String msg = "Batch of %d entries rolled back: %s".formatted(
+          entries.size(),
+          e.getMessage());
+      return entries.stream()
+          .<StorageEntryModificationResult>map(it -> new StorageEntryModificationResult.Err(
+              it,
+              msg))
+          .toList();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Write {
+
+    Optional<PlatformObjectWriter.Written> write(ObjectEntry entry);
+
+  }
+
+  private List<StorageEntryModificationResult> inTransaction(final List<ObjectEntry> entries,
+                                                             final Write write) {
+    final List<PlatformObjectWriter.Written> written = new ArrayList<>(entries.size());
+    final List<StorageEntryModificationResult> ret = LoadScheduler.global().run(
+        storageIndex.id(),
+        () -> transactions.execute(status -> {
+          // any failure propagates, and rolls back the whole batch:
+          final List<StorageEntryModificationResult> results = new ArrayList<>(entries.size());
+          for (final ObjectEntry entry : entries) {
+            final Optional<PlatformObjectWriter.Written> w = write.write(entry);
+            w.ifPresent(written::add);
+            results.add(w.isPresent()
+                ? new StorageEntryModificationResult.Ok(entry)
+                : new StorageEntryModificationResult.Unchanged(entry));
+          }
+          return results;
+        }));
+    // only now are the writes final:
+    written.forEach(PlatformObjectWriter.Written::refresh);
+    return ret;
+  }
+
+  /**
+   * Writes the entries one by one, without a transaction: every entry is committed on its own, and
+   * an entry failing does not affect the others -> they are written regardless, and every entry
+   * written is refreshed.
+   */
+  private List<StorageEntryModificationResult> oneByOne(final List<ObjectEntry> entries,
+                                                        final Write write) {
+    final List<PlatformObjectWriter.Written> written = new ArrayList<>(entries.size());
+    try {
+      return LoadScheduler.global().run(storageIndex.id(), () -> {
+        final List<StorageEntryModificationResult> results = new ArrayList<>(entries.size());
+        for (final ObjectEntry entry : entries) {
+          try {
+            final Optional<PlatformObjectWriter.Written> w = write.write(entry);
+            w.ifPresent(written::add);
+            results.add(w.isPresent()
+                ? new StorageEntryModificationResult.Ok(entry)
+                : new StorageEntryModificationResult.Unchanged(entry));
+          } catch (final RuntimeException e) {
+            log.error("Could not modify [ {} ] in {}: {}",
+                entry.uri(),
+                storageIndex.id(),
+                e.getMessage());
+            results.add(new StorageEntryModificationResult.Err(entry, e.getMessage()));
+          }
+        }
+        return results;
+      });
+    } finally {
+      // whatever got written is final already:
+      written.forEach(PlatformObjectWriter.Written::refresh);
+    }
   }
 
 }
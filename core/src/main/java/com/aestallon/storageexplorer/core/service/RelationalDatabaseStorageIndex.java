@@ -17,15 +17,20 @@ package com.aestallon.storageexplorer.core.service;
 
 import java.io.IOException;
 import java.net.URI;
+import java.sql.Blob;
 import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,13 +39,20 @@ import org.smartbit4all.api.binarydata.BinaryDataCompressionUtil;
 import org.smartbit4all.api.collection.CollectionApi;
 import org.smartbit4all.core.object.ObjectApi;
 import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.support.TransactionOperations;
+import com.aestallon.storageexplorer.core.jfr.DeserialisationEvent;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntryFactory;
+import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseVendor;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
 import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryMeta;
+import com.aestallon.storageexplorer.core.model.loading.PushdownPredicate;
 import com.aestallon.storageexplorer.core.service.cache.StorageIndexCache;
+import com.aestallon.storageexplorer.core.util.Uris;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 
 public final class RelationalDatabaseStorageIndex
     extends StorageIndex<RelationalDatabaseStorageIndex> {
@@ -121,6 +133,8 @@ public final class RelationalDatabaseStorageIndex
   final JdbcClient db;
   private final String targetSchema;
   private final ObjectEntryLoadingService<RelationalDatabaseStorageIndex> loader;
+  private final StorageEntryModificationService<RelationalDatabaseStorageIndex> modifier;
+  private final DatabaseVendor vendor;
   private FeatureLevel featureLevel = FeatureLevel.UNKNOWN;
 
   public RelationalDatabaseStorageIndex(
@@ -130,14 +144,52 @@ public final class RelationalDatabaseStorageIndex
       JdbcClient db,
       String targetSchema,
       boolean trustPlatformBeans) {
+    this(storageId, objectApi, collectionApi, db, targetSchema, trustPlatformBeans, null);
+  }
+
+  public RelationalDatabaseStorageIndex(
+      StorageId storageId,
+      ObjectApi objectApi,
+      CollectionApi collectionApi,
+      JdbcClient db,
+      String targetSchema,
+      boolean trustPlatformBeans,
+      DatabaseVendor vendor) {
+    this(
+        storageId,
+        objectApi,
+        collectionApi,
+        db,
+        targetSchema,
+        trustPlatformBeans,
+        vendor,
+        TransactionOperations.withoutTransaction());
+  }
+
+  /**
+   * Creates an index whose modifications are written in transactions of the given operations: a
+   * batch of modifications is written in a single transaction. Without it, every entry is written
+   * on its own.
+   */
+  public RelationalDatabaseStorageIndex(
+      StorageId storageId,
+      ObjectApi objectApi,
+      CollectionApi collectionApi,
+      JdbcClient db,
+      String targetSchema,
+      boolean trustPlatformBeans,
+      DatabaseVendor vendor,
+      TransactionOperations transactions) {
     super(storageId, objectApi, collectionApi);
     this.db = db;
     this.targetSchema = targetSchema;
+    this.vendor = vendor;
     this.loader = new ObjectEntryLoadingService.RelationalDatabase(
         this,
         trustPlatformBeans
             ? StorageInteractionStrategy.RelationalDatabase.Trusting::new
             : StorageInteractionStrategy.RelationalDatabase.Autonomous::new);
+    this.modifier = new RelationalDatabaseStorageEntryModificationService(this, transactions);
     this.storageEntryFactory = StorageEntryFactory.builder(this, objectApi, collectionApi).build();
     this.cache = StorageIndexCache.inMemory();
   }
@@ -147,6 +199,11 @@ public final class RelationalDatabaseStorageIndex
     return loader;
   }
 
+  @Override
+  public StorageEntryModificationService<RelationalDatabaseStorageIndex> modifier() {
+    return modifier;
+  }
+
   @Override
   protected Stream<URI> fetchEntries() {
     return fetchEntries(IndexingTarget.any());
@@ -221,6 +278,68 @@ public final class RelationalDatabaseStorageIndex
         "'"));
   }
 
+  /**
+   * Returns the URIs of the entries of the given target matching the given predicate, evaluated by
+   * the database.
+   *
+   * <p>
+   * Property predicates are only evaluated if the vendor of the database is known, and even then
+   * conservatively: the result may contain entries not matching them (see
+   * {@link PushdownPredicate}).
+   *
+   * @param target the target to select from
+   * @param predicate the predicate to evaluate, may be {@code null}
+   *
+   * @return the URIs of the (potentially) matching entries
+   */
+  public Set<URI> select(final IndexingTarget target, final PushdownPredicate predicate) {
+    final var pushdown = new RelationalDatabasePushdown(
+        vendor,
+        targetSchema,
+        pushesDownProperties() && knownFeatureLevel() == FeatureLevel.COMPRESSION);
+    final var query = pushdown.render(target, predicate);
+    log.debug("Pushing down [ {} ] as [ {} ]", predicate, query.sql());
+    return db
+        .sql(query.sql())
+        .params(query.params())
+        .query((r, i) -> r.getString("URI"))
+        .stream()
+        .filter(it -> !Strings.isNullOrEmpty(it))
+        .map(URI::create)
+        .collect(toSet());
+  }
+
+  /**
+   * Returns whether {@link #select(IndexingTarget, PushdownPredicate)} evaluates property
+   * predicates at all.
+   *
+   * @return {@code true} if property predicates are pushed down to the database
+   */
+  public boolean pushesDownProperties() {
+    return RelationalDatabasePushdown.rendersProperties(vendor);
+  }
+
+  @Override
+  public Map<URI, Long> fingerprints(final Collection<? extends StorageEntry> entries) {
+    final String sql = (targetSchema == null)
+        ? "SELECT URI, VERSION, MODIFIED_AT FROM OBJECT_ENTRY WHERE URI IN (:uris)"
+        : "SELECT URI, VERSION, MODIFIED_AT FROM %s.OBJECT_ENTRY WHERE URI IN (:uris)"
+            .formatted(targetSchema);
+    final Map<URI, Long> ret = new HashMap<>();
+    // Oracle does not accept more than 1000 elements in an IN-list:
+    Lists.partition(entries.stream().map(it -> it.uri().toString()).toList(), 1_000)
+        .forEach(chunk -> LoadScheduler.global().run(storageId, () -> {
+          db.sql(sql).param("uris", chunk).query(r -> {
+            final Timestamp modifiedAt = r.getTimestamp("MODIFIED_AT");
+            ret.put(
+                URI.create(r.getString("URI")),
+                r.getLong("VERSION") * 31 + (modifiedAt == null ? 0L : modifiedAt.getTime()));
+          });
+          return null;
+        }));
+    return ret;
+  }
+
   private sealed interface LoadResult {
 
     record Err() implements LoadResult {
@@ -309,6 +428,11 @@ public final class RelationalDatabaseStorageIndex
     }
   }
 
+  private FeatureLevel knownFeatureLevel() {
+    ensureKnownFeatureLevel();
+    return featureLevel;
+  }
+
   private LoadResult parseResultSet(ResultSet r, final boolean only) throws Exception {
     final String uriStr = r.getString("URI");
     final URI uri = URI.create(uriStr);
@@ -317,7 +441,10 @@ public final class RelationalDatabaseStorageIndex
     final var versionTimestamp = r.getObject("VD", OffsetDateTime.class);
     final var id = r.getString("ID");
     Map<String, Object> objectAsMap;
-    try (final var in = r.getBlob("OAM").getBinaryStream()) {
+    final var event = new DeserialisationEvent();
+    event.begin();
+    final Blob blob = r.getBlob("OAM");
+    try (final var in = blob.getBinaryStream()) {
       var binaryData = BinaryData.of(in);
       if (featureLevel == FeatureLevel.COMPRESSION) {
         // TODO: More sophisticated implementation than a blasted "if"!
@@ -342,10 +469,19 @@ public final class RelationalDatabaseStorageIndex
           .deserialize(binaryData, LinkedHashMap.class)
           .map(it -> (Map<String, Object>) it)
           .orElseGet(Collections::emptyMap);
+      event.successful = true;
     } catch (IOException e) {
       log.error("Could not read OAM blob for [ URI: {} | version: {} ]", uriStr, version, e);
       objectAsMap = Collections.emptyMap();
     }
+    event.end();
+    if (event.shouldCommit()) {
+      event.uri = uriStr;
+      event.schema = uri.getScheme();
+      event.type = Uris.getTypeName(uri);
+      event.size = blob.length();
+      event.commit();
+    }
 
     final ObjectEntryLoadResult.SingleVersion singleVersion =
         new ObjectEntryLoadResult.SingleVersion.Eager(
@@ -361,12 +497,19 @@ public final class RelationalDatabaseStorageIndex
 
   private FeatureLevel determineFeatureLevel() {
     // TODO: This needs to be more sophisticated, extendible and one layer removed from the RDBMS!
-    final boolean isCompressionSupported = !db
-        .sql("""
+    final String columnQuery = (vendor == null || vendor == DatabaseVendor.ORACLE)
+        ? """
             SELECT COLUMN_NAME, DATA_TYPE
               FROM ALL_TAB_COLUMNS
              WHERE TABLE_NAME = 'OBJECT_VERSION'
-               AND COLUMN_NAME = 'OBJECT_CONTENT_COMPRESS_TYPE'""")
+               AND COLUMN_NAME = 'OBJECT_CONTENT_COMPRESS_TYPE'"""
+        : """
+            SELECT COLUMN_NAME, DATA_TYPE
+              FROM INFORMATION_SCHEMA.COLUMNS
+             WHERE UPPER(TABLE_NAME) = 'OBJECT_VERSION'
+               AND UPPER(COLUMN_NAME) = 'OBJECT_CONTENT_COMPRESS_TYPE'""";
+    final boolean isCompressionSupported = !db
+        .sql(columnQuery)
         .query()
         .listOfRows()
         .isEmpty();
@@ -15,10 +15,16 @@
 
 package com.aestallon.storageexplorer.core.service;
 
+import java.util.List;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 
 /**
- * 
+ * Writes entries of a storage.
+ *
+ * <p>
+ * Entries are written through the platform, and every entry written is refreshed in the index
+ * right away: its references, and the property indices covering it are kept current.
  */
 public interface StorageEntryModificationService<T extends StorageIndex<T>> {
 
@@ -31,6 +37,34 @@ public interface StorageEntryModificationService<T extends StorageIndex<T>> {
 
     record Err(StorageEntry storageEntry, String msg) implements StorageEntryModificationResult {}
 
+
+    /**
+     * The entry already had the requested content -> nothing was written.
+     */
+    record Unchanged(StorageEntry storageEntry) implements StorageEntryModificationResult {}
+
+  }
+
+
+  /**
+   * A change of a single property of an object, addressed by a property path (e.g.
+   * {@code address.state}, or {@code tags[0]}).
+   */
+  sealed interface PropertyChange {
+
+    String path();
+
+    /**
+     * Sets the property to the given value, creating the objects along its path if needed.
+     */
+    record SetValue(String path, Object value) implements PropertyChange {}
+
+
+    /**
+     * Removes the property. Properties absent already are left as they are.
+     */
+    record Unset(String path) implements PropertyChange {}
+
   }
 
 
@@ -50,4 +84,19 @@ public interface StorageEntryModificationService<T extends StorageIndex<T>> {
                                         final String content,
                                         final ModificationMode mode);
 
+  /**
+   * Applies the given changes to every given entry, saving a new version of the multi version ones
+   * (single version entries are overwritten). The entries are written as a single batch: on a
+   * relational database storage, in a single transaction -> if any of them fails, none of them is
+   * written. Without a transaction manager, every entry is written on its own, and each entry is
+   * reported as it fared.
+   *
+   * @param entries the entries to modify
+   * @param changes the changes to apply to each entry, in order
+   *
+   * @return the result of each entry, in the order of the given entries
+   */
+  List<StorageEntryModificationResult> modifyAll(final List<ObjectEntry> entries,
+                                                 final List<PropertyChange> changes);
+
 }
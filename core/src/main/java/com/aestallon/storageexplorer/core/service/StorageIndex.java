@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -34,10 +35,12 @@ import org.slf4j.LoggerFactory;
 import org.smartbit4all.api.collection.CollectionApi;
 import org.smartbit4all.core.object.ObjectApi;
 import org.springframework.context.ApplicationEventPublisher;
+import com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics;
 import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.entry.ScopedEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntryFactory;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
 import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadRequest;
@@ -53,6 +56,11 @@ public abstract sealed class StorageIndex<T extends StorageIndex<T>>
   protected final ObjectApi objectApi;
   protected final CollectionApi collectionApi;
 
+  protected final PropertyIndexes propertyIndexes;
+  protected final IndexCoverageLedger coverage = new IndexCoverageLedger();
+  protected final IndexChangeFeed changes = new IndexChangeFeed();
+  private final AtomicBoolean sizeBound = new AtomicBoolean();
+
   protected StorageIndexCache cache;
   protected StorageEntryFactory storageEntryFactory;
   protected ApplicationEventPublisher eventPublisher;
@@ -63,6 +71,20 @@ public abstract sealed class StorageIndex<T extends StorageIndex<T>>
     this.storageId = storageId;
     this.objectApi = objectApi;
     this.collectionApi = collectionApi;
+    this.propertyIndexes = new PropertyIndexes(this);
+  }
+
+  /**
+   * Binds the size gauge of this storage to this index, once.
+   *
+   * <p>
+   * Called upon the first refresh instead of the constructor -> the gauge never sees an index with
+   * its cache not yet assigned.
+   */
+  private void bindSize() {
+    if (sizeBound.compareAndSet(false, true)) {
+      StorageExplorerMetrics.bindIndexSize(storageId, this, it -> it.cache.size());
+    }
   }
 
   public final StorageId id() {
@@ -74,16 +96,22 @@ public abstract sealed class StorageIndex<T extends StorageIndex<T>>
   }
 
   public int refresh(IndexingStrategy strategy) {
+    bindSize();
     clear();
     if (!strategy.fetchEntries()) {
       return 0;
     }
     final var res = strategy.processEntries(fetchEntries(), storageEntryFactory::create);
     cache.putAll(res);
+    propertyIndexes.rebuild();
+    coverage.record(IndexingTarget.any(), strategy.type());
+    // the clear has already been reported, but anyone catching up on it may have seen it empty:
+    changes.reset();
     return res.size();
   }
 
   public int refresh(final IndexingStrategy strategy, final IndexingTarget target) {
+    bindSize();
     if (!strategy.fetchEntries()) {
       return 0;
     }
@@ -91,12 +119,43 @@ public abstract sealed class StorageIndex<T extends StorageIndex<T>>
     try (final var uris = fetchEntries(target)) {
       final var res = strategy.processEntries(uris, storageEntryFactory::create);
       res.forEach(cache::merge);
+      coverage.record(target, strategy.type());
+      changes.added(res.keySet());
+      return res.size();
+    }
+  }
+
+  /**
+   * Indexes the entries of the given target not yet known to this index, leaving the known ones
+   * untouched.
+   *
+   * <p>
+   * The storage is still walked (or queried) in its entirety, but no entry is created or loaded for
+   * an already known URI -> cheap enough to be called periodically on a long-lived index.
+   *
+   * @param target the target to refresh
+   *
+   * @return the number of newly indexed entries
+   */
+  public int refreshIncrementally(final IndexingTarget target) {
+    bindSize();
+    try (final var uris = fetchEntries(target)) {
+      final Set<URI> known = cache.knownUris();
+      final var res = IndexingStrategy.STRATEGY_INITIAL.processEntries(
+          uris.filter(it -> !known.contains(it)),
+          storageEntryFactory::create);
+      res.forEach(cache::merge);
+      coverage.record(target, IndexingStrategyType.INITIAL);
+      changes.added(res.keySet());
       return res.size();
     }
   }
 
   public void clear() {
     cache.clear();
+    propertyIndexes.cleared();
+    coverage.clear();
+    changes.reset();
   }
 
   @Deprecated(forRemoval = true, since = "0.3.0")
@@ -130,19 +189,57 @@ public abstract sealed class StorageIndex<T extends StorageIndex<T>>
 
   public final void notifyRefresh(StorageEntry storageEntry) {
     cache.put(storageEntry.uri(), storageEntry);
+    propertyIndexes.refreshed(storageEntry);
+    changes.modified(storageEntry.uri());
   }
 
+  /**
+   * Notifies this index of an entry just written. The entry has already been refreshed with its
+   * new content, which reported it on the {@link #changes() change feed}.
+   *
+   * @param storageEntry the entry written
+   */
+  public final void notifyModified(StorageEntry storageEntry) {
+    propertyIndexes.modified(storageEntry);
+  }
 
-  public abstract ObjectEntryLoadingService<T> loader();
+  public final PropertyIndexes propertyIndexes() {
+    return propertyIndexes;
+  }
 
-  // TODO: Make abstract and implement!
-  public StorageEntryModificationService<T> modifier() {
-    return (entry, content, mode) ->
-        new StorageEntryModificationService.StorageEntryModificationResult.Err(
-            entry,
-            "Feature not yet implemented");
+  /**
+   * Returns the record of the targets indexed so far, see {@link IndexCoverageLedger}.
+   *
+   * @return the coverage ledger of this index
+   */
+  public final IndexCoverageLedger coverage() {
+    return coverage;
   }
 
+  /**
+   * Returns the feed of the entries this index learns of, see {@link IndexChangeFeed}.
+   *
+   * @return the change feed of this index
+   */
+  public final IndexChangeFeed changes() {
+    return changes;
+  }
+
+  /**
+   * Returns a token for each of the given entries which changes whenever the stored content of the
+   * entry does, without loading the entries.
+   *
+   * @param entries the entries to fingerprint
+   *
+   * @return the fingerprints by URI -> entries no longer present in the storage are omitted
+   */
+  public abstract Map<URI, Long> fingerprints(Collection<? extends StorageEntry> entries);
+
+
+  public abstract ObjectEntryLoadingService<T> loader();
+
+  public abstract StorageEntryModificationService<T> modifier();
+
   public Stream<StorageEntry> entities() {
     return cache.stream();
   }
@@ -175,15 +272,21 @@ public abstract sealed class StorageIndex<T extends StorageIndex<T>>
   }
 
   public void accept(final URI uri, StorageEntry entry) {
+    final boolean[] added = { false };
     cache.compute(uri, (k, v) -> {
       if (v == null) {
         prepareNewEntry(entry);
+        added[0] = true;
         return entry;
       }
 
       v.accept(entry);
       return v;
     });
+    if (added[0]) {
+      // reported outside the computation, listeners must not be called while it holds the entry:
+      changes.added(List.of(uri));
+    }
   }
 
   private void prepareNewEntry(final StorageEntry entry) {
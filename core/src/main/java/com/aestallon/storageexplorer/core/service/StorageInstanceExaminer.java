@@ -3,20 +3,27 @@ package com.aestallon.storageexplorer.core.service;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.aestallon.storageexplorer.common.util.Pair;
+import com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics;
 import static com.aestallon.storageexplorer.common.util.Streams.reverse;
 import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
@@ -29,25 +36,177 @@ public class StorageInstanceExaminer {
   private static final Logger log = LoggerFactory.getLogger(StorageInstanceExaminer.class);
 
 
+  /**
+   * Per query memo of the entries loaded during property discovery.
+   *
+   * <p>
+   * The table is bounded: once it holds more than its capacity, the entries memoised the earliest
+   * are dropped (and loaded again, should they be needed again). Queries visit their candidates in
+   * batches, thus the oldest entries are the ones least likely to be asked for again.
+   */
   public static final class ObjectEntryLookupTable {
 
+    public static final int DEFAULT_CAPACITY = 16_384;
+
     public static ObjectEntryLookupTable newInstance() {
-      return new ObjectEntryLookupTable();
+      return new ObjectEntryLookupTable(DEFAULT_CAPACITY);
+    }
+
+    public static ObjectEntryLookupTable newInstance(final int capacity) {
+      if (capacity < 1) {
+        throw new IllegalArgumentException("capacity must be positive!");
+      }
+
+      return new ObjectEntryLookupTable(capacity);
     }
 
-    private final ConcurrentHashMap<ObjectEntry, ObjectEntryLoadRequest> inner;
+    private final BoundedLookup<ObjectEntry, ObjectEntryLoadRequest> inner;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder prefetchHits = new LongAdder();
 
-    private ObjectEntryLookupTable() {
-      inner = new ConcurrentHashMap<>();
+    private ObjectEntryLookupTable(final int capacity) {
+      inner = new BoundedLookup<>(capacity);
     }
 
     private ObjectEntryLoadRequest computeIfAbsent(final ObjectEntry objectEntry,
                                                    final Function<? super ObjectEntry, ? extends ObjectEntryLoadRequest> f) {
+      final ObjectEntryLoadRequest present = inner.get(objectEntry);
+      StorageExplorerMetrics.recordLookup(present != null);
+      if (present != null) {
+        hits.increment();
+        return present;
+      }
+
+      misses.increment();
       return inner.computeIfAbsent(objectEntry, f);
     }
+
+    private boolean contains(final ObjectEntry objectEntry) {
+      return inner.containsKey(objectEntry);
+    }
+
+    // prefetching skips whatever is already here -> those are hits of their own kind:
+    private boolean prefetched(final ObjectEntry objectEntry) {
+      if (contains(objectEntry)) {
+        prefetchHits.increment();
+        return true;
+      }
+
+      return false;
+    }
+
+    private void putAll(final Map<ObjectEntry, ObjectEntryLoadRequest> requests) {
+      requests.forEach(inner::putIfAbsent);
+    }
+
+    public int size() {
+      return inner.size();
+    }
+
+    public int capacity() {
+      return inner.capacity();
+    }
+
+    /**
+     * Returns the number of batches of the given size whose entries fit in this table at once,
+     * with half of it to spare for the entries discovered while working on them.
+     *
+     * @param batchSize the number of entries in a batch
+     *
+     * @return the number of batches fitting, at least one
+     */
+    public int batchesFitting(final int batchSize) {
+      return Math.max(1, inner.capacity() / 2 / batchSize);
+    }
+
+    /**
+     * Returns the number of discoveries that found their entry already loaded in this table.
+     *
+     * @return the number of lookup hits
+     */
+    public long hits() {
+      return hits.sum();
+    }
+
+    public long misses() {
+      return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries prefetching found already loaded in this table, thus did not
+     * load again.
+     *
+     * @return the number of prefetch hits
+     */
+    public long prefetchHits() {
+      return prefetchHits.sum();
+    }
+
   }
 
 
+  /**
+   * A property query parsed into its segments, ready to be discovered on any number of entries from
+   * any number of threads.
+   *
+   * <p>
+   * Paths obtained with {@link #of(String)} are cached process-wide: the handful of distinct paths
+   * a query (or a view) uses are parsed exactly once, no matter how many entries are examined.
+   */
+  public static final class PropertyPath {
+
+    private static final int CACHE_LIMIT = 4096;
+    private static final Map<String, PropertyPath> CACHE = new ConcurrentHashMap<>();
+
+    public static PropertyPath of(final String path) {
+      final String key = path == null ? "" : path;
+      final PropertyPath cached = CACHE.get(key);
+      if (cached != null) {
+        return cached;
+      }
+
+      if (CACHE.size() >= CACHE_LIMIT) {
+        // paths are user input, we never hold on to an unbounded number of them:
+        CACHE.clear();
+      }
+      return CACHE.computeIfAbsent(key, PropertyPath::parse);
+    }
+
+    /**
+     * Parses the given path without consulting (or populating) the cache.
+     */
+    public static PropertyPath parse(final String path) {
+      return new PropertyPath(path == null ? "" : path, new PropQuery(path));
+    }
+
+    private final String path;
+    private final PropQuery query;
+
+    private PropertyPath(final String path, final PropQuery query) {
+      this.path = path;
+      this.query = query;
+    }
+
+    public String path() {
+      return path;
+    }
+
+    public boolean isOwnUri() {
+      return query.isOwnUri();
+    }
+
+    @Override
+    public String toString() {
+      return path;
+    }
+
+  }
+
+
+  // references are not followed deeper than this when prefetching (discovery itself has no limit):
+  private static final int MAX_PREFETCH_DEPTH = 8;
+
   private final Function<URI, Optional<StorageEntry>> discoverer;
 
   public StorageInstanceExaminer(final Function<URI, Optional<StorageEntry>> discoverer) {
@@ -57,13 +216,43 @@ public class StorageInstanceExaminer {
   public PropertyDiscoveryResult discoverInlineProperty(final StorageEntry entry,
                                                         final String propQuery,
                                                         final ObjectEntryLoadResult.SingleVersion sv) {
-    return new InlinePropertyDiscoverer(entry, new PropQuery(propQuery)).discover(sv.objectAsMap());
+    return new InlinePropertyDiscoverer(entry, PropertyPath.of(propQuery).query)
+        .discover(sv.objectAsMap());
+  }
+
+  /**
+   * Discovers the given property on the given version of the entry, provided it can be discovered
+   * without following any references of the entry.
+   *
+   * @return the same result {@link #discoverProperty(StorageEntry, String, ObjectEntryLookupTable)}
+   *     would yield on this version, or empty if that would need to consult another entry
+   */
+  public Optional<PropertyDiscoveryResult> discoverLocalProperty(
+      final StorageEntry entry,
+      final String propQuery,
+      final ObjectEntryLoadResult.SingleVersion sv) {
+    final var q = PropertyPath.of(propQuery).query;
+    if (q.isOwnUri()) {
+      return Optional.of(new StringFound(entry.uri().toString(), entry, UriProperty.OWN));
+    }
+
+    final boolean hops = entry.uriProperties().stream()
+        .anyMatch(it -> q.startsWith(it) || (!it.isStandalone() && q.matchLength(it) > 0));
+    return hops
+        ? Optional.empty()
+        : Optional.of(new InlinePropertyDiscoverer(entry, q).discover(sv.objectAsMap()));
   }
 
   public PropertyDiscoveryResult discoverProperty(final PropertyDiscoveryResult medial,
                                                   final String propQuery,
                                                   final ObjectEntryLookupTable cache) {
-    return discoverProperty(medial, new PropQuery(propQuery), cache);
+    return discoverProperty(medial, PropertyPath.of(propQuery), cache);
+  }
+
+  public PropertyDiscoveryResult discoverProperty(final PropertyDiscoveryResult medial,
+                                                  final PropertyPath path,
+                                                  final ObjectEntryLookupTable cache) {
+    return discoverProperty(medial, path.query, cache);
   }
 
   private PropertyDiscoveryResult discoverProperty(final PropertyDiscoveryResult medial,
@@ -75,7 +264,7 @@ public class StorageInstanceExaminer {
           ? some
           : discoverProperty(
               some.host(),
-              PropQuery.join(new PropQuery(some.path()), propQuery),
+              PropQuery.join(PropertyPath.of(some.path()).query, propQuery),
               cache);
     };
   }
@@ -83,7 +272,13 @@ public class StorageInstanceExaminer {
   public PropertyDiscoveryResult discoverProperty(final StorageEntry entry,
                                                   final String propQuery,
                                                   final ObjectEntryLookupTable cache) {
-    return discoverProperty(entry, new PropQuery(propQuery), cache);
+    return discoverProperty(entry, PropertyPath.of(propQuery), cache);
+  }
+
+  public PropertyDiscoveryResult discoverProperty(final StorageEntry entry,
+                                                  final PropertyPath path,
+                                                  final ObjectEntryLookupTable cache) {
+    return discoverProperty(entry, path.query, cache);
   }
 
   private PropertyDiscoveryResult discoverProperty(final StorageEntry entry,
@@ -112,6 +307,95 @@ public class StorageInstanceExaminer {
     };
   }
 
+  /**
+   * Loads everything the discovery of the given properties on the given entries would load, in as
+   * few round trips as possible.
+   *
+   * <p>
+   * Discovery itself follows references one entry at a time. Here we go level by level instead:
+   * first every entry is loaded at once, then the distinct targets of their references, then the
+   * distinct targets of those, and so on. Each level is a single batched request per storage (one
+   * or a few IN-lists against a relational database, parallel reads on a file system) -> a
+   * multi-hop property costs one load per distinct target, not per entry. Subsequent discoveries
+   * against the same lookup table find everything memoised.
+   *
+   * @param entries the entries the properties will be discovered on
+   * @param paths the properties to be discovered
+   * @param cache the lookup table the discoveries will use
+   */
+  public void prefetch(final Collection<? extends StorageEntry> entries,
+                       final Collection<PropertyPath> paths,
+                       final ObjectEntryLookupTable cache) {
+    final Set<PropQuery> queries = paths.stream()
+        .map(it -> it.query)
+        .filter(it -> !it.isOwnUri())
+        .collect(toSet());
+    if (entries.isEmpty() || queries.isEmpty()) {
+      return;
+    }
+
+    Map<StorageEntry, Set<PropQuery>> level = new HashMap<>();
+    for (final StorageEntry entry : entries) {
+      level.put(entry, new HashSet<>(queries));
+    }
+
+    for (int depth = 0; depth < MAX_PREFETCH_DEPTH && !level.isEmpty(); depth++) {
+      final List<ObjectEntry> missing = level.keySet().stream()
+          .filter(ObjectEntry.class::isInstance)
+          .map(ObjectEntry.class::cast)
+          .filter(it -> !cache.prefetched(it))
+          .toList();
+      final Map<ObjectEntry, ObjectEntryLoadRequest> loaded = ObjectEntry.tryLoadAll(missing);
+      cache.putAll(loaded);
+      // the references of an entry are known once it is loaded:
+      loaded.values().forEach(ObjectEntryLoadRequest::get);
+
+      final Map<StorageEntry, Set<PropQuery>> next = new HashMap<>();
+      level.forEach((host, qs) -> qs.forEach(q -> collectHops(host, q, next)));
+      level = next;
+    }
+  }
+
+  private void collectHops(final StorageEntry host,
+                           final PropQuery propQuery,
+                           final Map<StorageEntry, Set<PropQuery>> next) {
+    if (!(host instanceof ObjectEntry) || propQuery.isEmpty()) {
+      return;
+    }
+
+    // the same matching inVersion performs, without discovering anything:
+    final Optional<UriProperty> direct = host.uriProperties().stream()
+        .filter(propQuery::startsWith)
+        .findFirst();
+    if (direct.isPresent()) {
+      hop(direct.get(), propQuery.drop(direct.get().length()), next);
+      return;
+    }
+
+    for (final UriProperty uriProperty : host.uriProperties()) {
+      if (uriProperty.isStandalone()) {
+        continue;
+      }
+
+      final int matchLength = propQuery.matchLength(uriProperty);
+      if (matchLength > 0) {
+        hop(uriProperty, propQuery.drop(matchLength), next);
+      }
+    }
+  }
+
+  private void hop(final UriProperty uriProperty,
+                   final PropQuery rest,
+                   final Map<StorageEntry, Set<PropQuery>> next) {
+    if (rest.isOwnUri()) {
+      // the URI of the target is known without loading it:
+      return;
+    }
+
+    discoverer.apply(uriProperty.uri())
+        .ifPresent(it -> next.computeIfAbsent(it, k -> new HashSet<>()).add(rest));
+  }
+
   private PropertyDiscoveryResult inVersion(final ObjectEntryLoadResult.SingleVersion sv,
                                             final StorageEntry host,
                                             final PropQuery propQuery,
@@ -148,19 +432,22 @@ public class StorageInstanceExaminer {
             .map(e -> discoverProperty(e, propQuery.drop(it.length()), cache))
             .orElseGet(() -> new NotFound(it.uri() + " is unreachable!")))
         .or(() -> {
-          final List<UriProperty> matchedListProps = host.uriProperties().stream()
+          final List<Pair<UriProperty, Integer>> matchedListProps = host.uriProperties().stream()
               .filter(it -> !it.isStandalone())
-              .filter(propQuery::matches)
-              .sorted()
+              .map(it -> Pair.of(it, propQuery.matchLength(it)))
+              .filter(p -> p.b() > 0)
+              .sorted(Comparator.comparing(p -> p.a()))
               .toList();
           if (matchedListProps.isEmpty()) {
             return Optional.empty();
           }
 
           return matchedListProps.stream()
-              .map(it -> Pair.of(it, discoverer.apply(it.uri())))
+              .map(p -> Pair.of(
+                  propQuery.drop(p.b()),
+                  discoverer.apply(p.a().uri())))
               .flatMap(Pair.streamOnB())
-              .map(p -> discoverProperty(p.b(), propQuery.drop(p.a()), cache))
+              .map(p -> discoverProperty(p.b(), p.a(), cache))
               .collect(collectingAndThen(toList(), rs -> Optional.of(ListFound.of(rs, ""))));
         })
         .orElseGet(() -> new InlinePropertyDiscoverer(host, propQuery).discover(sv.objectAsMap()));
@@ -435,8 +722,13 @@ public class StorageInstanceExaminer {
   }
 
 
+  /**
+   * Immutable, hence shared freely between threads once parsed.
+   */
   private static final class PropQuery {
 
+    private static final UriProperty.Segment[] EMPTY = new UriProperty.Segment[0];
+
     private static PropQuery join(PropQuery left, PropQuery right) {
       final var leftSegments = left.segments;
       final var rightSegments = right.segments;
@@ -448,7 +740,7 @@ public class StorageInstanceExaminer {
 
     private final UriProperty.Segment[] segments;
     private final UriProperty.Segment.Key[] keysRequested;
-    private final Map<UriProperty, Integer> matchIndices = new HashMap<>();
+    private final boolean ownUri;
 
     PropQuery(final String str) {
       this(UriProperty.Segment.parse(str));
@@ -460,6 +752,7 @@ public class StorageInstanceExaminer {
           .filter(UriProperty.Segment.Key.class::isInstance)
           .map(UriProperty.Segment.Key.class::cast)
           .toArray(UriProperty.Segment.Key[]::new);
+      ownUri = UriProperty.Segment.isOwnUri(segments);
     }
 
     boolean startsWith(final UriProperty uriProperty) {
@@ -481,7 +774,7 @@ public class StorageInstanceExaminer {
     }
 
     boolean isOwnUri() {
-      return UriProperty.Segment.isOwnUri(segments);
+      return ownUri;
     }
 
     PropQuery drop(final int length) {
@@ -494,38 +787,37 @@ public class StorageInstanceExaminer {
       }
 
       if (length >= segments.length) {
-        return new PropQuery(new UriProperty.Segment[0]);
+        return new PropQuery(EMPTY);
       }
 
       return new PropQuery(Arrays.copyOfRange(segments, length, segments.length));
     }
 
-    String drop(final UriProperty uriProperty) {
-      final int matchIdx = matchIndices.computeIfAbsent(uriProperty, k -> 0);
-      if (matchIdx < 1) {
-        throw new IllegalStateException(
-            "Cannot drop prefix for unknown URI property: " + uriProperty);
-      }
-
-      return UriProperty.Segment.asString(segments, matchIdx);
-    }
-
-    boolean matches(final UriProperty uriProperty) {
+    /**
+     * Matches the given list-like URI property against this query, omitting the indices the query
+     * does not state.
+     *
+     * @return the number of leading segments of this query covered by the URI property, or zero
+     *     if it does not match
+     */
+    int matchLength(final UriProperty uriProperty) {
       final UriProperty.Segment[] segmentsToMatch = uriProperty.segments();
 
-      final UriProperty.Segment.Key[] keysToMatch = Arrays.stream(segmentsToMatch)
-          .filter(UriProperty.Segment.Key.class::isInstance)
-          .map(UriProperty.Segment.Key.class::cast)
-          .toArray(UriProperty.Segment.Key[]::new);
-      if (keysRequested.length < keysToMatch.length) {
-        // query does not even reach to URI property:
-        return false;
-      }
+      // compare the keys only, without collecting them first:
+      int k = 0;
+      for (final UriProperty.Segment toMatch : segmentsToMatch) {
+        if (!(toMatch instanceof UriProperty.Segment.Key key)) {
+          continue;
+        }
 
-      for (int i = 0; i < keysToMatch.length; i++) {
-        if (!keysRequested[i].equals(keysToMatch[i])) {
+        if (k >= keysRequested.length) {
+          // query does not even reach to URI property:
+          return 0;
+        }
+
+        if (!keysRequested[k++].equals(key)) {
           // query diverges from the path of the URI property:
-          return false;
+          return 0;
         }
       }
 
@@ -572,18 +864,29 @@ public class StorageInstanceExaminer {
           }
         }
       }
-      final boolean match = matchIdx > 0;
-      if (match) {
-        matchIndices.put(uriProperty, matchIdx);
-      }
-
-      return match;
+      return Math.max(matchIdx, 0);
     }
 
     Cursor cursor() {
       return Cursor.newInstance(this);
     }
 
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PropQuery that)) {
+        return false;
+      }
+      return Arrays.equals(segments, that.segments);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(segments);
+    }
+
     private static final class Cursor {
 
       private static Cursor newInstance(final PropQuery propQuery) {
@@ -17,6 +17,8 @@ package com.aestallon.storageexplorer.core.service;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -27,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smartbit4all.core.object.ObjectNode;
 import com.aestallon.storageexplorer.common.util.IO;
+import com.aestallon.storageexplorer.core.jfr.DeserialisationEvent;
 import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryMeta;
@@ -61,6 +64,30 @@ abstract sealed class StorageInteractionStrategy<T extends StorageIndex<T>, U ex
 
     protected abstract ObjectNode loadObjectNode(ObjectEntry entry);
 
+    final ObjectNode load(final ObjectEntry entry) {
+      final var event = new DeserialisationEvent();
+      event.begin();
+      final ObjectNode node = loadObjectNode(entry);
+      event.end();
+      if (event.shouldCommit()) {
+        event.uri = entry.uri().toString();
+        event.schema = entry.uri().getScheme();
+        event.type = entry.typeName();
+        event.size = sizeOf(entry.path());
+        event.successful = node != null;
+        event.commit();
+      }
+      return node;
+    }
+
+    private static long sizeOf(final Path path) {
+      try {
+        return path == null ? -1L : Files.size(path);
+      } catch (final IOException e) {
+        return -1L;
+      }
+    }
+
     static final class Autonomous extends FileSystem {
 
       Autonomous(ObjectEntryLoadingService.FileSystem loadingService) {
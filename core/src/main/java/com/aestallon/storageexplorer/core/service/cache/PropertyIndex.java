@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service.cache;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * The values of a single {@link PropertyIndexDefinition}, keyed both by entry and by value.
+ *
+ * <p>
+ * Every value is stored with the fingerprint of the entry it was extracted from (see
+ * {@code StorageIndex#fingerprints}) -> it is up to the reader to decide whether a value is still
+ * current, the index itself never answers for an entry it does not hold.
+ */
+public final class PropertyIndex {
+
+  /**
+   * An indexed value.
+   *
+   * @param value the value, or {@code null} if the property of the entry cannot be indexed (it is
+   *     complex, or lives on another entry)
+   * @param fingerprint the fingerprint of the entry at the time the value got extracted
+   */
+  public record Indexed(PropertyValue value, long fingerprint) {}
+
+
+  private final PropertyIndexDefinition definition;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<URI, Indexed> byUri = new HashMap<>();
+  private final Map<PropertyValue, Set<URI>> byValue = new HashMap<>();
+  private final TreeMap<String, Set<URI>> strings = new TreeMap<>();
+  private volatile boolean complete;
+
+  public PropertyIndex(final PropertyIndexDefinition definition) {
+    this.definition = definition;
+  }
+
+  public PropertyIndexDefinition definition() {
+    return definition;
+  }
+
+  /**
+   * Returns whether every entry of the definition known at the time of the last build got indexed.
+   * Incomplete indices are still consulted for the entries they do hold.
+   */
+  public boolean complete() {
+    return complete;
+  }
+
+  public void complete(final boolean complete) {
+    this.complete = complete;
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return byUri.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Optional<Indexed> get(final URI uri) {
+    lock.readLock().lock();
+    try {
+      return Optional.ofNullable(byUri.get(uri));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void put(final URI uri, final Indexed indexed) {
+    lock.writeLock().lock();
+    try {
+      final Indexed prev = byUri.put(uri, indexed);
+      if (prev != null && prev.value() != null) {
+        unlink(uri, prev.value());
+      }
+
+      if (indexed.value() == null) {
+        return;
+      }
+
+      final Set<URI> uris = byValue.computeIfAbsent(indexed.value(), k -> new HashSet<>());
+      uris.add(uri);
+      if (indexed.value().kind() == PropertyValue.Kind.STRING) {
+        strings.putIfAbsent((String) indexed.value().value(), uris);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(final URI uri) {
+    lock.writeLock().lock();
+    try {
+      final Indexed prev = byUri.remove(uri);
+      if (prev != null && prev.value() != null) {
+        unlink(uri, prev.value());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void unlink(final URI uri, final PropertyValue value) {
+    final Set<URI> uris = byValue.get(value);
+    if (uris == null || !uris.remove(uri) || !uris.isEmpty()) {
+      return;
+    }
+
+    byValue.remove(value);
+    if (value.kind() == PropertyValue.Kind.STRING) {
+      strings.remove((String) value.value());
+    }
+  }
+
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      byUri.clear();
+      byValue.clear();
+      strings.clear();
+      complete = false;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public Set<URI> equalTo(final PropertyValue value) {
+    lock.readLock().lock();
+    try {
+      return new HashSet<>(byValue.getOrDefault(value, Set.of()));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Set<URI> startingWith(final String prefix) {
+    lock.readLock().lock();
+    try {
+      final Set<URI> ret = new HashSet<>();
+      for (final var e : strings.tailMap(prefix, true).entrySet()) {
+        if (!e.getKey().startsWith(prefix)) {
+          break;
+        }
+
+        ret.addAll(e.getValue());
+      }
+      return ret;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the entries whose value satisfies the given predicate. The predicate is evaluated once
+   * per distinct value.
+   *
+   * @param predicate the predicate to evaluate
+   *
+   * @return the URIs of the matching entries
+   */
+  public Set<URI> matching(final Predicate<PropertyValue> predicate) {
+    lock.readLock().lock();
+    try {
+      final Set<URI> ret = new HashSet<>();
+      byValue.forEach((v, uris) -> {
+        if (predicate.test(v)) {
+          ret.addAll(uris);
+        }
+      });
+      return ret;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Map<URI, Indexed> snapshot() {
+    lock.readLock().lock();
+    try {
+      return new HashMap<>(byUri);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+}
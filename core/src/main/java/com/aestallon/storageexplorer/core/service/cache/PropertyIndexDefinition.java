@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service.cache;
+
+import java.util.Objects;
+import java.util.Set;
+import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+
+/**
+ * Declares a property value index: the values of the given property path on the objects of the
+ * given schema and type.
+ *
+ * @param schema the schema of the indexed objects
+ * @param type the type of the indexed objects, or {@code null} for every object of the schema
+ * @param path the property path, as used in ArcScript conditions
+ */
+public record PropertyIndexDefinition(String schema, String type, String path) {
+
+  public PropertyIndexDefinition {
+    Objects.requireNonNull(schema, "schema cannot be null!");
+    Objects.requireNonNull(path, "path cannot be null!");
+  }
+
+  public boolean covers(final StorageEntry entry) {
+    return schema.equals(entry.uri().getScheme())
+           && entry instanceof ObjectEntry o
+           && (type == null || type.equals(o.typeName()));
+  }
+
+  public IndexingTarget target() {
+    return new IndexingTarget(Set.of(schema), type == null ? Set.of() : Set.of(type));
+  }
+
+  @Override
+  public String toString() {
+    return schema + (type == null ? "" : "/" + type) + " :: " + path;
+  }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service.cache;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+
+/**
+ * Persists the {@link PropertyIndex property indices} of a storage into an SQLite database next to
+ * the persistent index cache ({@code ./sqlite-cache/<storageId>-properties.sqlite}).
+ *
+ * <p>
+ * Holds a single connection and is not thread-safe: callers are expected to confine it to a single
+ * thread.
+ */
+public final class PropertyIndexSqliteStore implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(PropertyIndexSqliteStore.class);
+
+  private static final String UNINDEXABLE = "?";
+
+  public static Path location(final StorageId storageId) {
+    return Path.of(".", "sqlite-cache", storageId + "-properties.sqlite");
+  }
+
+  public static Optional<PropertyIndexSqliteStore> openExisting(final StorageId storageId) {
+    final Path location = location(storageId);
+    return Files.exists(location)
+        ? Optional.of(new PropertyIndexSqliteStore(location))
+        : Optional.empty();
+  }
+
+  public static PropertyIndexSqliteStore open(final StorageId storageId) {
+    return open(location(storageId));
+  }
+
+  static PropertyIndexSqliteStore open(final Path location) {
+    try {
+      Files.createDirectories(location.getParent());
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot initialise cache dir!", e);
+    }
+
+    return new PropertyIndexSqliteStore(location);
+  }
+
+  private final SingleConnectionDataSource dataSource;
+  private final JdbcTemplate sqlite;
+
+  private PropertyIndexSqliteStore(final Path location) {
+    dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + location, true);
+    dataSource.setDriverClassName("org.sqlite.JDBC");
+    dataSource.setAutoCommit(false);
+    sqlite = new JdbcTemplate(dataSource);
+    inTransaction(() -> {
+      sqlite.execute("""
+          create table if not exists property_index (
+              schema varchar(100) not null,
+              typename varchar(100) not null,
+              path varchar(300) not null,
+              primary key (schema, typename, path)
+          )""");
+      sqlite.execute("""
+          create table if not exists property_value (
+              schema varchar(100) not null,
+              typename varchar(100) not null,
+              path varchar(300) not null,
+              uri varchar(300) not null,
+              kind char(1) not null,
+              value text,
+              fingerprint integer not null,
+              primary key (schema, typename, path, uri)
+          )""");
+    });
+  }
+
+  private static String typename(final PropertyIndexDefinition definition) {
+    return definition.type() == null ? "" : definition.type();
+  }
+
+  public List<PropertyIndexDefinition> definitions() {
+    return sqlite.query(
+        "select schema, typename, path from property_index",
+        (r, i) -> new PropertyIndexDefinition(
+            r.getString(1),
+            r.getString(2).isEmpty() ? null : r.getString(2),
+            r.getString(3)));
+  }
+
+  public void define(final PropertyIndexDefinition definition) {
+    inTransaction(() -> sqlite.update(
+        "insert or ignore into property_index (schema, typename, path) values (?, ?, ?)",
+        definition.schema(), typename(definition), definition.path()));
+  }
+
+  public void load(final PropertyIndex index) {
+    final var definition = index.definition();
+    sqlite.query(
+        """
+            select uri, kind, value, fingerprint from property_value
+            where schema = ? and typename = ? and path = ?""",
+        r -> {
+          final String kind = r.getString(2);
+          final var value = UNINDEXABLE.equals(kind)
+              ? null
+              : PropertyValue.parse(kind.charAt(0), r.getString(3));
+          index.put(
+              URI.create(r.getString(1)),
+              new PropertyIndex.Indexed(value, r.getLong(4)));
+        },
+        definition.schema(), typename(definition), definition.path());
+  }
+
+  public void write(final PropertyIndexDefinition definition,
+                    final Map<URI, PropertyIndex.Indexed> values) {
+    if (values.isEmpty()) {
+      return;
+    }
+
+    final List<Object[]> args = new ArrayList<>(values.size());
+    values.forEach((uri, indexed) -> args.add(new Object[] {
+        definition.schema(), typename(definition), definition.path(), uri.toString(),
+        indexed.value() == null ? UNINDEXABLE : String.valueOf(indexed.value().kind().code()),
+        indexed.value() == null ? null : indexed.value().raw(),
+        indexed.fingerprint()
+    }));
+    inTransaction(() -> sqlite.batchUpdate(
+        """
+            insert or replace into property_value
+            (schema, typename, path, uri, kind, value, fingerprint)
+            values (?, ?, ?, ?, ?, ?, ?)""",
+        args));
+  }
+
+  public void remove(final PropertyIndexDefinition definition, final Collection<URI> uris) {
+    if (uris.isEmpty()) {
+      return;
+    }
+
+    final List<Object[]> args = uris.stream()
+        .map(uri -> new Object[] {
+            definition.schema(), typename(definition), definition.path(), uri.toString() })
+        .toList();
+    inTransaction(() -> sqlite.batchUpdate(
+        "delete from property_value where schema = ? and typename = ? and path = ? and uri = ?",
+        args));
+  }
+
+  public void clear(final PropertyIndexDefinition definition) {
+    inTransaction(() -> sqlite.update(
+        "delete from property_value where schema = ? and typename = ? and path = ?",
+        definition.schema(), typename(definition), definition.path()));
+  }
+
+  private void inTransaction(final Runnable work) {
+    try {
+      final var connection = dataSource.getConnection();
+      try {
+        work.run();
+        connection.commit();
+      } catch (RuntimeException e) {
+        connection.rollback();
+        throw e;
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Cannot access property index store!", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    log.debug("Closing property index store.");
+    dataSource.destroy();
+  }
+
+}
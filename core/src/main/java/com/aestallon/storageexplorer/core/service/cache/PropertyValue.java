@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service.cache;
+
+import java.util.Optional;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.BooleanFound;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.NoValue;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.NotFound;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.NumberFound;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.PropertyDiscoveryResult;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.StringFound;
+
+/**
+ * A primitive property value, as held by a {@link PropertyIndex}.
+ *
+ * <p>
+ * Only values which can be turned back into the very same {@link PropertyDiscoveryResult} (as far
+ * as any predicate is concerned) are representable -> complex values, lists and numbers beyond
+ * {@code long} or {@code double} are not indexed at all.
+ *
+ * @param kind the kind of the value
+ * @param value the value itself ({@code null} for the absent kinds)
+ */
+public record PropertyValue(Kind kind, Object value) {
+
+  public enum Kind {
+    STRING('S'), LONG('L'), DOUBLE('D'), BOOLEAN('B'), NO_VALUE('N'), NOT_FOUND('X');
+
+    private final char code;
+
+    Kind(char code) {
+      this.code = code;
+    }
+
+    public char code() {
+      return code;
+    }
+
+    static Kind of(final char code) {
+      for (final Kind kind : values()) {
+        if (kind.code == code) {
+          return kind;
+        }
+      }
+
+      throw new IllegalArgumentException("Unknown property value kind: " + code);
+    }
+
+  }
+
+
+  public static final PropertyValue NO_VALUE = new PropertyValue(Kind.NO_VALUE, null);
+  public static final PropertyValue NOT_FOUND = new PropertyValue(Kind.NOT_FOUND, null);
+
+  public static PropertyValue of(final String s) {
+    return new PropertyValue(Kind.STRING, s);
+  }
+
+  public static Optional<PropertyValue> of(final PropertyDiscoveryResult result) {
+    return Optional.ofNullable(switch (result) {
+      case StringFound s -> of(s.string());
+      case BooleanFound b -> new PropertyValue(Kind.BOOLEAN, b.bool());
+      case NumberFound n -> switch (n.number()) {
+        case Long l -> new PropertyValue(Kind.LONG, l);
+        case Integer i -> new PropertyValue(Kind.LONG, i.longValue());
+        case Short s -> new PropertyValue(Kind.LONG, s.longValue());
+        case Byte b -> new PropertyValue(Kind.LONG, b.longValue());
+        case Double d -> new PropertyValue(Kind.DOUBLE, d);
+        case Float f -> new PropertyValue(Kind.DOUBLE, f.doubleValue());
+        default -> null;
+      };
+      case NoValue nv -> NO_VALUE;
+      case NotFound nf -> NOT_FOUND;
+      default -> null;
+    });
+  }
+
+  static PropertyValue parse(final char code, final String raw) {
+    final Kind kind = Kind.of(code);
+    return switch (kind) {
+      case STRING -> of(raw);
+      case LONG -> new PropertyValue(kind, Long.parseLong(raw));
+      case DOUBLE -> new PropertyValue(kind, Double.parseDouble(raw));
+      case BOOLEAN -> new PropertyValue(kind, Boolean.parseBoolean(raw));
+      case NO_VALUE -> NO_VALUE;
+      case NOT_FOUND -> NOT_FOUND;
+    };
+  }
+
+  String raw() {
+    return value == null ? null : String.valueOf(value);
+  }
+
+  /**
+   * Reconstructs the discovery result this value was indexed from.
+   *
+   * @param host the entry the value belongs to
+   * @param path the property path
+   *
+   * @return the discovery result
+   */
+  public PropertyDiscoveryResult toDiscoveryResult(final StorageEntry host, final String path) {
+    return switch (kind) {
+      case STRING -> new StringFound((String) value, host, path);
+      case LONG, DOUBLE -> new NumberFound((Number) value, host, path);
+      case BOOLEAN -> new BooleanFound((Boolean) value, host, path);
+      case NO_VALUE -> new NoValue();
+      case NOT_FOUND -> new NotFound("Not found (indexed)");
+    };
+  }
+
+}
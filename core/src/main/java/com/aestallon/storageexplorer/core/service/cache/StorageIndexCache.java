@@ -57,5 +57,12 @@ public interface StorageIndexCache {
   Stream<ScopedEntry> scopedEntries();
   
   Set<URI> knownUris();
-  
+
+  /**
+   * Returns the number of entries held by this cache, including the ones not resident in memory.
+   *
+   * @return the number of entries
+   */
+  int size();
+
 }
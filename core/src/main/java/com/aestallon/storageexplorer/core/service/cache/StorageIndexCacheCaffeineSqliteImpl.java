@@ -42,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics;
 import com.aestallon.storageexplorer.core.model.entry.ListEntry;
 import com.aestallon.storageexplorer.core.model.entry.MapEntry;
 import com.aestallon.storageexplorer.core.model.entry.ObjectEntry;
@@ -53,6 +54,7 @@ import com.aestallon.storageexplorer.core.model.entry.UriProperty;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 public class StorageIndexCacheCaffeineSqliteImpl implements StorageIndexCache {
 
@@ -218,7 +220,13 @@ public class StorageIndexCacheCaffeineSqliteImpl implements StorageIndexCache {
     this.inner = Caffeine.newBuilder()
         .expireAfterAccess(30L, TimeUnit.SECONDS)
         .maximumSize(10_000L)
+        .recordStats()
         .build(this::load);
+    CaffeineCacheMetrics.monitor(
+        StorageExplorerMetrics.registry(),
+        inner,
+        StorageExplorerMetrics.INDEX_CACHE,
+        StorageExplorerMetrics.TAG_STORAGE, storageId.toString());
   }
 
   private void initSqlite() {
@@ -323,4 +331,13 @@ public class StorageIndexCacheCaffeineSqliteImpl implements StorageIndexCache {
     return inner.asMap().keySet();
   }
 
+  @Override
+  public int size() {
+    // entries still queued for the writer are not counted yet -> the count may lag a little:
+    return sqlite
+        .sql("select count(*) from storage_entry")
+        .query(Integer.class)
+        .single();
+  }
+
 }
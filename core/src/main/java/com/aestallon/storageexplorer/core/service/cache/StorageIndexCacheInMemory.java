@@ -86,4 +86,9 @@ public final class StorageIndexCacheInMemory implements StorageIndexCache {
     return map.keySet();
   }
 
+  @Override
+  public int size() {
+    return map.size();
+  }
+
 }
@@ -15,23 +15,38 @@
 
 package com.aestallon.storageexplorer.core.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
+import com.aestallon.storageexplorer.core.service.LoadScheduler;
 import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer;
 
 public abstract class AbstractEntryEvaluationExecutor<RESULT, EXECUTOR extends AbstractEntryEvaluationExecutor<RESULT, EXECUTOR>> {
 
   private static final Logger log = LoggerFactory.getLogger(AbstractEntryEvaluationExecutor.class);
 
+  protected static final int PREFETCH_BATCH = 256;
+  // batches admitted at once when streaming -> bounds the results in flight towards a slow sink:
+  private static final int STREAMING_BATCHES = 2;
+
 
   public abstract static class Builder<E extends AbstractEntryEvaluationExecutor<?, E>, BUILDER extends Builder<E, BUILDER>> {
 
@@ -39,6 +54,9 @@ public abstract class AbstractEntryEvaluationExecutor<RESULT, EXECUTOR extends A
     protected final Set<StorageEntry> entries;
     protected boolean useSemaphore;
     protected StorageInstanceExaminer.ObjectEntryLookupTable cache;
+    protected LoadScheduler.Lane lane = LoadScheduler.Lane.QUERY;
+    protected ExecutionBudget budget;
+    protected int batchSize = PREFETCH_BATCH;
 
     protected Builder(final StorageInstanceExaminer examiner,
                       final Set<StorageEntry> entries) {
@@ -60,6 +78,42 @@ public abstract class AbstractEntryEvaluationExecutor<RESULT, EXECUTOR extends A
       return self();
     }
 
+    public final BUILDER lane(LoadScheduler.Lane lane) {
+      this.lane = Objects.requireNonNull(lane, "Lane cannot be null!");
+      return self();
+    }
+
+    /**
+     * Charges every load of the execution against the given budget. Once the budget stops, the
+     * execution stops as if {@link AbstractEntryEvaluationExecutor#cancel() cancelled}, but still
+     * completes with whatever it has produced until then.
+     *
+     * @param budget the budget
+     *
+     * @return this builder
+     */
+    public final BUILDER budget(ExecutionBudget budget) {
+      this.budget = Objects.requireNonNull(budget, "Budget cannot be null!");
+      return self();
+    }
+
+    /**
+     * Sets the number of entries prefetched (and, if the executor works in batches, worked on)
+     * together. Defaults to {@value AbstractEntryEvaluationExecutor#PREFETCH_BATCH}.
+     *
+     * @param batchSize the number of entries in a batch
+     *
+     * @return this builder
+     */
+    public final BUILDER batchSize(int batchSize) {
+      if (batchSize < 1) {
+        throw new IllegalArgumentException("Batch size must be positive!");
+      }
+
+      this.batchSize = batchSize;
+      return self();
+    }
+
     protected abstract BUILDER self();
 
     public abstract E build();
@@ -71,7 +125,20 @@ public abstract class AbstractEntryEvaluationExecutor<RESULT, EXECUTOR extends A
   protected final Set<StorageEntry> entries;
   protected final boolean useSemaphore;
   protected final StorageInstanceExaminer.ObjectEntryLookupTable cache;
+  protected final LoadScheduler.Lane lane;
+  protected final ExecutionBudget budget;
+  protected final int batchSize;
   protected final LinkedBlockingQueue<RESULT> results = new LinkedBlockingQueue<>();
+  private final AtomicLong produced = new AtomicLong();
+  private final LongAdder prefetched = new LongAdder();
+  private final LongAdder prefetchNanos = new LongAdder();
+  private final LongAdder worked = new LongAdder();
+  private final LongAdder workNanos = new LongAdder();
+  private volatile Consumer<? super RESULT> sink;
+  private volatile LoadScheduler.Session session;
+  // prefetching loads on a session of its own, so its loads can be told apart from the work's:
+  private volatile LoadScheduler.Session prefetchSession;
+  private volatile boolean cancelled;
 
   protected <B extends Builder<EXECUTOR, B>> AbstractEntryEvaluationExecutor(B builder) {
     examiner = builder.examiner;
@@ -80,6 +147,9 @@ public abstract class AbstractEntryEvaluationExecutor<RESULT, EXECUTOR extends A
     cache = (builder.cache == null)
         ? StorageInstanceExaminer.ObjectEntryLookupTable.newInstance()
         : builder.cache;
+    lane = builder.lane;
+    budget = builder.budget;
+    batchSize = builder.batchSize;
   }
 
   protected abstract boolean shortCircuit();
@@ -88,27 +158,403 @@ public abstract class AbstractEntryEvaluationExecutor<RESULT, EXECUTOR extends A
 
   protected abstract void work(final StorageEntry entry);
 
+  /**
+   * Invoked with every batch of (at most {@link #batchSize}) entries before any of them is
+   * worked on, on a session of the execution. Implementations may load whatever their work is
+   * going to need for the whole batch at once (see {@link StorageInstanceExaminer#prefetch}).
+   *
+   * @param batch the entries about to be worked on
+   *
+   * @return the number of entries of the batch anything was prefetched for
+   */
+  protected int prefetch(final List<StorageEntry> batch) {
+    return 0;
+  }
+
+  /**
+   * Returns whether every batch is worked on as a whole by {@link #workBatch(List)}, on a single
+   * worker, instead of every entry of it on a worker of its own.
+   *
+   * @return {@code true} if batches are worked on as a whole
+   */
+  protected boolean worksInBatches() {
+    return false;
+  }
+
+  /**
+   * Works on every entry of the given batch (see {@link #worksInBatches()}), one by one by
+   * default.
+   *
+   * @param batch the entries to work on, already prefetched
+   */
+  protected void workBatch(final List<StorageEntry> batch) {
+    batch.forEach(this::work);
+  }
+
+  /**
+   * Returns the entries to evaluate, in the order their batches should be admitted.
+   *
+   * @return the entries to evaluate
+   */
+  protected Collection<StorageEntry> schedule() {
+    return entries;
+  }
+
+  /**
+   * Returns the number of batches admitted for evaluation at a time, or zero if as many batches may
+   * be admitted as the lookup table can hold the prefetched entries of. The streaming execution
+   * admits at most {@value #STREAMING_BATCHES} batches, regardless.
+   *
+   * @return the number of batches admitted at a time
+   */
+  protected int batchWindow() {
+    return 0;
+  }
+
+  /**
+   * Returns whether the entries not yet admitted can no longer contribute to the results. Unlike
+   * {@link #doNotExecute()}, this is only consulted before admitting another batch: the entries
+   * already admitted are still worked on.
+   *
+   * @return {@code true} if no further batches should be admitted
+   */
+  protected boolean saturated() {
+    return false;
+  }
+
+  /**
+   * Invoked once every admitted entry has been worked on, before the execution returns. Work
+   * deferring its results (e.g. to select the best of them) can {@link #emit(Object) emit} them
+   * here.
+   */
+  protected void complete() {
+    // nothing by default
+  }
+
+  /**
+   * Evaluates every entry, and collects the results.
+   *
+   * @return the results, in no particular order
+   */
   public final Set<RESULT> execute() {
     if (shortCircuit()) {
       return Collections.emptySet();
     }
 
+    final int window = batchWindow();
+    run(new Semaphore(window > 0 ? Math.min(window, maxBatches()) : maxBatches()));
+    // there is no sense of ordering, because we are doing everything concurrently, in a
+    // non-deterministic order:
+    return new HashSet<>(results);
+  }
+
+  /**
+   * Evaluates every entry, and hands each result to the given sink as soon as it is produced,
+   * without collecting any of them.
+   *
+   * <p>
+   * The sink is invoked concurrently, from the worker threads. A sink blocking the caller (e.g. on
+   * a bounded buffer) is the intended way to apply backpressure: only a couple of batches are
+   * admitted for evaluation at a time, so a stalled consumer stalls the evaluation too, instead of
+   * piling up results.
+   *
+   * @param sink the consumer of the results
+   *
+   * @return the number of results produced
+   */
+  public final long execute(final Consumer<? super RESULT> sink) {
+    Objects.requireNonNull(sink, "Sink cannot be null!");
+    if (shortCircuit()) {
+      return 0L;
+    }
+
+    this.sink = sink;
+    final int window = batchWindow();
+    final int max = Math.min(STREAMING_BATCHES, maxBatches());
+    run(new Semaphore(window > 0 ? Math.min(window, max) : max));
+    return produced.get();
+  }
+
+  /**
+   * Returns the number of batches in flight at most: whatever they prefetch must fit in the lookup
+   * table, with half of it to spare for the entries discovered while working on them -> otherwise
+   * a batch being prefetched evicts the entries of a batch about to be worked on.
+   *
+   * @return the number of batches admitted at a time, at most
+   */
+  private int maxBatches() {
+    return cache.batchesFitting(batchSize);
+  }
+
+  /**
+   * Stops the execution: no further batches are admitted, entries not yet worked on are skipped,
+   * and loads still waiting for a slot are dropped. Work already in progress is not interrupted.
+   */
+  public final void cancel() {
+    cancelled = true;
+    cancelSessions();
+  }
+
+  private void cancelSessions() {
+    final LoadScheduler.Session s = session;
+    if (s != null) {
+      s.cancel();
+    }
+    final LoadScheduler.Session p = prefetchSession;
+    if (p != null) {
+      p.cancel();
+    }
+  }
+
+  public final boolean cancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Publishes a result of the work: collected for {@link #execute()}, or handed to the sink of
+   * {@link #execute(Consumer)}.
+   *
+   * @param result the result
+   */
+  protected final void emit(final RESULT result) {
+    produced.incrementAndGet();
+    final Consumer<? super RESULT> s = sink;
+    if (s == null) {
+      results.add(result);
+    } else {
+      s.accept(result);
+    }
+  }
+
+  /**
+   * Returns the number of results emitted so far.
+   *
+   * @return the number of results emitted so far
+   */
+  protected final long produced() {
+    return produced.get();
+  }
+
+
+  /**
+   * The work of an execution, split into prefetching and the work proper, as measured so far.
+   * Times are summed over every worker, thus they may well exceed the time the execution took.
+   *
+   * @param prefetched the number of entries anything was prefetched for
+   * @param prefetchLoads the number of entries loaded while prefetching
+   * @param prefetchBytes the estimated size of the entries loaded while prefetching
+   * @param prefetchNanos the time spent prefetching, in nanoseconds
+   * @param worked the number of entries worked on
+   * @param workLoads the number of entries loaded by the work itself
+   * @param workBytes the estimated size of the entries loaded by the work itself
+   * @param workNanos the time spent working, in nanoseconds
+   */
+  public record Stats(long prefetched,
+                      long prefetchLoads,
+                      long prefetchBytes,
+                      long prefetchNanos,
+                      long worked,
+                      long workLoads,
+                      long workBytes,
+                      long workNanos) {}
+
+
+  /**
+   * Returns what the execution has done so far. Loads are only counted if the execution has a
+   * {@link Builder#budget(ExecutionBudget) budget}.
+   *
+   * @return the stats of the execution
+   */
+  public final Stats stats() {
+    final LoadScheduler.Session s = session;
+    final LoadScheduler.Session p = prefetchSession;
+    return new Stats(
+        prefetched.sum(),
+        p == null ? 0L : p.loads(),
+        p == null ? 0L : p.bytesLoaded(),
+        prefetchNanos.sum(),
+        worked.sum(),
+        s == null ? 0L : s.loads(),
+        s == null ? 0L : s.bytesLoaded(),
+        workNanos.sum());
+  }
+
+  private boolean budgetStopped() {
+    return budget != null && budget.stopped();
+  }
+
+  private boolean stopped() {
+    return cancelled || doNotExecute();
+  }
+
+  private void run(final Semaphore batchPermits) {
+    // every load issued by our workers goes through the scheduler on our lane; once the work is no
+    // longer required, cancelling the session drops whatever is still queued for a slot:
+    session = LoadScheduler.global().openSession(lane, budget);
+    prefetchSession = LoadScheduler.global().openSession(lane, budget);
+    if (budget != null) {
+      budget.start().onStop(this::cancel);
+    }
+    if (cancelled) {
+      cancelSessions();
+    }
+
+    final AtomicInteger inFlight = StorageExplorerMetrics.executorInFlight(
+        getClass().getSimpleName());
     try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
       final var semaphore = useSemaphore ? new Semaphore(5) : null;
-      final var counter = new CountDownLatch(entries.size());
-      for (final StorageEntry entry : entries) {
+      final Collection<StorageEntry> scheduled = schedule();
+      final var counter = new CountDownLatch(scheduled.size());
+      final List<StorageEntry> batch = new ArrayList<>(batchSize);
+      int submitted = 0;
+      boolean admitted = true;
+      for (final StorageEntry entry : scheduled) {
+        batch.add(entry);
+        if (batch.size() == batchSize) {
+          admitted = admit(batchPermits);
+          if (!admitted) {
+            break;
+          }
+
+          submitBatch(executor, List.copyOf(batch), semaphore, counter, batchPermits, inFlight);
+          submitted += batch.size();
+          batch.clear();
+        }
+      }
+      if (admitted && !batch.isEmpty() && admit(batchPermits)) {
+        submitBatch(executor, List.copyOf(batch), semaphore, counter, batchPermits, inFlight);
+        submitted += batch.size();
+      }
+      // entries never submitted are never counted down by a worker:
+      for (int i = submitted; i < scheduled.size(); i++) {
+        counter.countDown();
+      }
+
+      log.debug("Awaiting termination of executor...");
+      counter.await();
+      log.debug("Executor terminated.");
+      if (!cancelled || budgetStopped()) {
+        // a stopped budget still gets a partial result -> whatever was deferred so far is emitted:
+        complete();
+      }
+
+    } catch (Exception e) {
+      log.warn(e.getMessage(), e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean admit(final Semaphore batchPermits) throws InterruptedException {
+    batchPermits.acquire();
+
+    if (stopped()) {
+      // no sense in submitting anything else, the work is no longer required:
+      batchPermits.release();
+      cancelSessions();
+      return false;
+    }
+
+    if (saturated()) {
+      // the rest cannot make it, but the entries already admitted are still needed:
+      batchPermits.release();
+      return false;
+    }
+
+    return true;
+  }
+
+  private void workOnBatch(final List<StorageEntry> batch,
+                           final Semaphore semaphore,
+                           final LoadScheduler.Session session,
+                           final AtomicInteger inFlight) {
+    if (stopped()) {
+      session.cancel();
+      return;
+    }
+
+    boolean acquired = false;
+    try {
+      if (semaphore != null) {
+        // a batch is worked on by a single worker -> it takes a single permit:
+        semaphore.acquire();
+        acquired = true;
+        if (stopped()) {
+          // see the per-entry work below:
+          return;
+        }
+      }
+
+      inFlight.addAndGet(batch.size());
+      final long start = System.nanoTime();
+      try {
+        session.run(() -> workBatch(batch));
+      } finally {
+        workNanos.add(System.nanoTime() - start);
+        worked.add(batch.size());
+        inFlight.addAndGet(-batch.size());
+      }
+    } catch (final InterruptedException e) {
+      log.warn(e.getMessage(), e);
+      Thread.currentThread().interrupt();
+    } catch (final Exception e) {
+      log.error(e.getMessage(), e);
+    } finally {
+      if (acquired) {
+        semaphore.release();
+      }
+    }
+  }
+
+  private void submitBatch(final ExecutorService executor,
+                           final List<StorageEntry> batch,
+                           final Semaphore semaphore,
+                           final CountDownLatch counter,
+                           final Semaphore batchPermits,
+                           final AtomicInteger inFlight) {
+    final LoadScheduler.Session session = this.session;
+    final LoadScheduler.Session prefetchSession = this.prefetchSession;
+    final AtomicInteger remaining = new AtomicInteger(batch.size());
+    final Runnable done = () -> {
+      counter.countDown();
+      if (remaining.decrementAndGet() == 0) {
+        batchPermits.release();
+      }
+    };
+    // the batch is prefetched first, then its entries are worked on concurrently; batches are
+    // prefetched concurrently with each other:
+    executor.submit(() -> {
+      if (!stopped()) {
+        final long start = System.nanoTime();
+        try {
+          prefetchSession.run(() -> prefetched.add(prefetch(batch)));
+        } catch (final Exception e) {
+          // prefetching is an optimisation only, the work will load whatever it still misses:
+          log.warn("Prefetching failed: {}", e.getMessage());
+        } finally {
+          prefetchNanos.add(System.nanoTime() - start);
+        }
+      }
+
+      if (worksInBatches()) {
+        workOnBatch(batch, semaphore, session, inFlight);
+        batch.forEach(it -> done.run());
+        return;
+      }
+
+      for (final StorageEntry entry : batch) {
         executor.submit(() -> {
-          if (doNotExecute()) {
+          if (stopped()) {
             // this is our guard condition: if upon execution start the work is no longer required,
             // we can return immediately:
-            counter.countDown();
+            session.cancel();
+            done.run();
             return;
           }
 
           try {
             if (semaphore != null) {
               semaphore.acquire();
-              if (doNotExecute()) {
+              if (stopped()) {
                 // if we had a semaphore, we might have blocked above, while waiting for its
                 // acquisition -> it's possible the work is no longer needed since, and we can
                 // return early, without executing the work itself:
@@ -116,7 +562,15 @@ public abstract class AbstractEntryEvaluationExecutor<RESULT, EXECUTOR extends A
               }
             }
 
-            work(entry);
+            inFlight.incrementAndGet();
+            final long start = System.nanoTime();
+            try {
+              session.run(() -> work(entry));
+            } finally {
+              workNanos.add(System.nanoTime() - start);
+              worked.increment();
+              inFlight.decrementAndGet();
+            }
           } catch (final InterruptedException e) {
             log.warn(e.getMessage(), e);
             Thread.currentThread().interrupt();
@@ -126,23 +580,11 @@ public abstract class AbstractEntryEvaluationExecutor<RESULT, EXECUTOR extends A
             if (semaphore != null) {
               semaphore.release();
             }
-            counter.countDown();
+            done.run();
           }
         });
       }
-
-      log.debug("Awaiting termination of executor...");
-      counter.await();
-      log.debug("Executor terminated.");
-
-    } catch (Exception e) {
-      log.warn(e.getMessage(), e);
-      Thread.currentThread().interrupt();
-    }
-
-    // there is no sense of ordering, because we are doing everything concurrently, in a
-    // non-deterministic order:
-    return new HashSet<>(results);
+    });
   }
 
 }
@@ -16,6 +16,10 @@
 package com.aestallon.storageexplorer.core.util;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
@@ -63,4 +67,145 @@ public final class ObjectMaps {
     return Stream.of(e);
   }
 
+  /**
+   * Estimates the size of the given object-as-map (or any of its values) in bytes, roughly as it
+   * would be serialised. It is only an estimate, but a cheap one: nothing gets serialised.
+   *
+   * @param value the value to estimate
+   *
+   * @return the estimated size in bytes
+   */
+  public static long estimateSize(final Object value) {
+    return switch (value) {
+      case null -> 4L;
+      case Map<?, ?> m -> {
+        long size = 2L;
+        for (final Map.Entry<?, ?> e : m.entrySet()) {
+          size += estimateSize(String.valueOf(e.getKey())) + 2L + estimateSize(e.getValue());
+        }
+        yield size;
+      }
+      case Collection<?> c -> {
+        long size = 2L;
+        for (final Object it : c) {
+          size += estimateSize(it) + 1L;
+        }
+        yield size;
+      }
+      case CharSequence cs -> cs.length() + 2L;
+      default -> String.valueOf(value).length();
+    };
+  }
+
+  /**
+   * Returns a copy of the given object-as-map with the given value under the given path. Only the
+   * objects and lists along the path are copied, everything else is shared with the original.
+   * Objects missing along the path are created.
+   *
+   * @param m the object-as-map
+   * @param path the path of the value
+   * @param value the value to set
+   *
+   * @return the modified copy
+   *
+   * @throws IllegalArgumentException if the path leads through a value that is neither an object
+   *     nor a list, or indexes a list out of its bounds
+   */
+  public static Map<String, Object> withValue(final Map<String, Object> m,
+                                              final UriProperty.Segment[] path,
+                                              final Object value) {
+    if (path.length == 0) {
+      throw new IllegalArgumentException("Cannot set a value without a property path!");
+    }
+
+    return cast(edit(m, path, 0, value, false));
+  }
+
+  /**
+   * Returns a copy of the given object-as-map without the value under the given path (see
+   * {@link #withValue(Map, UriProperty.Segment[], Object)}). If there is no such value, the
+   * object-as-map is returned as is.
+   *
+   * @param m the object-as-map
+   * @param path the path of the value
+   *
+   * @return the modified copy, or the object-as-map itself
+   */
+  public static Map<String, Object> withoutValue(final Map<String, Object> m,
+                                                 final UriProperty.Segment[] path) {
+    if (path.length == 0 || !contains(m, path)) {
+      return m;
+    }
+
+    return cast(edit(m, path, 0, null, true));
+  }
+
+  private static boolean contains(final Object o, final UriProperty.Segment[] path) {
+    Object node = o;
+    for (final UriProperty.Segment segment : path) {
+      switch (segment) {
+        case UriProperty.Segment.Key(String key) -> {
+          if (!(node instanceof Map<?, ?> m) || !m.containsKey(key)) {
+            return false;
+          }
+          node = m.get(key);
+        }
+        case UriProperty.Segment.Idx(int idx) -> {
+          if (!(node instanceof List<?> l) || idx < 0 || idx >= l.size()) {
+            return false;
+          }
+          node = l.get(idx);
+        }
+      }
+    }
+    return true;
+  }
+
+  private static Object edit(final Object node,
+                             final UriProperty.Segment[] path,
+                             final int i,
+                             final Object value,
+                             final boolean remove) {
+    final boolean last = i == path.length - 1;
+    return switch (path[i]) {
+      case UriProperty.Segment.Key(String key) -> {
+        if (node != null && !(node instanceof Map<?, ?>)) {
+          throw new IllegalArgumentException("[ %s ] is not an object".formatted(
+              UriProperty.Segment.asString(Arrays.copyOf(path, i))));
+        }
+
+        final Map<String, Object> copy = node == null
+            ? new LinkedHashMap<>()
+            : new LinkedHashMap<>(cast(node));
+        if (last && remove) {
+          copy.remove(key);
+        } else {
+          copy.put(key, last ? value : edit(copy.get(key), path, i + 1, value, remove));
+        }
+        yield copy;
+      }
+      case UriProperty.Segment.Idx(int idx) -> {
+        if (!(node instanceof List<?> l) || idx < 0 || idx >= l.size()) {
+          throw new IllegalArgumentException(
+              "[ %s ] is not a list of at least %d elements".formatted(
+                  UriProperty.Segment.asString(Arrays.copyOf(path, i)),
+                  idx + 1));
+        }
+
+        final List<Object> copy = new ArrayList<>(l);
+        if (last && remove) {
+          copy.remove(idx);
+        } else {
+          copy.set(idx, last ? value : edit(copy.get(idx), path, i + 1, value, remove));
+        }
+        yield copy;
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> cast(final Object o) {
+    return (Map<String, Object>) o;
+  }
+
 }
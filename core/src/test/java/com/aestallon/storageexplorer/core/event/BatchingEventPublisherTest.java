@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.event;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
+import com.aestallon.storageexplorer.core.model.instance.dto.Availability;
+import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceDto;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The publisher never looks into the entries it batches -> these tests get by without any (every
+ * entry is {@code null}), only the storages they belong to matter.
+ */
+class BatchingEventPublisherTest {
+
+  private static final Duration LONG_WINDOW = Duration.ofHours(1L);
+
+  private final List<Object> published = new CopyOnWriteArrayList<>();
+  private BatchingEventPublisher publisher;
+
+  @AfterEach
+  void tearDown() {
+    if (publisher != null) {
+      publisher.close();
+    }
+  }
+
+  private static StorageInstance storage(final String name) {
+    return StorageInstance.fromDto(new StorageInstanceDto()
+        .id(UUID.randomUUID())
+        .name(name)
+        .availability(Availability.AVAILABLE)
+        .indexingStrategy(IndexingStrategyType.ON_DEMAND)
+        .type(StorageInstanceType.FS)
+        .fs(new FsStorageLocation().path(Path.of(name))));
+  }
+
+  private static void discover(final BatchingEventPublisher publisher,
+                               final StorageInstance storage,
+                               final int count) {
+    for (int i = 0; i < count; i++) {
+      publisher.publishEvent(new EntryDiscovered(storage, null));
+    }
+  }
+
+  private List<Integer> batchSizes() {
+    return published.stream()
+        .filter(EntriesDiscovered.class::isInstance)
+        .map(it -> ((EntriesDiscovered) it).storageEntries().size())
+        .toList();
+  }
+
+  @Test
+  void aFullBatch_isPublishedRightAway() {
+    publisher = new BatchingEventPublisher(published::add, LONG_WINDOW, 3);
+    final var storage = storage("alpha");
+
+    discover(publisher, storage, 2);
+    assertThat(published).isEmpty();
+
+    discover(publisher, storage, 5);
+    assertThat(batchSizes()).containsExactly(3, 3);
+
+    publisher.flush();
+    assertThat(batchSizes()).containsExactly(3, 3, 1);
+  }
+
+  @Test
+  void pendingDiscoveries_arePublishedOnceTheWindowElapses() throws InterruptedException {
+    publisher = new BatchingEventPublisher(published::add, Duration.ofMillis(20L), 1_000);
+    discover(publisher, storage("alpha"), 4);
+
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+    while (published.isEmpty() && System.nanoTime() < deadline) {
+      Thread.sleep(5L);
+    }
+    assertThat(batchSizes()).containsExactly(4);
+  }
+
+  @Test
+  void discoveries_areFlushedBeforeAnAcquisitionOfTheirStorage_only() {
+    publisher = new BatchingEventPublisher(published::add, LONG_WINDOW, 1_000);
+    final var alpha = storage("alpha");
+    final var beta = storage("beta");
+    discover(publisher, alpha, 2);
+    discover(publisher, beta, 1);
+
+    final var acquired = new EntryAcquired(alpha, null);
+    publisher.publishEvent(acquired);
+
+    assertThat(published).hasSize(2);
+    assertThat(published.getFirst())
+        .isInstanceOfSatisfying(EntriesDiscovered.class, it -> {
+          assertThat(it.storageInstance()).isSameAs(alpha);
+          assertThat(it.storageEntries()).hasSize(2);
+        });
+    assertThat(published.getLast()).isSameAs(acquired);
+
+    // the discoveries of the other storage are still waiting for their window:
+    publisher.flush();
+    assertThat(published).hasSize(3);
+    assertThat(published.getLast())
+        .isInstanceOfSatisfying(
+            EntriesDiscovered.class,
+            it -> assertThat(it.storageInstance()).isSameAs(beta));
+  }
+
+  @Test
+  void onlyTheLatestQueueSize_ofEachStorage_isPublished() {
+    publisher = new BatchingEventPublisher(published::add, LONG_WINDOW, 1_000);
+    final var alpha = new StorageId(UUID.randomUUID());
+    final var beta = new StorageId(UUID.randomUUID());
+    publisher.publishEvent(new LoadingQueueSize(alpha, 10L));
+    publisher.publishEvent(new LoadingQueueSize(beta, 3L));
+    publisher.publishEvent(new LoadingQueueSize(alpha, 7L));
+    assertThat(published).isEmpty();
+
+    publisher.flush();
+    assertThat(published).containsExactly(
+        new LoadingQueueSize(alpha, 7L),
+        new LoadingQueueSize(beta, 3L));
+  }
+
+  @Test
+  void otherEvents_passThroughImmediately() {
+    publisher = new BatchingEventPublisher(published::add, LONG_WINDOW, 1_000);
+    final var event = new Object();
+    publisher.publishEvent(event);
+
+    assertThat(published).containsExactly(event);
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.metrics;
+
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The explorer records everything on the global registry -> we attach an in-memory registry for the
+ * duration of each test.
+ */
+class StorageExplorerMetricsTest {
+
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    Metrics.addRegistry(registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.removeRegistry(registry);
+    registry.close();
+  }
+
+  @Test
+  void batchesAreRecordedWithSizeAndFlushReason() {
+    // given
+    final var storageId = new StorageId(UUID.randomUUID());
+
+    // when
+    StorageExplorerMetrics.recordBatch(storageId, 150, StorageExplorerMetrics.FLUSH_FULL);
+    StorageExplorerMetrics.recordBatch(storageId, 12, StorageExplorerMetrics.FLUSH_DRAINED);
+
+    // then
+    final var sizes = registry.get(StorageExplorerMetrics.LOAD_BATCH_SIZE)
+        .tag(StorageExplorerMetrics.TAG_STORAGE, storageId.toString())
+        .summary();
+    assertThat(sizes.count()).isEqualTo(2L);
+    assertThat(sizes.totalAmount()).isEqualTo(162d);
+    assertThat(registry.get(StorageExplorerMetrics.LOAD_BATCH_FLUSH)
+        .tag(StorageExplorerMetrics.TAG_STORAGE, storageId.toString())
+        .tag(StorageExplorerMetrics.TAG_REASON, StorageExplorerMetrics.FLUSH_FULL)
+        .counter()
+        .count()).isEqualTo(1d);
+  }
+
+  @Test
+  void walkerThroughputIsDirectoriesPerSecond() {
+    // when
+    StorageExplorerMetrics.recordWalk(500, 2_000_000_000L);
+
+    // then
+    assertThat(registry.get(StorageExplorerMetrics.WALKER_THROUGHPUT).summary().max())
+        .isEqualTo(250d);
+  }
+
+  @Test
+  void lookupsAreCountedByResult() {
+    // when
+    StorageExplorerMetrics.recordLookup(true);
+    StorageExplorerMetrics.recordLookup(true);
+    StorageExplorerMetrics.recordLookup(false);
+
+    // then
+    assertThat(registry.get(StorageExplorerMetrics.LOOKUP_CACHE)
+        .tag(StorageExplorerMetrics.TAG_RESULT, "hit")
+        .counter()
+        .count()).isEqualTo(2d);
+    assertThat(registry.get(StorageExplorerMetrics.LOOKUP_CACHE)
+        .tag(StorageExplorerMetrics.TAG_RESULT, "miss")
+        .counter()
+        .count()).isEqualTo(1d);
+  }
+
+  @Test
+  void indexSizeGaugeFollowsTheMostRecentlyBoundIndex() {
+    // given
+    final var storageId = new StorageId(UUID.randomUUID());
+    final var first = new int[] { 10 };
+    final var second = new int[] { 42 };
+    StorageExplorerMetrics.bindIndexSize(storageId, first, it -> it[0]);
+
+    // when
+    StorageExplorerMetrics.bindIndexSize(storageId, second, it -> it[0]);
+
+    // then
+    assertThat(registry.get(StorageExplorerMetrics.INDEX_SIZE)
+        .tag(StorageExplorerMetrics.TAG_STORAGE, storageId.toString())
+        .gauge()
+        .value()).isEqualTo(42d);
+  }
+
+}
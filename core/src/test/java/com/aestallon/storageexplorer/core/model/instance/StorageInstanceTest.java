@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.model.instance;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.model.instance.dto.Availability;
+import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceDto;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The initialisers here never set an index (creating one needs a platform backend) -> they always
+ * leave the storage failed, which is all the same to how, where and how often they are run.
+ */
+class StorageInstanceTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  private static StorageInstance storage() {
+    return StorageInstance.fromDto(new StorageInstanceDto()
+        .id(UUID.randomUUID())
+        .name("deferred")
+        .availability(Availability.AVAILABLE)
+        .indexingStrategy(IndexingStrategyType.ON_DEMAND)
+        .type(StorageInstanceType.FS)
+        .fs(new FsStorageLocation().path(Path.of("deferred"))));
+  }
+
+  @Test
+  void anAsyncInitialisation_runsOnceInTheBackground_andNeverBlocksItsCaller() throws Exception {
+    final var storage = storage();
+    final var runs = new AtomicInteger();
+    final var initialisingThread = new AtomicReference<Thread>();
+    storage.deferInitialisation(() -> {
+      runs.incrementAndGet();
+      initialisingThread.set(Thread.currentThread());
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    final var first = storage.initialiseAsync(executor);
+    final var second = storage.initialiseAsync(executor);
+    assertThat(first).isNotDone();
+    assertThat(second).isSameAs(first);
+
+    release.countDown();
+    assertThat(first.get(5L, TimeUnit.SECONDS)).isNull();
+    assertThat(runs).hasValue(1);
+    assertThat(initialisingThread.get()).isNotSameAs(Thread.currentThread());
+    assertThat(storage.readiness()).isEqualTo(StorageInstance.Readiness.FAILED);
+  }
+
+  @Test
+  void anAsyncInitialisation_isCompleted_byAnInitialisationOnAnotherPath() throws Exception {
+    final var storage = storage();
+    final var runs = new AtomicInteger();
+    storage.deferInitialisation(runs::incrementAndGet);
+
+    // an executor never getting around to it -> the waiting caller is served by the other path:
+    final var future = storage.initialiseAsync(r -> {});
+    assertThat(future).isNotDone();
+
+    assertThat(storage.index()).isNull();
+    assertThat(future.get(5L, TimeUnit.SECONDS)).isNull();
+    assertThat(runs).hasValue(1);
+  }
+
+  @Test
+  void anAsyncInitialisation_ofAStorageFailedAlready_isDoneRightAway() {
+    final var storage = storage();
+    storage.deferInitialisation(() -> {});
+    storage.ensureInitialised();
+
+    assertThat(storage.initialiseAsync(r -> {
+      throw new AssertionError("Nothing should be scheduled");
+    })).isCompletedWithValue(null);
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedLookupTest {
+
+  private static BoundedLookup<Integer, String> filled(final int capacity, final int count) {
+    final var lookup = new BoundedLookup<Integer, String>(capacity);
+    for (int i = 0; i < count; i++) {
+      lookup.putIfAbsent(i, "v" + i);
+    }
+    return lookup;
+  }
+
+  @Test
+  void entriesAdmittedTheEarliest_areEvictedFirst() {
+    final var lookup = filled(3, 5);
+
+    assertThat(lookup.size()).isEqualTo(3);
+    assertThat(lookup.containsKey(0)).isFalse();
+    assertThat(lookup.containsKey(1)).isFalse();
+    assertThat(IntStream.rangeClosed(2, 4)).allMatch(lookup::containsKey);
+  }
+
+  @Test
+  void presentKeys_areNotAdmittedAgain() {
+    final var lookup = filled(3, 3);
+
+    assertThat(lookup.putIfAbsent(0, "other")).isFalse();
+    assertThat(lookup.computeIfAbsent(1, k -> "other")).isEqualTo("v1");
+    assertThat(lookup.get(0)).isEqualTo("v0");
+    // neither took a slot of its own -> nothing got evicted:
+    assertThat(IntStream.range(0, 3)).allMatch(lookup::containsKey);
+  }
+
+  @Test
+  void keysEvicted_andAdmittedAgain_keepTheirLaterSlot() {
+    final var lookup = filled(3, 4);
+    assertThat(lookup.containsKey(0)).isFalse();
+
+    lookup.computeIfAbsent(0, k -> "again");
+    lookup.putIfAbsent(4, "v4");
+    lookup.putIfAbsent(5, "v5");
+
+    // 1, 2 and 3 were admitted before 0 came back -> they make room first:
+    assertThat(lookup.get(0)).isEqualTo("again");
+    assertThat(lookup.containsKey(3)).isFalse();
+    assertThat(lookup.size()).isEqualTo(3);
+  }
+
+  @Test
+  void nothingComputed_takesNoSlot() {
+    final var lookup = new BoundedLookup<Integer, String>(2);
+
+    assertThat(lookup.computeIfAbsent(0, k -> null)).isNull();
+    lookup.putIfAbsent(1, "v1");
+    lookup.putIfAbsent(2, "v2");
+
+    assertThat(lookup.containsKey(1)).isTrue();
+    assertThat(lookup.containsKey(2)).isTrue();
+  }
+
+  @Test
+  void batchesPrefetchedAtOnce_doNotEvictEachOther() {
+    final var table = StorageInstanceExaminer.ObjectEntryLookupTable.newInstance();
+    final int batchSize = 256;
+    final int batches = table.batchesFitting(batchSize);
+    assertThat(batches).isGreaterThan(1);
+
+    // every batch in flight prefetched, and discovered as many entries again while worked on:
+    final var lookup = filled(table.capacity(), 2 * batches * batchSize);
+
+    assertThat(IntStream.range(0, batchSize)).allMatch(lookup::containsKey);
+  }
+
+  @Test
+  void tinyTables_stillAdmitASingleBatch() {
+    assertThat(StorageInstanceExaminer.ObjectEntryLookupTable.newInstance(10).batchesFitting(256))
+        .isOne();
+  }
+
+}
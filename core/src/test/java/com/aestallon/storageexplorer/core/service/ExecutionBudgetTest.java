@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionBudgetTest {
+
+  @Test
+  void unlimitedBudget_isOnlyStoppedByCancelling() {
+    final var budget = ExecutionBudget.unlimited().start();
+    for (int i = 0; i < 1_000; i++) {
+      budget.charge(1_000L);
+    }
+    assertThat(budget.stopped()).isFalse();
+
+    budget.cancel();
+    assertThat(budget.status()).isEqualTo(ExecutionBudget.Status.CANCELLED);
+    assertThat(budget.status().partial()).isTrue();
+    assertThat(budget.status().budgetExceeded()).isFalse();
+  }
+
+  @Test
+  void exceedingTheEntryLimit_stopsTheBudget() {
+    final var budget = ExecutionBudget.builder().maxEntries(2L).build();
+    budget.charge(10L);
+    budget.charge(10L);
+    assertThat(budget.stopped()).isFalse();
+
+    budget.charge(10L);
+    assertThat(budget.status()).isEqualTo(ExecutionBudget.Status.MAX_ENTRIES_EXCEEDED);
+    assertThat(budget.entriesLoaded()).isEqualTo(3L);
+  }
+
+  @Test
+  void exceedingTheByteLimit_stopsTheBudget() {
+    final var budget = ExecutionBudget.builder().maxBytes(100L).build();
+    budget.charge(60L);
+    assertThat(budget.stopped()).isFalse();
+
+    budget.charge(60L);
+    assertThat(budget.status()).isEqualTo(ExecutionBudget.Status.MAX_BYTES_EXCEEDED);
+    assertThat(budget.status().budgetExceeded()).isTrue();
+  }
+
+  @Test
+  void timeout_stopsTheBudget_onceStarted() throws InterruptedException {
+    final var budget = ExecutionBudget.builder().timeout(Duration.ofMillis(50L)).build();
+    final var stopped = new CountDownLatch(1);
+    budget.onStop(stopped::countDown);
+    assertThat(stopped.await(150L, TimeUnit.MILLISECONDS)).isFalse();
+
+    budget.start();
+    assertThat(stopped.await(1L, TimeUnit.SECONDS)).isTrue();
+    assertThat(budget.status()).isEqualTo(ExecutionBudget.Status.TIMED_OUT);
+  }
+
+  @Test
+  void completedBudget_doesNotTimeOut() throws InterruptedException {
+    final var budget = ExecutionBudget.builder().timeout(Duration.ofMillis(50L)).build().start();
+    final var stopped = new CountDownLatch(1);
+    budget.onStop(stopped::countDown);
+
+    budget.complete();
+    assertThat(stopped.await(200L, TimeUnit.MILLISECONDS)).isFalse();
+    assertThat(budget.status()).isEqualTo(ExecutionBudget.Status.OK);
+  }
+
+  @Test
+  void listeners_areNotifiedOnce_withTheFirstReasonWinning() {
+    final var budget = ExecutionBudget.builder().maxEntries(1L).build();
+    final var notified = new AtomicInteger();
+    budget.onStop(notified::incrementAndGet);
+
+    budget.cancel();
+    budget.charge(1L);
+    budget.charge(1L);
+    assertThat(budget.status()).isEqualTo(ExecutionBudget.Status.CANCELLED);
+    assertThat(notified).hasValue(1);
+
+    // registered after stopping -> notified right away:
+    budget.onStop(notified::incrementAndGet);
+    assertThat(notified).hasValue(2);
+  }
+
+  @Test
+  void stoppedBudget_cancelsItsSessions() {
+    final var budget = ExecutionBudget.builder().maxEntries(1L).build();
+    final var session = LoadScheduler.global().openSession(LoadScheduler.Lane.QUERY, budget);
+    session.charge(1L);
+    assertThat(session.cancelled()).isFalse();
+
+    session.charge(1L);
+    assertThat(session.cancelled()).isTrue();
+  }
+
+  @Test
+  void anEntryLoadedOnce_isChargedToEverySessionWaitingOnIt() {
+    final var first = ExecutionBudget.unlimited().start();
+    final var second = ExecutionBudget.unlimited().start();
+    final var scheduler = LoadScheduler.global();
+    final var ofFirst = scheduler.openSession(LoadScheduler.Lane.QUERY, first);
+    final var ofSecond = scheduler.openSession(LoadScheduler.Lane.QUERY, second);
+
+    final var pending = new PendingLoads<String>();
+    pending.enqueue("shared", ofFirst, LoadScheduler.Lane.QUERY);
+    pending.enqueue("shared", ofSecond, LoadScheduler.Lane.QUERY);
+    pending.enqueue("shared", ofSecond, LoadScheduler.Lane.QUERY);
+    pending.enqueue("shared", null, LoadScheduler.Lane.INTERACTIVE);
+    pending.complete("shared", new ObjectEntryLoadResult.SingleVersion.Eager(
+        null,
+        Map.of("name", "Alice"),
+        ObjectEntryLoadingService.OBJECT_MAPPER));
+
+    assertThat(first.entriesLoaded()).isEqualTo(1L);
+    assertThat(second.entriesLoaded()).isEqualTo(1L);
+    assertThat(first.bytesLoaded()).isPositive().isEqualTo(second.bytesLoaded());
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyType;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexCoverageLedgerTest {
+
+  private static final IndexingTarget CRM = new IndexingTarget(Set.of("crm"), Set.of());
+  private static final IndexingTarget CRM_PERSON =
+      new IndexingTarget(Set.of("crm"), Set.of("Person"));
+  private static final IndexingTarget CRM_AND_ERP =
+      new IndexingTarget(Set.of("crm", "erp"), Set.of());
+
+
+  private static final class TickingClock extends Clock {
+
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    private void advance(final Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+  }
+
+
+  @Test
+  void widerTarget_coversNarrowerOnes() {
+    final var ledger = new IndexCoverageLedger(new TickingClock());
+    ledger.record(CRM, IndexingStrategyType.INITIAL);
+
+    assertThat(ledger.covering(CRM_PERSON, IndexingStrategyType.INITIAL)).isPresent();
+    assertThat(ledger.covering(CRM, IndexingStrategyType.INITIAL)).isPresent();
+    assertThat(ledger.covering(CRM_AND_ERP, IndexingStrategyType.INITIAL)).isEmpty();
+    assertThat(ledger.covering(IndexingTarget.any(), IndexingStrategyType.INITIAL)).isEmpty();
+  }
+
+  @Test
+  void lesserStrategy_doesNotCoverAMoreThoroughOne() {
+    final var ledger = new IndexCoverageLedger(new TickingClock());
+    ledger.record(CRM, IndexingStrategyType.INITIAL);
+    ledger.record(CRM_AND_ERP, IndexingStrategyType.ON_DEMAND);
+
+    assertThat(ledger.covering(CRM_PERSON, IndexingStrategyType.FULL)).isEmpty();
+    assertThat(ledger.covering(CRM_AND_ERP, IndexingStrategyType.INITIAL)).isEmpty();
+  }
+
+  @Test
+  void coverage_goesStaleAfterTheWindow() {
+    final var clock = new TickingClock();
+    final var ledger = new IndexCoverageLedger(clock);
+    ledger.staleAfter(Duration.ofMinutes(5L));
+    ledger.record(CRM, IndexingStrategyType.FULL);
+
+    clock.advance(Duration.ofMinutes(4L));
+    assertThat(ledger.covering(CRM_PERSON, IndexingStrategyType.INITIAL)).isPresent();
+
+    clock.advance(Duration.ofMinutes(2L));
+    assertThat(ledger.covering(CRM_PERSON, IndexingStrategyType.INITIAL)).isEmpty();
+  }
+
+  @Test
+  void supersededCoverages_areForgotten() {
+    final var ledger = new IndexCoverageLedger(new TickingClock());
+    ledger.record(CRM_PERSON, IndexingStrategyType.INITIAL);
+    ledger.record(CRM, IndexingStrategyType.FULL);
+
+    assertThat(ledger.coverages())
+        .singleElement()
+        .returns(CRM, IndexCoverageLedger.Coverage::target);
+
+    ledger.clear();
+    assertThat(ledger.covering(CRM_PERSON, IndexingStrategyType.INITIAL)).isEmpty();
+  }
+
+}
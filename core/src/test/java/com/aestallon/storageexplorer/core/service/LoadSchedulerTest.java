@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadSchedulerTest {
+
+  private static final StorageId STORAGE = new StorageId(UUID.randomUUID());
+  private static final StorageId OTHER_STORAGE = new StorageId(UUID.randomUUID());
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  private static void awaitUntil(final BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("Condition not met in time");
+      }
+      Thread.sleep(5L);
+    }
+  }
+
+  // occupies a slot of the given storage until released:
+  private CompletableFuture<Void> hold(final LoadScheduler scheduler, final StorageId storageId)
+      throws InterruptedException {
+    final var entered = new CountDownLatch(1);
+    final var ret = CompletableFuture.runAsync(() -> scheduler.run(storageId, () -> {
+      entered.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    }), executor);
+    assertThat(entered.await(5L, TimeUnit.SECONDS)).isTrue();
+    return ret;
+  }
+
+  private CompletableFuture<String> load(final LoadScheduler scheduler,
+                                         final StorageId storageId,
+                                         final LoadScheduler.Session session,
+                                         final String result) {
+    return CompletableFuture.supplyAsync(() -> {
+      if (session == null) {
+        return scheduler.run(storageId, () -> result);
+      }
+
+      final String[] ret = new String[1];
+      session.run(() -> ret[0] = scheduler.run(storageId, () -> result));
+      return ret[0];
+    }, executor);
+  }
+
+  @Test
+  void waitingLoads_areAdmittedByLane_notInArrivalOrder() throws Exception {
+    final var scheduler = new LoadScheduler(1, 1);
+    hold(scheduler, STORAGE);
+
+    final List<String> order = new CopyOnWriteArrayList<>();
+    final var background = scheduler.openSession(LoadScheduler.Lane.BACKGROUND);
+    final var query = scheduler.openSession(LoadScheduler.Lane.QUERY);
+    final var recorded = List.of(
+        recording(scheduler, background, "background", order),
+        recording(scheduler, query, "query", order),
+        recording(scheduler, null, "interactive", order));
+    awaitUntil(() -> scheduler.queueDepths().values().stream().mapToInt(it -> it).sum() == 3);
+
+    release.countDown();
+    for (final var it : recorded) {
+      it.get(5L, TimeUnit.SECONDS);
+    }
+    assertThat(order).containsExactly("interactive", "query", "background");
+  }
+
+  // records the order the loads are executed in, that is, they are admitted in:
+  private CompletableFuture<Void> recording(final LoadScheduler scheduler,
+                                            final LoadScheduler.Session session,
+                                            final String name,
+                                            final List<String> order) {
+    final Runnable io = () -> scheduler.run(STORAGE, () -> order.add(name));
+    return CompletableFuture.runAsync(
+        session == null ? io : () -> session.run(io),
+        executor);
+  }
+
+  @Test
+  void theLimitOfAStorage_doesNotHoldBackOtherStorages() throws Exception {
+    final var scheduler = new LoadScheduler(4, 1);
+    hold(scheduler, STORAGE);
+
+    final var blocked = load(scheduler, STORAGE, null, "blocked");
+    awaitUntil(() -> scheduler.queueDepth(LoadScheduler.Lane.INTERACTIVE) == 1);
+    assertThat(load(scheduler, OTHER_STORAGE, null, "other").get(5L, TimeUnit.SECONDS))
+        .isEqualTo("other");
+    assertThat(blocked).isNotDone();
+    assertThat(scheduler.inFlight(STORAGE)).isEqualTo(1);
+
+    release.countDown();
+    assertThat(blocked.get(5L, TimeUnit.SECONDS)).isEqualTo("blocked");
+  }
+
+  @Test
+  void theGlobalLimit_holdsBackEveryStorage() throws Exception {
+    final var scheduler = new LoadScheduler(1, 8);
+    hold(scheduler, STORAGE);
+
+    final var blocked = load(scheduler, OTHER_STORAGE, null, "blocked");
+    awaitUntil(() -> scheduler.queueDepth(LoadScheduler.Lane.INTERACTIVE) == 1);
+    assertThat(scheduler.inFlight()).isEqualTo(1);
+    assertThat(blocked).isNotDone();
+
+    release.countDown();
+    assertThat(blocked.get(5L, TimeUnit.SECONDS)).isEqualTo("blocked");
+    awaitUntil(() -> scheduler.inFlight() == 0);
+  }
+
+  @Test
+  void cancellingASession_dropsItsQueuedLoads_only() throws Exception {
+    final var scheduler = new LoadScheduler(1, 1);
+    hold(scheduler, STORAGE);
+
+    final var cancelled = scheduler.openSession(LoadScheduler.Lane.QUERY);
+    final var other = scheduler.openSession(LoadScheduler.Lane.QUERY);
+    final var dropped = load(scheduler, STORAGE, cancelled, "dropped");
+    final var kept = load(scheduler, STORAGE, other, "kept");
+    awaitUntil(() -> scheduler.queueDepth(LoadScheduler.Lane.QUERY) == 2);
+
+    cancelled.cancel();
+    assertThatThrownBy(() -> dropped.get(5L, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(CancellationException.class);
+    assertThat(scheduler.queueDepth(LoadScheduler.Lane.QUERY)).isEqualTo(1);
+
+    // nothing is even queued for a session already cancelled:
+    final var late = load(scheduler, STORAGE, cancelled, "late");
+    assertThatThrownBy(() -> late.get(5L, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(CancellationException.class);
+
+    release.countDown();
+    assertThat(kept.get(5L, TimeUnit.SECONDS)).isEqualTo("kept");
+  }
+
+  @Test
+  void aThreadHoldingASlot_loadsInline() {
+    final var scheduler = new LoadScheduler(1, 1);
+
+    // the nested load would wait for the slot held by its own thread otherwise:
+    final String result = scheduler.run(STORAGE, () -> scheduler.run(OTHER_STORAGE, () -> {
+      assertThat(scheduler.inFlight()).isEqualTo(1);
+      assertThat(scheduler.inFlight(OTHER_STORAGE)).isZero();
+      return "nested";
+    }));
+
+    assertThat(result).isEqualTo("nested");
+    assertThat(scheduler.inFlight()).isZero();
+  }
+
+}
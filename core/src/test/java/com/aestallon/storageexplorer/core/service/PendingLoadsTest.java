@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PendingLoadsTest {
+
+  private static final ObjectEntryLoadResult CANCELLED = ObjectEntryLoadResult.err("cancelled");
+  private static final ObjectEntryLoadResult LOADED = ObjectEntryLoadResult.err("loaded");
+
+  private static LoadScheduler.Session session(final LoadScheduler.Lane lane) {
+    return LoadScheduler.global().openSession(lane);
+  }
+
+  private static List<PendingLoads.Task<String>> drain(final PendingLoads<String> pending)
+      throws InterruptedException {
+    final List<PendingLoads.Task<String>> ret = new ArrayList<>();
+    final var first = pending.poll(0L, TimeUnit.MILLISECONDS);
+    if (first != null) {
+      ret.add(first);
+      pending.drainTo(ret, Integer.MAX_VALUE);
+    }
+    return ret;
+  }
+
+  @Test
+  void anInteractiveRequest_movesAQueuedEntryUp_andSurvivesTheQueryCancelling()
+      throws InterruptedException {
+    final var pending = new PendingLoads<String>();
+    final var query = session(LoadScheduler.Lane.QUERY);
+    final var background = session(LoadScheduler.Lane.BACKGROUND);
+    final var ofQuery = pending.enqueue("shared", query, LoadScheduler.Lane.QUERY);
+    pending.enqueue("indexed", background, LoadScheduler.Lane.BACKGROUND);
+
+    final var ofClick = pending.enqueue("shared", null, LoadScheduler.Lane.INTERACTIVE);
+    assertThat(ofClick).isSameAs(ofQuery);
+    assertThat(pending.queueSize()).isEqualTo(2);
+
+    query.cancel();
+    final var tasks = drain(pending);
+    assertThat(tasks)
+        .extracting(PendingLoads.Task::key, PendingLoads.Task::lane)
+        .containsExactly(
+            tuple("shared", LoadScheduler.Lane.INTERACTIVE),
+            tuple("indexed", LoadScheduler.Lane.BACKGROUND));
+
+    assertThat(pending.dropIfCancelled(tasks.getFirst(), CANCELLED)).isFalse();
+    assertThat(ofClick).isNotDone();
+
+    pending.complete("shared", LOADED);
+    assertThat(ofClick).isCompletedWithValue(LOADED);
+    assertThat(pending.isPending("shared")).isFalse();
+  }
+
+  @Test
+  void anEntry_isDroppedOnlyOnceEverySessionWaitingOnItIsCancelled()
+      throws InterruptedException {
+    final var pending = new PendingLoads<String>();
+    final var first = session(LoadScheduler.Lane.QUERY);
+    final var second = session(LoadScheduler.Lane.BACKGROUND);
+    final var f = pending.enqueue("shared", first, LoadScheduler.Lane.QUERY);
+    pending.enqueue("shared", second, LoadScheduler.Lane.BACKGROUND);
+
+    final var task = drain(pending).getFirst();
+    first.cancel();
+    assertThat(pending.dropIfCancelled(task, CANCELLED)).isFalse();
+    assertThat(f).isNotDone();
+
+    second.cancel();
+    assertThat(pending.dropIfCancelled(task, CANCELLED)).isTrue();
+    assertThat(f).isCompletedWithValue(CANCELLED);
+    assertThat(pending.isPending("shared")).isFalse();
+  }
+
+  @Test
+  void aLessUrgentRequest_leavesTheQueuedEntryInItsLane() throws InterruptedException {
+    final var pending = new PendingLoads<String>();
+    pending.enqueue("shared", null, LoadScheduler.Lane.INTERACTIVE);
+    final var background = session(LoadScheduler.Lane.BACKGROUND);
+    pending.enqueue("shared", background, LoadScheduler.Lane.BACKGROUND);
+
+    assertThat(drain(pending))
+        .extracting(PendingLoads.Task::lane)
+        .containsExactly(LoadScheduler.Lane.INTERACTIVE);
+  }
+
+  @Test
+  void claimedEntries_areNeverQueued_butWaitedFor() {
+    final var pending = new PendingLoads<String>();
+    final var claim = pending.claim("claimed", null, LoadScheduler.Lane.QUERY);
+    assertThat(claim.owned()).isTrue();
+
+    final var again = pending.claim("claimed", null, LoadScheduler.Lane.QUERY);
+    assertThat(again.owned()).isFalse();
+    final var f = pending.enqueue("claimed", null, LoadScheduler.Lane.INTERACTIVE);
+    assertThat(pending.queueSize()).isZero();
+
+    pending.complete("claimed", LOADED);
+    assertThat(f).isSameAs(claim.future()).isCompletedWithValue(LOADED);
+  }
+
+}
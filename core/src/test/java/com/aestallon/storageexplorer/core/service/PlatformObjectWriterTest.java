@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.service.StorageEntryModificationService.PropertyChange;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlatformObjectWriterTest {
+
+  // records the edits in order, as "set key=value" and "remove key":
+  private static final class Recorded implements PlatformObjectWriter.Edits {
+
+    private final List<String> edits = new ArrayList<>();
+
+    @Override
+    public void set(final String key, final Object value) {
+      edits.add("set " + key + "=" + value);
+    }
+
+    @Override
+    public void remove(final String key) {
+      edits.add("remove " + key);
+    }
+
+  }
+
+  private static Map<String, Object> person() {
+    final Map<String, Object> address = new LinkedHashMap<>();
+    address.put("state", "NY");
+    address.put("city", "Albany");
+    final Map<String, Object> m = new LinkedHashMap<>();
+    m.put("name", "Alice");
+    m.put("nickname", "Al");
+    m.put("address", address);
+    return m;
+  }
+
+  private static List<String> edits(final Map<String, Object> before,
+                                    final List<PropertyChange> changes) {
+    final var recorded = new Recorded();
+    PlatformObjectWriter.edit(recorded, before, PlatformObjectWriter.applied(before, changes));
+    return recorded.edits;
+  }
+
+  @Test
+  void topLevelUnset_removesTheProperty_insteadOfNullingIt() {
+    assertThat(edits(person(), List.of(new PropertyChange.Unset("nickname"))))
+        .containsExactly("remove nickname");
+  }
+
+  @Test
+  void explicitNull_isSet_notRemoved() {
+    assertThat(edits(person(), List.of(new PropertyChange.SetValue("nickname", null))))
+        .containsExactly("set nickname=null");
+  }
+
+  @Test
+  void nestedChanges_onlyTouchTheirTopLevelProperty() {
+    assertThat(edits(person(), List.of(new PropertyChange.Unset("address.city"))))
+        .containsExactly("set address={state=NY}");
+    assertThat(edits(person(), List.of(new PropertyChange.SetValue("address.state", "CA"))))
+        .containsExactly("set address={state=CA, city=Albany}");
+  }
+
+  @Test
+  void newProperties_areSet() {
+    assertThat(edits(person(), List.of(new PropertyChange.SetValue("age", 34))))
+        .containsExactly("set age=34");
+  }
+
+  @Test
+  void changesLeavingTheContentAsItWas_editNothing() {
+    final Map<String, Object> before = person();
+    assertThat(edits(before, List.of(
+        new PropertyChange.SetValue("name", "Alice"),
+        new PropertyChange.Unset("missing"))))
+        .isEmpty();
+    assertThat(PlatformObjectWriter.applied(before, List.of(new PropertyChange.Unset("missing"))))
+        .isSameAs(before);
+  }
+
+  @Test
+  void appliedChanges_leaveTheOriginalContentAsItWas() {
+    final Map<String, Object> before = person();
+    PlatformObjectWriter.applied(before, List.of(
+        new PropertyChange.Unset("nickname"),
+        new PropertyChange.SetValue("address.state", "CA")));
+
+    assertThat(before).isEqualTo(person());
+  }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.service.StorageInstanceExaminer.PropertyPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyPathTest {
+
+  @Test
+  void pathsAreParsedOnce_andSharedAfterwards() {
+    final PropertyPath first = PropertyPath.of("address.0.city");
+    final PropertyPath second = PropertyPath.of("address.0.city");
+
+    assertThat(second).isSameAs(first);
+    assertThat(PropertyPath.parse("address.0.city"))
+        .isNotSameAs(first)
+        .hasToString("address.0.city");
+  }
+
+  @Test
+  void ownUriIsRecognised_onlyWhenItIsTheWholePath() {
+    assertThat(PropertyPath.of("uri").isOwnUri()).isTrue();
+    assertThat(PropertyPath.of("parent.uri").isOwnUri()).isFalse();
+    assertThat(PropertyPath.of("").isOwnUri()).isFalse();
+  }
+
+  @Test
+  void missingPath_isTheEmptyPath() {
+    assertThat(PropertyPath.of(null)).isSameAs(PropertyPath.of(""));
+  }
+
+}
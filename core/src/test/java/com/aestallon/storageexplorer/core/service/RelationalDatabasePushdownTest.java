@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseVendor;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.model.loading.PushdownPredicate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the rendered queries against an embedded H2 database laid out the way the platform lays out
+ * its relational storages (trimmed to the columns that matter here).
+ */
+class RelationalDatabasePushdownTest {
+
+  private static final String ALICE = "crm:/org_example_Person/alice";
+  private static final String BOB = "crm:/org_example_Person/bob";
+  private static final String CAROL = "crm:/org_example_Person/carol";
+  private static final String ACME = "crm:/org_example_Company/acme";
+  private static final String LOG = "audit:/org_example_Person/log";
+
+  private SingleConnectionDataSource dataSource;
+  private JdbcClient db;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new SingleConnectionDataSource(
+        "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+        "sa", "", true);
+    db = JdbcClient.create(dataSource);
+    db.sql("""
+        CREATE TABLE OBJECT_ENTRY (
+          URI           VARCHAR(500) NOT NULL,
+          ID            BIGINT       NOT NULL PRIMARY KEY,
+          SCHEME        VARCHAR(150) NOT NULL,
+          CLASSNAME     VARCHAR(500) NOT NULL,
+          VERSION       BIGINT       NOT NULL,
+          SINGLEVERSION VARCHAR(10)  NOT NULL
+        )""").update();
+    db.sql("""
+        CREATE TABLE OBJECT_VERSION (
+          ENTRY_ID                     BIGINT NOT NULL,
+          VERSION                      BIGINT NOT NULL,
+          OBJECT_CONTENT               BLOB,
+          OBJECT_CONTENT_COMPRESS_TYPE VARCHAR(10)
+        )""").update();
+
+    insert(1L, ALICE, "org_example_Person", null,
+        "{\"name\":\"Alice\",\"age\":34,\"active\":true}");
+    insert(2L, BOB, "org_example_Person", null,
+        "{\"name\":\"Bob\",\"age\":27,\"active\":false}");
+    // carol's latest version is the second one, the first one must not matter:
+    insert(3L, CAROL, "org_example_Person", null, "{\"name\":\"Alice\",\"age\":51}");
+    db.sql("UPDATE OBJECT_ENTRY SET VERSION = 1 WHERE ID = 3").update();
+    version(3L, 1L, null, "{\"name\":\"Carol\",\"age\":\"unknown\"}");
+    insert(4L, ACME, "org_example_Company", null, "{\"name\":\"Acme\",\"age\":100}");
+    insert(5L, LOG, "org_example_Person", "zlib", "not even JSON");
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.destroy();
+  }
+
+  private void insert(long id, String uri, String className, String compression, String json) {
+    db.sql("INSERT INTO OBJECT_ENTRY VALUES (:uri, :id, :scheme, :className, 0, 'false')")
+        .param("uri", uri)
+        .param("id", id)
+        .param("scheme", uri.substring(0, uri.indexOf(':')))
+        .param("className", className)
+        .update();
+    version(id, 0L, compression, json);
+  }
+
+  private void version(long id, long version, String compression, String json) {
+    db.sql("INSERT INTO OBJECT_VERSION VALUES (:id, :version, :content, :compression)")
+        .param("id", id)
+        .param("version", version)
+        .param("content", json.getBytes(StandardCharsets.UTF_8))
+        .param("compression", compression)
+        .update();
+  }
+
+  private Set<String> select(final RelationalDatabasePushdown pushdown,
+                             final IndexingTarget target,
+                             final PushdownPredicate predicate) {
+    final var query = pushdown.render(target, predicate);
+    return Set.copyOf(db.sql(query.sql())
+        .params(query.params())
+        .query((r, i) -> r.getString("URI"))
+        .list());
+  }
+
+  private static RelationalDatabasePushdown h2() {
+    return new RelationalDatabasePushdown(DatabaseVendor.H2, null, false);
+  }
+
+  private static IndexingTarget persons() {
+    return new IndexingTarget(Set.of("crm"), Set.of("Person"));
+  }
+
+  @Test
+  void targetAloneFiltersSchemasAndTypes() {
+    assertThat(select(h2(), persons(), null)).containsExactlyInAnyOrder(ALICE, BOB, CAROL);
+    assertThat(select(h2(), IndexingTarget.any(), null)).hasSize(5);
+  }
+
+  @Test
+  void uriPredicatesAreEvaluatedOnTheEntryTable() {
+    assertThat(select(h2(), persons(), new PushdownPredicate.UriIn(Set.of(BOB, ACME))))
+        .containsExactly(BOB);
+    assertThat(select(h2(), IndexingTarget.any(), new PushdownPredicate.UriStartsWith("crm:/org_")))
+        .containsExactlyInAnyOrder(ALICE, BOB, CAROL, ACME);
+  }
+
+  @Test
+  void stringEqualityIsEvaluatedOnTheLatestVersion() {
+    final var predicate = new PushdownPredicate.PropertyIn("name", List.of("Alice", "Carol"));
+    assertThat(select(h2(), persons(), predicate)).containsExactlyInAnyOrder(ALICE, CAROL);
+  }
+
+  @Test
+  void prefixesNumbersAndBooleansAreEvaluated() {
+    assertThat(select(h2(), persons(), new PushdownPredicate.PropertyStartsWith("name", "Bo")))
+        .containsExactly(BOB);
+    assertThat(select(h2(), persons(), new PushdownPredicate.PropertyIn("age", List.of(34))))
+        .containsExactly(ALICE);
+    assertThat(select(h2(), persons(), new PushdownPredicate.PropertyIn("active", List.of(true))))
+        .containsExactly(ALICE);
+  }
+
+  @Test
+  void numericComparisonSkipsNonNumericValues() {
+    final var predicate = new PushdownPredicate.PropertyCompare(
+        "age",
+        PushdownPredicate.Comparison.GT,
+        30);
+    final var crm = new IndexingTarget(Set.of("crm"), Set.of());
+    assertThat(select(h2(), crm, predicate)).containsExactlyInAnyOrder(ALICE, ACME);
+  }
+
+  @Test
+  void compressedContentIsNeverRuledOut() {
+    final var pushdown = new RelationalDatabasePushdown(DatabaseVendor.H2, null, true);
+    final var predicate = new PushdownPredicate.PropertyIn("name", List.of("Bob"));
+    assertThat(select(pushdown, IndexingTarget.any(), predicate))
+        .containsExactlyInAnyOrder(BOB, LOG);
+  }
+
+  @Test
+  void unrenderablePredicatesWidenTheSelection() {
+    final var unknownVendor = new RelationalDatabasePushdown(null, null, false);
+    final var name = new PushdownPredicate.PropertyIn("name", List.of("Bob"));
+    assertThat(select(unknownVendor, persons(), name))
+        .containsExactlyInAnyOrder(ALICE, BOB, CAROL);
+
+    // an OR is only as selective as its least selective operand...
+    final var or = new PushdownPredicate.Or(List.of(
+        new PushdownPredicate.UriIn(Set.of(ALICE)),
+        name));
+    assertThat(select(unknownVendor, persons(), or)).containsExactlyInAnyOrder(ALICE, BOB, CAROL);
+
+    // ...while an AND keeps what it can:
+    final var and = new PushdownPredicate.And(List.of(
+        new PushdownPredicate.UriIn(Set.of(ALICE)),
+        name));
+    assertThat(select(unknownVendor, persons(), and)).containsExactly(ALICE);
+
+    // strings needing escaping are never compared textually:
+    final var quoted = new PushdownPredicate.PropertyIn("name", List.of("Bob \"the\" Builder"));
+    assertThat(select(h2(), persons(), quoted)).containsExactlyInAnyOrder(ALICE, BOB, CAROL);
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.service.cache;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyIndexTest {
+
+  private static final URI ALICE = URI.create("crm:/org_example_Person/alice");
+  private static final URI ALBERT = URI.create("crm:/org_example_Person/albert");
+  private static final URI BOB = URI.create("crm:/org_example_Person/bob");
+
+  private static final PropertyIndexDefinition NAME =
+      new PropertyIndexDefinition("crm", "org_example_Person", "name");
+
+  private static PropertyIndex.Indexed str(final String s) {
+    return new PropertyIndex.Indexed(PropertyValue.of(s), 1L);
+  }
+
+  private static PropertyIndex.Indexed indexed(final PropertyValue.Kind kind, final Object value) {
+    return new PropertyIndex.Indexed(new PropertyValue(kind, value), 1L);
+  }
+
+  @Test
+  void equalityAndPrefixAreLookedUpByValue() {
+    final var index = new PropertyIndex(NAME);
+    index.put(ALICE, str("Alice"));
+    index.put(ALBERT, str("Albert"));
+    index.put(BOB, str("Bob"));
+
+    assertThat(index.equalTo(PropertyValue.of("Alice"))).containsExactly(ALICE);
+    assertThat(index.startingWith("Al")).containsExactlyInAnyOrder(ALICE, ALBERT);
+    assertThat(index.startingWith("Ali")).containsExactly(ALICE);
+    assertThat(index.startingWith("C")).isEmpty();
+  }
+
+  @Test
+  void reindexingAnEntryReplacesItsValue() {
+    final var index = new PropertyIndex(NAME);
+    index.put(ALICE, str("Alice"));
+    index.put(ALICE, str("Bob"));
+
+    assertThat(index.equalTo(PropertyValue.of("Alice"))).isEmpty();
+    assertThat(index.startingWith("A")).isEmpty();
+    assertThat(index.equalTo(PropertyValue.of("Bob"))).containsExactly(ALICE);
+
+    index.put(ALICE, new PropertyIndex.Indexed(null, 2L));
+    assertThat(index.equalTo(PropertyValue.of("Bob"))).isEmpty();
+    assertThat(index.get(ALICE)).hasValueSatisfying(it -> assertThat(it.value()).isNull());
+  }
+
+  @Test
+  void predicatesAreEvaluatedOncePerDistinctValue() {
+    final var index = new PropertyIndex(NAME);
+    index.put(ALICE, indexed(PropertyValue.Kind.LONG, 42L));
+    index.put(BOB, indexed(PropertyValue.Kind.LONG, 42L));
+    index.put(ALBERT, new PropertyIndex.Indexed(PropertyValue.NO_VALUE, 1L));
+
+    final int[] calls = { 0 };
+    final var matches = index.matching(it -> {
+      calls[0]++;
+      return it.kind() == PropertyValue.Kind.LONG;
+    });
+    assertThat(matches).containsExactlyInAnyOrder(ALICE, BOB);
+    assertThat(calls[0]).isEqualTo(2);
+  }
+
+  @Test
+  void valuesSurviveTheStore(@TempDir final Path dir) {
+    final var index = new PropertyIndex(NAME);
+    index.put(ALICE, str("Alice"));
+    index.put(BOB, indexed(PropertyValue.Kind.DOUBLE, 1.5d));
+    index.put(ALBERT, new PropertyIndex.Indexed(null, 3L));
+
+    try (final var store = PropertyIndexSqliteStore.open(dir.resolve("props.sqlite"))) {
+      store.define(NAME);
+      store.write(NAME, index.snapshot());
+    }
+
+    try (final var store = PropertyIndexSqliteStore.open(dir.resolve("props.sqlite"))) {
+      assertThat(store.definitions()).containsExactly(NAME);
+      final var restored = new PropertyIndex(NAME);
+      store.load(restored);
+      assertThat(restored.snapshot()).isEqualTo(index.snapshot());
+
+      store.remove(NAME, List.of(ALICE));
+      final var afterRemoval = new PropertyIndex(NAME);
+      store.load(afterRemoval);
+      assertThat(afterRemoval.get(ALICE)).isEmpty();
+      assertThat(afterRemoval.size()).isEqualTo(2);
+    }
+  }
+
+}
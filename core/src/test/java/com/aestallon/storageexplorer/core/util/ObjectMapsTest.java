@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.core.util;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.aestallon.storageexplorer.core.model.entry.UriProperty;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ObjectMapsTest {
+
+  private static final Map<String, Object> OBJECT = Map.of(
+      "name", "John",
+      "addresses", List.of(Map.of("city", "Budapest")));
+
+  @Test
+  void settingANestedValue_copiesTheObject_andLeavesTheOriginalIntact() {
+    final var modified = ObjectMaps.withValue(
+        OBJECT,
+        UriProperty.Segment.parse("addresses.0.city"),
+        "Szeged");
+
+    assertThat(modified).isNotSameAs(OBJECT).containsEntry("name", "John");
+    assertThat(modified.get("addresses")).isEqualTo(List.of(Map.of("city", "Szeged")));
+    assertThat(OBJECT.get("addresses")).isEqualTo(List.of(Map.of("city", "Budapest")));
+  }
+
+  @Test
+  void settingAValueUnderAMissingKey_createsTheObjectsOnTheWay() {
+    final var modified = ObjectMaps.withValue(
+        OBJECT,
+        UriProperty.Segment.parse("meta.tag"),
+        "vip");
+
+    assertThat(modified).containsEntry("meta", Map.of("tag", "vip"));
+  }
+
+  @Test
+  void settingAValueThroughAScalar_orOutOfBounds_isRefused() {
+    assertThatThrownBy(() -> ObjectMaps.withValue(
+        OBJECT,
+        UriProperty.Segment.parse("name.first"),
+        "J"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ObjectMaps.withValue(
+        OBJECT,
+        UriProperty.Segment.parse("addresses.1.city"),
+        "Szeged"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void unsettingAValue_removesOnlyThatValue_andMissingValuesAreIgnored() {
+    final var modified = ObjectMaps.withoutValue(OBJECT, UriProperty.Segment.parse("name"));
+    assertThat(modified).doesNotContainKey("name").containsKey("addresses");
+
+    assertThat(ObjectMaps.withoutValue(OBJECT, UriProperty.Segment.parse("meta.tag")))
+        .isSameAs(OBJECT);
+  }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.generator;
+
+import java.time.Duration;
+
+/**
+ * Summary of a generation run.
+ *
+ * @param objects the number of objects created
+ * @param versions the number of object versions written (the first version included)
+ * @param scopedEntries the number of stored lists, maps and references scoped to an object
+ * @param collections the number of stand-alone stored lists and maps
+ * @param sequences the number of stored sequences
+ * @param references the number of object references written
+ * @param elapsed the time taken
+ */
+public record GenerationResult(int objects,
+                               int versions,
+                               int scopedEntries,
+                               int collections,
+                               int sequences,
+                               long references,
+                               Duration elapsed) {
+
+  public int entries() {
+    return objects + scopedEntries + collections + sequences;
+  }
+
+}
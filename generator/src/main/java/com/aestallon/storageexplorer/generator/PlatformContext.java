@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smartbit4all.api.config.PlatformApiConfig;
+import org.smartbit4all.core.object.ObjectDefinitionApi;
+import org.smartbit4all.domain.data.storage.ObjectStorage;
+import org.smartbit4all.domain.meta.EntityConfiguration;
+import org.smartbit4all.domain.service.identifier.IdentifierService;
+import org.smartbit4all.sql.config.SQLConfig;
+import org.smartbit4all.sql.config.SQLDBParameter;
+import org.smartbit4all.sql.config.SQLDBParameterH2;
+import org.smartbit4all.sql.config.SQLObjectStorageEntityConfiguration;
+import org.smartbit4all.sql.service.identifier.SQLIdentifierServiceH2;
+import org.smartbit4all.sql.storage.StorageSQL;
+import org.smartbit4all.storage.fs.StorageFS;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import com.aestallon.storageexplorer.common.util.NotImplementedException;
+import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseConnectionData;
+import com.aestallon.storageexplorer.core.model.instance.dto.DatabaseVendor;
+import com.aestallon.storageexplorer.core.model.instance.dto.FsStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.SqlStorageLocation;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageLocation;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Creates a writable platform context over a storage location. This is the writing counterpart of
+ * the (read-only) contexts the client creates when importing a storage.
+ */
+final class PlatformContext {
+
+  private static final Logger log = LoggerFactory.getLogger(PlatformContext.class);
+
+  private static final String DDL = "com/aestallon/storageexplorer/generator/storage.sql";
+
+  private PlatformContext() {}
+
+  static AnnotationConfigApplicationContext open(final StorageLocation location) {
+    return switch (location) {
+      case FsStorageLocation fs -> openFs(fs.getPath().toAbsolutePath());
+      case SqlStorageLocation sql -> openSql(sql);
+    };
+  }
+
+  private static Map<String, Object> defaultProps() {
+    final Map<String, Object> props = new HashMap<>();
+    props.put("applicationruntime.maintain.enabled", "false");
+    props.put("invocationregistry.refresh.enabled", "false");
+    props.put("application.setup.enabled", "false");
+    return props;
+  }
+
+  private static AnnotationConfigApplicationContext openFs(final Path path) {
+    try {
+      Files.createDirectories(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    final var ctx = new AnnotationConfigApplicationContext();
+    ctx.register(PlatformApiConfig.class);
+    ctx.registerBean("generatorStorage", ObjectStorage.class, () -> new StorageFS(
+        path.toFile(),
+        ctx.getBean(ObjectDefinitionApi.class)));
+    ctx.getEnvironment().getPropertySources()
+        .addFirst(new MapPropertySource("default", defaultProps()));
+    ctx.refresh();
+    return ctx;
+  }
+
+  private static AnnotationConfigApplicationContext openSql(final SqlStorageLocation sql) {
+    if (sql.getVendor() != DatabaseVendor.H2) {
+      throw new NotImplementedException(
+          "Relational storages can only be generated on H2, not on " + sql.getVendor());
+    }
+
+    final DatabaseConnectionData connectionData = sql.getDbConnectionData();
+    if (connectionData == null) {
+      throw new IllegalArgumentException("No connection data!");
+    }
+
+    final Map<String, Object> props = defaultProps();
+    props.put("spring.datasource.driver-class-name", DatabaseVendor.H2.driverClassName());
+    props.putAll(connectionData.asProperties());
+
+    final DataSource dataSource = dataSource(connectionData);
+    initSchema(dataSource);
+
+    final var ctx = new AnnotationConfigApplicationContext();
+    ctx.register(SQLConfig.class);
+    ctx.register(SQLObjectStorageEntityConfiguration.class);
+    // the pool is AutoCloseable -> closed together with the context:
+    ctx.registerBean("dataSource", DataSource.class, () -> dataSource);
+    ctx.registerBean("jdbcTemplate", JdbcTemplate.class, () -> new JdbcTemplate(dataSource),
+        it -> it.setDependsOn("dataSource"));
+    ctx.registerBean("sqlDbParameter", SQLDBParameter.class, SQLDBParameterH2::new,
+        it -> it.setDependsOn("jdbcTemplate"));
+    ctx.registerBean(
+        "identifierService",
+        IdentifierService.class,
+        () -> new SQLIdentifierServiceH2(ctx.getBean(JdbcTemplate.class)),
+        it -> it.setDependsOn("jdbcTemplate"));
+    ctx.registerBean(
+        "defaultStorage",
+        ObjectStorage.class,
+        () -> {
+          final var storage = new StorageSQL(ctx.getBean(ObjectDefinitionApi.class));
+          new EntityConfiguration().setupEntityDefinitions(ctx);
+          return storage;
+        },
+        it -> it.setDependsOn("objectDefinitionApi", "jdbcTemplate"));
+    ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("default", props));
+    ctx.refresh();
+    return ctx;
+  }
+
+  private static DataSource dataSource(final DatabaseConnectionData connectionData) {
+    final HikariConfig config = new HikariConfig();
+    config.setDriverClassName(DatabaseVendor.H2.driverClassName());
+    config.setJdbcUrl(connectionData.getUrl());
+    config.setUsername(connectionData.getUsername());
+    config.setPassword(connectionData.getPassword());
+    config.setMaximumPoolSize(4);
+    return new HikariDataSource(config);
+  }
+
+  private static void initSchema(final DataSource dataSource) {
+    try (final Connection connection = dataSource.getConnection();
+         final ResultSet tables = connection.getMetaData()
+             .getTables(null, null, "OBJECT_ENTRY", new String[] { "TABLE" })) {
+      if (tables.next()) {
+        return;
+      }
+
+      log.info("Initialising empty database with the storage tables...");
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource(DDL));
+    } catch (SQLException e) {
+      throw new IllegalStateException("Cannot initialise database: " + e.getMessage(), e);
+    }
+  }
+
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.generator;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.IntConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smartbit4all.api.collection.CollectionApi;
+import org.smartbit4all.core.object.ObjectApi;
+import org.smartbit4all.core.object.ObjectNode;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageLocation;
+import com.aestallon.storageexplorer.generator.model.Document;
+import com.aestallon.storageexplorer.generator.model.SyntheticObject;
+
+/**
+ * Generates deterministic, synthetic storages of arbitrary size for tests, benchmarks and for
+ * reproducing scaling issues without access to production data.
+ *
+ * <p>
+ * Everything is written through the platform's own {@link ObjectApi} and {@link CollectionApi}
+ * (backed by a {@code StorageFS} or an H2 {@code StorageSQL}), thus the resulting layout is exactly
+ * what a real application produces: schema and type directories, multipart object files with
+ * their versions, stored lists, maps and references (both stand-alone and scoped to an object),
+ * and stored sequences.
+ *
+ * <p>
+ * The same builder parameters (and seed) always produce the same object graph. URIs and
+ * timestamps are assigned by the platform, thus they differ from run to run.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public final class StorageGenerator {
+
+  private static final Logger log = LoggerFactory.getLogger(StorageGenerator.class);
+
+  private static final String[] NAMES = {
+      "Ada", "Bela", "Csilla", "Dezso", "Emese", "Ferenc", "Gizella", "Huba", "Ilona", "Janos" };
+  private static final String[] CITIES = {
+      "Budapest", "Debrecen", "Szeged", "Pecs", "Gyor", "Miskolc" };
+  private static final String[] TAGS = {
+      "new", "vip", "archived", "flagged", "imported", "internal", "external" };
+
+  private static final String SCOPED_LIST = "attachments";
+  private static final String SCOPED_MAP = "links";
+  private static final String SCOPED_REF = "details";
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+
+  public static final class Builder {
+
+    private int entries = 1_000;
+    private List<String> schemas = List.of("alpha", "beta", "gamma");
+    private int types = 3;
+    private double fanOut = 2d;
+    private double fanInSkew = 0d;
+    private int versionDepth = 1;
+    private double scopedEntryRatio = 0d;
+    private int collections = 0;
+    private int sequences = 0;
+    private long seed = 42L;
+    private IntConsumer progress = it -> {};
+
+    private Builder() {}
+
+    public Builder entries(final int entries) {
+      if (entries < 1) {
+        throw new IllegalArgumentException("Entry count must be positive!");
+      }
+
+      this.entries = entries;
+      return this;
+    }
+
+    public Builder schemas(final String... schemas) {
+      return schemas(List.of(schemas));
+    }
+
+    public Builder schemas(final List<String> schemas) {
+      if (schemas.isEmpty()) {
+        throw new IllegalArgumentException("Specify at least one schema!");
+      }
+
+      this.schemas = List.copyOf(schemas);
+      return this;
+    }
+
+    /**
+     * @param types the number of distinct object types, at most
+     *     {@code SyntheticObject.TYPES.size()}
+     */
+    public Builder types(final int types) {
+      if (types < 1 || types > SyntheticObject.TYPES.size()) {
+        throw new IllegalArgumentException(
+            "Type count must be between 1 and " + SyntheticObject.TYPES.size());
+      }
+
+      this.types = types;
+      return this;
+    }
+
+    /**
+     * @param fanOut the mean number of references an object holds to other objects (the actual
+     *     count is uniformly distributed between zero and twice the mean)
+     */
+    public Builder fanOut(final double fanOut) {
+      if (fanOut < 0d) {
+        throw new IllegalArgumentException("Fan-out must not be negative!");
+      }
+
+      this.fanOut = fanOut;
+      return this;
+    }
+
+    /**
+     * @param fanInSkew how unevenly incoming references are distributed: {@code 0} means every
+     *     preceding object is equally likely to be referenced, larger values concentrate references
+     *     on a few, early "hub" objects
+     */
+    public Builder fanInSkew(final double fanInSkew) {
+      if (fanInSkew < 0d) {
+        throw new IllegalArgumentException("Fan-in skew must not be negative!");
+      }
+
+      this.fanInSkew = fanInSkew;
+      return this;
+    }
+
+    /**
+     * @param versionDepth the maximum number of versions of an object (the actual count is
+     *     uniformly distributed between one and this value)
+     */
+    public Builder versionDepth(final int versionDepth) {
+      if (versionDepth < 1) {
+        throw new IllegalArgumentException("Version depth must be at least 1!");
+      }
+
+      this.versionDepth = versionDepth;
+      return this;
+    }
+
+    /**
+     * @param scopedEntryRatio the ratio of objects owning a scoped stored list, map or reference
+     */
+    public Builder scopedEntryRatio(final double scopedEntryRatio) {
+      if (scopedEntryRatio < 0d || scopedEntryRatio > 1d) {
+        throw new IllegalArgumentException("Scoped entry ratio must be between 0 and 1!");
+      }
+
+      this.scopedEntryRatio = scopedEntryRatio;
+      return this;
+    }
+
+    public Builder collections(final int collections) {
+      this.collections = Math.max(0, collections);
+      return this;
+    }
+
+    public Builder sequences(final int sequences) {
+      this.sequences = Math.max(0, sequences);
+      return this;
+    }
+
+    public Builder seed(final long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * @param progress receives the number of objects created so far, after every thousandth
+     */
+    public Builder progress(final IntConsumer progress) {
+      this.progress = Objects.requireNonNull(progress, "progress cannot be null!");
+      return this;
+    }
+
+    /**
+     * Returns a string uniquely identifying the generated object graph -> suitable for naming
+     * cached storages.
+     *
+     * @return the shape of the storage to generate
+     */
+    public String shape() {
+      return "%d-%s-t%d-f%s-s%s-v%d-r%s-c%d-q%d-%d".formatted(
+          entries, String.join("_", schemas), types, fanOut, fanInSkew, versionDepth,
+          scopedEntryRatio, collections, sequences, seed);
+    }
+
+    public StorageGenerator build() {
+      return new StorageGenerator(this);
+    }
+
+  }
+
+
+  private final int entries;
+  private final List<String> schemas;
+  private final int types;
+  private final double fanOut;
+  private final double fanInSkew;
+  private final int versionDepth;
+  private final double scopedEntryRatio;
+  private final int collections;
+  private final int sequences;
+  private final long seed;
+  private final IntConsumer progress;
+
+  private StorageGenerator(final Builder builder) {
+    entries = builder.entries;
+    schemas = builder.schemas;
+    types = builder.types;
+    fanOut = builder.fanOut;
+    fanInSkew = builder.fanInSkew;
+    versionDepth = builder.versionDepth;
+    scopedEntryRatio = builder.scopedEntryRatio;
+    collections = builder.collections;
+    sequences = builder.sequences;
+    seed = builder.seed;
+    progress = builder.progress;
+  }
+
+  /**
+   * Generates a storage at the given location. File system storages are created if missing,
+   * H2 databases are initialised with the storage tables if they have none. Anything already
+   * present is kept, the generated entries are added.
+   *
+   * @param location the location to generate into
+   *
+   * @return the summary of the generation
+   */
+  public GenerationResult generate(final StorageLocation location) {
+    try (final var ctx = PlatformContext.open(location)) {
+      return generate(ctx.getBean(ObjectApi.class), ctx.getBean(CollectionApi.class));
+    }
+  }
+
+  /**
+   * Generates entries through the given platform APIs -> for callers already having a platform
+   * context.
+   *
+   * @param objectApi the object API to write objects with
+   * @param collectionApi the collection API to write stored collections with
+   *
+   * @return the summary of the generation
+   */
+  public GenerationResult generate(final ObjectApi objectApi, final CollectionApi collectionApi) {
+    final long start = System.nanoTime();
+    final var run = new Run(objectApi, collectionApi, new Random(seed));
+    run.objects();
+    run.collections();
+    run.sequences();
+    final var result = new GenerationResult(
+        run.uris.size(),
+        run.versions,
+        run.scopedEntries,
+        collections * 2,
+        sequences,
+        run.references,
+        Duration.ofNanos(System.nanoTime() - start));
+    log.info("Generated {} entries ({} objects in {} versions) in {} ms.",
+        result.entries(), result.objects(), result.versions(), result.elapsed().toMillis());
+    return result;
+  }
+
+
+  private final class Run {
+
+    private final ObjectApi objectApi;
+    private final CollectionApi collectionApi;
+    private final Random rnd;
+    private final List<URI> uris = new ArrayList<>();
+    private int versions;
+    private int scopedEntries;
+    private long references;
+
+    private Run(ObjectApi objectApi, CollectionApi collectionApi, Random rnd) {
+      this.objectApi = objectApi;
+      this.collectionApi = collectionApi;
+      this.rnd = rnd;
+    }
+
+    private void objects() {
+      for (int i = 0; i < entries; i++) {
+        final String schema = schemas.get(i % schemas.size());
+        final URI uri = objectApi.save(objectApi.create(schema, object(i)));
+        uris.add(uri);
+        versions++;
+
+        final int extraVersions = rnd.nextInt(versionDepth);
+        for (int v = 1; v <= extraVersions; v++) {
+          final ObjectNode node = objectApi.loadLatest(uri);
+          node.setValue(SyntheticObject.PROP_SEQ, (long) i * versionDepth + v);
+          node.setValue(SyntheticObject.PROP_ACTIVE, rnd.nextBoolean());
+          objectApi.save(node);
+          versions++;
+        }
+
+        if (i > 0 && rnd.nextDouble() < scopedEntryRatio) {
+          scoped(uri, schema);
+        }
+
+        if ((i + 1) % 1_000 == 0) {
+          progress.accept(i + 1);
+        }
+      }
+    }
+
+    private SyntheticObject object(final int i) {
+      final SyntheticObject o = SyntheticObject.newInstance(i % types);
+      o.setName(NAMES[rnd.nextInt(NAMES.length)] + " " + i);
+      o.setSeq((long) i * versionDepth);
+      o.setActive(rnd.nextBoolean());
+      o.setScore(rnd.nextDouble() * 100d);
+
+      final int tagCount = rnd.nextInt(4);
+      for (int t = 0; t < tagCount; t++) {
+        o.getTags().add(TAGS[rnd.nextInt(TAGS.length)]);
+      }
+
+      final Map<String, Object> address = new LinkedHashMap<>();
+      address.put("city", CITIES[rnd.nextInt(CITIES.length)]);
+      address.put("zip", 1000 + rnd.nextInt(9000));
+      address.put("lines", List.of("Street " + rnd.nextInt(100), "Floor " + rnd.nextInt(10)));
+      o.setAddress(address);
+
+      if (i > 0) {
+        final int refCount = rnd.nextInt((int) Math.round(2 * fanOut) + 1);
+        for (int r = 0; r < refCount; r++) {
+          final URI target = target(i);
+          if (r == 0) {
+            o.setParent(target);
+          } else {
+            o.getRefs().add(target);
+          }
+        }
+        references += refCount;
+      }
+
+      return o;
+    }
+
+    /**
+     * Picks one of the first {@code bound} objects. With skew, lower indices are favoured: the
+     * uniform variate raised to a power greater than one is pushed towards zero.
+     */
+    private URI target(final int bound) {
+      final double u = rnd.nextDouble();
+      final int idx = (int) (bound * (fanInSkew == 0d ? u : Math.pow(u, 1d + fanInSkew)));
+      return uris.get(Math.min(idx, bound - 1));
+    }
+
+    private void scoped(final URI owner, final String schema) {
+      final int size = uris.size();
+      switch (rnd.nextInt(3)) {
+        case 0 -> {
+          final var list = collectionApi.list(owner, schema, SCOPED_LIST);
+          final int n = 1 + rnd.nextInt(5);
+          for (int j = 0; j < n; j++) {
+            list.add(target(size - 1));
+          }
+          references += n;
+        }
+        case 1 -> {
+          final var map = collectionApi.map(owner, schema, SCOPED_MAP);
+          final int n = 1 + rnd.nextInt(5);
+          for (int j = 0; j < n; j++) {
+            map.put("link" + j, target(size - 1));
+          }
+          references += n;
+        }
+        default -> {
+          final var details = (Document) SyntheticObject.newInstance(5);
+          details.setName("Details of " + owner);
+          details.setParent(owner);
+          collectionApi.reference(owner, SCOPED_REF, Document.class).set(details);
+          references++;
+        }
+      }
+      scopedEntries++;
+    }
+
+    private void collections() {
+      for (int c = 0; c < collections; c++) {
+        final String schema = schemas.get(c % schemas.size());
+        final var list = collectionApi.list(schema, "list" + c);
+        final var map = collectionApi.map(schema, "map" + c);
+        final int n = Math.min(uris.size(), 10 + rnd.nextInt(90));
+        for (int j = 0; j < n; j++) {
+          list.add(target(uris.size()));
+          map.put("key" + j, target(uris.size()));
+        }
+        references += 2L * n;
+      }
+    }
+
+    private void sequences() {
+      for (int s = 0; s < sequences; s++) {
+        final var sequence = collectionApi.sequence(schemas.get(s % schemas.size()), "seq" + s);
+        final int n = 1 + rnd.nextInt(100);
+        for (int j = 0; j < n; j++) {
+          sequence.next();
+        }
+      }
+    }
+
+  }
+
+}
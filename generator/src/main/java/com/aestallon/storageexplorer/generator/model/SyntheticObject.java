@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.generator.model;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Common shape of every generated object: inline primitives, a nested map, a list of strings, a
+ * single reference and a list of references.
+ *
+ * <p>
+ * Every concrete type is a separate top-level class, because the platform derives the type
+ * segment of the object URIs (and thus the type directories of a file system storage) from the
+ * class.
+ *
+ * @author Szabolcs Bazil Papp
+ */
+public abstract sealed class SyntheticObject
+    permits Customer, Document, Invoice, Order, Product, Shipment {
+
+  public static final String PROP_NAME = "name";
+  public static final String PROP_SEQ = "seq";
+  public static final String PROP_ACTIVE = "active";
+  public static final String PROP_SCORE = "score";
+  public static final String PROP_TAGS = "tags";
+  public static final String PROP_CITY = "address.city";
+  public static final String PROP_PARENT = "parent";
+  public static final String PROP_PARENT_NAME = "parent.name";
+  public static final String PROP_REFS = "refs";
+
+  public static final List<Class<? extends SyntheticObject>> TYPES = List.of(
+      Customer.class,
+      Order.class,
+      Product.class,
+      Invoice.class,
+      Shipment.class,
+      Document.class);
+
+  public static SyntheticObject newInstance(final int typeIdx) {
+    return switch (typeIdx % TYPES.size()) {
+      case 0 -> new Customer();
+      case 1 -> new Order();
+      case 2 -> new Product();
+      case 3 -> new Invoice();
+      case 4 -> new Shipment();
+      default -> new Document();
+    };
+  }
+
+  private URI uri;
+  private String name;
+  private long seq;
+  private boolean active;
+  private double score;
+  private List<String> tags = new ArrayList<>();
+  private Map<String, Object> address = new LinkedHashMap<>();
+  private URI parent;
+  private List<URI> refs = new ArrayList<>();
+
+  public URI getUri() {
+    return uri;
+  }
+
+  public void setUri(URI uri) {
+    this.uri = uri;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public long getSeq() {
+    return seq;
+  }
+
+  public void setSeq(long seq) {
+    this.seq = seq;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public void setScore(double score) {
+    this.score = score;
+  }
+
+  public List<String> getTags() {
+    return tags;
+  }
+
+  public void setTags(List<String> tags) {
+    this.tags = tags;
+  }
+
+  public Map<String, Object> getAddress() {
+    return address;
+  }
+
+  public void setAddress(Map<String, Object> address) {
+    this.address = address;
+  }
+
+  public URI getParent() {
+    return parent;
+  }
+
+  public void setParent(URI parent) {
+    this.parent = parent;
+  }
+
+  public List<URI> getRefs() {
+    return refs;
+  }
+
+  public void setRefs(List<URI> refs) {
+    this.refs = refs;
+  }
+
+}
@@ -13,11 +13,22 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
+import static com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics.SCRIPT_CACHE;
+import static com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics.SCRIPT_CACHE_SIZE;
+import static com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics.SCRIPT_COMPILE_TIME;
+import static com.aestallon.storageexplorer.core.metrics.StorageExplorerMetrics.TAG_RESULT;
+import com.aestallon.storageexplorer.arcscript.api.Arc;
+import com.aestallon.storageexplorer.arcscript.api.ScriptCache;
 import com.aestallon.storageexplorer.spring.StorageExplorerProperties;
 import com.aestallon.storageexplorer.spring.service.StorageIndexProvider;
 import com.aestallon.storageexplorer.spring.service.StorageIndexService;
 import com.aestallon.storageexplorer.spring.service.impl.FileSystemStorageIndexProvider;
 import com.aestallon.storageexplorer.spring.service.impl.RelationalDatabaseStorageIndexProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 @AutoConfiguration
 @ConditionalOnBean({ ObjectApi.class, CollectionApi.class })
@@ -30,6 +41,16 @@ public class EmbeddedStorageExplorerAutoConfiguration {
     this.properties = properties;
   }
 
+  private static StorageIndexService.ScriptLimits scriptLimits(
+      StorageExplorerProperties properties) {
+    final var settings = properties.getSettings();
+    return new StorageIndexService.ScriptLimits(
+        settings.getScriptTimeout(),
+        settings.getScriptMaxEntries(),
+        settings.getScriptMaxBytes(),
+        settings.getScriptUpdatesAllowed());
+  }
+
   @Configuration(proxyBeanMethods = false)
   @ConditionalOnBean({ ObjectApi.class, CollectionApi.class, StorageFS.class })
   static class FileSystemConfiguration {
@@ -48,13 +69,14 @@ public class EmbeddedStorageExplorerAutoConfiguration {
         StorageFS storageFS) {
       return new FileSystemStorageIndexProvider(
           objectApi, collectionApi, storageFS.getRootFolder().toPath().toAbsolutePath(),
-          properties.getSettings().getTrustPlatformBeans());
+          properties.getSettings().getTrustPlatformBeans(),
+          properties.getSettings().getIndexRefreshInterval());
     }
 
     @Bean
     @ConditionalOnMissingBean(StorageIndexService.class)
     public StorageIndexService storageIndexService(StorageIndexProvider storageIndexProvider) {
-      return new StorageIndexService(storageIndexProvider);
+      return new StorageIndexService(storageIndexProvider, scriptLimits(properties));
     }
 
   }
@@ -85,13 +107,78 @@ public class EmbeddedStorageExplorerAutoConfiguration {
         JdbcClient jdbcClient) {
       return new RelationalDatabaseStorageIndexProvider(
           objectApi, collectionApi, jdbcClient,
-          properties.getSettings().getTrustPlatformBeans());
+          properties.getSettings().getTrustPlatformBeans(),
+          properties.getSettings().getIndexRefreshInterval());
     }
 
     @Bean
     @ConditionalOnMissingBean(StorageIndexService.class)
     public StorageIndexService storageIndexService(StorageIndexProvider storageIndexProvider) {
-      return new StorageIndexService(storageIndexProvider);
+      return new StorageIndexService(storageIndexProvider, scriptLimits(properties));
+    }
+
+  }
+
+
+  /**
+   * The explorer records its meters on Micrometer's global registry (storage indices are not
+   * beans). Boot only bridges its registries to the global one when
+   * {@code management.metrics.use-global-registry} is left enabled -> we bridge them regardless, so
+   * the meters are always visible on the actuator metrics endpoint.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(MeterRegistry.class)
+  static class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder storageExplorerMeterBinder() {
+      return registry -> {
+        if (registry != Metrics.globalRegistry) {
+          Metrics.addRegistry(registry);
+        }
+      };
+    }
+
+    /**
+     * Compiled ArcScripts are cached process-wide (see {@link ScriptCache}) -> its hit rate, and
+     * the compile time it saves, are read straight from the cache.
+     */
+    @Bean
+    public MeterBinder arcScriptCacheMeterBinder() {
+      return registry -> {
+        final ScriptCache cache = Arc.scriptCache();
+        FunctionCounter.builder(SCRIPT_CACHE, cache, it -> it.stats().hits())
+            .description("ArcScript compilations avoided, or performed")
+            .tag(TAG_RESULT, "hit")
+            .register(registry);
+        FunctionCounter.builder(SCRIPT_CACHE, cache, it -> it.stats().misses())
+            .description("ArcScript compilations avoided, or performed")
+            .tag(TAG_RESULT, "miss")
+            .register(registry);
+        FunctionCounter.builder(SCRIPT_CACHE, cache, it -> it.stats().evictions())
+            .description("ArcScript compilations avoided, or performed")
+            .tag(TAG_RESULT, "eviction")
+            .register(registry);
+        Gauge.builder(SCRIPT_CACHE_SIZE, cache, it -> it.stats().size())
+            .description("Compiled ArcScript classes currently cached")
+            .register(registry);
+        FunctionCounter
+            .builder(SCRIPT_COMPILE_TIME, cache, it -> seconds(it.stats().compileNanos()))
+            .description("Time spent compiling ArcScripts, or saved by not compiling them")
+            .baseUnit("seconds")
+            .tag(TAG_RESULT, "spent")
+            .register(registry);
+        FunctionCounter
+            .builder(SCRIPT_COMPILE_TIME, cache, it -> seconds(it.stats().savedNanos()))
+            .description("Time spent compiling ArcScripts, or saved by not compiling them")
+            .baseUnit("seconds")
+            .tag(TAG_RESULT, "saved")
+            .register(registry);
+      };
+    }
+
+    private static double seconds(final long nanos) {
+      return nanos / 1_000_000_000d;
     }
 
   }
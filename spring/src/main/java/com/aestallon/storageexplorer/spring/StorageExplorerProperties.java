@@ -15,6 +15,7 @@
 
 package com.aestallon.storageexplorer.spring;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "storage-explorer")
@@ -102,6 +103,38 @@ public class StorageExplorerProperties {
      */
     private boolean trustPlatformBeans = false;
 
+    /**
+     * How often the storage index is refreshed with newly created entries. A zero or negative
+     * interval disables periodic refreshing: the index is only built once, at startup.
+     */
+    private Duration indexRefreshInterval = Duration.ofMinutes(5L);
+
+    /**
+     * How long an ArcScript evaluated through the API may run, including the time its streamed
+     * result is read. A script running longer is stopped, and returns a partial result. A zero or
+     * negative timeout disables the limit.
+     */
+    private Duration scriptTimeout = Duration.ofMinutes(5L);
+
+    /**
+     * How many entries an ArcScript evaluated through the API may load before it is stopped. Zero
+     * disables the limit.
+     */
+    private long scriptMaxEntries = 0L;
+
+    /**
+     * How many bytes (as estimated from the loaded entries) an ArcScript evaluated through the API
+     * may load before it is stopped. Zero disables the limit.
+     */
+    private long scriptMaxBytes = 0L;
+
+    /**
+     * Whether an ArcScript evaluated through the API may update entries of the storage. Off by
+     * default: scripts containing updates are rejected as impermissible, before anything is
+     * performed.
+     */
+    private boolean scriptUpdatesAllowed = false;
+
     public boolean getWebAllowOthers() {
       return webAllowOthers;
     }
@@ -118,6 +151,46 @@ public class StorageExplorerProperties {
       this.trustPlatformBeans = trustPlatformBeans;
     }
 
+    public Duration getIndexRefreshInterval() {
+      return indexRefreshInterval;
+    }
+
+    public void setIndexRefreshInterval(Duration indexRefreshInterval) {
+      this.indexRefreshInterval = indexRefreshInterval;
+    }
+
+    public Duration getScriptTimeout() {
+      return scriptTimeout;
+    }
+
+    public void setScriptTimeout(Duration scriptTimeout) {
+      this.scriptTimeout = scriptTimeout;
+    }
+
+    public long getScriptMaxEntries() {
+      return scriptMaxEntries;
+    }
+
+    public void setScriptMaxEntries(long scriptMaxEntries) {
+      this.scriptMaxEntries = scriptMaxEntries;
+    }
+
+    public long getScriptMaxBytes() {
+      return scriptMaxBytes;
+    }
+
+    public void setScriptMaxBytes(long scriptMaxBytes) {
+      this.scriptMaxBytes = scriptMaxBytes;
+    }
+
+    public boolean getScriptUpdatesAllowed() {
+      return scriptUpdatesAllowed;
+    }
+
+    public void setScriptUpdatesAllowed(boolean scriptUpdatesAllowed) {
+      this.scriptUpdatesAllowed = scriptUpdatesAllowed;
+    }
+
   }
 
 }
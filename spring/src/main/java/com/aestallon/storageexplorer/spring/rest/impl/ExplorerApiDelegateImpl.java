@@ -1,5 +1,7 @@
 package com.aestallon.storageexplorer.spring.rest.impl;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import com.aestallon.storageexplorer.spring.auth.AuthService;
 import com.aestallon.storageexplorer.spring.rest.api.ExplorerApiDelegate;
@@ -13,11 +15,15 @@ import com.aestallon.storageexplorer.spring.rest.model.EntryLoadResult;
 import com.aestallon.storageexplorer.spring.rest.model.LoginData;
 import com.aestallon.storageexplorer.spring.rest.model.LoginResult;
 import com.aestallon.storageexplorer.spring.rest.model.StorageIndexDto;
+import com.aestallon.storageexplorer.spring.service.StorageIndexNotReadyException;
+import com.aestallon.storageexplorer.spring.service.StorageIndexProvider;
 import com.aestallon.storageexplorer.spring.service.StorageIndexService;
 import com.aestallon.storageexplorer.spring.util.IndexingMethod;
 
 public class ExplorerApiDelegateImpl implements ExplorerApiDelegate {
 
+  private static final int RETRY_AFTER_SECONDS = 5;
+
   private final StorageIndexService storageIndexService;
   private final AuthService authService;
 
@@ -42,7 +48,11 @@ public class ExplorerApiDelegateImpl implements ExplorerApiDelegate {
 
   @Override
   public ResponseEntity<StorageIndexDto> getStorageIndex(String method) throws Exception {
-    return ResponseEntity.ok(storageIndexService.index(IndexingMethod.parse(method)));
+    try {
+      return ResponseEntity.ok(storageIndexService.index(IndexingMethod.parse(method)));
+    } catch (final StorageIndexNotReadyException e) {
+      return notReady(e).build();
+    }
   }
 
   @Override
@@ -54,11 +64,48 @@ public class ExplorerApiDelegateImpl implements ExplorerApiDelegate {
   @Override
   public ResponseEntity<ArcScriptEvalResponse> eval(ArcScriptEvalRequest arcScriptEvalRequest)
       throws Exception {
-    return switch (storageIndexService.evalArcScript(arcScriptEvalRequest.getScript())) {
-      case StorageIndexService.ArcScriptQueryEvalResult.Ok(var cols, var k, var resultSet) ->
-          ResponseEntity.ok(new ArcScriptEvalResponse(cols, k, resultSet));
+    final StorageIndexService.ArcScriptQueryEvalResult result;
+    try {
+      if (arcScriptEvalRequest.getCursor() != null) {
+        result = storageIndexService.nextPage(arcScriptEvalRequest.getCursor());
+      } else if (arcScriptEvalRequest.getView() != null) {
+        result = storageIndexService.readView(
+            arcScriptEvalRequest.getView(),
+            arcScriptEvalRequest.getScript());
+      } else {
+        result = storageIndexService.evalArcScript(
+            arcScriptEvalRequest.getScript(),
+            arcScriptEvalRequest.getPageSize(),
+            arcScriptEvalRequest.getTimeoutMillis(),
+            arcScriptEvalRequest.getMaxEntries(),
+            arcScriptEvalRequest.getMaxBytes());
+      }
+    } catch (final StorageIndexNotReadyException e) {
+      return notReady(e).body(new ArcScriptEvalResponse().err(new ArcScriptEvalError()
+          .msg(e.getMessage())));
+    }
+
+    return switch (result) {
+      case StorageIndexService.ArcScriptQueryEvalResult.Ok(
+          var cols, var k, var rs, var cursor, var aggregated, var status, var profile, var view,
+          var updates, var error) -> ResponseEntity.ok(new ArcScriptEvalResponse(cols, k, rs)
+              .cursor(cursor)
+              .aggregated(aggregated)
+              .status(status.name())
+              .profile(profile)
+              .view(view)
+              .updates(updates)
+              .err(error));
       case StorageIndexService.ArcScriptQueryEvalResult.Err(ArcScriptEvalError err) ->
           ResponseEntity.badRequest().body(new ArcScriptEvalResponse().err(err));
     };
   }
+
+  private static ResponseEntity.BodyBuilder notReady(final StorageIndexNotReadyException e) {
+    final var builder = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+    return e.status() == StorageIndexProvider.Status.WARMING
+        ? builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+        : builder;
+  }
+
 }
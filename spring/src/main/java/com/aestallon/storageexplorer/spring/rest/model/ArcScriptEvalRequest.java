@@ -19,6 +19,7 @@ import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.annotation.Generated;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 /**
@@ -30,6 +31,18 @@ public class ArcScriptEvalRequest {
 
   private String script;
 
+  private Integer pageSize;
+
+  private String cursor;
+
+  private Long timeoutMillis;
+
+  private Long maxEntries;
+
+  private Long maxBytes;
+
+  private String view;
+
   public ArcScriptEvalRequest() {
     super();
   }
@@ -61,6 +74,130 @@ public class ArcScriptEvalRequest {
     this.script = script;
   }
 
+  public ArcScriptEvalRequest pageSize(Integer pageSize) {
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  /**
+   * If present, the result of the last query is streamed: only its first page is returned, along with a cursor to fetch the rest with.
+   * minimum: 1
+   * @return pageSize
+   */
+  @Min(1) 
+  @Schema(name = "pageSize", description = "If present, the result of the last query is streamed: only its first page is returned, along with a cursor to fetch the rest with. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("pageSize")
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  public void setPageSize(Integer pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  public ArcScriptEvalRequest cursor(String cursor) {
+    this.cursor = cursor;
+    return this;
+  }
+
+  /**
+   * The cursor of a previous response -> its next page is returned, and the script is ignored.
+   * @return cursor
+   */
+  
+  @Schema(name = "cursor", description = "The cursor of a previous response -> its next page is returned, and the script is ignored. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("cursor")
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
+  public ArcScriptEvalRequest timeoutMillis(Long timeoutMillis) {
+    this.timeoutMillis = timeoutMillis;
+    return this;
+  }
+
+  /**
+   * The time the script may take, including the time its cursor is read. Can only tighten the limit configured on the server.
+   * minimum: 1
+   * @return timeoutMillis
+   */
+  @Min(1L) 
+  @Schema(name = "timeoutMillis", description = "The time the script may take, including the time its cursor is read. Can only tighten the limit configured on the server. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("timeoutMillis")
+  public Long getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
+  public void setTimeoutMillis(Long timeoutMillis) {
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  public ArcScriptEvalRequest maxEntries(Long maxEntries) {
+    this.maxEntries = maxEntries;
+    return this;
+  }
+
+  /**
+   * The number of entries the script may load. Can only tighten the limit configured on the server.
+   * minimum: 1
+   * @return maxEntries
+   */
+  @Min(1L) 
+  @Schema(name = "maxEntries", description = "The number of entries the script may load. Can only tighten the limit configured on the server. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("maxEntries")
+  public Long getMaxEntries() {
+    return maxEntries;
+  }
+
+  public void setMaxEntries(Long maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  public ArcScriptEvalRequest maxBytes(Long maxBytes) {
+    this.maxBytes = maxBytes;
+    return this;
+  }
+
+  /**
+   * The (estimated) size of the entries the script may load, in bytes. Can only tighten the limit configured on the server.
+   * minimum: 1
+   * @return maxBytes
+   */
+  @Min(1L) 
+  @Schema(name = "maxBytes", description = "The (estimated) size of the entries the script may load, in bytes. Can only tighten the limit configured on the server. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("maxBytes")
+  public Long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public void setMaxBytes(Long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  public ArcScriptEvalRequest view(String view) {
+    this.view = view;
+    return this;
+  }
+
+  /**
+   * If present, the script is kept as a materialised view under this name: its result is maintained incrementally as the storage changes, and reading it evaluates nothing. The script is evaluated in full only the first time, or once it differs from the one the view was registered with. Streaming and limits do not apply to views.
+   * @return view
+   */
+  
+  @Schema(name = "view", description = "If present, the script is kept as a materialised view under this name: its result is maintained incrementally as the storage changes, and reading it evaluates nothing. The script is evaluated in full only the first time, or once it differs from the one the view was registered with. Streaming and limits do not apply to views. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("view")
+  public String getView() {
+    return view;
+  }
+
+  public void setView(String view) {
+    this.view = view;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -70,12 +207,18 @@ public class ArcScriptEvalRequest {
       return false;
     }
     ArcScriptEvalRequest arcScriptEvalRequest = (ArcScriptEvalRequest) o;
-    return Objects.equals(this.script, arcScriptEvalRequest.script);
+    return Objects.equals(this.script, arcScriptEvalRequest.script) &&
+        Objects.equals(this.pageSize, arcScriptEvalRequest.pageSize) &&
+        Objects.equals(this.cursor, arcScriptEvalRequest.cursor) &&
+        Objects.equals(this.timeoutMillis, arcScriptEvalRequest.timeoutMillis) &&
+        Objects.equals(this.maxEntries, arcScriptEvalRequest.maxEntries) &&
+        Objects.equals(this.maxBytes, arcScriptEvalRequest.maxBytes) &&
+        Objects.equals(this.view, arcScriptEvalRequest.view);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(script);
+    return Objects.hash(script, pageSize, cursor, timeoutMillis, maxEntries, maxBytes, view);
   }
 
   @Override
@@ -83,6 +226,12 @@ public class ArcScriptEvalRequest {
     StringBuilder sb = new StringBuilder();
     sb.append("class ArcScriptEvalRequest {\n");
     sb.append("    script: ").append(toIndentedString(script)).append("\n");
+    sb.append("    pageSize: ").append(toIndentedString(pageSize)).append("\n");
+    sb.append("    cursor: ").append(toIndentedString(cursor)).append("\n");
+    sb.append("    timeoutMillis: ").append(toIndentedString(timeoutMillis)).append("\n");
+    sb.append("    maxEntries: ").append(toIndentedString(maxEntries)).append("\n");
+    sb.append("    maxBytes: ").append(toIndentedString(maxBytes)).append("\n");
+    sb.append("    view: ").append(toIndentedString(view)).append("\n");
     sb.append("}");
     return sb.toString();
   }
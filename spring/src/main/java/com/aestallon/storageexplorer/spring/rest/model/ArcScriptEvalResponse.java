@@ -39,6 +39,19 @@ public class ArcScriptEvalResponse {
   @Valid
   private List<Object> resultSet = new ArrayList<>();
 
+  private String cursor;
+
+  private Boolean aggregated;
+
+  private String status;
+
+  private ArcScriptQueryProfile profile;
+
+  private ArcScriptViewStaleness view;
+
+  @Valid
+  private List<@Valid ArcScriptUpdateResult> updates = new ArrayList<>();
+
   private ArcScriptEvalError err;
 
   public ArcScriptEvalResponse() {
@@ -130,6 +143,134 @@ public class ArcScriptEvalResponse {
     this.resultSet = resultSet;
   }
 
+  public ArcScriptEvalResponse cursor(String cursor) {
+    this.cursor = cursor;
+    return this;
+  }
+
+  /**
+   * Present if the result set is a page of a streamed result, and further pages remain.
+   * @return cursor
+   */
+  
+  @Schema(name = "cursor", description = "Present if the result set is a page of a streamed result, and further pages remain. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("cursor")
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
+  public ArcScriptEvalResponse aggregated(Boolean aggregated) {
+    this.aggregated = aggregated;
+    return this;
+  }
+
+  /**
+   * True if the rows are the groups of an aggregating query -> they belong to no entry, and carry no value under the entryUriKey.
+   * @return aggregated
+   */
+  
+  @Schema(name = "aggregated", description = "True if the rows are the groups of an aggregating query -> they belong to no entry, and carry no value under the entryUriKey. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("aggregated")
+  public Boolean getAggregated() {
+    return aggregated;
+  }
+
+  public void setAggregated(Boolean aggregated) {
+    this.aggregated = aggregated;
+  }
+
+  public ArcScriptEvalResponse status(String status) {
+    this.status = status;
+    return this;
+  }
+
+  /**
+   * OK if the script was evaluated in full. Otherwise the result set is partial, and this tells why the evaluation got stopped: CANCELLED, TIMED_OUT, MAX_ENTRIES_EXCEEDED or MAX_BYTES_EXCEEDED. A streamed result reports its final status with its last page.
+   * @return status
+   */
+  
+  @Schema(name = "status", description = "OK if the script was evaluated in full. Otherwise the result set is partial, and this tells why the evaluation got stopped: CANCELLED, TIMED_OUT, MAX_ENTRIES_EXCEEDED or MAX_BYTES_EXCEEDED. A streamed result reports its final status with its last page. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("status")
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public ArcScriptEvalResponse profile(ArcScriptQueryProfile profile) {
+    this.profile = profile;
+    return this;
+  }
+
+  /**
+   * Present if the query was explained, or profiled.
+   * @return profile
+   */
+  @Valid 
+  @Schema(name = "profile", description = "Present if the query was explained, or profiled. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("profile")
+  public ArcScriptQueryProfile getProfile() {
+    return profile;
+  }
+
+  public void setProfile(ArcScriptQueryProfile profile) {
+    this.profile = profile;
+  }
+
+  public ArcScriptEvalResponse view(ArcScriptViewStaleness view) {
+    this.view = view;
+    return this;
+  }
+
+  /**
+   * Present if the result was read from a materialised view -> how current it is.
+   * @return view
+   */
+  @Valid 
+  @Schema(name = "view", description = "Present if the result was read from a materialised view -> how current it is. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("view")
+  public ArcScriptViewStaleness getView() {
+    return view;
+  }
+
+  public void setView(ArcScriptViewStaleness view) {
+    this.view = view;
+  }
+
+  public ArcScriptEvalResponse updates(List<@Valid ArcScriptUpdateResult> updates) {
+    this.updates = updates;
+    return this;
+  }
+
+  public ArcScriptEvalResponse addUpdatesItem(ArcScriptUpdateResult updatesItem) {
+    if (this.updates == null) {
+      this.updates = new ArrayList<>();
+    }
+    this.updates.add(updatesItem);
+    return this;
+  }
+
+  /**
+   * The result of every update performed by the script, in order.
+   * @return updates
+   */
+  @Valid 
+  @Schema(name = "updates", description = "The result of every update performed by the script, in order. ", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("updates")
+  public List<@Valid ArcScriptUpdateResult> getUpdates() {
+    return updates;
+  }
+
+  public void setUpdates(List<@Valid ArcScriptUpdateResult> updates) {
+    this.updates = updates;
+  }
+
   public ArcScriptEvalResponse err(ArcScriptEvalError err) {
     this.err = err;
     return this;
@@ -162,12 +303,18 @@ public class ArcScriptEvalResponse {
     return Objects.equals(this.columns, arcScriptEvalResponse.columns) &&
         Objects.equals(this.entryUriKey, arcScriptEvalResponse.entryUriKey) &&
         Objects.equals(this.resultSet, arcScriptEvalResponse.resultSet) &&
+        Objects.equals(this.cursor, arcScriptEvalResponse.cursor) &&
+        Objects.equals(this.aggregated, arcScriptEvalResponse.aggregated) &&
+        Objects.equals(this.status, arcScriptEvalResponse.status) &&
+        Objects.equals(this.profile, arcScriptEvalResponse.profile) &&
+        Objects.equals(this.view, arcScriptEvalResponse.view) &&
+        Objects.equals(this.updates, arcScriptEvalResponse.updates) &&
         Objects.equals(this.err, arcScriptEvalResponse.err);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(columns, entryUriKey, resultSet, err);
+    return Objects.hash(columns, entryUriKey, resultSet, cursor, aggregated, status, profile, view, updates, err);
   }
 
   @Override
@@ -177,6 +324,12 @@ public class ArcScriptEvalResponse {
     sb.append("    columns: ").append(toIndentedString(columns)).append("\n");
     sb.append("    entryUriKey: ").append(toIndentedString(entryUriKey)).append("\n");
     sb.append("    resultSet: ").append(toIndentedString(resultSet)).append("\n");
+    sb.append("    cursor: ").append(toIndentedString(cursor)).append("\n");
+    sb.append("    aggregated: ").append(toIndentedString(aggregated)).append("\n");
+    sb.append("    status: ").append(toIndentedString(status)).append("\n");
+    sb.append("    profile: ").append(toIndentedString(profile)).append("\n");
+    sb.append("    view: ").append(toIndentedString(view)).append("\n");
+    sb.append("    updates: ").append(toIndentedString(updates)).append("\n");
     sb.append("    err: ").append(toIndentedString(err)).append("\n");
     sb.append("}");
     return sb.toString();
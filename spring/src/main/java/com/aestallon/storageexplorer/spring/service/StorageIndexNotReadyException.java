@@ -0,0 +1,20 @@
+package com.aestallon.storageexplorer.spring.service;
+
+public class StorageIndexNotReadyException extends RuntimeException {
+
+  private final StorageIndexProvider.Status status;
+
+  public StorageIndexNotReadyException(final StorageIndexProvider.Status status) {
+    super(switch (status) {
+      case WARMING -> "The storage index is warming up, please try again later.";
+      case FAILED -> "The storage index is not available.";
+      case READY -> "The storage index is ready.";
+    });
+    this.status = status;
+  }
+
+  public StorageIndexProvider.Status status() {
+    return status;
+  }
+
+}
@@ -4,6 +4,19 @@ import com.aestallon.storageexplorer.core.service.StorageIndex;
 
 public interface StorageIndexProvider {
 
+  enum Status {
+    /** The index is being built, answers relying on its contents would be partial. */
+    WARMING,
+    /** The index is ready to answer. */
+    READY,
+    /** The index could not be built. */
+    FAILED
+  }
+
   StorageIndex<?> provide();
 
+  default Status status() {
+    return Status.READY;
+  }
+
 }
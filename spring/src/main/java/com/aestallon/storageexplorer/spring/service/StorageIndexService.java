@@ -1,5 +1,6 @@
 package com.aestallon.storageexplorer.spring.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -7,12 +8,20 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.toList;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import com.aestallon.storageexplorer.arcscript.api.Arc;
 import com.aestallon.storageexplorer.arcscript.engine.ArcScriptResult;
+import com.aestallon.storageexplorer.arcscript.engine.MaterializedView;
+import com.aestallon.storageexplorer.arcscript.engine.QueryProfile;
+import com.aestallon.storageexplorer.arcscript.engine.ResultCursor;
 import com.aestallon.storageexplorer.common.util.Pair;
 import com.aestallon.storageexplorer.core.model.entry.ListEntry;
 import com.aestallon.storageexplorer.core.model.entry.MapEntry;
@@ -31,14 +40,20 @@ import com.aestallon.storageexplorer.core.model.instance.dto.IndexingStrategyTyp
 import com.aestallon.storageexplorer.core.model.instance.dto.SqlStorageLocation;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceDto;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageInstanceType;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadRequest;
 import com.aestallon.storageexplorer.core.model.loading.ObjectEntryLoadResult;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
 import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
 import com.aestallon.storageexplorer.core.service.IndexingStrategy;
 import com.aestallon.storageexplorer.core.service.RelationalDatabaseStorageIndex;
 import com.aestallon.storageexplorer.core.service.StorageIndex;
 import com.aestallon.storageexplorer.spring.rest.model.ArcScriptColumnDescriptor;
 import com.aestallon.storageexplorer.spring.rest.model.ArcScriptEvalError;
+import com.aestallon.storageexplorer.spring.rest.model.ArcScriptProfilePhase;
+import com.aestallon.storageexplorer.spring.rest.model.ArcScriptQueryProfile;
+import com.aestallon.storageexplorer.spring.rest.model.ArcScriptUpdateResult;
+import com.aestallon.storageexplorer.spring.rest.model.ArcScriptViewStaleness;
 import com.aestallon.storageexplorer.spring.rest.model.EntryAcquisitionRequest;
 import com.aestallon.storageexplorer.spring.rest.model.EntryAcquisitionResult;
 import com.aestallon.storageexplorer.spring.rest.model.EntryLoadRequest;
@@ -54,10 +69,96 @@ import com.aestallon.storageexplorer.spring.util.IndexingMethod;
 
 public class StorageIndexService {
 
+  private static final Duration CURSOR_IDLE_TIMEOUT = Duration.ofMinutes(2L);
+  private static final int MAX_OPEN_CURSORS = 64;
+  private static final int MAX_VIEWS = 64;
+
+  // abandoned cursors keep evaluating (and holding on to their rows) until closed -> every open
+  // cursor is checked once its idle timeout is up, without waiting for a request to come by:
+  private static final ScheduledExecutorService CURSOR_REAPER =
+      Executors.newSingleThreadScheduledExecutor(r -> {
+        final var t = new Thread(r, "storage-explorer-cursor-reaper");
+        t.setDaemon(true);
+        return t;
+      });
+
   private final StorageIndexProvider indexProvider;
+  private final ScriptLimits scriptLimits;
+  private final Map<String, OpenCursor> cursors = new ConcurrentHashMap<>();
+  private final Map<String, MaterializedView> views = new ConcurrentHashMap<>();
 
   public StorageIndexService(StorageIndexProvider indexProvider) {
+    this(indexProvider, ScriptLimits.UNLIMITED);
+  }
+
+  public StorageIndexService(StorageIndexProvider indexProvider, ScriptLimits scriptLimits) {
     this.indexProvider = indexProvider;
+    this.scriptLimits = scriptLimits;
+  }
+
+
+  /**
+   * The most a single script evaluated through the API may spend. Zero (or {@code null}) means no
+   * limit. Requests can only tighten these.
+   *
+   * @param timeout the wall-clock time a script may take, including the time its cursor is read
+   * @param maxEntries the number of entries a script may load
+   * @param maxBytes the (estimated) size of the entries a script may load
+   * @param updatesAllowed whether a script may update entries -> if not, a script containing an
+   *     update is rejected as impermissible
+   */
+  public record ScriptLimits(Duration timeout,
+                             long maxEntries,
+                             long maxBytes,
+                             boolean updatesAllowed) {
+
+    public static final ScriptLimits UNLIMITED = new ScriptLimits(null, 0L, 0L, false);
+
+    private static long tighter(final long limit, final Long requested) {
+      if (requested == null || requested <= 0L) {
+        return limit;
+      }
+
+      return limit > 0L ? Math.min(limit, requested) : requested;
+    }
+
+    ScriptLimits tighten(final Long timeoutMillis, final Long maxEntries, final Long maxBytes) {
+      final long millis = tighter(timeout == null ? 0L : timeout.toMillis(), timeoutMillis);
+      return new ScriptLimits(
+          millis > 0L ? Duration.ofMillis(millis) : null,
+          tighter(this.maxEntries, maxEntries),
+          tighter(this.maxBytes, maxBytes),
+          updatesAllowed);
+    }
+
+    ExecutionBudget budget() {
+      return ExecutionBudget.builder()
+          .timeout(timeout)
+          .maxEntries(maxEntries)
+          .maxBytes(maxBytes)
+          .build();
+    }
+
+  }
+
+  /**
+   * Returns the provided index, if it is ready to give complete answers.
+   *
+   * <p>
+   * Acquiring and loading single entries works on any index, but listing or querying a warming
+   * index would yield a partial answer, indistinguishable from a complete one.
+   *
+   * @return the index
+   *
+   * @throws StorageIndexNotReadyException if the index is not ready yet
+   */
+  private StorageIndex<?> readyIndex() {
+    final StorageIndexProvider.Status status = indexProvider.status();
+    if (status != StorageIndexProvider.Status.READY) {
+      throw new StorageIndexNotReadyException(status);
+    }
+
+    return indexProvider.provide();
   }
 
   public StorageIndexDto index(final IndexingMethod indexingMethod) {
@@ -67,8 +168,11 @@ public class StorageIndexService {
       case FULL -> IndexingStrategy.STRATEGY_FULL;
     };
 
-    final var index = indexProvider.provide();
-    index.refresh(indexingStrategy);
+    final var index = readyIndex();
+    if (IndexingMethod.FULL == indexingMethod) {
+      // the long-lived index already knows the surface, only a full load has extra work to do:
+      index.refresh(indexingStrategy, IndexingTarget.any());
+    }
     return index.entities()
         .flatMap(it -> entryToDto(it, IndexingMethod.FULL == indexingMethod))
         .collect(collectingAndThen(toList(), new StorageIndexDto()::entries));
@@ -250,17 +354,145 @@ public class StorageIndexService {
 
   public sealed interface ArcScriptQueryEvalResult {
 
-    record Ok(List<ArcScriptColumnDescriptor> columns, String entryUriKey, List<Object> resultSet)
-        implements ArcScriptQueryEvalResult {}
+    record Ok(List<ArcScriptColumnDescriptor> columns,
+              String entryUriKey,
+              List<Object> resultSet,
+              String cursor,
+              boolean aggregated,
+              ExecutionBudget.Status status,
+              ArcScriptQueryProfile profile,
+              ArcScriptViewStaleness view,
+              List<ArcScriptUpdateResult> updates,
+              ArcScriptEvalError error)
+        implements ArcScriptQueryEvalResult {
+
+      public Ok(List<ArcScriptColumnDescriptor> columns,
+                String entryUriKey,
+                List<Object> resultSet,
+                String cursor,
+                boolean aggregated,
+                ExecutionBudget.Status status) {
+        this(
+            columns, entryUriKey, resultSet, cursor, aggregated, status, null, null, List.of(),
+            null);
+      }
+
+      private Ok withProfile(final ArcScriptQueryProfile profile) {
+        return new Ok(
+            columns, entryUriKey, resultSet, cursor, aggregated, status, profile, view, updates,
+            error);
+      }
+
+      private Ok withView(final ArcScriptViewStaleness view) {
+        return new Ok(
+            columns, entryUriKey, resultSet, cursor, aggregated, status, profile, view, updates,
+            error);
+      }
+
+      private Ok withUpdates(final List<ArcScriptUpdateResult> updates) {
+        return new Ok(
+            columns, entryUriKey, resultSet, cursor, aggregated, status, profile, view, updates,
+            error);
+      }
+
+      // the rows found before the failure are still handed out:
+      private Ok withError(final ArcScriptEvalError error) {
+        return new Ok(
+            columns, entryUriKey, resultSet, cursor, aggregated, status, profile, view, updates,
+            error);
+      }
+
+    }
 
 
     record Err(ArcScriptEvalError err) implements ArcScriptQueryEvalResult {}
 
   }
 
+
+  private static final class OpenCursor {
+
+    private final ResultCursor cursor;
+    private final RowCreator rowCreator;
+    private volatile long lastAccess = System.nanoTime();
+    private volatile boolean reading;
+
+    private OpenCursor(ResultCursor cursor) {
+      this.cursor = cursor;
+      this.rowCreator = RowCreator.newInstance(
+          new ArcScriptResult.ResultSetMeta(cursor.columns(), -1L));
+    }
+
+  }
+
   public ArcScriptQueryEvalResult evalArcScript(final String script) {
-    final StorageIndex<?> index = indexProvider.provide();
+    return evalArcScript(script, null);
+  }
+
+  public ArcScriptQueryEvalResult evalArcScript(final String script, final Integer pageSize) {
+    return evalArcScript(script, pageSize, scriptLimits);
+  }
 
+  /**
+   * Evaluates the given script, and returns the result of its first query.
+   *
+   * <p>
+   * If a page size is given, and the first query is the last instruction, its result is streamed:
+   * only its first page is returned, with the ID of a cursor holding the rest (see
+   * {@link #nextPage(String)}). Cursors not read for {@link #CURSOR_IDLE_TIMEOUT} are closed, which
+   * stops their evaluation.
+   *
+   * <p>
+   * The script is evaluated within the {@link ScriptLimits limits} of this service, tightened by
+   * the given ones. A script stopped by them still returns whatever it has found so far, with the
+   * reason of stopping as its status.
+   *
+   * @param script the script to evaluate
+   * @param pageSize the page size, or {@code null} to return the whole result at once
+   * @param timeoutMillis the time the script may take, or {@code null} for the default
+   * @param maxEntries the number of entries the script may load, or {@code null} for the default
+   * @param maxBytes the size of the entries the script may load, or {@code null} for the default
+   *
+   * @return the result of the first query of the script
+   */
+  public ArcScriptQueryEvalResult evalArcScript(final String script,
+                                                final Integer pageSize,
+                                                final Long timeoutMillis,
+                                                final Long maxEntries,
+                                                final Long maxBytes) {
+    return evalArcScript(
+        script,
+        pageSize,
+        scriptLimits.tighten(timeoutMillis, maxEntries, maxBytes));
+  }
+
+  private ArcScriptQueryEvalResult evalArcScript(final String script,
+                                                 final Integer pageSize,
+                                                 final ScriptLimits limits) {
+    final StorageInstance storageInstance = temporaryInstance(readyIndex());
+    final int streamedPageSize = pageSize == null ? 0 : pageSize;
+    return switch (Arc.evaluate(
+        script,
+        storageInstance,
+        streamedPageSize,
+        limits.budget(),
+        !limits.updatesAllowed())) {
+      case ArcScriptResult.CompilationError cErr ->
+          new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError()
+              .msg(cErr.msg())
+              .line(cErr.line())
+              .col(cErr.col()));
+      // the message names the problem, the pretty print the offending instruction:
+      case ArcScriptResult.ImpermissibleInstruction iErr -> new ArcScriptQueryEvalResult.Err(
+          new ArcScriptEvalError().msg(iErr.msg() + iErr.prettyPrint()));
+      case ArcScriptResult.UnknownError uErr ->
+          new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError().msg(uErr.msg()));
+      case ArcScriptResult.Ok(List<ArcScriptResult.InstructionResult> results, var status) ->
+          firstQueryResult(results, status);
+    };
+  }
+
+  private static StorageInstance temporaryInstance(final StorageIndex<?> index) {
     final StorageInstanceDto temp = new StorageInstanceDto();
     switch (index) {
       case RelationalDatabaseStorageIndex rdsi -> temp
@@ -275,31 +507,288 @@ public class StorageIndexService {
         .indexingStrategy(IndexingStrategyType.ON_DEMAND)
         .availability(Availability.AVAILABLE));
     storageInstance.setIndex(index);
+    return storageInstance;
+  }
 
-    return switch (Arc.evaluate(script, storageInstance)) {
-      case ArcScriptResult.CompilationError cErr ->
-          new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError()
-              .msg(cErr.msg())
-              .line(cErr.line())
-              .col(cErr.col()));
-      case ArcScriptResult.ImpermissibleInstruction iErr ->
-          new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError().msg(iErr.msg()));
-      case ArcScriptResult.UnknownError uErr ->
-          new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError().msg(uErr.msg()));
-      case ArcScriptResult.Ok(List<ArcScriptResult.InstructionResult> results) -> results.stream()
-          .filter(it -> it instanceof ArcScriptResult.QueryPerformed)
-          .map(ArcScriptResult.QueryPerformed.class::cast)
-          .findFirst()
-          .map(ArcScriptResult.QueryPerformed::resultSet)
-          .map(this::unwrapResultSet)
-          .orElseGet(() -> new ArcScriptQueryEvalResult.Ok(
-              Collections.emptyList(),
-              "uri",
-              Collections.emptyList()));
+  /**
+   * Reads the materialised view of the given name (see {@link MaterializedView}).
+   *
+   * <p>
+   * Reading a view evaluates nothing: its result set is maintained in the background as the index
+   * changes, and is returned along with how current it is. The given script is only evaluated (in
+   * full, before returning) if no view has the given name yet, or the view was registered with a
+   * different script. A view registered against an index since replaced is bound to the current
+   * one, and is evaluated again in the background. At most {@link #MAX_VIEWS} views are kept.
+   *
+   * <p>
+   * Every evaluation of a view is limited by the {@link ScriptLimits limits} of this service.
+   *
+   * @param name the name of the view
+   * @param script the script of the view -> a single query, optionally preceded by indexing
+   *
+   * @return the result set of the view
+   */
+  public ArcScriptQueryEvalResult readView(final String name, final String script) {
+    final StorageIndex<?> index = readyIndex();
+    MaterializedView view = views.get(name);
+    if (view == null || !view.script().equals(script)) {
+      try {
+        view = registerView(name, script, index);
+      } catch (final IllegalArgumentException e) {
+        return new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError().msg(e.getMessage()));
+      }
+    } else if (view.storageInstance().index() != index) {
+      rebind(view, index);
+    }
+
+    final MaterializedView.Snapshot snapshot = view.snapshot();
+    return unwrapResultSet(snapshot.resultSet(), ExecutionBudget.Status.OK)
+        .withView(stalenessDto(snapshot));
+  }
+
+  private synchronized MaterializedView registerView(final String name,
+                                                     final String script,
+                                                     final StorageIndex<?> index) {
+    // another request may have registered the very same view in the meantime:
+    final MaterializedView current = views.get(name);
+    if (current != null && current.script().equals(script)) {
+      if (current.storageInstance().index() != index) {
+        rebind(current, index);
+      }
+      return current;
+    }
+
+    if (current == null && views.size() >= MAX_VIEWS) {
+      throw new IllegalArgumentException(
+          "Too many materialised views: at most " + MAX_VIEWS + " are kept");
+    }
+
+    final MaterializedView view = Arc.materialize(name, script, temporaryInstance(index));
+    view.limit(scriptLimits::budget);
+    try {
+      view.refresh();
+    } catch (final RuntimeException e) {
+      // the view reports the failure in its staleness, and retries on the next change:
+    }
+
+    final MaterializedView previous = views.put(name, view);
+    if (previous != null) {
+      previous.close();
+    }
+    return view;
+  }
+
+  // the view notices the index it is bound to got replaced, and evaluates itself in full again:
+  private static void rebind(final MaterializedView view, final StorageIndex<?> index) {
+    view.storageInstance().setIndex(index);
+    view.invalidate();
+  }
+
+  private static ArcScriptViewStaleness stalenessDto(final MaterializedView.Snapshot snapshot) {
+    final MaterializedView.Staleness staleness = snapshot.staleness();
+    return new ArcScriptViewStaleness(
+        snapshot.name(),
+        staleness.current(),
+        staleness.pending(),
+        staleness.reset(),
+        staleness.reevaluated())
+        .refreshedAt(staleness.refreshedAt() == null
+            ? null
+            : staleness.refreshedAt().toEpochMilli())
+        .maintainedAt(staleness.maintainedAt() == null
+            ? null
+            : staleness.maintainedAt().toEpochMilli())
+        .failure(staleness.failure());
+  }
+
+  private ArcScriptQueryEvalResult firstQueryResult(
+      final List<ArcScriptResult.InstructionResult> results,
+      final ExecutionBudget.Status status) {
+    ArcScriptQueryEvalResult ret = null;
+    // whatever got written is reported, whether a query follows or not:
+    final List<ArcScriptUpdateResult> updates = new ArrayList<>();
+    for (final var result : results) {
+      switch (result) {
+        case ArcScriptResult.IndexingPerformed i -> {}
+        case ArcScriptResult.QueryPerformed q when ret == null ->
+            ret = unwrapResultSet(q.resultSet(), status);
+        case ArcScriptResult.QueryPerformed q -> {}
+        case ArcScriptResult.QueryStreaming q when ret == null -> ret = openCursor(q.cursor());
+        // only the first query is returned -> nobody is going to read this one:
+        case ArcScriptResult.QueryStreaming q -> q.cursor().close();
+        case ArcScriptResult.AggregationPerformed a when ret == null ->
+            ret = unwrapAggregateSet(a.aggregateSet(), status);
+        case ArcScriptResult.AggregationPerformed a -> {}
+        case ArcScriptResult.QueryProfiled p when ret == null -> ret = unwrapProfiled(p, status);
+        case ArcScriptResult.QueryProfiled p -> {}
+        case ArcScriptResult.UpdatePerformed u -> updates.add(updateDto(u));
+      }
+    }
+
+    if (ret == null) {
+      ret = emptyResult(status);
+    }
+    return ret instanceof ArcScriptQueryEvalResult.Ok ok ? ok.withUpdates(updates) : ret;
+  }
+
+  private static ArcScriptUpdateResult updateDto(final ArcScriptResult.UpdatePerformed update) {
+    return new ArcScriptUpdateResult(
+        update.prettyPrint(),
+        update.matched(),
+        update.modified(),
+        update.unchanged(),
+        update.failed(),
+        update.batches(),
+        update.dryRun())
+        .failures(update.failures().stream()
+            .map(it -> it.uri() + ": " + it.msg())
+            .toList());
+  }
+
+  private static ArcScriptQueryEvalResult.Ok emptyResult(final ExecutionBudget.Status status) {
+    return new ArcScriptQueryEvalResult.Ok(
+        Collections.emptyList(),
+        "uri",
+        Collections.emptyList(),
+        null,
+        false,
+        status);
+  }
+
+  private ArcScriptQueryEvalResult unwrapProfiled(final ArcScriptResult.QueryProfiled profiled,
+                                                  final ExecutionBudget.Status status) {
+    // an explained query has no result, only its plan:
+    final ArcScriptQueryEvalResult.Ok ok = switch (profiled.result()) {
+      case ArcScriptResult.QueryPerformed q -> unwrapResultSet(q.resultSet(), status);
+      case ArcScriptResult.AggregationPerformed a -> unwrapAggregateSet(a.aggregateSet(), status);
+      case null, default -> emptyResult(status);
     };
+    return ok.withProfile(profileDto(profiled.profile()));
+  }
+
+  private static ArcScriptQueryProfile profileDto(final QueryProfile profile) {
+    return new ArcScriptQueryProfile(
+        profile.executed(),
+        profile.plan(),
+        profile.phases().stream()
+            .map(it -> new ArcScriptProfilePhase(
+                it.phase().name(),
+                it.entries(),
+                it.loads(),
+                it.cacheHits(),
+                it.bytes(),
+                it.timeTaken()))
+            .collect(toList()))
+        .program(profile.program())
+        .pushdownFailure(profile.pushdownFailure())
+        .indexedAssertions(profile.indexedAssertions())
+        .implicitIndexing(profile.implicitIndexing())
+        .candidates(profile.candidates())
+        .results(profile.results())
+        .timeTaken(profile.timeTaken());
+  }
+
+  private ArcScriptQueryEvalResult openCursor(final ResultCursor cursor) {
+    if (cursors.size() >= MAX_OPEN_CURSORS) {
+      cursor.close();
+      return new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError()
+          .msg("Too many open cursors, read or abandon some first!"));
+    }
+
+    final String id = UUID.randomUUID().toString();
+    final var open = new OpenCursor(cursor);
+    cursors.put(id, open);
+    scheduleExpiry(id, CURSOR_IDLE_TIMEOUT.toNanos());
+    return nextPage(id, open);
+  }
+
+  /**
+   * Returns the next page of a streamed query result.
+   *
+   * <p>
+   * If the evaluation failed, the last page still holds the rows found before the failure, along
+   * with the error.
+   *
+   * @param cursorId the ID of the cursor, as returned with the previous page
+   *
+   * @return the next page; without a cursor ID, if it is the last one
+   */
+  public ArcScriptQueryEvalResult nextPage(final String cursorId) {
+    final OpenCursor open = cursors.get(cursorId);
+    if (open == null) {
+      return new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError()
+          .msg("Unknown or expired cursor: " + cursorId));
+    }
+
+    return nextPage(cursorId, open);
   }
 
-  private ArcScriptQueryEvalResult.Ok unwrapResultSet(final ArcScriptResult.ResultSet resultSet) {
+  private ArcScriptQueryEvalResult nextPage(final String id, final OpenCursor open) {
+    final ResultCursor.Page page;
+    // a request blocked waiting for a full page is not idle:
+    open.reading = true;
+    try {
+      page = open.cursor.next();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      closeCursor(id);
+      return new ArcScriptQueryEvalResult.Err(new ArcScriptEvalError()
+          .msg("Interrupted while waiting for results!"));
+    } finally {
+      open.lastAccess = System.nanoTime();
+      open.reading = false;
+    }
+
+    final List<Object> rows = new ArrayList<>(page.rows().size());
+    for (final var row : page.rows()) {
+      rows.add(open.rowCreator.getRow(row));
+    }
+
+    final var ok = new ArcScriptQueryEvalResult.Ok(
+        open.rowCreator.getColumnDescriptors(),
+        open.rowCreator.entryUriKey(),
+        rows,
+        page.last() ? null : id,
+        false,
+        open.cursor.status());
+    if (!page.last()) {
+      return ok;
+    }
+
+    closeCursor(id);
+    return open.cursor.error()
+        .map(it -> ok.withError(new ArcScriptEvalError().msg(it.getMessage())))
+        .orElse(ok);
+  }
+
+  private void closeCursor(final String id) {
+    final OpenCursor open = cursors.remove(id);
+    if (open != null) {
+      open.cursor.close();
+    }
+  }
+
+  private void scheduleExpiry(final String id, final long delayNanos) {
+    CURSOR_REAPER.schedule(() -> expireIfIdle(id), delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private void expireIfIdle(final String id) {
+    final OpenCursor open = cursors.get(id);
+    if (open == null) {
+      // read to its end, or closed otherwise -> nothing left to expire:
+      return;
+    }
+
+    final long idle = open.reading ? 0L : System.nanoTime() - open.lastAccess;
+    if (idle >= CURSOR_IDLE_TIMEOUT.toNanos()) {
+      closeCursor(id);
+    } else {
+      scheduleExpiry(id, CURSOR_IDLE_TIMEOUT.toNanos() - idle);
+    }
+  }
+
+  private ArcScriptQueryEvalResult.Ok unwrapResultSet(final ArcScriptResult.ResultSet resultSet,
+                                                     final ExecutionBudget.Status status) {
     final var rowCreator = RowCreator.newInstance(resultSet.meta());
     final var rows = new ArrayList<>();
     for (final var row : resultSet.rows()) {
@@ -309,7 +798,29 @@ public class StorageIndexService {
     return new ArcScriptQueryEvalResult.Ok(
         rowCreator.getColumnDescriptors(),
         rowCreator.entryUriKey(),
-        rows);
+        rows,
+        null,
+        false,
+        status);
+  }
+
+  private ArcScriptQueryEvalResult.Ok unwrapAggregateSet(
+      final ArcScriptResult.AggregateSet aggregateSet,
+      final ExecutionBudget.Status status) {
+    // groups always have columns, and belong to no entry -> nothing is put under the URI key:
+    final var rowCreator = new RowCreator.Custom(aggregateSet.meta());
+    final var rows = new ArrayList<>();
+    for (final var cells : aggregateSet.rows()) {
+      rows.add(rowCreator.getCells(cells));
+    }
+
+    return new ArcScriptQueryEvalResult.Ok(
+        rowCreator.getColumnDescriptors(),
+        rowCreator.entryUriKey(),
+        rows,
+        null,
+        true,
+        status);
   }
 
   private sealed interface RowCreator {
@@ -345,8 +856,13 @@ public class StorageIndexService {
 
       @Override
       public Map<String, Object> getRow(ArcScriptResult.QueryResultRow row) {
+        final Map<String, Object> ret = getCells(row.cells());
+        ret.put(entryUriKey(), row.entry().uri().toString());
+        return ret;
+      }
+
+      private Map<String, Object> getCells(Map<String, ArcScriptResult.DataCell> cells) {
         final Map<String, Object> ret = new LinkedHashMap<>();
-        final var cells = row.cells();
         for (int i = 0; i < props.length; i++) {
           final var prop = props[i];
           final var header = headers[i];
@@ -356,7 +872,6 @@ public class StorageIndexService {
             ret.put(header, cell.value());
           }
         }
-        ret.put(entryUriKey(), row.entry().uri().toString());
         return ret;
       }
 
@@ -0,0 +1,106 @@
+package com.aestallon.storageexplorer.spring.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.service.StorageIndex;
+import com.aestallon.storageexplorer.spring.service.StorageIndexProvider;
+
+/**
+ * Provides one long-lived index of the application's storage.
+ *
+ * <p>
+ * The index is warmed up in the background when the application context starts, and is refreshed
+ * incrementally (only URIs not yet known are indexed) with the configured interval afterwards.
+ * Until the first warm-up completes, the provider reports {@link Status#WARMING}.
+ */
+public abstract class WarmStorageIndexProvider implements StorageIndexProvider, SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(WarmStorageIndexProvider.class);
+
+  private final StorageIndex<?> index;
+  private final Duration refreshInterval;
+
+  private volatile Status status = Status.WARMING;
+  private ScheduledExecutorService scheduler;
+
+  protected WarmStorageIndexProvider(final StorageIndex<?> index, final Duration refreshInterval) {
+    this.index = index;
+    this.refreshInterval = refreshInterval == null ? Duration.ZERO : refreshInterval;
+    if (this.refreshInterval.isPositive()) {
+      // the index never gets older than an interval (and a refresh) -> scripts need not index it:
+      index.coverage().staleAfter(this.refreshInterval.multipliedBy(2L));
+    }
+  }
+
+  @Override
+  public StorageIndex<?> provide() {
+    return index;
+  }
+
+  @Override
+  public Status status() {
+    return status;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      final var t = new Thread(r, "storage-explorer-index");
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.execute(this::refresh);
+    if (refreshInterval.isPositive()) {
+      final long millis = refreshInterval.toMillis();
+      scheduler.scheduleWithFixedDelay(this::refresh, millis, millis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void refresh() {
+    final long start = System.nanoTime();
+    try {
+      final int added = index.refreshIncrementally(IndexingTarget.any());
+      if (status != Status.READY) {
+        log.info("Storage index warmed up in {} ms: {} entries.",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            added);
+      } else if (added > 0) {
+        log.debug("Storage index refreshed: {} new entries.", added);
+      }
+      status = Status.READY;
+    } catch (final Exception e) {
+      log.error("Failed to refresh storage index: {}", e.getMessage());
+      log.debug(e.getMessage(), e);
+      if (status != Status.READY) {
+        // a failed refresh of a warm index still leaves us with a usable answer:
+        status = Status.FAILED;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (scheduler == null) {
+      return;
+    }
+
+    scheduler.shutdownNow();
+    scheduler = null;
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return scheduler != null;
+  }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.spring.rest.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import com.aestallon.storageexplorer.core.service.StorageIndex;
+import com.aestallon.storageexplorer.spring.rest.model.ArcScriptEvalRequest;
+import com.aestallon.storageexplorer.spring.service.StorageIndexProvider;
+import com.aestallon.storageexplorer.spring.service.StorageIndexService;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An index not ready is never even provided -> these tests get by without one.
+ */
+class ExplorerApiDelegateImplTest {
+
+  private static ExplorerApiDelegateImpl delegate(final StorageIndexProvider.Status status) {
+    final var provider = new StorageIndexProvider() {
+
+      @Override
+      public StorageIndex<?> provide() {
+        throw new AssertionError("An index not ready must not be provided");
+      }
+
+      @Override
+      public Status status() {
+        return status;
+      }
+
+    };
+    return new ExplorerApiDelegateImpl(new StorageIndexService(provider), null);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "NONE", "SURFACE", "FULL" })
+  void theIndex_ofAWarmingStorage_isUnavailable_forAWhile(final String method) throws Exception {
+    final var response = delegate(StorageIndexProvider.Status.WARMING).getStorageIndex(method);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    assertThat(response.getBody()).isNull();
+  }
+
+  @Test
+  void theIndex_ofAFailedStorage_isUnavailable_withNoPointInRetrying() throws Exception {
+    final var response = delegate(StorageIndexProvider.Status.FAILED).getStorageIndex("SURFACE");
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+  }
+
+  @Test
+  void scripts_againstAWarmingStorage_areUnavailable_forAWhile() throws Exception {
+    final var response = delegate(StorageIndexProvider.Status.WARMING)
+        .eval(new ArcScriptEvalRequest().script("query { a 'Customer' from 'crm' }"));
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    assertThat(response.getBody()).isNotNull();
+    assertThat(response.getBody().getErr().getMsg()).contains("warming up");
+  }
+
+  @Test
+  void views_ofAWarmingStorage_areUnavailable_forAWhile() throws Exception {
+    final var response = delegate(StorageIndexProvider.Status.WARMING)
+        .eval(new ArcScriptEvalRequest()
+            .script("query { a 'Customer' from 'crm' }")
+            .view("customers"));
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+  }
+
+  @Test
+  void scripts_againstAFailedStorage_areUnavailable_withNoPointInRetrying() throws Exception {
+    final var response = delegate(StorageIndexProvider.Status.FAILED)
+        .eval(new ArcScriptEvalRequest().script("query { a 'Customer' from 'crm' }"));
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    assertThat(response.getBody().getErr().getMsg()).contains("not available");
+  }
+
+}
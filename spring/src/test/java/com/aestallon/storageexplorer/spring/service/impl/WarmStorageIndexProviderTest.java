@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2025 Szabolcs Bazil Papp
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Lesser General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this program.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.aestallon.storageexplorer.spring.service.impl;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.smartbit4all.api.collection.CollectionApi;
+import org.smartbit4all.api.config.PlatformApiConfig;
+import org.smartbit4all.core.object.ObjectApi;
+import org.smartbit4all.core.object.ObjectDefinitionApi;
+import org.smartbit4all.domain.data.storage.ObjectStorage;
+import org.smartbit4all.storage.fs.StorageFS;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
+import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import com.aestallon.storageexplorer.core.model.loading.IndexingTarget;
+import com.aestallon.storageexplorer.core.service.FileSystemStorageIndex;
+import com.aestallon.storageexplorer.core.service.StorageIndex;
+import com.aestallon.storageexplorer.core.util.Uris;
+import com.aestallon.storageexplorer.generator.model.Customer;
+import com.aestallon.storageexplorer.spring.service.StorageIndexProvider;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmStorageIndexProviderTest {
+
+  @TempDir
+  Path root;
+
+  private AnnotationConfigApplicationContext ctx;
+  private WarmStorageIndexProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    final Map<String, Object> props = new HashMap<>();
+    props.put("applicationruntime.maintain.enabled", "false");
+    props.put("invocationregistry.refresh.enabled", "false");
+    props.put("application.setup.enabled", "false");
+
+    ctx = new AnnotationConfigApplicationContext();
+    ctx.register(PlatformApiConfig.class);
+    ctx.registerBean("warmTestStorage", ObjectStorage.class, () -> new StorageFS(
+        root.toFile(),
+        ctx.getBean(ObjectDefinitionApi.class)));
+    ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("default", props));
+    ctx.refresh();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (provider != null) {
+      provider.stop();
+    }
+    ctx.close();
+  }
+
+  private URI save(final String name) {
+    final var customer = new Customer();
+    customer.setName(name);
+    final ObjectApi objectApi = ctx.getBean(ObjectApi.class);
+    return Uris.latest(objectApi.save(objectApi.create("crm", customer)));
+  }
+
+  private static void awaitStatus(final StorageIndexProvider provider,
+                                  final StorageIndexProvider.Status status)
+      throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+    while (provider.status() != status && System.nanoTime() < deadline) {
+      Thread.sleep(10L);
+    }
+    assertThat(provider.status()).isEqualTo(status);
+  }
+
+  @Test
+  void theProvider_isWarming_untilItsFirstRefreshCompletes() throws InterruptedException {
+    final URI alice = save("Alice");
+    provider = new FileSystemStorageIndexProvider(
+        ctx.getBean(ObjectApi.class),
+        ctx.getBean(CollectionApi.class),
+        root,
+        false);
+    assertThat(provider.status()).isEqualTo(StorageIndexProvider.Status.WARMING);
+
+    provider.start();
+    awaitStatus(provider, StorageIndexProvider.Status.READY);
+    assertThat(provider.provide().get(alice)).isPresent();
+  }
+
+  @Test
+  void theProvider_failsIfItsFirstRefreshFails() throws InterruptedException {
+    // the walker of the storage only accepts absolute paths -> every refresh of this one throws:
+    final var index = new FileSystemStorageIndex(
+        new StorageId(UUID.randomUUID()),
+        ctx.getBean(ObjectApi.class),
+        ctx.getBean(CollectionApi.class),
+        Path.of("relative", "storage"),
+        false);
+    provider = new WarmStorageIndexProvider(index, Duration.ZERO) {};
+    assertThat(provider.status()).isEqualTo(StorageIndexProvider.Status.WARMING);
+
+    provider.start();
+    awaitStatus(provider, StorageIndexProvider.Status.FAILED);
+  }
+
+  @Test
+  void anIncrementalRefresh_indexesUnknownUrisOnly() {
+    final URI alice = save("Alice");
+    final URI bob = save("Bob");
+    final StorageIndex<?> index = new FileSystemStorageIndex(
+        new StorageId(UUID.randomUUID()),
+        ctx.getBean(ObjectApi.class),
+        ctx.getBean(CollectionApi.class),
+        root,
+        false);
+
+    assertThat(index.refreshIncrementally(IndexingTarget.any())).isEqualTo(2);
+    final StorageEntry aliceEntry = index.get(alice).orElseThrow();
+    assertThat(index.refreshIncrementally(IndexingTarget.any())).isZero();
+
+    final URI carol = save("Carol");
+    assertThat(index.refreshIncrementally(IndexingTarget.any())).isEqualTo(1);
+    assertThat(index.get(carol)).isPresent();
+    // the entries known already are kept as they are, not indexed anew:
+    assertThat(index.get(alice)).containsSame(aliceEntry);
+    assertThat(index.get(bob)).isPresent();
+  }
+
+}
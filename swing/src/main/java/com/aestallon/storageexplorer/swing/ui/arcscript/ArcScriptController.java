@@ -18,6 +18,7 @@ package com.aestallon.storageexplorer.swing.ui.arcscript;
 import java.awt.*;
 import java.io.File;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +30,8 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import com.aestallon.storageexplorer.arcscript.engine.ArcScriptResult;
+import com.aestallon.storageexplorer.arcscript.engine.MaterializedView;
+import com.aestallon.storageexplorer.client.arcscript.MaterializedViewService;
 import com.aestallon.storageexplorer.client.asexport.ResultSetExporter;
 import com.aestallon.storageexplorer.client.asexport.ResultSetExporterFactory;
 import com.aestallon.storageexplorer.client.storage.StorageInstanceProvider;
@@ -69,6 +72,7 @@ public class ArcScriptController {
   private final ResultSetExporterFactory resultSetExporterFactory;
   private final ArcScriptResultContainerView resultContainerView;
   private final ArcScriptTreeView arcScriptTreeView;
+  private final MaterializedViewService materializedViewService;
   private final List<ArcScriptView> arcScriptViews = new ArrayList<>();
 
   public ArcScriptController(final StorageInstanceProvider storageInstanceProvider,
@@ -77,7 +81,8 @@ public class ArcScriptController {
                              final RSyntaxTextAreaThemeProvider themeProvider,
                              final MonospaceFontProvider monospaceFontProvider,
                              ArcScriptResultContainerView resultContainerView,
-                             ArcScriptTreeView arcScriptTreeView) {
+                             ArcScriptTreeView arcScriptTreeView,
+                             MaterializedViewService materializedViewService) {
     this.storageInstanceProvider = storageInstanceProvider;
     this.applicationEventPublisher = applicationEventPublisher;
     this.userConfigService = userConfigService;
@@ -85,6 +90,7 @@ public class ArcScriptController {
     this.monospaceFontProvider = monospaceFontProvider;
     this.resultContainerView = resultContainerView;
     this.arcScriptTreeView = arcScriptTreeView;
+    this.materializedViewService = materializedViewService;
     this.resultSetExporterFactory = new ResultSetExporterFactory();
 
     arcScriptTextareaFactory = new ArcScriptTextareaFactory(themeProvider, monospaceFontProvider);
@@ -171,6 +177,8 @@ public class ArcScriptController {
     switch (result) {
       case ArcScriptFileService.ArcScriptIoResult.Ok(StoredArcScript arcScript) -> {
         arcScriptView.storedArcScript(arcScript);
+        materializedViewService.scriptChanged(storedArcScript, arcScript)
+            .ifPresent(it -> viewRegistered(arcScriptView, it));
         final var event = new ArcScriptViewRenamed(
             arcScriptView,
             storedArcScript.title(),
@@ -194,6 +202,8 @@ public class ArcScriptController {
       case ArcScriptFileService.ArcScriptIoResult.Ok(StoredArcScript arcScript) -> {
         arcScriptView.storedArcScript(arcScript);
         arcScriptView.disableSave();
+        materializedViewService.scriptChanged(storedArcScript, arcScript)
+            .ifPresent(it -> viewRegistered(arcScriptView, it));
       }
       case ArcScriptFileService.ArcScriptIoResult.Err(String msg) -> JOptionPane.showMessageDialog(
           arcScriptView,
@@ -211,6 +221,7 @@ public class ArcScriptController {
     userConfigService.arcScriptFileService().delete(
         view.storedArcScript().storageId(),
         view.storedArcScript().title());
+    materializedViewService.drop(view.storageId(), view.storedArcScript().title());
     SwingUtilities.invokeLater(() -> {
       final var storageId = view.storageId();
       final var title = view.storedArcScript().title();
@@ -231,6 +242,64 @@ public class ArcScriptController {
     });
   }
 
+  public boolean isMaterialized(final ArcScriptView arcScriptView) {
+    return materializedViewService.isRegistered(arcScriptView.storedArcScript());
+  }
+
+  /**
+   * Shows the materialised view of the script of the given editor, materialising the script first
+   * if it has no view yet -> then the view is shown once its first evaluation is done.
+   *
+   * @param arcScriptView the editor of the script
+   */
+  public void showView(final ArcScriptView arcScriptView) {
+    final StoredArcScript storedArcScript = arcScriptView.storedArcScript();
+    materializedViewService
+        .find(storedArcScript.storageId(), storedArcScript.title())
+        .ifPresentOrElse(
+            this::renderView,
+            () -> viewRegistered(arcScriptView, materializedViewService.register(storedArcScript)));
+  }
+
+  public void dropView(final ArcScriptView arcScriptView) {
+    final StoredArcScript storedArcScript = arcScriptView.storedArcScript();
+    materializedViewService.drop(storedArcScript.storageId(), storedArcScript.title());
+  }
+
+  private void viewRegistered(final ArcScriptView arcScriptView,
+                              final MaterializedViewService.RegistrationResult result) {
+    switch (result) {
+      case MaterializedViewService.RegistrationResult.Ok(var view, var refreshed) ->
+          refreshed.whenComplete((v, e) -> renderView(view));
+      case MaterializedViewService.RegistrationResult.Err(String msg) ->
+          SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
+              arcScriptView,
+              msg,
+              "Cannot materialise script",
+              JOptionPane.ERROR_MESSAGE,
+              IconProvider.ERROR));
+    }
+  }
+
+  private void renderView(final MaterializedView view) {
+    // reading the snapshot is instant, nothing gets evaluated here:
+    final MaterializedView.Snapshot snapshot = view.snapshot();
+    final var result = new ArcScriptResult.Ok(List.of(new ArcScriptResult.QueryPerformed(
+        "Read materialised view " + snapshot.name(),
+        snapshot.resultSet(),
+        0L)));
+    SwingUtilities.invokeLater(() -> {
+      resultContainerView.showResult(
+          snapshot.name(),
+          new ArcScriptResultView.ResultDisplay(
+              result,
+              view.storageInstance(),
+              this,
+              "Materialised view: " + snapshot.staleness().describe(Instant.now())));
+      resultContainerView.requestVisibility();
+    });
+  }
+
   public void newScript(final StorageInstance storageInstance) {
     final String titleSuggestion = "(%s) New Script-%02d".formatted(
         storageInstance.name(),
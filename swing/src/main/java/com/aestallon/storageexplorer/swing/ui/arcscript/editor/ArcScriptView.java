@@ -39,6 +39,7 @@ import com.aestallon.storageexplorer.common.event.bgwork.BackgroundWorkCompleted
 import com.aestallon.storageexplorer.common.event.bgwork.BackgroundWorkStartedEvent;
 import com.aestallon.storageexplorer.core.model.instance.StorageInstance;
 import com.aestallon.storageexplorer.core.model.instance.dto.StorageId;
+import com.aestallon.storageexplorer.core.service.ExecutionBudget;
 import com.aestallon.storageexplorer.swing.ui.arcscript.ArcScriptController;
 import com.aestallon.storageexplorer.swing.ui.arcscript.tree.ArcScriptSelectorTree;
 import com.aestallon.storageexplorer.swing.ui.explorer.TabView;
@@ -48,6 +49,9 @@ import com.aestallon.storageexplorer.swing.ui.tree.TreeEntityLocator;
 
 public class ArcScriptView extends JPanel implements TabView {
 
+  // the result of the last query is streamed into its table, a page at a time:
+  private static final int RESULT_PAGE_SIZE = 500;
+
   private final transient ArcScriptController controller;
   final transient StorageInstance storageInstance;
   private transient StoredArcScript storedArcScript;
@@ -56,9 +60,13 @@ public class ArcScriptView extends JPanel implements TabView {
 
   private final AbstractAction saveAction;
   private final AbstractAction playAction;
+  private final AbstractAction stopAction;
+  private final AbstractAction dropViewAction;
 
   private transient ErrorMarker compilationError;
   private transient UUID workId;
+  // the budget of the script running right now -> cancelling it stops the script:
+  private transient volatile ExecutionBudget budget;
 
   public ArcScriptView(ArcScriptController controller,
                        StorageInstance storageInstance,
@@ -97,6 +105,39 @@ public class ArcScriptView extends JPanel implements TabView {
     };
     toolbar.add(playAction).setToolTipText("Run (Ctrl+Enter)");
 
+    stopAction = new AbstractAction(null, IconProvider.CLOSE) {
+
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        stop();
+      }
+    };
+    stopAction.setEnabled(false);
+    toolbar.add(stopAction).setToolTipText("Stop, keeping the results found so far");
+
+    final var viewAction = new AbstractAction(null, IconProvider.DB) {
+
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        controller.showView(ArcScriptView.this);
+        dropViewAction.setEnabled(true);
+      }
+    };
+    toolbar.add(viewAction).setToolTipText(
+        "Show the materialised view of the saved script, kept current in the background "
+        + "(materialises the script first, if needed)");
+
+    dropViewAction = new AbstractAction(null, IconProvider.NOT_OK) {
+
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        controller.dropView(ArcScriptView.this);
+        setEnabled(false);
+      }
+    };
+    dropViewAction.setEnabled(controller.isMaterialized(this));
+    toolbar.add(dropViewAction).setToolTipText("Drop the materialised view of this script");
+
     final var renameAction = new AbstractAction(null, IconProvider.EDIT) {
 
       @Override
@@ -227,13 +268,16 @@ public class ArcScriptView extends JPanel implements TabView {
   private void play() {
     editor.setEnabled(false);
     playAction.setEnabled(false);
+    stopAction.setEnabled(true);
     removeCompilationError();
     final UUID uuid = UUID.randomUUID();
     workId = uuid;
+    final var budget = ExecutionBudget.unlimited();
+    this.budget = budget;
     CompletableFuture.runAsync(() -> {
       controller.eventPublisher().publishEvent(
           new BackgroundWorkStartedEvent(uuid, "Running ArcScript on " + storageInstance.name()));
-      switch (Arc.evaluate(editor.getText(), storageInstance)) {
+      switch (Arc.evaluate(editor.getText(), storageInstance, RESULT_PAGE_SIZE, budget)) {
         case ArcScriptResult.CompilationError cErr -> showCompilationError(cErr);
         case ArcScriptResult.ImpermissibleInstruction iErr ->
             showErr("Impermissible instruction", iErr.msg());
@@ -244,15 +288,26 @@ public class ArcScriptView extends JPanel implements TabView {
           SwingUtilities.invokeLater(() -> {
             editor.setEnabled(true);
             playAction.setEnabled(true);
+            stopAction.setEnabled(false);
           });
         }
       }
     });
   }
 
+  private void stop() {
+    final ExecutionBudget b = budget;
+    if (b != null) {
+      // the script stops admitting further entries, and returns whatever it has found so far:
+      b.cancel();
+    }
+    stopAction.setEnabled(false);
+  }
+
   private void showCompilationError(ArcScriptResult.CompilationError error) {
     editor.setEnabled(true);
     playAction.setEnabled(true);
+    stopAction.setEnabled(false);
     controller.eventPublisher().publishEvent(BackgroundWorkCompletedEvent.err(workId));
     SwingUtilities.invokeLater(() -> {
       if (!(editor instanceof RSyntaxTextArea r)) {
@@ -287,6 +342,7 @@ public class ArcScriptView extends JPanel implements TabView {
           JOptionPane.ERROR_MESSAGE);
       editor.setEnabled(true);
       playAction.setEnabled(true);
+      stopAction.setEnabled(false);
     });
   }
 
@@ -69,6 +69,9 @@ public class ArcScriptResultContainerView
       setTabComponentAt(i, new TabComponent(title, null, this));
       setSelectedComponent(div);
     } else {
+      if (getComponentAt(idx) instanceof ArcScriptResultView.ResultDisplayDiv previous) {
+        previous.resultDisplay().dispose();
+      }
       setComponentAt(idx, div);
       setSelectedComponent(div);
     }
@@ -106,6 +109,9 @@ public class ArcScriptResultContainerView
 
   @Override
   public void discardTabView(TabView tabView) {
+    if (tabView instanceof ArcScriptResultView.ResultDisplayDiv div) {
+      div.resultDisplay().dispose();
+    }
     remove(tabView.asComponent());
   }
   
@@ -26,6 +26,9 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import static java.util.stream.Collectors.joining;
 import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
@@ -34,6 +37,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import com.aestallon.storageexplorer.arcscript.engine.ArcScriptResult;
+import com.aestallon.storageexplorer.arcscript.engine.QueryProfile;
+import com.aestallon.storageexplorer.arcscript.engine.ResultCursor;
 import com.aestallon.storageexplorer.client.asexport.ResultSetExporterFactory;
 import com.aestallon.storageexplorer.common.util.MsgStrings;
 import com.aestallon.storageexplorer.core.model.entry.StorageEntry;
@@ -109,14 +114,44 @@ public sealed interface ArcScriptResultView extends TabView {
   final class ResultDisplay extends JPanel implements ArcScriptResultView {
     
     private final transient StorageId storageId;
+    private final List<StreamingQueryResultPanel> streamingPanels = new ArrayList<>();
     
     public ResultDisplay(ArcScriptResult.Ok result,
                          StorageInstance storageInstance,
                          ArcScriptController controller) {
+      this(result, storageInstance, controller, null);
+    }
+
+    /**
+     * @param notice a line displayed above the results (e.g. the staleness of a materialised
+     *     view), or {@code null}
+     */
+    public ResultDisplay(ArcScriptResult.Ok result,
+                         StorageInstance storageInstance,
+                         ArcScriptController controller,
+                         String notice) {
       storageId = storageInstance.id();
       setLayout(new BoxLayout(this, BoxLayout.PAGE_AXIS));
       setAlignmentX(LEFT_ALIGNMENT);
 
+      if (notice != null) {
+        final var info = new JLabel(notice, IconProvider.INFO, SwingConstants.LEADING);
+        info.setAlignmentX(LEFT_ALIGNMENT);
+        info.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 0));
+        add(info);
+      }
+
+      if (result.partial()) {
+        final var warning = new JLabel(
+            "Partial result, script " + result.status().description()
+            + ": instructions after the last one shown were not performed.",
+            IconProvider.WARNING,
+            SwingConstants.LEADING);
+        warning.setAlignmentX(LEFT_ALIGNMENT);
+        warning.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 0));
+        add(warning);
+      }
+
       for (int i = 0; i < result.elements().size(); i++) {
         switch (result.elements().get(i)) {
           case ArcScriptResult.IndexingPerformed ip -> add(new IndexResultPanel(i, ip));
@@ -125,10 +160,36 @@ public sealed interface ArcScriptResultView extends TabView {
               i,
               qp,
               storageInstance));
+          case ArcScriptResult.QueryStreaming qs -> {
+            final var panel = new StreamingQueryResultPanel(controller, i, qs, storageInstance);
+            streamingPanels.add(panel);
+            add(panel);
+          }
+          case ArcScriptResult.AggregationPerformed ap ->
+              add(new AggregationResultPanel(controller, i, ap));
+          case ArcScriptResult.QueryProfiled qp -> {
+            add(new ProfileResultPanel(i, qp));
+            switch (qp.result()) {
+              case ArcScriptResult.QueryPerformed q ->
+                  add(new QueryResultPanel(controller, i, q, storageInstance));
+              case ArcScriptResult.AggregationPerformed a ->
+                  add(new AggregationResultPanel(controller, i, a));
+              case null, default -> {}
+            }
+          }
+          case ArcScriptResult.UpdatePerformed up -> add(new UpdateResultPanel(i, up));
         }
       }
     }
 
+    /**
+     * Closes the cursors of every streamed result displayed here, stopping their evaluation. Must
+     * be called once the display is discarded.
+     */
+    public void dispose() {
+      streamingPanels.forEach(StreamingQueryResultPanel::close);
+    }
+
     @Override
     public JComponent asComponent() {
       return this;
@@ -161,8 +222,16 @@ public sealed interface ArcScriptResultView extends TabView {
         case ArcScriptResult.IndexingPerformed i -> new IndexingOperationResultTableModel(i);
         case ArcScriptResult.QueryPerformed q when render -> new RenderOperationResultTableModel(q);
         case ArcScriptResult.QueryPerformed q -> new QueryOperationResultTableModel(q);
+        case ArcScriptResult.QueryStreaming q -> new StreamingOperationResultTableModel(q);
+        case ArcScriptResult.AggregationPerformed a ->
+            new AggregationOperationResultTableModel(a);
+        case ArcScriptResult.QueryProfiled p -> new ProfileOperationResultTableModel(p);
+        case ArcScriptResult.UpdatePerformed u -> new UpdateOperationResultTableModel(u);
       };
+      return wrapOperationResultTable(tableModel);
+    }
 
+    private static JScrollPane wrapOperationResultTable(final OperationResultTableModel tableModel) {
       final var table = new JTable(tableModel);
       TableDisplayMagic.doMagicTableColumnResizing(table);
       table.setAutoResizeMode(JTable.AUTO_RESIZE_NEXT_COLUMN);
@@ -306,6 +375,287 @@ public sealed interface ArcScriptResultView extends TabView {
     }
 
 
+    private static final class StreamingOperationResultTableModel
+        extends OperationResultTableModel {
+
+      private final ArcScriptResult.QueryStreaming queryStreaming;
+      private long entryCount;
+
+      private StreamingOperationResultTableModel(
+          final ArcScriptResult.QueryStreaming queryStreaming) {
+        this.queryStreaming = queryStreaming;
+      }
+
+      private void update(final long entryCount) {
+        this.entryCount = entryCount;
+        fireTableDataChanged();
+      }
+
+      @Override
+      protected String getOperationPerformed() {
+        return queryStreaming.prettyPrint();
+      }
+
+      @Override
+      protected long getEntryCount() {
+        return entryCount;
+      }
+
+      @Override
+      protected long getTimeTaken() {
+        return Math.max(queryStreaming.cursor().timeTaken(), 0L);
+      }
+
+    }
+
+
+    private static final class AggregationOperationResultTableModel
+        extends OperationResultTableModel {
+
+      private final ArcScriptResult.AggregationPerformed aggregation;
+
+      private AggregationOperationResultTableModel(
+          final ArcScriptResult.AggregationPerformed aggregation) {
+        this.aggregation = aggregation;
+      }
+
+      @Override
+      protected String getOperationPerformed() {
+        return aggregation.indexOnly()
+            ? aggregation.prettyPrint() + " (from the index)"
+            : aggregation.prettyPrint();
+      }
+
+      @Override
+      protected long getEntryCount() {
+        return aggregation.entriesAggregated();
+      }
+
+      @Override
+      protected long getTimeTaken() {
+        return aggregation.timeTaken();
+      }
+
+    }
+
+
+    private static final class ProfileOperationResultTableModel
+        extends OperationResultTableModel {
+
+      private final ArcScriptResult.QueryProfiled queryProfiled;
+
+      private ProfileOperationResultTableModel(final ArcScriptResult.QueryProfiled queryProfiled) {
+        this.queryProfiled = queryProfiled;
+      }
+
+      @Override
+      protected String getOperationPerformed() {
+        return queryProfiled.prettyPrint();
+      }
+
+      @Override
+      protected long getEntryCount() {
+        // an explained query found nothing, it only knows its candidates:
+        final var profile = queryProfiled.profile();
+        return profile.executed() ? profile.results() : profile.candidates();
+      }
+
+      @Override
+      protected long getTimeTaken() {
+        return queryProfiled.profile().timeTaken();
+      }
+
+    }
+
+
+    private static final class ProfileResultPanel extends JPanel {
+
+      private ProfileResultPanel(int idx, ArcScriptResult.QueryProfiled p) {
+        setLayout(new BoxLayout(this, BoxLayout.PAGE_AXIS));
+        setAlignmentX(LEFT_ALIGNMENT);
+
+        final var profile = p.profile();
+        final var label = new JLabel(
+            (idx + 1) + (profile.executed() ? ". Profiled query:" : ". Explained query:"));
+        label.putClientProperty("FlatLaf.styleClass", "h2");
+        label.setAlignmentX(LEFT_ALIGNMENT);
+        label.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 0));
+        add(label);
+        add(createOperationResultTable(p, false));
+
+        addDetail("Plan", profile.plan());
+        addDetail("Condition", profile.program());
+        addDetail("Candidates", profile.candidates()
+                                + (profile.executed() ? "" : " (known to the index)")
+                                + ", "
+                                + profile.indexedAssertions()
+                                + " assertions answered by indices");
+        if (profile.pushdownFailure() != null) {
+          addDetail("Pushdown failed", profile.pushdownFailure());
+        }
+        if (profile.implicitIndexing()) {
+          addDetail("Implicit indexing", profile.executed()
+              ? "the target was indexed before the query"
+              : "the target is not indexed yet, it would be indexed before the query");
+        }
+
+        if (profile.executed()) {
+          final var table = new JTable(new PhaseTableModel(profile.phases()));
+          TableDisplayMagic.doMagicTableColumnResizing(table);
+          table.setAutoResizeMode(JTable.AUTO_RESIZE_NEXT_COLUMN);
+          table.setAlignmentX(LEFT_ALIGNMENT);
+          table.setFillsViewportHeight(true);
+          table.setToolTipText("Times are summed over every worker taking part in the phase");
+
+          final JScrollPane pane = new JScrollPane(table);
+          pane.setAlignmentX(LEFT_ALIGNMENT);
+          pane.setPreferredSize(new Dimension(
+              -1,
+              table.getRowHeight() * (profile.phases().size() + 2)));
+          add(pane);
+        }
+      }
+
+      private void addDetail(final String title, final String value) {
+        final var detail = new JLabel(title + ": " + value);
+        detail.setAlignmentX(LEFT_ALIGNMENT);
+        detail.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 0));
+        add(detail);
+      }
+
+    }
+
+
+    private static final class UpdateOperationResultTableModel
+        extends OperationResultTableModel {
+
+      private final ArcScriptResult.UpdatePerformed update;
+
+      private UpdateOperationResultTableModel(final ArcScriptResult.UpdatePerformed update) {
+        this.update = update;
+      }
+
+      @Override
+      protected String getOperationPerformed() {
+        return update.prettyPrint();
+      }
+
+      @Override
+      protected long getEntryCount() {
+        return update.matched();
+      }
+
+      @Override
+      protected long getTimeTaken() {
+        return update.timeTaken();
+      }
+
+    }
+
+
+    private static final class UpdateResultPanel extends JPanel {
+
+      // the rest of the failures are only counted -> the console, or the log tells the whole story:
+      private static final int FAILURES_SHOWN = 10;
+
+      private UpdateResultPanel(int idx, ArcScriptResult.UpdatePerformed u) {
+        setLayout(new BoxLayout(this, BoxLayout.PAGE_AXIS));
+        setAlignmentX(LEFT_ALIGNMENT);
+
+        final var label = new JLabel(
+            (idx + 1) + (u.dryRun() ? ". Dry run of update:" : ". Performed update:"));
+        label.putClientProperty("FlatLaf.styleClass", "h2");
+        label.setAlignmentX(LEFT_ALIGNMENT);
+        label.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 0));
+        add(label);
+        add(createOperationResultTable(u, false));
+
+        if (u.dryRun()) {
+          final var estimate = u.estimate();
+          addDetail("Batches to write", String.valueOf(u.batches()));
+          addDetail("Estimated I/O", "~" + estimate.bytesRead() + " bytes read, ~"
+                                     + estimate.bytesWritten() + " bytes written (from "
+                                     + estimate.sampled() + " objects loaded)");
+          return;
+        }
+
+        addDetail("Modified", u.modified() + " in " + u.batches() + " batches");
+        addDetail("Unchanged", String.valueOf(u.unchanged()));
+        addDetail("Failed", String.valueOf(u.failed()));
+        u.failures().stream()
+            .limit(FAILURES_SHOWN)
+            .forEach(it -> addDetail(it.uri().toString(), it.msg()));
+        if (u.failed() > FAILURES_SHOWN) {
+          addDetail("...", (u.failed() - FAILURES_SHOWN) + " more failures");
+        }
+      }
+
+      private void addDetail(final String title, final String value) {
+        final var detail = new JLabel(title + ": " + value);
+        detail.setAlignmentX(LEFT_ALIGNMENT);
+        detail.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 0));
+        add(detail);
+      }
+
+    }
+
+
+    private static final class PhaseTableModel extends AbstractTableModel {
+
+      private static final String[] COLS = {
+          "Phase", "Entries", "Loads", "Cache hits", "Bytes", "Time taken" };
+      private static final DecimalFormat MS_FORMAT = new DecimalFormat("000.0");
+
+      private final List<QueryProfile.PhaseProfile> phases;
+
+      private PhaseTableModel(List<QueryProfile.PhaseProfile> phases) {
+        this.phases = phases;
+      }
+
+      @Override
+      public String getColumnName(int column) {
+        return COLS[column];
+      }
+
+      @Override
+      public int getRowCount() {
+        return phases.size();
+      }
+
+      @Override
+      public int getColumnCount() {
+        return COLS.length;
+      }
+
+      @Override
+      public Object getValueAt(int rowIndex, int columnIndex) {
+        final var phase = phases.get(rowIndex);
+        return switch (columnIndex) {
+          case 0 -> phase.phase().title();
+          case 1 -> phase.entries();
+          case 2 -> phase.loads();
+          case 3 -> phase.cacheHits();
+          case 4 -> phase.bytes();
+          case 5 -> {
+            final var duration = Duration.ofNanos(phase.timeTaken());
+            yield "%ds %sms".formatted(duration.getSeconds(),
+                MS_FORMAT.format(duration.getNano() / 1_000_000d));
+          }
+          default -> null;
+        };
+      }
+
+      @Override
+      public Class<?> getColumnClass(int columnIndex) {
+        return switch (columnIndex) {
+          case 0, 5 -> String.class;
+          default -> Long.class;
+        };
+      }
+
+    }
+
+
     private static final class QueryResultPanel extends JPanel {
       public QueryResultPanel(ArcScriptController controller,
                               int idx,
@@ -333,101 +683,358 @@ public sealed interface ArcScriptResultView extends TabView {
           add(renderLabel);
           add(createOperationResultTable(q, true));
 
-          addExportToolbar(controller, resultSet);
+          add(createExportToolbar(controller, resultSet));
+        }
+
+        if (customRender) {
+          add(createTable(
+              controller,
+              new CustomisedQueryResultTableModel(resultSet),
+              storageInstance));
+        } else {
+          add(createTable(
+              controller,
+              new DefaultQueryResultTableModel(resultSet),
+              storageInstance));
+        }
+      }
+
+      private String getQueryPerformedLabel(final int idx, final boolean customRender) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(idx + 1);
+        if (customRender) {
+          sb.append("/A");
+        }
+        return sb.append(". Performed query:").toString();
+      }
+
+    }
+
+
+    private static JToolBar createExportToolbar(ArcScriptController controller,
+                                                ArcScriptResult.ResultSet resultSet) {
+      final var exportToolbar = new JToolBar(SwingConstants.HORIZONTAL);
+      exportToolbar.setAlignmentX(LEFT_ALIGNMENT);
+      exportToolbar.add(new AbstractAction(null, IconProvider.CSV) {
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+          controller.export(resultSet, ResultSetExporterFactory.Target.CSV);
         }
 
-        final var tableModel = customRender
-            ? new CustomisedQueryResultTableModel(resultSet)
-            : new DefaultQueryResultTableModel(resultSet);
-        final var table = new JTable(tableModel);
+      }).setToolTipText("Export results to CSV...");
+      exportToolbar.add(new AbstractAction(null, IconProvider.JSON) {
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+          controller.export(resultSet, ResultSetExporterFactory.Target.JSON);
+        }
+
+      }).setToolTipText("Export results to JSON...");
+
+      exportToolbar.add(Box.createHorizontalGlue());
+      return exportToolbar;
+    }
+
+
+    private static final class AggregationResultPanel extends JPanel {
+
+      private AggregationResultPanel(ArcScriptController controller,
+                                     int idx,
+                                     ArcScriptResult.AggregationPerformed a) {
+        setLayout(new BoxLayout(this, BoxLayout.PAGE_AXIS));
+        setAlignmentX(LEFT_ALIGNMENT);
+
+        final var label = new JLabel((idx + 1) + ". Performed aggregation:");
+        label.putClientProperty("FlatLaf.styleClass", "h2");
+        label.setAlignmentX(LEFT_ALIGNMENT);
+        label.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 0));
+        add(label);
+        add(createOperationResultTable(a, false));
+        add(createExportToolbar(controller, a.aggregateSet().asResultSet()));
+
+        // groups belong to no entry -> there is nothing to jump to, it is a plain table:
+        final var table = new JTable(new AggregateResultTableModel(a.aggregateSet()));
         TableDisplayMagic.doMagicTableColumnResizing(table);
         table.setAutoResizeMode(JTable.AUTO_RESIZE_NEXT_COLUMN);
         table.setAlignmentX(LEFT_ALIGNMENT);
         table.setFillsViewportHeight(true);
-        table.addMouseListener(new MouseAdapter() {
 
-          @Override
-          public void mouseClicked(MouseEvent e) {
-            final Point eventLocation = e.getPoint();
-            final int row = table.rowAtPoint(eventLocation);
-            if (row < 0) {
-              return;
-            }
+        final JScrollPane pane = new JScrollPane(table);
+        pane.setAlignmentX(LEFT_ALIGNMENT);
+        add(pane);
+      }
+
+    }
 
-            if (e.getClickCount() > 1 && e.getButton() == MouseEvent.BUTTON1) {
 
-              final URI uri = tableModel.uriAt(row);
-              JumpToUri.jump(controller.eventPublisher(), uri, storageInstance);
+    private static final class AggregateResultTableModel extends AbstractTableModel {
 
-            } else if (e.getButton() == MouseEvent.BUTTON3) {
+      private final ArcScriptResult.AggregateSet aggregateSet;
 
-              final int col = table.columnAtPoint(eventLocation);
-              if (col < 1) { // we don't care about the first column, as it's a row number...
-                return;
-              }
+      private AggregateResultTableModel(ArcScriptResult.AggregateSet aggregateSet) {
+        this.aggregateSet = aggregateSet;
+      }
 
-              final var o = tableModel.getValueAt(row, col);
-              if (o instanceof Icon) { // we don't care about icons either...
-                return;
-              }
+      @Override
+      public String getColumnName(int column) {
+        return column == 0 ? "#" : aggregateSet.meta().columns().get(column - 1).title();
+      }
 
-              // this is kinda idiotic, but we clip the enveloping quotes here, this doesn't handle
-              // lists and stuff:
-              final String v = (o instanceof String s && s.startsWith("\"") && s.endsWith("\""))
-                  ? s.substring(1, s.length() - 1)
-                  : String.valueOf(o);
-              new CellPopUpMenu(controller.eventPublisher(), storageInstance, v).show(
-                  table,
-                  eventLocation.x,
-                  eventLocation.y);
+      @Override
+      public int getRowCount() {
+        return aggregateSet.size();
+      }
 
-            }
-          }
+      @Override
+      public int getColumnCount() {
+        return aggregateSet.meta().columns().size() + 1;
+      }
 
-        });
+      @Override
+      public Object getValueAt(int rowIndex, int columnIndex) {
+        if (columnIndex == 0) {
+          return rowIndex + 1;
+        }
 
-        final JScrollPane pane = new JScrollPane(table);
-        pane.setAlignmentX(LEFT_ALIGNMENT);
-        add(pane);
+        final String prop = aggregateSet.meta().columns().get(columnIndex - 1).prop();
+        final var cell = aggregateSet.rows().get(rowIndex).get(prop);
+        return cell == null ? "" : cell.displayString();
+      }
+
+      @Override
+      public Class<?> getColumnClass(int columnIndex) {
+        return (columnIndex == 0) ? Integer.class : String.class;
+      }
+
+    }
+
+
+    private static final class StreamingQueryResultPanel extends JPanel {
+
+      // rows trickle into the table at this pace, even if a page is not full yet:
+      private static final long PAGE_WAIT_MILLIS = 200L;
+
+      private final transient ArcScriptController controller;
+      private final transient ArcScriptResult.QueryStreaming q;
+      private final transient Consumer<List<ArcScriptResult.QueryResultRow>> appender;
+      private final transient List<ArcScriptResult.QueryResultRow> loaded = new ArrayList<>();
+      private final StreamingOperationResultTableModel operationModel;
+      private final JLabel status = new JLabel();
+      private final AtomicBoolean fetching = new AtomicBoolean();
+      private final List<Action> pagingActions = new ArrayList<>();
+      private final List<Action> exportActions = new ArrayList<>();
+
+      private StreamingQueryResultPanel(ArcScriptController controller,
+                                        int idx,
+                                        ArcScriptResult.QueryStreaming q,
+                                        StorageInstance storageInstance) {
+        this.controller = controller;
+        this.q = q;
+        setLayout(new BoxLayout(this, BoxLayout.PAGE_AXIS));
+        setAlignmentX(LEFT_ALIGNMENT);
+
+        final var label = new JLabel((idx + 1) + ". Streaming query:");
+        label.putClientProperty("FlatLaf.styleClass", "h2");
+        label.setAlignmentX(LEFT_ALIGNMENT);
+        label.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 0));
+        add(label);
+
+        operationModel = new StreamingOperationResultTableModel(q);
+        add(wrapOperationResultTable(operationModel));
+
+        final boolean customRender = !q.cursor().columns().isEmpty();
+        addToolbar(customRender);
+
+        final var empty = new ArcScriptResult.ResultSet(
+            new ArcScriptResult.ResultSetMeta(q.cursor().columns(), -1L),
+            Collections.emptyList());
+        if (customRender) {
+          final var tableModel = new CustomisedQueryResultTableModel(empty);
+          appender = tableModel::append;
+          add(createTable(controller, tableModel, storageInstance));
+        } else {
+          final var tableModel = new DefaultQueryResultTableModel(empty);
+          appender = tableModel::append;
+          add(createTable(controller, tableModel, storageInstance));
+        }
+
+        fetch(false);
       }
 
-      private void addExportToolbar(ArcScriptController controller,
-                                    ArcScriptResult.ResultSet resultSet) {
-        final var exportToolbar = new JToolBar(SwingConstants.HORIZONTAL);
-        exportToolbar.setAlignmentX(LEFT_ALIGNMENT);
-        exportToolbar.add(new AbstractAction(null, IconProvider.CSV) {
+      private void addToolbar(final boolean exportable) {
+        final var toolbar = new JToolBar(SwingConstants.HORIZONTAL);
+        toolbar.setAlignmentX(LEFT_ALIGNMENT);
+
+        final var nextPage = new AbstractAction("Next page") {
 
           @Override
           public void actionPerformed(ActionEvent e) {
-            controller.export(resultSet, ResultSetExporterFactory.Target.CSV);
+            fetch(false);
           }
 
-        }).setToolTipText("Export results to CSV...");
-        exportToolbar.add(new AbstractAction(null, IconProvider.JSON) {
+        };
+        final var all = new AbstractAction("All") {
 
           @Override
           public void actionPerformed(ActionEvent e) {
-            controller.export(resultSet, ResultSetExporterFactory.Target.JSON);
+            fetch(true);
           }
 
-        }).setToolTipText("Export results to JSON...");
+        };
+        pagingActions.add(nextPage);
+        pagingActions.add(all);
+        toolbar.add(nextPage).setToolTipText("Load the next page of results");
+        toolbar.add(all).setToolTipText("Load every remaining result");
+
+        if (exportable) {
+          // exporting needs every row, thus it is only offered once all of them are here:
+          toolbar.addSeparator();
+          for (final var target : ResultSetExporterFactory.Target.values()) {
+            final var icon = target == ResultSetExporterFactory.Target.CSV
+                ? IconProvider.CSV
+                : IconProvider.JSON;
+            final var export = new AbstractAction(null, icon) {
+
+              @Override
+              public void actionPerformed(ActionEvent e) {
+                controller.export(
+                    new ArcScriptResult.ResultSet(
+                        new ArcScriptResult.ResultSetMeta(
+                            q.cursor().columns(),
+                            q.cursor().timeTaken()),
+                        List.copyOf(loaded)),
+                    target);
+              }
+
+            };
+            export.putValue(Action.SHORT_DESCRIPTION, "Export results to " + target + "...");
+            export.setEnabled(false);
+            exportActions.add(export);
+            toolbar.add(export);
+          }
+        }
 
-        exportToolbar.add(Box.createHorizontalGlue());
-        add(exportToolbar);
+        toolbar.addSeparator();
+        toolbar.add(status);
+        toolbar.add(Box.createHorizontalGlue());
+        add(toolbar);
       }
 
-      private String getQueryPerformedLabel(final int idx, final boolean customRender) {
-        final StringBuilder sb = new StringBuilder();
-        sb.append(idx + 1);
-        if (customRender) {
-          sb.append("/A");
+      private void fetch(final boolean all) {
+        if (!fetching.compareAndSet(false, true)) {
+          return;
         }
-        return sb.append(". Performed query:").toString();
+
+        updateActions();
+        final ResultCursor cursor = q.cursor();
+        Thread.ofVirtual().name("arc-script-result-pager").start(() -> {
+          try {
+            long wanted = all ? Long.MAX_VALUE : cursor.pageSize();
+            ResultCursor.Page page;
+            do {
+              page = cursor.next(PAGE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+              wanted -= page.rows().size();
+              final var p = page;
+              SwingUtilities.invokeLater(() -> append(p));
+            } while (!page.last() && wanted > 0);
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            fetching.set(false);
+            SwingUtilities.invokeLater(this::updateActions);
+          }
+        });
+      }
+
+      private void append(final ResultCursor.Page page) {
+        loaded.addAll(page.rows());
+        appender.accept(page.rows());
+        operationModel.update(loaded.size());
+        if (!page.last()) {
+          status.setText("%d rows loaded so far...".formatted(loaded.size()));
+        } else {
+          final var cursor = q.cursor();
+          status.setText(cursor.error()
+              .map(e -> "Query failed: " + e.getMessage())
+              .orElseGet(() -> cursor.status().partial()
+                  ? "Partial result, query %s: %d rows loaded.".formatted(
+                      cursor.status().description(),
+                      loaded.size())
+                  : "All %d rows loaded.".formatted(loaded.size())));
+        }
+      }
+
+      private void updateActions() {
+        final boolean exhausted = q.cursor().exhausted();
+        pagingActions.forEach(it -> it.setEnabled(!exhausted && !fetching.get()));
+        exportActions.forEach(it -> it.setEnabled(exhausted));
+      }
+
+      private void close() {
+        q.cursor().close();
       }
 
     }
 
 
+    private static <M extends AbstractTableModel & EnumeratorWithUri> JScrollPane createTable(
+        final ArcScriptController controller,
+        final M tableModel,
+        final StorageInstance storageInstance) {
+      final var table = new JTable(tableModel);
+      TableDisplayMagic.doMagicTableColumnResizing(table);
+      table.setAutoResizeMode(JTable.AUTO_RESIZE_NEXT_COLUMN);
+      table.setAlignmentX(LEFT_ALIGNMENT);
+      table.setFillsViewportHeight(true);
+      table.addMouseListener(new MouseAdapter() {
+
+        @Override
+        public void mouseClicked(MouseEvent e) {
+          final Point eventLocation = e.getPoint();
+          final int row = table.rowAtPoint(eventLocation);
+          if (row < 0) {
+            return;
+          }
+
+          if (e.getClickCount() > 1 && e.getButton() == MouseEvent.BUTTON1) {
+
+            final URI uri = tableModel.uriAt(row);
+            JumpToUri.jump(controller.eventPublisher(), uri, storageInstance);
+
+          } else if (e.getButton() == MouseEvent.BUTTON3) {
+
+            final int col = table.columnAtPoint(eventLocation);
+            if (col < 1) { // we don't care about the first column, as it's a row number...
+              return;
+            }
+
+            final var o = tableModel.getValueAt(row, col);
+            if (o instanceof Icon) { // we don't care about icons either...
+              return;
+            }
+
+            // this is kinda idiotic, but we clip the enveloping quotes here, this doesn't handle
+            // lists and stuff:
+            final String v = (o instanceof String s && s.startsWith("\"") && s.endsWith("\""))
+                ? s.substring(1, s.length() - 1)
+                : String.valueOf(o);
+            new CellPopUpMenu(controller.eventPublisher(), storageInstance, v).show(
+                table,
+                eventLocation.x,
+                eventLocation.y);
+
+          }
+        }
+
+      });
+
+      final JScrollPane pane = new JScrollPane(table);
+      pane.setAlignmentX(LEFT_ALIGNMENT);
+      return pane;
+    }
+
+
     private static final class CellPopUpMenu extends JPopupMenu {
 
       private final ApplicationEventPublisher eventPublisher;
@@ -484,6 +1091,16 @@ public sealed interface ArcScriptResultView extends TabView {
         this.storageEntries = new ArrayList<>(resultSet.entries());
       }
 
+      private void append(final List<ArcScriptResult.QueryResultRow> rows) {
+        if (rows.isEmpty()) {
+          return;
+        }
+
+        final int first = storageEntries.size();
+        rows.forEach(it -> storageEntries.add(it.entry()));
+        fireTableRowsInserted(first, storageEntries.size() - 1);
+      }
+
       @Override
       public String getColumnName(int column) {
         return COLS[column];
@@ -533,7 +1150,17 @@ public sealed interface ArcScriptResultView extends TabView {
 
     private CustomisedQueryResultTableModel(ArcScriptResult.ResultSet resultSet) {
       columnDescriptors = resultSet.meta().columns();
-      rows = resultSet.rows();
+      rows = new ArrayList<>(resultSet.rows());
+    }
+
+    private void append(final List<ArcScriptResult.QueryResultRow> page) {
+      if (page.isEmpty()) {
+        return;
+      }
+
+      final int first = rows.size();
+      rows.addAll(page);
+      fireTableRowsInserted(first, rows.size() - 1);
     }
 
     @Override
@@ -25,11 +25,12 @@ import com.aestallon.storageexplorer.client.graph.event.GraphSelectionRequest;
 import com.aestallon.storageexplorer.client.graph.event.GraphState;
 import com.aestallon.storageexplorer.common.event.msg.ErrorMsg;
 import com.aestallon.storageexplorer.common.event.msg.Msg;
+import com.aestallon.storageexplorer.core.event.EntriesDiscovered;
 import com.aestallon.storageexplorer.core.event.EntryAcquired;
 import com.aestallon.storageexplorer.core.event.EntryAcquisitionFailed;
-import com.aestallon.storageexplorer.core.event.EntryDiscovered;
 import com.aestallon.storageexplorer.core.event.EntryInspectionEvent;
 import com.aestallon.storageexplorer.core.event.StorageImportEvent;
+import com.aestallon.storageexplorer.core.event.StorageReadinessChanged;
 import com.aestallon.storageexplorer.core.event.StorageIndexDiscardedEvent;
 import com.aestallon.storageexplorer.core.event.StorageReimportedEvent;
 import com.aestallon.storageexplorer.core.event.StorageReindexed;
@@ -114,6 +115,11 @@ public class ViewController {
     });
   }
 
+  @EventListener
+  public void onStorageReadinessChanged(StorageReadinessChanged e) {
+    SwingUtilities.invokeLater(() -> storageTreeView.storageReadinessChanged(e.storageInstance()));
+  }
+
   @EventListener
   public void onStorageReindexed(StorageReindexed e) {
     SwingUtilities.invokeLater(() -> storageTreeView.reindexStorage(e.storageInstance()));
@@ -157,9 +163,9 @@ public class ViewController {
   }
 
   @EventListener
-  public void onEntryDiscovered(EntryDiscovered e) {
+  public void onEntriesDiscovered(EntriesDiscovered e) {
     SwingUtilities.invokeLater(
-        () -> storageTreeView.incorporateNode(e.storageEntry()));
+        () -> storageTreeView.incorporateNodes(e.storageEntries()));
   }
 
   @EventListener
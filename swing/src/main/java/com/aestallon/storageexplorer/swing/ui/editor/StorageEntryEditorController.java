@@ -185,6 +185,8 @@ public class StorageEntryEditorController {
                   eventPublisher.publishEvent(new EntryModified(storageEntry));
                   SwingUtilities.invokeLater(frame::dispose);
                 }
+                case StorageEntryModificationService.StorageEntryModificationResult.Unchanged u ->
+                    SwingUtilities.invokeLater(frame::dispose);
                 case StorageEntryModificationService.StorageEntryModificationResult.Err(
                     var entry, var msg
                 ) -> SwingUtilities.invokeLater(() -> {
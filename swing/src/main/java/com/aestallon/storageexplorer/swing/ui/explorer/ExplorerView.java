@@ -109,16 +109,20 @@ public class ExplorerView extends JPanel {
   }
 
   public void reopenTrackedEntryInspectors() {
-    final var entries = trackingService.entriesOfTrackedInspectors();
-    if (entries.isEmpty()) {
-      return;
-    }
-
-    if (!inspectorContainerOpen()) {
-      openInspectorContainer();
-    }
-
-    entries.forEach(tabContainerView::showInspectorView);
+    // the storages of the entries may need initialising -> never on the EDT:
+    trackingService.entriesOfTrackedInspectors().thenAccept(entries -> {
+      if (entries.isEmpty()) {
+        return;
+      }
+
+      SwingUtilities.invokeLater(() -> {
+        if (!inspectorContainerOpen()) {
+          openInspectorContainer();
+        }
+
+        entries.forEach(tabContainerView::showInspectorView);
+      });
+    });
   }
 
   private void initContentPane() {
@@ -20,6 +20,9 @@ import java.awt.event.MouseEvent;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import javax.swing.*;
 import javax.swing.filechooser.FileSystemView;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -144,8 +147,52 @@ public class StorageTreeView
 
   @Override
   public void incorporateNode(final StorageEntry storageEntry) {
+    if (!incorporate(storageEntry)) {
+      eventPublisher.publishEvent(Msg.warn(
+          "Cannot add orphan scoped entry to Tree!",
+          "Entry " + storageEntry
+          + " has been indexed, but will not show on the tree until its host entry is missing."));
+    }
+  }
+
+  /**
+   * Incorporates a batch of entries in one go.
+   *
+   * <p>
+   * Hosts are incorporated before scoped entries, so a scoped entry discovered in the same batch
+   * as its host is never reported as an orphan. Orphans are reported in a single message.
+   *
+   * @param storageEntries the entries to incorporate
+   */
+  public void incorporateNodes(final Collection<? extends StorageEntry> storageEntries) {
+    final List<StorageEntry> scoped = new ArrayList<>();
+    for (final StorageEntry storageEntry : storageEntries) {
+      if (storageEntry instanceof ScopedEntry) {
+        scoped.add(storageEntry);
+      } else {
+        incorporate(storageEntry);
+      }
+    }
+
+    int orphans = 0;
+    for (final StorageEntry storageEntry : scoped) {
+      if (!incorporate(storageEntry)) {
+        orphans++;
+      }
+    }
+
+    if (orphans > 0) {
+      eventPublisher.publishEvent(Msg.warn(
+          "Cannot add " + orphans + " orphan scoped entries to Tree!",
+          "Entries have been indexed, but will not show on the tree until their hosts are "
+          + "missing."));
+    }
+  }
+
+  // returns false if and only if the entry is a scoped entry without a host on the tree:
+  private boolean incorporate(final StorageEntry storageEntry) {
     if (treePathsByLeaf.containsKey(storageEntry)) {
-      return;
+      return true;
     }
 
     final StorageInstance storageInstance = storageInstanceProvider.get(storageEntry.storageId());
@@ -156,11 +203,7 @@ public class StorageTreeView
             .filter(it -> it.uri().getPath().equals(scopedEntry.scope().getPath()))
             .findFirst();
         if (hostEntry.isEmpty()) {
-          node = null;
-          eventPublisher.publishEvent(Msg.warn(
-              "Cannot add orphan scoped entry to Tree!",
-              "Entry " + scopedEntry
-              + " has been indexed, but will not show on the tree until its host entry is missing."));
+          return false;
         } else {
           final StorageEntry host = hostEntry.get();
           final TreePath hostPath = treePathsByLeaf.get(host);
@@ -176,7 +219,7 @@ public class StorageTreeView
               it -> it instanceof ClickableTreeNode c
                     && c.entity().uri().equals(scopedEntry.uri()))) {
             // node is already here...
-            return;
+            return true;
           }
 
           hostNode.enableChildren(true);
@@ -200,6 +243,7 @@ public class StorageTreeView
     if (node != null) {
       memoizeTreePathsOf(node);
     }
+    return true;
   }
 
   @Override
@@ -214,6 +258,13 @@ public class StorageTreeView
     memoizeTreePathsOfStorage(storageInstanceTreeNode);
   }
 
+  public void storageReadinessChanged(final StorageInstance storageInstance) {
+    final StorageInstanceTreeNode node = tree.nodeOf(storageInstance);
+    if (node != null) {
+      tree.model().nodeChanged(node);
+    }
+  }
+
   @Override
   public void removeStorage(final StorageInstance storageInstance) {
     tree.removeStorage(storageInstance);
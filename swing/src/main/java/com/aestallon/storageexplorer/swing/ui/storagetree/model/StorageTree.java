@@ -355,6 +355,11 @@ public final class StorageTree extends JTree implements Scrollable, Accessible {
       } else if (value instanceof StorageInstanceTreeNode sitn) {
         final StorageInstance storageInstance = sitn.storageInstance();
         setIcon(IconProvider.getIconForStorageInstance(storageInstance));
+        switch (storageInstance.readiness()) {
+          case PENDING, INITIALISING -> setText(sitn + " (initialising...)");
+          case FAILED -> setText(sitn + " (unavailable)");
+          case READY -> { /* the name is enough */ }
+        }
 
       } else if (value instanceof StorageSequenceTreeNode) {
         setIcon(IconProvider.SEQUENCE);